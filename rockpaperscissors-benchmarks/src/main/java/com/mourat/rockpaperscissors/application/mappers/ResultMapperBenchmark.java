@@ -0,0 +1,58 @@
+package com.mourat.rockpaperscissors.application.mappers;
+
+import com.mourat.rockpaperscissors.application.dto.GameHeader;
+import com.mourat.rockpaperscissors.application.dto.MoveResult;
+import com.mourat.rockpaperscissors.application.dto.ResultDto;
+import com.mourat.rockpaperscissors.domain.model.Game;
+import com.mourat.rockpaperscissors.domain.model.Move;
+import com.mourat.rockpaperscissors.domain.model.Player;
+import com.mourat.rockpaperscissors.domain.model.RoundResult;
+import com.mourat.rockpaperscissors.domain.model.RuleSet;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of reporting a played round: the string based {@link ResultDto} every client used to receive, and the
+ * primitive {@link MoveResult.Played} a session returns now, with and without rendering it.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Dlog4j2.configurationFile=log4j2-benchmarks.xml")
+@State(Scope.Thread)
+public class ResultMapperBenchmark {
+
+    private Game game;
+    private GameHeader header;
+    private MoveResult.Played played;
+
+    @Setup
+    public void setUp() {
+        Player player1 = Player.newPlayerWithName("Player A");
+        Player player2 = Player.newPlayerWithName("Player B");
+        game = Game.newGame(player1, 100, RuleSet.CLASSIC);
+        game.setPlayerTwo(player2);
+        game.playRound(new RoundResult(Move.PAPER, Move.ROCK, player1));
+        game.playRound(new RoundResult(Move.ROCK, Move.ROCK, null));
+
+        header = ResultMapper.toGameHeader(game);
+        played = ResultMapper.toPlayed(game, header);
+    }
+
+    @Benchmark
+    public ResultDto toResultDto() {
+        return ResultMapper.toResultDto(game);
+    }
+
+    @Benchmark
+    public MoveResult.Played toPlayed() {
+        return ResultMapper.toPlayed(game, header);
+    }
+
+    @Benchmark
+    public ResultDto renderResultDto() {
+        return ResultMapper.renderResultDto(played);
+    }
+}
@@ -0,0 +1,104 @@
+package com.mourat.rockpaperscissors.application.model;
+
+import com.mourat.rockpaperscissors.application.dto.MoveResult;
+import com.mourat.rockpaperscissors.domain.model.Game;
+import com.mourat.rockpaperscissors.domain.model.Move;
+import com.mourat.rockpaperscissors.domain.model.Player;
+import com.mourat.rockpaperscissors.domain.service.impl.GameRulesServiceImpl;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of a round of {@link GameSession} when both players are driven from the same thread, so the round
+ * state is never contended: one move at a time, or the whole game submitted at once. Every thread plays its
+ * own games, from 1 to 64 threads to show what the sessions share. Every thread count is a nested class, so
+ * <pre>
+ * java -jar target/benchmarks.jar GameSessionBenchmark
+ * </pre>
+ * runs them all. The score is the time per round. Two players handing every round to each other from their
+ * own threads is measured by {@link GameSessionPingPongBenchmark}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Dlog4j2.configurationFile=log4j2-benchmarks.xml")
+@State(Scope.Thread)
+public abstract class GameSessionBenchmark {
+
+    /** Rounds of every game */
+    private static final int ROUNDS = 100;
+
+    private final GameRulesServiceImpl rules = new GameRulesServiceImpl();
+
+    private Move[] rocks;
+    private Move[] papers;
+
+    @Setup
+    public void setUp() {
+        rocks = new Move[ROUNDS];
+        papers = new Move[ROUNDS];
+        Arrays.fill(rocks, Move.ROCK);
+        Arrays.fill(papers, Move.PAPER);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROUNDS)
+    public MoveResult oneMoveAtATime() {
+        GameSession session = newSession(1);
+        MoveResult last = null;
+        for (int round = 0; round < ROUNDS; round++) {
+            CompletableFuture<MoveResult> result = session.playAsync(session.getPlayer1(), Move.ROCK);
+            session.playAsync(session.getPlayer2(), Move.PAPER);
+            last = result.join();
+        }
+        return last;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROUNDS)
+    public MoveResult wholeGameInOneCall() {
+        GameSession session = newSession(ROUNDS);
+        CompletableFuture<MoveResult> result = session.playAllAsync(session.getPlayer1(), rocks);
+        session.playAllAsync(session.getPlayer2(), papers);
+        return result.join();
+    }
+
+    private GameSession newSession(int moveQueueCapacity) {
+        Player player1 = Player.newPlayerWithName("Player A");
+        GameSession session = new GameSession(player1, Game.newGame(player1, ROUNDS), rules, moveQueueCapacity);
+        session.joinGame(Player.newPlayerWithName("Player B"));
+        return session;
+    }
+
+    @Threads(1)
+    public static class Threads1 extends GameSessionBenchmark {
+    }
+
+    @Threads(2)
+    public static class Threads2 extends GameSessionBenchmark {
+    }
+
+    @Threads(4)
+    public static class Threads4 extends GameSessionBenchmark {
+    }
+
+    @Threads(8)
+    public static class Threads8 extends GameSessionBenchmark {
+    }
+
+    @Threads(16)
+    public static class Threads16 extends GameSessionBenchmark {
+    }
+
+    @Threads(32)
+    public static class Threads32 extends GameSessionBenchmark {
+    }
+
+    @Threads(64)
+    public static class Threads64 extends GameSessionBenchmark {
+    }
+}
@@ -0,0 +1,78 @@
+package com.mourat.rockpaperscissors.application.model;
+
+import com.mourat.rockpaperscissors.application.dto.MoveResult;
+import com.mourat.rockpaperscissors.application.dto.ResultDto;
+import com.mourat.rockpaperscissors.domain.model.Game;
+import com.mourat.rockpaperscissors.domain.model.Move;
+import com.mourat.rockpaperscissors.domain.model.Player;
+import com.mourat.rockpaperscissors.domain.service.impl.GameRulesServiceImpl;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Control;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Cost of a round played like {@link GameSession#makeMove}: both players on their own thread, each one
+ * submitting a move and waiting for the opponent before the round resolves, so every round is a handoff
+ * between the two threads. The score is the time per move of a player, a round takes one move of each.
+ * <p>
+ * The wait has a timeout, unlike {@link GameSession#makeMove}, so the player still waiting when the
+ * measurement stops gives up instead of waiting forever for a stopped opponent.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Dlog4j2.configurationFile=log4j2-benchmarks.xml")
+@State(Scope.Group)
+public class GameSessionPingPongBenchmark {
+
+    private final GameRulesServiceImpl rules = new GameRulesServiceImpl();
+
+    private GameSession session;
+
+    /**
+     * Starts a session long enough to outlast the iteration.
+     */
+    @Setup(Level.Iteration)
+    public void setUp() {
+        Player owner = Player.newPlayerWithName("Player A");
+        session = new GameSession(owner, Game.newGame(owner, Game.MAX_ROUNDS), rules);
+        session.joinGame(Player.newPlayerWithName("Player B"));
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() {
+        session.expire();
+    }
+
+    @Benchmark
+    @Group("pingPong")
+    @GroupThreads(1)
+    public ResultDto player1(Control control) throws Exception {
+        return play(session.getPlayer1(), Move.ROCK, control);
+    }
+
+    @Benchmark
+    @Group("pingPong")
+    @GroupThreads(1)
+    public ResultDto player2(Control control) throws Exception {
+        return play(session.getPlayer2(), Move.PAPER, control);
+    }
+
+    private ResultDto play(Player player, Move move, Control control) throws InterruptedException, ExecutionException {
+        CompletableFuture<MoveResult> result = session.playAsync(player, move);
+        while (true) {
+            try {
+                return result.get(10, TimeUnit.MILLISECONDS) instanceof MoveResult.Played played ? played.toResultDto() : null;
+            } catch (TimeoutException e) {
+                if (control.stopMeasurement) {
+                    return null;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.mourat.rockpaperscissors.application.services.impl;
+
+import com.mourat.rockpaperscissors.application.services.GameArchive;
+import com.mourat.rockpaperscissors.application.services.GameSessionFactory;
+import com.mourat.rockpaperscissors.application.services.SessionReaper;
+import com.mourat.rockpaperscissors.domain.service.impl.GameRulesServiceImpl;
+import com.mourat.rockpaperscissors.infrastructure.persistence.GameArchiveFile;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of finding a player by the id string every request of the string based API carries, for registries
+ * of a few sizes. Ids are looked up in random order, so larger registries pay for their cache misses.
+ * <p>
+ * Players are looked up through {@link GameRunnerServiceImpl#joinGame(String)} without any open game, so a
+ * request ends right after the lookup with a rejection: {@code NO_OPEN_GAMES} for a registered player, whose
+ * message is a constant, and {@code PLAYER_NOT_FOUND} for an unknown one, whose message embeds the id.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Dlog4j2.configurationFile=log4j2-benchmarks.xml", "-Xmx2g"})
+@State(Scope.Benchmark)
+public class PlayerLookupBenchmark {
+
+    /** Length of the lookup sequence, a power of two */
+    private static final int SEQUENCE_LENGTH = 1 << 16;
+
+    @Param({"1000", "100000", "1000000"})
+    int players;
+
+    private SessionReaper sessionReaper;
+    private GameRunnerServiceImpl gameRunner;
+    private String[] playerIds;
+    private String[] unknownIds;
+
+    @Setup
+    public void setUp() {
+        sessionReaper = new SessionReaper(300_000, 60_000, 100);
+        gameRunner = new GameRunnerServiceImpl(new GameSessionFactory(new GameRulesServiceImpl()),
+                new GameArchive(0, (GameArchiveFile) null), sessionReaper);
+
+        String[] registered = new String[players];
+        for (int i = 0; i < players; i++) {
+            registered[i] = gameRunner.createPlayer("Player " + (i % 1000));
+        }
+
+        SplittableRandom random = new SplittableRandom(42);
+        playerIds = new String[SEQUENCE_LENGTH];
+        unknownIds = new String[SEQUENCE_LENGTH];
+        for (int i = 0; i < SEQUENCE_LENGTH; i++) {
+            playerIds[i] = registered[random.nextInt(players)];
+            unknownIds[i] = new UUID(random.nextLong(), random.nextLong()).toString();
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        sessionReaper.shutdown();
+    }
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        int next;
+    }
+
+    @Benchmark
+    public String findPlayer(Cursor cursor) {
+        return gameRunner.joinGame(playerIds[cursor.next++ & (SEQUENCE_LENGTH - 1)]);
+    }
+
+    @Benchmark
+    public String findUnknownPlayer(Cursor cursor) {
+        return gameRunner.joinGame(unknownIds[cursor.next++ & (SEQUENCE_LENGTH - 1)]);
+    }
+}
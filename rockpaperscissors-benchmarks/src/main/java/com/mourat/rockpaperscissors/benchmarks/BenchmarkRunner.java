@@ -0,0 +1,42 @@
+package com.mourat.rockpaperscissors.benchmarks;
+
+import org.openjdk.jmh.Main;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the JMH benchmarks of the game with the GC profiler, so every result comes with the allocation rate
+ * and the bytes allocated per operation next to the time per operation. Takes the usual JMH command line,
+ * e.g. to run only the player lookups against the largest registry:
+ * <pre>
+ * java -jar target/benchmarks.jar PlayerLookupBenchmark -p players=1000000
+ * </pre>
+ */
+public final class BenchmarkRunner {
+
+    /** Name of the GC profiler on the JMH command line */
+    private static final String GC_PROFILER = "gc";
+
+    private BenchmarkRunner() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions commandLine = new CommandLineOptions(args);
+        if (commandLine.shouldHelp() || commandLine.shouldList() || commandLine.shouldListWithParams()
+                || commandLine.shouldListProfilers() || commandLine.shouldListResultFormats()) {
+            Main.main(args);
+            return;
+        }
+
+        ChainedOptionsBuilder options = new OptionsBuilder().parent(commandLine);
+        boolean gcProfiled = commandLine.getProfilers().stream()
+                .anyMatch(profiler -> profiler.getKlass().equals(GC_PROFILER) || profiler.getKlass().equals(GCProfiler.class.getName()));
+        if (!gcProfiled) {
+            options.addProfiler(GCProfiler.class);
+        }
+        new Runner(options.build()).run();
+    }
+}
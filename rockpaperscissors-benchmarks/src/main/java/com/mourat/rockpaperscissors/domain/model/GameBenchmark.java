@@ -0,0 +1,65 @@
+package com.mourat.rockpaperscissors.domain.model;
+
+import com.mourat.rockpaperscissors.domain.service.impl.GameRulesServiceImpl;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of recording a round in a game: the scores, the packed round history and the round sink. Round
+ * results are taken from the table a session builds once, so only {@link Game#playRound} is measured.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Dlog4j2.configurationFile=log4j2-benchmarks.xml")
+@State(Scope.Thread)
+public class GameBenchmark {
+
+    /** Length of the round sequence, a power of two */
+    private static final int SEQUENCE_LENGTH = 1024;
+
+    @Param({"3", "5"})
+    int moveCount;
+
+    private Player player1;
+    private Player player2;
+    private RoundResult[] rounds;
+    private Game game;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        player1 = Player.newPlayerWithName("Player A");
+        player2 = Player.newPlayerWithName("Player B");
+        RuleSet ruleSet = RuleSet.of(moveCount);
+        RoundResult[] table = new GameRulesServiceImpl().roundResultTable(ruleSet, player1, player2);
+
+        SplittableRandom random = new SplittableRandom(42);
+        rounds = new RoundResult[SEQUENCE_LENGTH];
+        for (int i = 0; i < SEQUENCE_LENGTH; i++) {
+            rounds[i] = table[random.nextInt(table.length)];
+        }
+        game = newGame();
+    }
+
+    @Benchmark
+    public GameResult playRound() {
+        GameResult result = game.playRound(rounds[next++ & (SEQUENCE_LENGTH - 1)]);
+        if (result != null) {
+            game = newGame();
+        }
+        return result;
+    }
+
+    /**
+     * Starts a game long enough to outlast any measurement iteration.
+     */
+    private Game newGame() {
+        Game newGame = Game.newGame(player1, Game.MAX_ROUNDS, RuleSet.of(moveCount));
+        newGame.setPlayerTwo(player2);
+        return newGame;
+    }
+}
@@ -0,0 +1,67 @@
+package com.mourat.rockpaperscissors.domain.model;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of the {@link IdStrategy id strategies}, with 1 to 64 threads creating ids from one shared
+ * generator, the way the services share theirs. {@link IdStrategy#RANDOM} is {@link UUID#randomUUID()}, the
+ * baseline the other strategies are compared to. Every thread count is a nested class, so
+ * <pre>
+ * java -jar target/benchmarks.jar IdGeneratorBenchmark
+ * </pre>
+ * runs them all, and e.g. {@code IdGeneratorBenchmark.Threads64} only the largest one.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Dlog4j2.configurationFile=log4j2-benchmarks.xml")
+@State(Scope.Benchmark)
+public abstract class IdGeneratorBenchmark {
+
+    @Param({"RANDOM", "TIME_ORDERED", "THREAD_BLOCKS", "SPLITTABLE_RANDOM"})
+    IdStrategy strategy;
+
+    private IdGenerator generator;
+
+    @Setup
+    public void setUp() {
+        generator = strategy.newGenerator();
+    }
+
+    @Benchmark
+    public UUID nextId() {
+        return generator.nextId();
+    }
+
+    @Threads(1)
+    public static class Threads1 extends IdGeneratorBenchmark {
+    }
+
+    @Threads(2)
+    public static class Threads2 extends IdGeneratorBenchmark {
+    }
+
+    @Threads(4)
+    public static class Threads4 extends IdGeneratorBenchmark {
+    }
+
+    @Threads(8)
+    public static class Threads8 extends IdGeneratorBenchmark {
+    }
+
+    @Threads(16)
+    public static class Threads16 extends IdGeneratorBenchmark {
+    }
+
+    @Threads(32)
+    public static class Threads32 extends IdGeneratorBenchmark {
+    }
+
+    @Threads(64)
+    public static class Threads64 extends IdGeneratorBenchmark {
+    }
+}
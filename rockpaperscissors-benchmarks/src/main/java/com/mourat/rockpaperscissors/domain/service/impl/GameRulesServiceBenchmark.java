@@ -0,0 +1,65 @@
+package com.mourat.rockpaperscissors.domain.service.impl;
+
+import com.mourat.rockpaperscissors.domain.model.Move;
+import com.mourat.rockpaperscissors.domain.model.Player;
+import com.mourat.rockpaperscissors.domain.model.RoundResult;
+import com.mourat.rockpaperscissors.domain.model.RuleSet;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of resolving a round without the per session result table, for rule sets of a few sizes. Moves are
+ * taken from a random sequence, so the outcome can't be predicted from the previous round.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Dlog4j2.configurationFile=log4j2-benchmarks.xml")
+@State(Scope.Thread)
+public class GameRulesServiceBenchmark {
+
+    /** Length of the move sequence, a power of two */
+    private static final int SEQUENCE_LENGTH = 1024;
+
+    @Param({"3", "5", "101"})
+    int moveCount;
+
+    private GameRulesServiceImpl rules;
+    private RuleSet ruleSet;
+    private Player player1;
+    private Player player2;
+    private Move[] player1Moves;
+    private Move[] player2Moves;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        rules = new GameRulesServiceImpl();
+        ruleSet = RuleSet.of(moveCount);
+        player1 = Player.newPlayerWithName("Player A");
+        player2 = Player.newPlayerWithName("Player B");
+
+        SplittableRandom random = new SplittableRandom(42);
+        player1Moves = new Move[SEQUENCE_LENGTH];
+        player2Moves = new Move[SEQUENCE_LENGTH];
+        for (int i = 0; i < SEQUENCE_LENGTH; i++) {
+            player1Moves[i] = Move.fromOrdinal(random.nextInt(moveCount));
+            player2Moves[i] = Move.fromOrdinal(random.nextInt(moveCount));
+        }
+    }
+
+    @Benchmark
+    public RoundResult checkRoundWinner() {
+        int i = next++ & (SEQUENCE_LENGTH - 1);
+        return rules.checkRoundWinner(ruleSet, player1, player1Moves[i], player2, player2Moves[i]);
+    }
+
+    @Benchmark
+    public int outcomeOf() {
+        int i = next++ & (SEQUENCE_LENGTH - 1);
+        return rules.outcomeOf(ruleSet, player1Moves[i], player2Moves[i]);
+    }
+}
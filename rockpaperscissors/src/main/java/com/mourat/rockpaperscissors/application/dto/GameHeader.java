@@ -0,0 +1,16 @@
+package com.mourat.rockpaperscissors.application.dto;
+
+/**
+ * The parts of a game's result that never change once both players joined, with the IDs already rendered.
+ * Built once per session and shared by every {@link MoveResult.Played} of the game.
+ *
+ * @param gameId ID of the game
+ * @param player1Id ID of player 1
+ * @param player1Name name of player 1
+ * @param player2Id ID of player 2
+ * @param player2Name name of player 2
+ * @param totalRounds number of rounds of the game
+ */
+public record GameHeader(String gameId, String player1Id, String player1Name,
+                         String player2Id, String player2Name, int totalRounds) {
+}
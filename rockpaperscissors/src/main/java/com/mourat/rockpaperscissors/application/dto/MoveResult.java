@@ -0,0 +1,52 @@
+package com.mourat.rockpaperscissors.application.dto;
+
+import com.mourat.rockpaperscissors.application.mappers.ResultMapper;
+import com.mourat.rockpaperscissors.domain.model.Move;
+
+/**
+ * Outcome of a move submitted through the handle based API: either the state of the game after
+ * the round, or the {@link RunnerError} explaining why the move was rejected.
+ */
+public sealed interface MoveResult permits MoveResult.Played, RunnerError {
+
+    /** Winner index of no player, for a drawn round or a game without a winner */
+    int NO_WINNER = 0;
+
+    /** Winner index of player 1 */
+    int PLAYER1 = 1;
+
+    /** Winner index of player 2 */
+    int PLAYER2 = 2;
+
+    /**
+     * A move that was accepted and played, with the state of the game after the round.
+     * <p>
+     * A single instance per round is shared by both players. Everything that doesn't change during the
+     * game is in the shared {@link GameHeader}, so the result of a round is one small object. The text
+     * form of earlier versions is rendered on demand by {@link #toResultDto()}.
+     *
+     * @param game the parts of the game that don't change between rounds
+     * @param player1Score rounds won by player 1
+     * @param player2Score rounds won by player 2
+     * @param ties drawn rounds
+     * @param currentRound the next round of the game (1-based), one past the last round once the game is finished
+     * @param player1LastMove move of player 1 in the round
+     * @param player2LastMove move of player 2 in the round
+     * @param roundWinner {@link #NO_WINNER}, {@link #PLAYER1} or {@link #PLAYER2}
+     * @param gameWinner winner of the finished game, {@link #NO_WINNER} while it runs or if it is a tie
+     * @param gameFinished whether the round was the last round of the game
+     */
+    record Played(GameHeader game, int player1Score, int player2Score, int ties, int currentRound,
+                  Move player1LastMove, Move player2LastMove, int roundWinner, int gameWinner,
+                  boolean gameFinished) implements MoveResult {
+
+        /**
+         * Renders the result in the text form of the string based API. Allocates a new DTO on every call.
+         *
+         * @return the result as a {@link ResultDto}
+         */
+        public ResultDto toResultDto() {
+            return ResultMapper.renderResultDto(this);
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.mourat.rockpaperscissors.application.dto;
+
+import com.mourat.rockpaperscissors.domain.model.RuleSet;
+
+/**
+ * Preallocated reasons for which the runner services reject a request.
+ * <p>
+ * Rejections are reported by returning one of these constants instead of throwing or building a
+ * message, so the rejection path allocates nothing. Handle based calls return {@link #code()},
+ * a negative number that never collides with a valid handle. The text messages of the string based
+ * API are rendered from {@link #getMessage()} only when they are needed.
+ */
+public enum RunnerError implements MoveResult {
+
+    /** No player id was given */
+    PLAYER_ID_NULL("Player id is null"),
+
+    /** The player id or handle doesn't match any player */
+    PLAYER_NOT_FOUND("Player with id \"%s\" doesn't exist"),
+
+    /** The name of a new player is too short or too long */
+    INVALID_PLAYER_NAME("Player name must be between 2 and 16 characters"),
+
+    /** A game was requested with zero or negative rounds */
+    ROUNDS_NOT_POSITIVE("Rounds must be a positive number"),
+
+    /** A game was requested with more rounds than allowed */
+    ROUNDS_ABOVE_MAXIMUM("The game can have max %s rounds!"),
+
+    /** A game was requested with a number of moves no rule set has */
+    INVALID_MOVE_COUNT("Move count must be an odd number between " + RuleSet.MIN_MOVE_COUNT + " and " + RuleSet.MAX_MOVE_COUNT),
+
+    /** There is no open game session to join */
+    NO_OPEN_GAMES("There are no games to join"),
+
+    /** The player already takes part in a session */
+    ALREADY_IN_SESSION("Player with id \"%s\" is already in a session"),
+
+    /** The player doesn't take part in any session */
+    NOT_IN_SESSION("Player with id \"%s\" is not joined to any game"),
+
+    /** The move is not a valid move, or not part of the rule set of the game */
+    INVALID_MOVE("Invalid move: \"%s\""),
+
+    /** The session doesn't accept moves in its current state */
+    MOVE_NOT_ACCEPTED("Cant make move in this state of session"),
+
+    /** The player is not part of the session, or has no room left in its move queue */
+    DUPLICATE_MOVE("Invalid player or multiple moves from same player"),
+
+    /** The player submitted moves for rounds past the end of the game */
+    MOVES_EXCEED_ROUNDS("More moves than rounds left in the game"),
+
+    /** The session expired while the player was waiting for the round */
+    SESSION_EXPIRED("Session expired before the round was completed"),
+
+    /** The thread waiting for the round was interrupted, the move itself stays submitted */
+    INTERRUPTED("Interrupted while waiting for the round to complete"),
+
+    /** The finished game doesn't exist */
+    GAME_NOT_FOUND("Finished game with id \"%s\" doesn't exist"),
+
+    /** Resolving the round failed, the session was terminated */
+    ROUND_FAILED("The round could not be resolved, the session is terminated");
+
+    /** Cached values, {@link #values()} returns a fresh copy on every call */
+    private static final RunnerError[] VALUES = values();
+
+    /** Human readable message, with a {@code %s} placeholder for the subject if it has one */
+    private final String message;
+
+    /** Whether the message refers to a subject */
+    private final boolean hasSubject;
+
+    RunnerError(String message) {
+        this.message = message;
+        this.hasSubject = message.contains("%s");
+    }
+
+    /**
+     * Returns the message of the error, with a {@code %s} placeholder where the subject goes.
+     *
+     * @return the message of the error
+     */
+    public String getMessage() {
+        return message;
+    }
+
+    /**
+     * Renders the message of the error for the given subject.
+     *
+     * @param subject the id, handle or value the error refers to
+     * @return the rendered message
+     */
+    public String render(Object subject) {
+        return hasSubject ? message.formatted(subject) : message;
+    }
+
+    /**
+     * Returns the code of the error as returned by handle based calls.
+     *
+     * @return a negative error code
+     */
+    public int code() {
+        return -(ordinal() + 1);
+    }
+
+    /**
+     * Decodes a value returned by a handle based call.
+     *
+     * @param code the returned value
+     * @return the error, or {@code null} if the value is a valid handle rather than an error code
+     */
+    public static RunnerError fromCode(int code) {
+        if (code >= 0 || -code > VALUES.length) {
+            return null;
+        }
+        return VALUES[-code - 1];
+    }
+}
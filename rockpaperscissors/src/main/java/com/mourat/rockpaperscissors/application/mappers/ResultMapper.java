@@ -1,8 +1,13 @@
 package com.mourat.rockpaperscissors.application.mappers;
 
+import com.mourat.rockpaperscissors.application.dto.GameHeader;
+import com.mourat.rockpaperscissors.application.dto.MoveResult;
 import com.mourat.rockpaperscissors.application.dto.ResultDto;
+import com.mourat.rockpaperscissors.application.model.ArchivedGame;
 import com.mourat.rockpaperscissors.domain.model.Game;
+import com.mourat.rockpaperscissors.domain.model.GameResult;
 import com.mourat.rockpaperscissors.domain.model.GameState;
+import com.mourat.rockpaperscissors.domain.model.RoundHistory;
 import com.mourat.rockpaperscissors.domain.model.RoundResult;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -73,4 +78,164 @@ public class ResultMapper {
 
         return resultDto;
     }
+
+    /**
+     * Captures the parts of a game that don't change once both players joined, rendering the IDs once.
+     *
+     * @param game the game to map; must not be null and must have both players
+     * @return the {@link GameHeader} of the game
+     * @throws IllegalArgumentException if {@code game} is null
+     */
+    public static GameHeader toGameHeader(Game game){
+
+        if(game == null){
+            logger.error("The game given to the mapper is null, can't map a null game to a header");
+            throw new IllegalArgumentException("Game argument must not be null");
+        }
+
+        return new GameHeader(game.getId().toString(),
+                game.getPlayer1().getId().toString(), game.getPlayer1().getName(),
+                game.getPlayer2().getId().toString(), game.getPlayer2().getName(),
+                game.getRounds());
+    }
+
+    /**
+     * Captures the state of a game after its last played round, without rendering anything.
+     *
+     * @param game the game to map; must not be null and must have played a round
+     * @param header the header of the game, from {@link #toGameHeader(Game)}
+     * @return a {@link MoveResult.Played} representing the current state of the game
+     * @throws IllegalArgumentException if {@code game} is null
+     */
+    public static MoveResult.Played toPlayed(Game game, GameHeader header){
+
+        if(game == null){
+            logger.error("The game given to the mapper is null, can't map a null game to a result");
+            throw new IllegalArgumentException("Game argument must not be null");
+        }
+
+        RoundResult lastRoundResult = game.getLastRoundResult();
+        RoundHistory history = game.getHistory();
+        GameResult result = game.getResult();
+
+        int gameWinner = MoveResult.NO_WINNER;
+        if(result != null && result.winner() != null) {
+            gameWinner = result.winner().equals(game.getPlayer1()) ? MoveResult.PLAYER1 : MoveResult.PLAYER2;
+        }
+
+        return new MoveResult.Played(header, game.getPlayer1Score(), game.getPlayer2Score(), game.getDraws(),
+                game.getActiveRound(), lastRoundResult.player1Move(), lastRoundResult.player2Move(),
+                history.winner(history.getSize() - 1), gameWinner, game.getState() == GameState.FINISHED);
+    }
+
+    /**
+     * Renders the result of a played round into a {@link ResultDto} object, the same one
+     * {@link #toResultDto(Game)} creates for the game at that round.
+     *
+     * @param played the result to render; must not be null
+     * @return a {@link ResultDto} representing the state of the game after the round
+     * @throws IllegalArgumentException if {@code played} is null
+     */
+    public static ResultDto renderResultDto(MoveResult.Played played){
+
+        if(played == null){
+            logger.error("The result given to the mapper is null, can't map a null result to a Data Transfer Object (DTO)");
+            throw new IllegalArgumentException("Result argument must not be null");
+        }
+        GameHeader header = played.game();
+        ResultDto resultDto = new ResultDto();
+
+        resultDto.setGameFinished(played.gameFinished());
+
+        resultDto.setPlayer1Name(header.player1Name());
+        resultDto.setPlayer1Id(header.player1Id());
+        resultDto.setPlayer1Score(Integer.toString(played.player1Score()));
+
+        resultDto.setPlayer2Name(header.player2Name());
+        resultDto.setPlayer2Id(header.player2Id());
+        resultDto.setPlayer2Score(Integer.toString(played.player2Score()));
+
+        resultDto.setTies(Integer.toString(played.ties()));
+
+        resultDto.setGameId(header.gameId());
+        resultDto.setTotalRounds(Integer.toString(header.totalRounds()));
+        resultDto.setCurrentRound(Integer.toString(played.currentRound()));
+
+        resultDto.setPlayer1LastMove(played.player1LastMove().toString());
+        resultDto.setPlayer2LastMove(played.player2LastMove().toString());
+        if(played.roundWinner() == MoveResult.PLAYER1) {
+            resultDto.setRoundWinnerPlayerName(header.player1Name());
+            resultDto.setRoundWinnerPlayerId(header.player1Id());
+        }
+        else if(played.roundWinner() == MoveResult.PLAYER2) {
+            resultDto.setRoundWinnerPlayerName(header.player2Name());
+            resultDto.setRoundWinnerPlayerId(header.player2Id());
+        }
+
+        if(played.gameWinner() == MoveResult.PLAYER1) {
+            resultDto.setGameWinnerPlayerName(header.player1Name());
+            resultDto.setGameWinnerPlayerId(header.player1Id());
+        }
+        else if(played.gameWinner() == MoveResult.PLAYER2) {
+            resultDto.setGameWinnerPlayerName(header.player2Name());
+            resultDto.setGameWinnerPlayerId(header.player2Id());
+        }
+
+        return resultDto;
+    }
+
+    /**
+     * Converts an {@link ArchivedGame} into a {@link ResultDto} object describing the final state of the game.
+     *
+     * @param game the archived game to map; must not be null
+     * @return a {@link ResultDto} representing the final results of the game
+     * @throws IllegalArgumentException if {@code game} is null
+     */
+    public static ResultDto toFinalResultDto(ArchivedGame game){
+
+        if(game == null){
+            logger.error("The archived game given to the mapper is null, can't map a null game to a Data Transfer Object (DTO)");
+            throw new IllegalArgumentException("Game argument must not be null");
+        }
+        logger.debug("Creating a Data Transfer Object (DTO) for the archived game with id \"{}\"", game.gameId());
+        ResultDto resultDto = new ResultDto();
+
+        resultDto.setGameFinished(true);
+
+        resultDto.setPlayer1Name(game.player1Name());
+        resultDto.setPlayer1Id(game.player1Id().toString());
+        resultDto.setPlayer1Score(Integer.toString(game.player1Score()));
+
+        resultDto.setPlayer2Name(game.player2Name());
+        resultDto.setPlayer2Id(game.player2Id().toString());
+        resultDto.setPlayer2Score(Integer.toString(game.player2Score()));
+
+        resultDto.setTies(Integer.toString(game.draws()));
+
+        resultDto.setGameId(game.gameId().toString());
+        resultDto.setTotalRounds(Integer.toString(game.rounds()));
+        resultDto.setCurrentRound(Integer.toString(game.rounds() + 1));
+
+        resultDto.setPlayer1LastMove(game.player1LastMove().toString());
+        resultDto.setPlayer2LastMove(game.player2LastMove().toString());
+        if(game.lastRoundWinner() == 1) {
+            resultDto.setRoundWinnerPlayerName(game.player1Name());
+            resultDto.setRoundWinnerPlayerId(game.player1Id().toString());
+        }
+        else if(game.lastRoundWinner() == 2) {
+            resultDto.setRoundWinnerPlayerName(game.player2Name());
+            resultDto.setRoundWinnerPlayerId(game.player2Id().toString());
+        }
+
+        if(game.winner() == 1) {
+            resultDto.setGameWinnerPlayerName(game.player1Name());
+            resultDto.setGameWinnerPlayerId(game.player1Id().toString());
+        }
+        else if(game.winner() == 2) {
+            resultDto.setGameWinnerPlayerName(game.player2Name());
+            resultDto.setGameWinnerPlayerId(game.player2Id().toString());
+        }
+
+        return resultDto;
+    }
 }
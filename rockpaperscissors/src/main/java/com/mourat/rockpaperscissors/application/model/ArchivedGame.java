@@ -0,0 +1,73 @@
+package com.mourat.rockpaperscissors.application.model;
+
+import com.mourat.rockpaperscissors.domain.model.Game;
+import com.mourat.rockpaperscissors.domain.model.GameResult;
+import com.mourat.rockpaperscissors.domain.model.Move;
+import com.mourat.rockpaperscissors.domain.model.Player;
+import com.mourat.rockpaperscissors.domain.model.RoundResult;
+
+import java.util.UUID;
+
+/**
+ * Immutable, compact summary of a finished game kept by the game archive.
+ * <p>
+ * Unlike a finished {@link GameSession} it holds no references to the players, the session
+ * synchronization or the per-round history, only the values needed to report the final result.
+ *
+ * @param gameId id of the game
+ * @param player1Id id of player 1
+ * @param player1Name name of player 1
+ * @param player2Id id of player 2
+ * @param player2Name name of player 2
+ * @param rounds total number of rounds played
+ * @param player1Score rounds won by player 1
+ * @param player2Score rounds won by player 2
+ * @param draws number of drawn rounds
+ * @param winner winner of the game: 1 or 2 for the player, 0 for a tie
+ * @param player1LastMove last move of player 1
+ * @param player2LastMove last move of player 2
+ * @param lastRoundWinner winner of the last round: 1 or 2 for the player, 0 for a draw
+ */
+public record ArchivedGame(UUID gameId,
+                           UUID player1Id, String player1Name,
+                           UUID player2Id, String player2Name,
+                           int rounds, int player1Score, int player2Score, int draws, int winner,
+                           Move player1LastMove, Move player2LastMove, int lastRoundWinner) {
+
+    /**
+     * Creates the archive summary of a finished game.
+     *
+     * @param game the finished game
+     * @return the summary of the game
+     * @throws IllegalArgumentException if {@code game} is null or not finished
+     */
+    public static ArchivedGame of(Game game) {
+        if (game == null || game.getResult() == null) {
+            throw new IllegalArgumentException("Only finished games can be archived");
+        }
+
+        GameResult result = game.getResult();
+        RoundResult lastRound = game.getLastRoundResult();
+
+        return new ArchivedGame(game.getId(),
+                game.getPlayer1().getId(), game.getPlayer1().getName(),
+                game.getPlayer2().getId(), game.getPlayer2().getName(),
+                game.getRounds(), result.nOfPlayer1Wins(), result.nOfPlayer2Wins(), result.nOfDraws(),
+                winnerIndex(game, result.winner()),
+                lastRound.player1Move(), lastRound.player2Move(), winnerIndex(game, lastRound.winner()));
+    }
+
+    /**
+     * Maps a winning player to its position in the game.
+     *
+     * @param game the game the player belongs to
+     * @param winner the winning player or {@code null} for a tie
+     * @return 1 or 2 for the player position, 0 for a tie
+     */
+    private static int winnerIndex(Game game, Player winner) {
+        if (winner == null) {
+            return 0;
+        }
+        return winner.equals(game.getPlayer1()) ? 1 : 2;
+    }
+}
@@ -0,0 +1,32 @@
+package com.mourat.rockpaperscissors.application.model;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * Flight recorder event of a player blocked in {@link GameSession#play} until the opponent moved and the round
+ * was resolved. Only waits of at least 10 ms are recorded unless the threshold is lowered, e.g. with
+ * {@code -XX:StartFlightRecording:+com.mourat.rockpaperscissors.BarrierWait#threshold=0ms}.
+ */
+@Name("com.mourat.rockpaperscissors.BarrierWait")
+@Label("Barrier Wait")
+@Category({"Rock Paper Scissors", "Session"})
+@Description("A player waited for the opponent's move and the resolution of the round")
+@Threshold("10 ms")
+@StackTrace(false)
+class BarrierWaitEvent extends Event {
+
+    @Label("Game Id")
+    String gameId;
+
+    @Label("Player Id")
+    String playerId;
+
+    @Label("Session Handle")
+    int sessionHandle;
+}
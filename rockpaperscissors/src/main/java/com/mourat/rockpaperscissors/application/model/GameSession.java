@@ -1,29 +1,78 @@
 package com.mourat.rockpaperscissors.application.model;
 
+import com.mourat.rockpaperscissors.application.dto.GameHeader;
+import com.mourat.rockpaperscissors.application.dto.MoveResult;
 import com.mourat.rockpaperscissors.application.dto.ResultDto;
+import com.mourat.rockpaperscissors.application.dto.RunnerError;
 import com.mourat.rockpaperscissors.application.mappers.ResultMapper;
 import com.mourat.rockpaperscissors.domain.model.*;
 import com.mourat.rockpaperscissors.domain.service.GameRulesService;
+import lombok.AccessLevel;
 import lombok.Getter;
+import lombok.Setter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.concurrent.CyclicBarrier;
+import java.lang.invoke.VarHandle;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
 
 /**
  * Represents a game session managing the state and synchronization
  * between two players.
  * <p>
  * The session holds references to the {@link Game} and the participating {@link Player}s,
- * manages player moves, and coordinates rounds using a CyclicBarrier.
+ * manages player moves, and coordinates rounds with a future per player: a submitted move
+ * returns immediately with a {@link CompletableFuture} that is completed when the round resolves,
+ * so no thread has to wait for the opponent unless it chooses to block on the future.
+ * <p>
+ * Every player has a bounded queue of moves for upcoming rounds. A player may submit moves ahead
+ * of the opponent until the queue is full, and rounds are resolved back to back as long as both
+ * queues hold a move. With a capacity of one, a player can't move again before the round resolves.
+ * <p>
+ * Moves are submitted without locks. The round number, the number of queued moves of both players
+ * and the session's flags are packed into a single atomic word updated with CAS, so exactly one
+ * submitter at a time claims the resolution of the ready rounds and no round is resolved twice or skipped.
  */
 @Getter
 public class GameSession {
 
     private Logger logger = LoggerFactory.getLogger(GameSession.class);
 
+    /*
+     * Bit layout of the round state word:
+     * [63..34] resolved rounds | [33] drained | [32] terminated | [31] joined | [30] resolving
+     * | [29] player 2 writing | [28] player 1 writing | [27..14] player 2 queued moves | [13..0] player 1 queued moves
+     */
+    private static final int QUEUED_BITS = 14;
+    private static final long QUEUED_MASK = (1L << QUEUED_BITS) - 1;
+    private static final int PLAYER2_SHIFT = QUEUED_BITS;
+    private static final long PLAYER1_WRITING = 1L << 28;
+    private static final long PLAYER2_WRITING = 1L << 29;
+    private static final long RESOLVING = 1L << 30;
+    private static final long JOINED = 1L << 31;
+    private static final long TERMINATED = 1L << 32;
+    private static final long DRAINED = 1L << 33;
+    private static final int ROUND_SHIFT = 34;
+    private static final long ONE_ROUND = 1L << ROUND_SHIFT;
+
+    /** Threads that are submitting or resolving, the queues may only be drained once none is left */
+    private static final long ACTIVE = PLAYER1_WRITING | PLAYER2_WRITING | RESOLVING;
+
+    /** Bits of the round state that change whenever the game changes, the queued moves and writers don't touch it */
+    private static final long GAME_VERSION = ~(QUEUED_MASK | (QUEUED_MASK << PLAYER2_SHIFT) | PLAYER1_WRITING | PLAYER2_WRITING);
+
+    /** Largest number of moves a player can queue */
+    public static final int MAX_MOVE_QUEUE_CAPACITY = (int) QUEUED_MASK;
+
+    /** Largest rule set whose round results are cached per session, the cache grows with the square of the moves */
+    public static final int MAX_CACHED_MOVE_COUNT = 7;
+
     /** Current state of the game session */
-    SessionState state = SessionState.INIT;
+    volatile SessionState state = SessionState.INIT;
 
     /** The game being played in this session */
     private final Game game;
@@ -31,38 +80,119 @@ public class GameSession {
     /** First player in the session (owner) */
     private final Player player1;
 
-    /** First player's move for the current round */
-    private Move player1Move;
+    /** Second player in the session, read without locking by submitters */
+    private volatile Player player2;
+
+    /** First player's moves for the upcoming rounds, indexed by round modulo the capacity */
+    @Getter(AccessLevel.NONE)
+    private final Move[] player1Moves;
+
+    /** Futures of the first player's moves, {@code null} for moves of a batch other than the last */
+    @Getter(AccessLevel.NONE)
+    private final CompletableFuture<MoveResult>[] player1Results;
 
-    /** Second player in the session */
-    private Player player2;
+    /** Second player's moves for the upcoming rounds, indexed by round modulo the capacity */
+    @Getter(AccessLevel.NONE)
+    private final Move[] player2Moves;
 
-    /** Second player's move for the current round */
-    private Move player2Move;
+    /** Futures of the second player's moves, {@code null} for moves of a batch other than the last */
+    @Getter(AccessLevel.NONE)
+    private final CompletableFuture<MoveResult>[] player2Results;
 
-    /** Synchronization point to ensure both players have moved before resolving the round */
-    private final CyclicBarrier roundBarrier;
+    /** Packed round state, see the bit layout constants */
+    @Getter(AccessLevel.NONE)
+    private final AtomicLong roundState;
+
+    /** Number of moves a player may submit ahead of the resolved rounds */
+    private final int moveQueueCapacity;
 
     /** Service for applying game rules and determining round outcomes */
     private final GameRulesService gameRulesService;
 
+    /** Receives the resolved rounds and the waits of the players */
+    @Getter(AccessLevel.NONE)
+    private final SessionMetrics metrics;
+
     /**
-     * Constructs a new session for the given game with an owner player.
+     * Result of every move combination between the two players, built once the second player joins.
+     * {@code null} for rule sets above {@link #MAX_CACHED_MOVE_COUNT}, their results are created per round.
+     */
+    @Getter(AccessLevel.NONE)
+    private RoundResult[] roundResults;
+
+    /** Parts of the result shared by every round, built once the second player joins */
+    @Getter(AccessLevel.NONE)
+    private GameHeader header;
+
+    /** Handle of the session issued by the runner service, negative if none was issued */
+    @Setter
+    private volatile int handle = -1;
+
+    /** Time of the last progress in the session (creation, join or resolved round), from {@link System#nanoTime()} */
+    private volatile long lastActivity;
+
+    /** Whether the session is counted as open by the {@link Matchmaker}, cleared once by whoever takes it out */
+    @Getter(AccessLevel.NONE)
+    private final AtomicBoolean matchmakingListed = new AtomicBoolean();
+
+    /**
+     * Constructs a new session for the given game with an owner player, where a player can't move
+     * again before the current round resolves.
      *
      * @param owner the first player and session initiator
      * @param game the game instance associated with the session
      * @param gameRulesService service used to resolve rounds
      */
     public GameSession(Player owner, Game game, GameRulesService gameRulesService){
+        this(owner, game, gameRulesService, 1);
+    }
+
+    /**
+     * Constructs a new session for the given game with an owner player.
+     *
+     * @param owner the first player and session initiator
+     * @param game the game instance associated with the session
+     * @param gameRulesService service used to resolve rounds
+     * @param moveQueueCapacity number of moves a player may submit ahead of the resolved rounds, capped to the rounds of the game
+     *                          and to {@link #MAX_MOVE_QUEUE_CAPACITY}
+     * @throws IllegalArgumentException if {@code moveQueueCapacity} is not positive
+     */
+    public GameSession(Player owner, Game game, GameRulesService gameRulesService, int moveQueueCapacity){
+        this(owner, game, gameRulesService, moveQueueCapacity, SessionMetrics.NONE);
+    }
+
+    /**
+     * Constructs a new session for the given game with an owner player, reporting its progress to the given metrics.
+     *
+     * @param owner the first player and session initiator
+     * @param game the game instance associated with the session
+     * @param gameRulesService service used to resolve rounds
+     * @param moveQueueCapacity number of moves a player may submit ahead of the resolved rounds, capped to the rounds of the game
+     *                          and to {@link #MAX_MOVE_QUEUE_CAPACITY}
+     * @param metrics receives the resolved rounds and the waits of the players, {@link SessionMetrics#NONE} to report nothing
+     * @throws IllegalArgumentException if {@code moveQueueCapacity} is not positive
+     */
+    public GameSession(Player owner, Game game, GameRulesService gameRulesService, int moveQueueCapacity, SessionMetrics metrics){
+        if(moveQueueCapacity < 1){
+            logger.error("Session can't be created with a move queue capacity of {}, players must be able to submit at least one move", moveQueueCapacity);
+            throw new IllegalArgumentException("Move queue capacity must be positive");
+        }
+
         this.game = game;
-        this.roundBarrier = new CyclicBarrier(2);
         this.player1 = owner;
         owner.setGameSession(this);
         this.state = SessionState.WAITING_FOR_JOIN;
-        this.player1Move = null;
-        this.player2Move = null;
+        this.moveQueueCapacity = Math.min(Math.min(moveQueueCapacity, game.getRounds()), MAX_MOVE_QUEUE_CAPACITY);
+        this.player1Moves = new Move[this.moveQueueCapacity];
+        this.player1Results = newResults(this.moveQueueCapacity);
+        this.player2Moves = new Move[this.moveQueueCapacity];
+        this.player2Results = newResults(this.moveQueueCapacity);
+        // A resumed game continues at its active round
+        this.roundState = new AtomicLong((long) (game.getActiveRound() - 1) << ROUND_SHIFT);
 
         this.gameRulesService = gameRulesService;
+        this.metrics = metrics;
+        this.lastActivity = System.nanoTime();
 
         logger.debug("New session for the game \"{}\" by player \"{}\":\"{}\" successfully created", game.getId(), owner.getName(), owner.getId());
     }
@@ -89,22 +219,27 @@ public class GameSession {
             return false;
         }
 
-        // Add the player as the second player and start the game
-        if(!game.setPlayerTwo(player)){
+        // Add the player as the second player and start the game, a resumed game already has its second player
+        if(!player.equals(game.getPlayer2()) && !game.setPlayerTwo(player)){
             logger.warn("Can't complete the joining process, denied by domain layer");
             return false;
         }
         this.player2 = player;
+        this.header = ResultMapper.toGameHeader(game);
+        RuleSet ruleSet = game.getRuleSet();
+        this.roundResults = ruleSet.getMoveCount() <= MAX_CACHED_MOVE_COUNT ? gameRulesService.roundResultTable(ruleSet, player1, player) : null;
         player.setGameSession(this);
 
         state = SessionState.WAITING_FOR_MOVES;
+        roundState.getAndUpdate(word -> word | JOINED);
+        lastActivity = System.nanoTime();
         logger.debug("Player's join request processed successfully by the session...");
         return true;
     }
 
     /**
      * Submits a player's move and evaluates the round once both players have submitted.
-     * Blocks at a barrier to synchronize both players.
+     * Blocks until the opponent has moved as well.
      *
      * @param player the player submitting a move
      * @param move the move made by the player
@@ -112,10 +247,74 @@ public class GameSession {
      * @throws IllegalArgumentException if the player or move is null
      */
     public ResultDto makeMove(Player player, Move move){
+        return toResultDto(play(player, move), move);
+    }
 
-        RoundResult roundResult;
-        GameResult gameResult;
-        ResultDto dto = new ResultDto();
+    /**
+     * Submits a player's move like {@link #makeMove(Player, Move)}, reporting a rejected move with a
+     * preallocated {@link RunnerError} instead of building a failure {@link ResultDto}.
+     *
+     * @param player the player submitting a move
+     * @param move the move made by the player
+     * @return the current game state, or the reason the move was rejected
+     * @throws IllegalArgumentException if the player or move is null
+     */
+    public MoveResult play(Player player, Move move){
+        CompletableFuture<MoveResult> result = playAsync(player, move);
+
+        try {
+            if(result.isDone()){
+                return result.get();
+            }
+            // Only a player that has to wait for the round is timed, the opponent completes the round on its own thread
+            BarrierWaitEvent event = new BarrierWaitEvent();
+            event.begin();
+            long start = System.nanoTime();
+            MoveResult outcome = result.get();
+            metrics.barrierWaited(System.nanoTime() - start);
+            event.end();
+            if(event.shouldCommit()){
+                event.gameId = game.getId().toString();
+                event.playerId = player.getId().toString();
+                event.sessionHandle = handle;
+                event.commit();
+            }
+            return outcome;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            logger.warn("Player \"{}\" stopped waiting for the round of the game \"{}\", the move stays submitted", player.getId(), game.getId());
+            return RunnerError.INTERRUPTED;
+        } catch (ExecutionException e) {
+            logger.error("Round of the game \"{}\" completed exceptionally for player \"{}\"", game.getId(), player.getId(), e.getCause());
+            return RunnerError.ROUND_FAILED;
+        }
+    }
+
+    /**
+     * Submits a player's move and evaluates the round once both players have submitted, without blocking.
+     *
+     * @param player the player submitting a move
+     * @param move the move made by the player
+     * @return a future completed with the {@link ResultDto} of the game once the round resolves
+     * @throws IllegalArgumentException if the player or move is null
+     */
+    public CompletableFuture<ResultDto> makeMoveAsync(Player player, Move move){
+        return playAsync(player, move).thenApply(result -> toResultDto(result, move));
+    }
+
+    /**
+     * Submits a player's move like {@link #makeMoveAsync(Player, Move)}, reporting a rejected move with
+     * a preallocated {@link RunnerError}. A rejected move returns an already completed future.
+     * <p>
+     * A round is resolved by the thread submitting its second move, which also completes the futures of
+     * both players, so stages attached to the returned future without an executor run on that thread.
+     *
+     * @param player the player submitting a move
+     * @param move the move made by the player
+     * @return a future completed with the game state after the round of the move, or with the reason the move was rejected
+     * @throws IllegalArgumentException if the player or move is null
+     */
+    public CompletableFuture<MoveResult> playAsync(Player player, Move move){
 
         if(player == null){
             logger.error("This code should never be executed! Move can't be made by a null player. On this call, player is never null, check for corruption");
@@ -127,53 +326,437 @@ public class GameSession {
             throw new IllegalArgumentException("Move must be a valid move");
         }
 
-        if(state != SessionState.WAITING_FOR_MOVES){
-            dto.setSuccess(false);
-            dto.setStatusMessage("Cant make move in this state of session");
-            logger.warn("The session is not in a state to accept move requests");
-            return dto;
+        return submit(player, move, null);
+    }
+
+    /**
+     * Submits a player's moves for the next rounds at once, e.g. a whole game. Either all of the moves
+     * fit into the player's move queue and are accepted, or the request is rejected.
+     * <p>
+     * Only the last move gets a future, so a player submitting the whole game gets a single result.
+     *
+     * @param player the player submitting the moves
+     * @param moves the moves for the next rounds, in order
+     * @return a future completed with the game state after the round of the last move, or with the reason the moves were rejected
+     * @throws IllegalArgumentException if the player is null, or if there are no moves or any of them is null
+     */
+    public CompletableFuture<MoveResult> playAllAsync(Player player, Move[] moves){
+
+        if(player == null){
+            logger.error("This code should never be executed! Move can't be made by a null player. On this call, player is never null, check for corruption");
+            throw new IllegalArgumentException("Player must be valid");
         }
 
-        // Assign the move to the correct player
-        if(player.getId().equals(this.player1.getId()) && this.player1Move == null){
-            this.player1Move = move;
+        if(moves == null || moves.length == 0){
+            logger.error("This code should never be executed! Moves can't be null or empty. On this call, moves are always given, check for corruption");
+            throw new IllegalArgumentException("Moves must be valid moves");
         }
-        else if (player.getId().equals(this.player2.getId()) && this.player2Move == null) {
-            this.player2Move = move;
+        for(Move move : moves){
+            if(move == null){
+                logger.error("This code should never be executed! Move can't be null. On this call, move is never null, check for corruption");
+                throw new IllegalArgumentException("Move must be a valid move");
+            }
         }
-        else {
-            // Duplicate or invalid move
-            dto.setSuccess(false);
-            dto.setStatusMessage("Invalid player or multiple moves from same player");
-            logger.error("The player trying to make the move is not this session's player, or same player trying to make a move again. Check for thread sync or corruption");
-            return dto;
+
+        return submit(player, null, moves);
+    }
+
+    /**
+     * Queues either a single move or a batch of moves and resolves every round that has both moves.
+     * <p>
+     * A submitter first claims its player's writing flag, then writes the moves into the free slots of
+     * its queue, and finally publishes them by raising its queued count while dropping the flag. If that
+     * makes a round ready and nobody is resolving, the same CAS claims the resolution.
+     *
+     * @param player the player submitting
+     * @param move the single move, or {@code null} for a batch
+     * @param moves the batch of moves, or {@code null} for a single move
+     * @return the future of the last submitted move
+     */
+    private CompletableFuture<MoveResult> submit(Player player, Move move, Move[] moves){
+
+        Player joined = this.player2;
+        boolean isPlayer1 = player.getId().equals(this.player1.getId());
+        if(!isPlayer1 && (joined == null || !player.getId().equals(joined.getId()))){
+            if(joined == null){
+                logger.warn("The session is not in a state to accept move requests");
+                return CompletableFuture.completedFuture(RunnerError.MOVE_NOT_ACCEPTED);
+            }
+            logger.error("The player trying to make the move is not this session's player. Check for corruption");
+            return CompletableFuture.completedFuture(RunnerError.DUPLICATE_MOVE);
         }
 
-        // If both players have submitted, resolve the round
-        if(player1Move != null && player2Move != null){
-            this.state = SessionState.RUNNING;
-            roundResult =  gameRulesService.checkRoundWinner(player1, player1Move, player2, player2Move);
-            gameResult = game.playRound(roundResult);
+        if(!isInRuleSet(move, moves)){
+            logger.warn("The player \"{}\" submitted moves that are not part of the {} of the game \"{}\"", player.getId(), game.getRuleSet(), game.getId());
+            return CompletableFuture.completedFuture(RunnerError.INVALID_MOVE);
+        }
 
-            // Reset moves for next round
-            player1Move = null;
-            player2Move = null;
-            this.state = SessionState.WAITING_FOR_MOVES;
+        int count = moves == null ? 1 : moves.length;
+        int shift = isPlayer1 ? 0 : PLAYER2_SHIFT;
+        long writing = isPlayer1 ? PLAYER1_WRITING : PLAYER2_WRITING;
 
-            if(gameResult != null) {
-                logger.info("Session with the game id \"{}\" is ended", game.getId());
-                this.state = SessionState.TERMINATED;
+        // Claim the writing flag of the player
+        long word;
+        int queued;
+        do {
+            word = roundState.get();
+            if((word & JOINED) == 0 || (word & TERMINATED) != 0){
+                logger.warn("The session is not in a state to accept move requests");
+                return CompletableFuture.completedFuture(RunnerError.MOVE_NOT_ACCEPTED);
+            }
+            queued = (int) ((word >>> shift) & QUEUED_MASK);
+            if((word & writing) != 0 || queued + count > moveQueueCapacity){
+                // Duplicate move, or more moves ahead than allowed: backpressure, counted by the runner as a rejected move
+                logger.debug("The player \"{}\" has no room for {} more moves in the session of the game \"{}\"", player.getId(), count, game.getId());
+                return CompletableFuture.completedFuture(RunnerError.DUPLICATE_MOVE);
             }
+            if((word >>> ROUND_SHIFT) + queued + count > game.getRounds()){
+                logger.warn("The player \"{}\" submitted moves past the last round of the game \"{}\"", player.getId(), game.getId());
+                return CompletableFuture.completedFuture(RunnerError.MOVES_EXCEED_ROUNDS);
+            }
+        } while(!roundState.compareAndSet(word, word | writing));
+
+        // Slots past the queued moves are only written by the holder of the writing flag
+        Move[] slots = isPlayer1 ? player1Moves : player2Moves;
+        CompletableFuture<MoveResult>[] results = isPlayer1 ? player1Results : player2Results;
+        CompletableFuture<MoveResult> result = new CompletableFuture<>();
+        long first = (word >>> ROUND_SHIFT) + queued;
+        for(int i = 0; i < count; i++){
+            int slot = (int) ((first + i) % moveQueueCapacity);
+            slots[slot] = moves == null ? move : moves[i];
+            results[slot] = i == count - 1 ? result : null;
         }
 
-        // Wait for both players to reach this point before proceeding
-        try {
-            roundBarrier.await();
-        }catch(Exception e){
-            logger.error("Something went wrong with synchronization, the returning result can be corrupted");
-            System.out.println("Something went wrong with synchronization, the returning result can be corrupted");
+        // Publish the moves, claiming the resolution if a round became ready
+        long next;
+        do {
+            word = roundState.get();
+            next = (word & ~writing) + ((long) count << shift);
+            if((next & (TERMINATED | RESOLVING)) == 0 && isRoundReady(next)){
+                next |= RESOLVING;
+            }
+            next = withDrainClaim(next);
+        } while(!roundState.compareAndSet(word, next));
+
+        if((next & DRAINED) != 0 && (word & DRAINED) == 0){
+            drainQueues(next);
+        }
+        else if((next & RESOLVING) != 0 && (word & RESOLVING) == 0){
+            resolveReadyRounds();
         }
+        return result;
+    }
+
+    /**
+     * Resolves rounds while both players have a queued move. Only called by the holder of the resolving flag,
+     * which makes it the only thread touching the game and the heads of the queues.
+     */
+    private void resolveReadyRounds(){
+        long word = roundState.get();
+
+        while(true){
+            int slot = (int) ((word >>> ROUND_SHIFT) % moveQueueCapacity);
+            Move move1 = player1Moves[slot];
+            Move move2 = player2Moves[slot];
+            CompletableFuture<MoveResult> result1 = player1Results[slot];
+            CompletableFuture<MoveResult> result2 = player2Results[slot];
+            player1Moves[slot] = null;
+            player2Moves[slot] = null;
+            player1Results[slot] = null;
+            player2Results[slot] = null;
+
+            MoveResult outcome;
+            try {
+                outcome = resolveRound(move1, move2);
+            } catch (RuntimeException e) {
+                logger.error("Round {} of the game \"{}\" can't be resolved, the session is terminated", (word >>> ROUND_SHIFT) + 1, game.getId(), e);
+                failResolution(result1, result2);
+                return;
+            }
+            boolean finished = game.getState() == GameState.FINISHED;
+
+            // Consume the round, and give up the resolution unless another round is ready
+            long next;
+            do {
+                word = roundState.get();
+                next = word + ONE_ROUND - 1 - (1L << PLAYER2_SHIFT);
+                if(finished){
+                    next |= TERMINATED;
+                }
+                if(finished || (next & TERMINATED) != 0 || !isRoundReady(next)){
+                    next = withDrainClaim(next & ~RESOLVING);
+                }
+            } while(!roundState.compareAndSet(word, next));
 
-        return ResultMapper.toResultDto(this.game);
+            // Completed without holding anything back, dependent stages may call back into the session
+            if(result1 != null){
+                result1.complete(outcome);
+            }
+            if(result2 != null){
+                result2.complete(outcome);
+            }
+
+            if((next & RESOLVING) == 0){
+                if((next & DRAINED) != 0 && (word & DRAINED) == 0){
+                    drainQueues(next);
+                }
+                return;
+            }
+            word = next;
+        }
+    }
+
+    /**
+     * Terminates the session after the round being resolved failed, so no player waits for it forever: the futures
+     * of the failed round complete with {@link RunnerError#ROUND_FAILED}, the moves left in the queues with
+     * {@link RunnerError#SESSION_EXPIRED}, and both players are released. Only called by the holder of the
+     * resolving flag, which it gives up.
+     *
+     * @param result1 the first player's future of the failed round, may be {@code null}
+     * @param result2 the second player's future of the failed round, may be {@code null}
+     */
+    private void failResolution(CompletableFuture<MoveResult> result1, CompletableFuture<MoveResult> result2){
+        long word;
+        long next;
+        do {
+            word = roundState.get();
+            next = withDrainClaim((word | TERMINATED) & ~RESOLVING);
+        } while(!roundState.compareAndSet(word, next));
+
+        state = SessionState.TERMINATED;
+        synchronized (this) {
+            releasePlayer(player1);
+            if(player2 != null){
+                releasePlayer(player2);
+            }
+        }
+        game.abandon();
+
+        if(result1 != null){
+            result1.complete(RunnerError.ROUND_FAILED);
+        }
+        if(result2 != null){
+            result2.complete(RunnerError.ROUND_FAILED);
+        }
+        if((next & DRAINED) != 0 && (word & DRAINED) == 0){
+            drainQueues(next);
+        }
+    }
+
+    /**
+     * Checks that submitted moves can be played with the rule set of the game.
+     *
+     * @param move the single move, or {@code null} for a batch
+     * @param moves the batch of moves, or {@code null} for a single move
+     * @return {@code true} if every move is part of the rule set
+     */
+    private boolean isInRuleSet(Move move, Move[] moves){
+        RuleSet ruleSet = game.getRuleSet();
+        if(moves == null){
+            return ruleSet.contains(move);
+        }
+        for(Move queued : moves){
+            if(!ruleSet.contains(queued)){
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Resolves a round. Only called by the holder of the resolving flag.
+     *
+     * @param player1Move the first player's move for the round
+     * @param player2Move the second player's move for the round
+     * @return the result both players receive for the round
+     */
+    private MoveResult resolveRound(Move player1Move, Move player2Move){
+        RuleSet ruleSet = game.getRuleSet();
+        RoundResult roundResult = roundResults != null
+                ? roundResults[ruleSet.roundIndex(player1Move, player2Move)]
+                : gameRulesService.checkRoundWinner(ruleSet, player1, player1Move, player2, player2Move);
+        GameResult gameResult = game.playRound(roundResult);
+        lastActivity = System.nanoTime();
+        metrics.roundResolved();
+
+        if(gameResult != null) {
+            logger.info("Session with the game id \"{}\" is ended", game.getId());
+            this.state = SessionState.TERMINATED;
+        }
+
+        return ResultMapper.toPlayed(this.game, this.header);
+    }
+
+    /**
+     * Reads the game while the players keep moving, e.g. to save it. The reader runs without locks and is
+     * repeated until no round was resolved and nobody joined while it ran, like the reader of a sequence lock,
+     * so it sees the game between two rounds. It may run more than once and must not change the game.
+     *
+     * @param reader reads the game
+     * @return the value returned by the run of the reader that saw a consistent game
+     * @param <T> type of the value read
+     */
+    public <T> T readGame(Function<Game, T> reader){
+        while(true){
+            long word = roundState.get();
+            if((word & RESOLVING) == 0){
+                T value;
+                try {
+                    value = reader.apply(game);
+                } catch (RuntimeException e) {
+                    // A reader racing with a round may fail on the half updated game, only a stable game is an error
+                    if(((roundState.get() ^ word) & GAME_VERSION) == 0){
+                        throw e;
+                    }
+                    continue;
+                }
+                // Keeps the reads of the game ahead of the check
+                VarHandle.acquireFence();
+                if(((roundState.get() ^ word) & GAME_VERSION) == 0){
+                    return value;
+                }
+            }
+            Thread.yield();
+        }
+    }
+
+    /**
+     * Terminates an unfinished session, releasing every move waiting for its round to complete and
+     * detaching both players from it so they can create or join other games.
+     *
+     * @return {@code true} if the session was expired, {@code false} if it was already terminated
+     */
+    public synchronized boolean expire(){
+        long word;
+        long next;
+        do {
+            word = roundState.get();
+            if((word & TERMINATED) != 0){
+                return false;
+            }
+            next = withDrainClaim(word | TERMINATED);
+        } while(!roundState.compareAndSet(word, next));
+
+        state = SessionState.TERMINATED;
+        releasePlayer(player1);
+        if(player2 != null){
+            releasePlayer(player2);
+        }
+        game.abandon();
+
+        // Otherwise the last submitter or resolver to leave drains the queues
+        if((next & DRAINED) != 0){
+            drainQueues(next);
+        }
+
+        logger.debug("Session of the game \"{}\" expired", game.getId());
+        return true;
+    }
+
+    /**
+     * Marks the session as open in the {@link Matchmaker}, before it is published.
+     */
+    void listForMatchmaking(){
+        matchmakingListed.set(true);
+    }
+
+    /**
+     * Takes the session out of the open sessions of the {@link Matchmaker}, once.
+     *
+     * @return {@code true} if the session was open and this call took it out
+     */
+    boolean unlistFromMatchmaking(){
+        return matchmakingListed.compareAndSet(true, false);
+    }
+
+    /**
+     * Checks whether the session is still open in the {@link Matchmaker}.
+     *
+     * @return {@code true} if the session was published and neither claimed nor withdrawn
+     */
+    boolean isListedForMatchmaking(){
+        return matchmakingListed.get();
+    }
+
+    /**
+     * Checks whether both players have a queued move for the next round.
+     *
+     * @param word the round state
+     * @return {@code true} if the next round can be resolved
+     */
+    private static boolean isRoundReady(long word){
+        return (word & QUEUED_MASK) > 0 && ((word >>> PLAYER2_SHIFT) & QUEUED_MASK) > 0;
+    }
+
+    /**
+     * Marks the queues of a terminated session as drained once no thread is active in them anymore.
+     * The thread whose CAS sets the flag drains them.
+     *
+     * @param word the round state about to be set
+     * @return the round state, with the drained flag if the queues must be drained now
+     */
+    private static long withDrainClaim(long word){
+        if((word & TERMINATED) != 0 && (word & ACTIVE) == 0){
+            return word | DRAINED;
+        }
+        return word;
+    }
+
+    /**
+     * Completes the moves left in the queues of a terminated session with {@link RunnerError#SESSION_EXPIRED}.
+     * Only called by the thread that set the drained flag.
+     *
+     * @param word the round state set with the drained flag
+     */
+    private void drainQueues(long word){
+        long round = word >>> ROUND_SHIFT;
+        drainQueue(player1Moves, player1Results, round, (int) (word & QUEUED_MASK));
+        drainQueue(player2Moves, player2Results, round, (int) ((word >>> PLAYER2_SHIFT) & QUEUED_MASK));
+    }
+
+    private void drainQueue(Move[] slots, CompletableFuture<MoveResult>[] results, long round, int queued){
+        for(int i = 0; i < queued; i++){
+            int slot = (int) ((round + i) % moveQueueCapacity);
+            CompletableFuture<MoveResult> result = results[slot];
+            slots[slot] = null;
+            results[slot] = null;
+            if(result != null){
+                result.complete(RunnerError.SESSION_EXPIRED);
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static CompletableFuture<MoveResult>[] newResults(int capacity){
+        return new CompletableFuture[capacity];
+    }
+
+    /**
+     * Converts the outcome of a move into the result returned by the string based API.
+     *
+     * @param result the outcome of the move
+     * @param move the move, the subject of a rejection message
+     * @return the game state of a played move, or a failed result carrying the rejection message
+     */
+    private static ResultDto toResultDto(MoveResult result, Move move){
+        if(result instanceof MoveResult.Played played){
+            return played.toResultDto();
+        }
+
+        ResultDto dto = new ResultDto();
+        dto.setSuccess(false);
+        dto.setStatusMessage(((RunnerError) result).render(move));
+        return dto;
+    }
+
+    /**
+     * Detaches a player from this session, if the player is still attached to it.
+     *
+     * @param player the player to release
+     */
+    private void releasePlayer(Player player){
+        if(player.getGameSession() == this){
+            player.detachGame();
+        }
     }
 }
@@ -0,0 +1,217 @@
+package com.mourat.rockpaperscissors.application.model;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Thread-safe table mapping compact {@code int} handles to objects.
+ * <p>
+ * A handle is a slot index plus a generation counter. Resolving a handle is two array loads
+ * with no hashing or parsing. Released slots are reused, and the generation stored in the handle
+ * makes a stale handle to a reused slot resolve to {@code null} instead of the new object, until
+ * the slot was reused 2048 times.
+ * Handles are never negative, so negative values are free to be used as error codes.
+ * <p>
+ * Released slots are kept on a lock-free stack linked through an {@code int} per slot, so releasing
+ * and reusing a handle allocates nothing.
+ *
+ * @param <T> type of the objects referenced by the handles
+ */
+public class HandleTable<T> {
+
+    private static final Logger logger = LoggerFactory.getLogger(HandleTable.class);
+
+    /** Bits of a handle holding the slot index, up to a million handles in use at once */
+    private static final int INDEX_BITS = 20;
+
+    /** Mask extracting the slot index of a handle */
+    private static final int INDEX_MASK = (1 << INDEX_BITS) - 1;
+
+    /** Bits of a handle holding the generation, every bit left but the sign bit */
+    static final int GENERATION_BITS = Integer.SIZE - 1 - INDEX_BITS;
+
+    /** Mask keeping a generation within its bits */
+    private static final int GENERATION_MASK = (1 << GENERATION_BITS) - 1;
+
+    /** Bits of a slot index selecting the slot within its chunk */
+    private static final int CHUNK_BITS = 12;
+
+    private static final int CHUNK_SIZE = 1 << CHUNK_BITS;
+
+    /** Objects referenced by the slots, allocated in chunks on demand */
+    private final AtomicReferenceArray<AtomicReferenceArray<T>> valueChunks;
+
+    /** Current generation of every slot, chunked like the values */
+    private final AtomicReferenceArray<AtomicIntegerArray> generationChunks;
+
+    /** Released slot below every released slot on the free stack, -1 for the last one, chunked like the values */
+    private final AtomicReferenceArray<AtomicIntegerArray> nextFreeChunks;
+
+    /** Next slot that has never been used */
+    private final AtomicInteger nextSlot;
+
+    /**
+     * Top of the stack of released slots: a counter of the changes in the upper half, so a slot popped and pushed
+     * again in between fails a stale compare-and-set, and the slot plus one in the lower half, 0 if the stack is empty
+     */
+    private final AtomicLong freeTop;
+
+    /**
+     * Constructs an empty table.
+     */
+    public HandleTable() {
+        int chunks = 1 << (INDEX_BITS - CHUNK_BITS);
+        this.valueChunks = new AtomicReferenceArray<>(chunks);
+        this.generationChunks = new AtomicReferenceArray<>(chunks);
+        this.nextFreeChunks = new AtomicReferenceArray<>(chunks);
+        this.nextSlot = new AtomicInteger();
+        this.freeTop = new AtomicLong();
+    }
+
+    /**
+     * Stores an object in the table.
+     *
+     * @param value the object to store
+     * @return the handle of the object
+     * @throws IllegalArgumentException if {@code value} is {@code null}
+     * @throws IllegalStateException if every slot of the table is in use
+     */
+    public int register(T value) {
+        if (value == null) {
+            logger.error("This code should never be executed! A null value can't get a handle. On this call, value is never null, check for corruption");
+            throw new IllegalArgumentException("Value must be valid to get a handle");
+        }
+
+        int free = popFree();
+        int slot = free >= 0 ? free : nextSlot.getAndIncrement();
+        if (slot > INDEX_MASK) {
+            logger.error("Handle table is full, no more than {} handles can be in use", INDEX_MASK + 1);
+            throw new IllegalStateException("No more handles available");
+        }
+
+        ensureChunk(slot >>> CHUNK_BITS);
+        int offset = slot & (CHUNK_SIZE - 1);
+        valueChunks.get(slot >>> CHUNK_BITS).set(offset, value);
+        int generation = generationChunks.get(slot >>> CHUNK_BITS).get(offset);
+
+        return (generation << INDEX_BITS) | slot;
+    }
+
+    /**
+     * Resolves a handle.
+     *
+     * @param handle the handle to resolve
+     * @return the object of the handle, or {@code null} if the handle is invalid or was released
+     */
+    public T get(int handle) {
+        if (handle < 0) {
+            return null;
+        }
+
+        int slot = handle & INDEX_MASK;
+        AtomicReferenceArray<T> values = valueChunks.get(slot >>> CHUNK_BITS);
+        if (values == null) {
+            return null;
+        }
+        AtomicIntegerArray generations = generationChunks.get(slot >>> CHUNK_BITS);
+        int offset = slot & (CHUNK_SIZE - 1);
+
+        T value = values.get(offset);
+        // The generation is read after the value, so a slot reused in between is detected
+        if (generations.get(offset) != handle >>> INDEX_BITS) {
+            return null;
+        }
+        return value;
+    }
+
+    /**
+     * Releases a handle so its slot can be reused. Releasing an invalid or already released handle has no effect.
+     *
+     * @param handle the handle to release
+     * @return the object the handle referenced, or {@code null} if the handle was not valid
+     */
+    public T release(int handle) {
+        if (handle < 0) {
+            return null;
+        }
+
+        int slot = handle & INDEX_MASK;
+        AtomicIntegerArray generations = generationChunks.get(slot >>> CHUNK_BITS);
+        if (generations == null) {
+            return null;
+        }
+        int offset = slot & (CHUNK_SIZE - 1);
+        int generation = handle >>> INDEX_BITS;
+
+        if (!generations.compareAndSet(offset, generation, (generation + 1) & GENERATION_MASK)) {
+            return null;
+        }
+        T value = valueChunks.get(slot >>> CHUNK_BITS).getAndSet(offset, null);
+        pushFree(slot);
+        return value;
+    }
+
+    /**
+     * Puts a released slot on top of the free stack.
+     *
+     * @param slot the released slot
+     */
+    private void pushFree(int slot) {
+        AtomicIntegerArray nextFree = nextFreeChunks.get(slot >>> CHUNK_BITS);
+        int offset = slot & (CHUNK_SIZE - 1);
+        long top;
+        do {
+            top = freeTop.get();
+            nextFree.set(offset, (int) top - 1);
+        } while (!freeTop.compareAndSet(top, nextTop(top, slot)));
+    }
+
+    /**
+     * Takes the slot on top of the free stack.
+     *
+     * @return the slot released last, or -1 if no slot is free
+     */
+    private int popFree() {
+        long top;
+        int slot;
+        do {
+            top = freeTop.get();
+            slot = (int) top - 1;
+            if (slot < 0) {
+                return -1;
+            }
+        } while (!freeTop.compareAndSet(top, nextTop(top, nextFreeChunks.get(slot >>> CHUNK_BITS).get(slot & (CHUNK_SIZE - 1)))));
+        return slot;
+    }
+
+    /**
+     * Packs the next top of the free stack.
+     *
+     * @param top the current top
+     * @param slot the slot on top of the stack next, -1 for an empty stack
+     * @return the next top, with the change counter advanced
+     */
+    private static long nextTop(long top, int slot) {
+        return ((top >>> Integer.SIZE) + 1) << Integer.SIZE | (slot + 1);
+    }
+
+    /**
+     * Allocates a chunk if no thread has done it yet.
+     *
+     * @param chunk index of the chunk
+     */
+    private void ensureChunk(int chunk) {
+        if (valueChunks.get(chunk) != null) {
+            return;
+        }
+        // Generations and links first, so a published value chunk always has them
+        generationChunks.compareAndSet(chunk, null, new AtomicIntegerArray(CHUNK_SIZE));
+        nextFreeChunks.compareAndSet(chunk, null, new AtomicIntegerArray(CHUNK_SIZE));
+        valueChunks.compareAndSet(chunk, null, new AtomicReferenceArray<>(CHUNK_SIZE));
+    }
+}
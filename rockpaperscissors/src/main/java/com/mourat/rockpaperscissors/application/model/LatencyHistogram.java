@@ -0,0 +1,143 @@
+package com.mourat.rockpaperscissors.application.model;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+
+/**
+ * Log-linear histogram of latencies in nanoseconds, recorded concurrently by many threads.
+ * <p>
+ * Every power of two is split into {@value #SUB_BUCKETS} buckets, so a reported percentile is within about
+ * 1.6% of the recorded latency, from single nanoseconds up to {@link #MAX_TRACKABLE} where latencies are
+ * clamped. Recording is a single atomic increment on one of a few stripes chosen by the recording thread,
+ * so even hundreds of thousands of virtual threads share a few dozen kilobytes of counters. Percentiles sum
+ * the stripes when read, reads racing with recording threads see a fuzzy but consistent enough count.
+ */
+public class LatencyHistogram {
+
+    /** Bits of a latency resolved within its power of two */
+    private static final int SUB_BUCKET_BITS = 6;
+
+    /** Buckets every power of two is split into */
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+    /** Largest latency told apart from larger ones, about 18 minutes */
+    public static final long MAX_TRACKABLE = (1L << 40) - 1;
+
+    /** Buckets of a stripe, up to the bucket of {@link #MAX_TRACKABLE} */
+    private static final int BUCKETS = bucketOf(MAX_TRACKABLE) + 1;
+
+    /** Counters of every stripe, one stripe after the other */
+    private final AtomicLongArray counts;
+
+    /** Mask selecting a stripe from a thread id */
+    private final int stripeMask;
+
+    /** Largest recorded latency, not clamped */
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+    /**
+     * Creates an empty histogram with a stripe per few processors.
+     */
+    public LatencyHistogram() {
+        int stripes = Integer.highestOneBit(Math.max(1, Runtime.getRuntime().availableProcessors()) * 2 - 1);
+        this.counts = new AtomicLongArray(stripes * BUCKETS);
+        this.stripeMask = stripes - 1;
+    }
+
+    /**
+     * Records a latency.
+     *
+     * @param nanos the latency in nanoseconds, negative latencies are recorded as 0
+     */
+    public void record(long nanos) {
+        long latency = Math.max(0, nanos);
+        int stripe = (int) mix(Thread.currentThread().threadId()) & stripeMask;
+        counts.getAndIncrement(stripe * BUCKETS + bucketOf(Math.min(latency, MAX_TRACKABLE)));
+        max.accumulate(latency);
+    }
+
+    /**
+     * Returns the number of recorded latencies.
+     *
+     * @return the number of recorded latencies
+     */
+    public long count() {
+        long count = 0;
+        for (int i = 0; i < counts.length(); i++) {
+            count += counts.get(i);
+        }
+        return count;
+    }
+
+    /**
+     * Returns the largest recorded latency.
+     *
+     * @return the largest latency in nanoseconds, 0 if nothing was recorded
+     */
+    public long max() {
+        return max.get();
+    }
+
+    /**
+     * Returns the latency the given fraction of the recorded latencies don't exceed, e.g. 0.99 for the
+     * 99th percentile.
+     *
+     * @param quantile fraction of the recorded latencies, between 0 and 1
+     * @return the highest latency of the bucket holding the percentile in nanoseconds, never more than
+     *         {@link #max()}; 0 if nothing was recorded
+     * @throws IllegalArgumentException if {@code quantile} is not between 0 and 1
+     */
+    public long percentile(double quantile) {
+        if (!(quantile >= 0 && quantile <= 1)) {
+            throw new IllegalArgumentException("Quantile must be between 0 and 1");
+        }
+
+        long[] buckets = new long[BUCKETS];
+        long count = 0;
+        for (int i = 0; i < counts.length(); i++) {
+            long bucketCount = counts.get(i);
+            buckets[i % BUCKETS] += bucketCount;
+            count += bucketCount;
+        }
+        if (count == 0) {
+            return 0;
+        }
+
+        long rank = Math.max(1, (long) Math.ceil(quantile * count));
+        long seen = 0;
+        for (int bucket = 0; bucket < BUCKETS; bucket++) {
+            seen += buckets[bucket];
+            if (seen >= rank) {
+                return Math.min(highestValueOf(bucket), max());
+            }
+        }
+        return max();
+    }
+
+    /**
+     * Returns the bucket of a latency: latencies below {@code 2 * SUB_BUCKETS} have a bucket each, larger
+     * latencies share a bucket with the latencies differing only in the bits below their top
+     * {@code SUB_BUCKET_BITS + 1} bits.
+     */
+    static int bucketOf(long latency) {
+        int shift = Math.max(0, 63 - Long.numberOfLeadingZeros(latency) - SUB_BUCKET_BITS);
+        return shift * SUB_BUCKETS + (int) (latency >>> shift);
+    }
+
+    /**
+     * Returns the highest latency falling into a bucket.
+     */
+    static long highestValueOf(int bucket) {
+        int shift = Math.max(0, bucket / SUB_BUCKETS - 1);
+        long lowest = (long) (bucket - shift * SUB_BUCKETS) << shift;
+        return lowest + (1L << shift) - 1;
+    }
+
+    /**
+     * Spreads consecutive thread ids over the stripes.
+     */
+    private static long mix(long threadId) {
+        long mixed = threadId * 0x9E3779B97F4A7C15L;
+        return mixed ^ (mixed >>> 32);
+    }
+}
@@ -0,0 +1,180 @@
+package com.mourat.rockpaperscissors.application.model;
+
+import com.mourat.rockpaperscissors.domain.model.Move;
+import com.mourat.rockpaperscissors.domain.model.RuleSet;
+import com.mourat.rockpaperscissors.domain.service.GameRulesService;
+import lombok.AccessLevel;
+import lombok.Getter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Arrays;
+import java.util.random.RandomGenerator;
+
+/**
+ * The rounds of a simulated game as a {@link MoveStrategy} sees them: its own moves, the moves of its opponent
+ * and the scores, kept without allocating.
+ * <p>
+ * The last {@value #RECENT_ROUNDS} moves of both sides are kept in full, the moves of the opponent are also
+ * counted over the whole game. A history is reused from game to game with {@link #reset()}, and is not
+ * thread-safe: every game is played by a single thread.
+ */
+@Getter
+public final class MatchHistory {
+
+    private static final Logger logger = LoggerFactory.getLogger(MatchHistory.class);
+
+    /** Rounds whose moves are kept */
+    public static final int RECENT_ROUNDS = 64;
+
+    /** Rule set of the game */
+    private final RuleSet ruleSet;
+
+    /** Rounds played so far */
+    private int roundsPlayed;
+
+    /** Rounds won by the player using the history */
+    private int ownScore;
+
+    /** Rounds won by the opponent */
+    private int opponentScore;
+
+    /** Rounds nobody won */
+    private int draws;
+
+    /** A move beating each move, indexed by ordinal */
+    @Getter(AccessLevel.NONE)
+    private final Move[] beatingMoves;
+
+    /** Recent moves of the player using the history, indexed by round modulo {@link #RECENT_ROUNDS} */
+    @Getter(AccessLevel.NONE)
+    private final Move[] ownMoves = new Move[RECENT_ROUNDS];
+
+    /** Recent moves of the opponent, indexed by round modulo {@link #RECENT_ROUNDS} */
+    @Getter(AccessLevel.NONE)
+    private final Move[] opponentMoves = new Move[RECENT_ROUNDS];
+
+    /** Moves of the opponent in the game, counted by ordinal */
+    @Getter(AccessLevel.NONE)
+    private final int[] opponentMoveCounts;
+
+    /**
+     * Constructs an empty history of a game.
+     *
+     * @param ruleSet rule set of the game
+     * @param gameRulesService rules telling which moves beat each other
+     * @throws IllegalArgumentException if the rule set or the rules are null
+     */
+    public MatchHistory(RuleSet ruleSet, GameRulesService gameRulesService) {
+        if (ruleSet == null || gameRulesService == null) {
+            logger.error("This code should never be executed! A match history is created without a rule set or rules. On this call, they are never null, check for corruption");
+            throw new IllegalArgumentException("Match history needs a rule set and rules");
+        }
+        this.ruleSet = ruleSet;
+        this.beatingMoves = beatingMoves(ruleSet, gameRulesService);
+        this.opponentMoveCounts = new int[ruleSet.getMoveCount()];
+    }
+
+    /**
+     * Records a played round.
+     *
+     * @param ownMove move of the player using the history
+     * @param opponentMove move of the opponent
+     * @param outcome {@link GameRulesService#DRAW}, {@link GameRulesService#PLAYER1_WINS} if the player using the
+     *                history won, {@link GameRulesService#PLAYER2_WINS} if the opponent won
+     */
+    public void record(Move ownMove, Move opponentMove, int outcome) {
+        int slot = roundsPlayed % RECENT_ROUNDS;
+        ownMoves[slot] = ownMove;
+        opponentMoves[slot] = opponentMove;
+        opponentMoveCounts[opponentMove.ordinal()]++;
+        switch (outcome) {
+            case GameRulesService.PLAYER1_WINS -> ownScore++;
+            case GameRulesService.PLAYER2_WINS -> opponentScore++;
+            default -> draws++;
+        }
+        roundsPlayed++;
+    }
+
+    /**
+     * Empties the history for a new game of the same rule set.
+     */
+    public void reset() {
+        roundsPlayed = 0;
+        ownScore = 0;
+        opponentScore = 0;
+        draws = 0;
+        Arrays.fill(opponentMoveCounts, 0);
+    }
+
+    /**
+     * Returns a recent move of the player using the history.
+     *
+     * @param roundsAgo 1 for the last round, up to {@link #RECENT_ROUNDS}
+     * @return the move, or {@code null} if that round wasn't played or is no longer kept
+     */
+    public Move ownMove(int roundsAgo) {
+        return recentMove(ownMoves, roundsAgo);
+    }
+
+    /**
+     * Returns a recent move of the opponent.
+     *
+     * @param roundsAgo 1 for the last round, up to {@link #RECENT_ROUNDS}
+     * @return the move, or {@code null} if that round wasn't played or is no longer kept
+     */
+    public Move opponentMove(int roundsAgo) {
+        return recentMove(opponentMoves, roundsAgo);
+    }
+
+    /**
+     * Returns how often the opponent played a move in the game.
+     *
+     * @param move a move of the rule set
+     * @return the rounds the opponent played the move in
+     */
+    public int opponentMoveCount(Move move) {
+        return opponentMoveCounts[move.ordinal()];
+    }
+
+    /**
+     * Returns a move beating the given move.
+     *
+     * @param move a move of the rule set
+     * @return the first move of the rule set beating it
+     */
+    public Move moveBeating(Move move) {
+        return beatingMoves[move.ordinal()];
+    }
+
+    /**
+     * Picks a move of the rule set, every move with the same probability.
+     *
+     * @param random generator of the game
+     * @return a move of the rule set
+     */
+    public Move randomMove(RandomGenerator random) {
+        return Move.fromOrdinal(random.nextInt(ruleSet.getMoveCount()));
+    }
+
+    private Move recentMove(Move[] moves, int roundsAgo) {
+        if (roundsAgo < 1 || roundsAgo > RECENT_ROUNDS || roundsAgo > roundsPlayed) {
+            return null;
+        }
+        return moves[(roundsPlayed - roundsAgo) % RECENT_ROUNDS];
+    }
+
+    private static Move[] beatingMoves(RuleSet ruleSet, GameRulesService gameRulesService) {
+        Move[] moves = ruleSet.moves();
+        Move[] beating = new Move[moves.length];
+        for (Move move : moves) {
+            for (Move candidate : moves) {
+                if (gameRulesService.outcomeOf(ruleSet, candidate, move) == GameRulesService.PLAYER1_WINS) {
+                    beating[move.ordinal()] = candidate;
+                    break;
+                }
+            }
+        }
+        return beating;
+    }
+}
@@ -0,0 +1,131 @@
+package com.mourat.rockpaperscissors.application.model;
+
+import com.mourat.rockpaperscissors.domain.model.Player;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Pairs joining players with open {@link GameSession}s.
+ * <p>
+ * Open sessions are kept in a lock-free multi-producer/multi-consumer FIFO queue. A session can
+ * only ever be handed to one joiner: it is removed from the queue atomically before the join is
+ * attempted, so concurrent joiners never claim the same session and never observe a session
+ * disappearing between an emptiness check and the removal.
+ * <p>
+ * A withdrawn session stays in the queue until a joiner reaches it and drops it, so withdrawing
+ * takes constant time. Whichever of the two takes a session out first updates the count.
+ */
+public class Matchmaker {
+
+    private static final Logger logger = LoggerFactory.getLogger(Matchmaker.class);
+
+    /** Sessions waiting for a second player, oldest first */
+    private final ConcurrentLinkedQueue<GameSession> openSessions;
+
+    /** Approximate number of open sessions in the queue, kept separately since counting the queue is O(n) */
+    private final LongAdder openCount;
+
+    /**
+     * Constructs an empty matchmaker.
+     */
+    public Matchmaker() {
+        this.openSessions = new ConcurrentLinkedQueue<>();
+        this.openCount = new LongAdder();
+    }
+
+    /**
+     * Publishes a session so it can be claimed by a joining player.
+     *
+     * @param session the session waiting for a second player
+     * @throws IllegalArgumentException if {@code session} is {@code null}
+     */
+    public void publish(GameSession session) {
+        if (session == null) {
+            logger.error("This code should never be executed! A null session can't be published for matchmaking. On this call, session is never null, check for corruption");
+            throw new IllegalArgumentException("Session must be valid to be published");
+        }
+
+        session.listForMatchmaking();
+        openSessions.offer(session);
+        openCount.increment();
+    }
+
+    /**
+     * Claims the oldest open session for the given player and joins the player to it.
+     * <p>
+     * Sessions that can no longer be joined (e.g. terminated before anyone joined) are dropped
+     * from the queue and the next one is tried. The player must not be part of any session.
+     *
+     * @param player the player joining a game
+     * @return the session the player joined, or {@code null} if there was no open session
+     */
+    public GameSession claim(Player player) {
+        GameSession session;
+
+        while ((session = openSessions.poll()) != null) {
+            if (!session.unlistFromMatchmaking()) {
+                logger.debug("Dropped a withdrawn session from matchmaking");
+                continue;
+            }
+            openCount.decrement();
+
+            if (session.joinGame(player)) {
+                return session;
+            }
+            logger.debug("Dropped a session from matchmaking that can no longer be joined");
+        }
+
+        return null;
+    }
+
+    /**
+     * Withdraws a session from matchmaking, e.g. because it expired before anyone joined. The session
+     * must not be joinable anymore, it is dropped from the queue when a joiner reaches it.
+     *
+     * @param session the session to withdraw
+     * @return {@code true} if the session was still open
+     */
+    public boolean withdraw(GameSession session) {
+        if (session.unlistFromMatchmaking()) {
+            openCount.decrement();
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Performs the given action for every open session, oldest first, while sessions keep being published
+     * and claimed. Sessions published, claimed or withdrawn during the walk may or may not be visited.
+     *
+     * @param action the action to perform for every open session
+     */
+    public void forEachOpen(Consumer<GameSession> action) {
+        for (GameSession session : openSessions) {
+            if (session.isListedForMatchmaking()) {
+                action.accept(session);
+            }
+        }
+    }
+
+    /**
+     * Checks whether there is any open session.
+     *
+     * @return {@code true} if no session is waiting for a player
+     */
+    public boolean isEmpty() {
+        return openSessions.isEmpty();
+    }
+
+    /**
+     * Returns the approximate number of open sessions.
+     *
+     * @return the number of sessions waiting for a player
+     */
+    public long size() {
+        return openCount.sum();
+    }
+}
@@ -0,0 +1,35 @@
+package com.mourat.rockpaperscissors.application.model;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight recorder event of a player claiming an open session from the {@link Matchmaker}, including the
+ * claims that found no session to join.
+ */
+@Name("com.mourat.rockpaperscissors.MatchmakingClaim")
+@Label("Matchmaking Claim")
+@Category({"Rock Paper Scissors", "Session"})
+@Description("A player tried to join the oldest open game")
+@StackTrace(false)
+public class MatchmakingClaimEvent extends Event {
+
+    @Label("Player Id")
+    public String playerId;
+
+    @Label("Game Id")
+    @Description("Id of the joined game, empty if no game could be joined")
+    public String gameId;
+
+    @Label("Claimed")
+    @Description("Whether the player joined a game")
+    public boolean claimed;
+
+    @Label("Open Games")
+    @Description("Games still waiting for a second player after the claim")
+    public long openGames;
+}
@@ -0,0 +1,133 @@
+package com.mourat.rockpaperscissors.application.model;
+
+import com.mourat.rockpaperscissors.domain.model.Move;
+import com.mourat.rockpaperscissors.domain.model.RuleSet;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Arrays;
+import java.util.random.RandomGenerator;
+
+/**
+ * Weighted choice of the moves of a rule set, picked by simulated players.
+ * <p>
+ * A distribution is described by a comma separated list of moves with an optional integer weight, e.g.
+ * {@code ROCK:5,PAPER:3,SCISSORS:2}; a move without weight has a weight of 1, so {@code PAPER} always plays
+ * paper. {@code uniform} picks every move of the rule set with the same probability.
+ * <p>
+ * Immutable and thread-safe, every thread picks with its own random generator.
+ */
+public final class MoveDistribution {
+
+    private static final Logger logger = LoggerFactory.getLogger(MoveDistribution.class);
+
+    /** Description of the uniform distribution */
+    public static final String UNIFORM = "uniform";
+
+    /** Largest distribution whose picked move is found by scanning the weights instead of a binary search */
+    private static final int LINEAR_SEARCH_MOVES = 8;
+
+    /** Moves of the distribution */
+    private final Move[] moves;
+
+    /** Sum of the weights of every move up to and including the move at the same index */
+    private final long[] cumulativeWeights;
+
+    /** Description the distribution was parsed from */
+    private final String description;
+
+    private MoveDistribution(Move[] moves, long[] cumulativeWeights, String description) {
+        this.moves = moves;
+        this.cumulativeWeights = cumulativeWeights;
+        this.description = description;
+    }
+
+    /**
+     * Parses a distribution over the moves of a rule set.
+     *
+     * @param description {@code uniform}, or moves with optional weights such as {@code ROCK:5,PAPER:3}
+     * @param ruleSet rule set every move must belong to
+     * @return the distribution
+     * @throws IllegalArgumentException if the description is empty, names a move twice or a move outside
+     *                                  the rule set, or has a weight that is not a positive integer
+     */
+    public static MoveDistribution parse(String description, RuleSet ruleSet) {
+        if (description == null || description.isBlank()) {
+            logger.warn("An empty move distribution is requested");
+            throw new IllegalArgumentException("Move distribution can't be empty");
+        }
+        String trimmed = description.trim();
+        if (trimmed.equalsIgnoreCase(UNIFORM)) {
+            Move[] moves = ruleSet.moves();
+            long[] cumulativeWeights = new long[moves.length];
+            Arrays.setAll(cumulativeWeights, i -> i + 1);
+            return new MoveDistribution(moves, cumulativeWeights, UNIFORM);
+        }
+
+        String[] entries = trimmed.split(",");
+        Move[] moves = new Move[entries.length];
+        long[] cumulativeWeights = new long[entries.length];
+        long total = 0;
+        for (int i = 0; i < entries.length; i++) {
+            String[] entry = entries[i].trim().split(":", 2);
+            Move move = Move.parse(entry[0].trim().toUpperCase());
+            if (move == null || !ruleSet.contains(move)) {
+                logger.warn("Move distribution \"{}\" is requested for a game of {} moves", trimmed, ruleSet.moves().length);
+                throw new IllegalArgumentException("Move distribution \"" + trimmed + "\" has a move that is not part of the game: " + entry[0].trim());
+            }
+            if (Arrays.asList(moves).contains(move)) {
+                logger.warn("Move distribution \"{}\" is requested with {} twice", trimmed, move);
+                throw new IllegalArgumentException("Move distribution \"" + trimmed + "\" names " + move + " twice");
+            }
+            moves[i] = move;
+            total += entry.length == 1 ? 1 : parseWeight(trimmed, entry[1].trim());
+            cumulativeWeights[i] = total;
+        }
+        return new MoveDistribution(moves, cumulativeWeights, trimmed);
+    }
+
+    /**
+     * Picks a move.
+     *
+     * @param random generator of the picking thread
+     * @return a move of the distribution, chosen with the probability of its weight
+     */
+    public Move next(RandomGenerator random) {
+        if (moves.length == 1) {
+            return moves[0];
+        }
+        long total = cumulativeWeights[cumulativeWeights.length - 1];
+        if (total == moves.length) {
+            // Every move has a weight of 1, as in the uniform distribution
+            return moves[random.nextInt(moves.length)];
+        }
+        long pick = random.nextLong(total);
+        if (moves.length <= LINEAR_SEARCH_MOVES) {
+            int index = 0;
+            while (cumulativeWeights[index] <= pick) {
+                index++;
+            }
+            return moves[index];
+        }
+        int index = Arrays.binarySearch(cumulativeWeights, pick + 1);
+        return moves[index >= 0 ? index : -index - 1];
+    }
+
+    @Override
+    public String toString() {
+        return description;
+    }
+
+    private static long parseWeight(String description, String weight) {
+        try {
+            long parsed = Long.parseLong(weight);
+            if (parsed > 0 && parsed <= Integer.MAX_VALUE) {
+                return parsed;
+            }
+        } catch (NumberFormatException e) {
+            // Reported below like any other invalid weight
+        }
+        logger.warn("Move distribution \"{}\" is requested with the weight {}", description, weight);
+        throw new IllegalArgumentException("Move distribution \"" + description + "\" has a weight that is not a positive integer: " + weight);
+    }
+}
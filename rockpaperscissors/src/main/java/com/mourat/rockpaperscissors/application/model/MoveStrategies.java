@@ -0,0 +1,166 @@
+package com.mourat.rockpaperscissors.application.model;
+
+import com.mourat.rockpaperscissors.domain.model.Move;
+import com.mourat.rockpaperscissors.domain.model.RuleSet;
+
+import java.util.List;
+import java.util.random.RandomGenerator;
+
+/**
+ * The {@link MoveStrategy}s every tournament starts with. Strategies reacting to the opponent play a random
+ * move in the first round.
+ */
+public final class MoveStrategies {
+
+    private MoveStrategies() {
+    }
+
+    /**
+     * Returns the built-in strategies for games of a rule set: every move with the same probability, always
+     * {@code ROCK}, {@link #copyOpponent()}, {@link #beatLastMove()}, {@link #beatMostFrequent()} and
+     * {@link #cycle()}.
+     *
+     * @param ruleSet rule set of the games
+     * @return the built-in strategies
+     */
+    public static List<MoveStrategy> builtIn(RuleSet ruleSet) {
+        return List.of(
+                fromDistribution(MoveDistribution.parse(MoveDistribution.UNIFORM, ruleSet)),
+                fromDistribution(MoveDistribution.parse(Move.ROCK.name(), ruleSet)),
+                copyOpponent(),
+                beatLastMove(),
+                beatMostFrequent(),
+                cycle());
+    }
+
+    /**
+     * Returns a strategy ignoring the opponent, picking its moves from a distribution.
+     *
+     * @param distribution the moves to pick from
+     * @return the strategy, named after the distribution
+     */
+    public static MoveStrategy fromDistribution(MoveDistribution distribution) {
+        return new Distributed(distribution);
+    }
+
+    /**
+     * Returns a strategy playing the last move of the opponent.
+     *
+     * @return the strategy
+     */
+    public static MoveStrategy copyOpponent() {
+        return CopyOpponent.INSTANCE;
+    }
+
+    /**
+     * Returns a strategy playing a move beating the last move of the opponent.
+     *
+     * @return the strategy
+     */
+    public static MoveStrategy beatLastMove() {
+        return BeatLastMove.INSTANCE;
+    }
+
+    /**
+     * Returns a strategy playing a move beating the move the opponent played most often in the game.
+     *
+     * @return the strategy
+     */
+    public static MoveStrategy beatMostFrequent() {
+        return BeatMostFrequent.INSTANCE;
+    }
+
+    /**
+     * Returns a strategy playing the moves of the rule set one after the other, in ordinal order.
+     *
+     * @return the strategy
+     */
+    public static MoveStrategy cycle() {
+        return Cycle.INSTANCE;
+    }
+
+    private record Distributed(MoveDistribution distribution) implements MoveStrategy {
+
+        @Override
+        public String getName() {
+            return distribution.toString();
+        }
+
+        @Override
+        public Move nextMove(MatchHistory history, RandomGenerator random) {
+            return distribution.next(random);
+        }
+    }
+
+    private enum CopyOpponent implements MoveStrategy {
+        INSTANCE;
+
+        @Override
+        public Move nextMove(MatchHistory history, RandomGenerator random) {
+            Move last = history.opponentMove(1);
+            return last != null ? last : history.randomMove(random);
+        }
+
+        @Override
+        public String getName() {
+            return "copy-opponent";
+        }
+    }
+
+    private enum BeatLastMove implements MoveStrategy {
+        INSTANCE;
+
+        @Override
+        public Move nextMove(MatchHistory history, RandomGenerator random) {
+            Move last = history.opponentMove(1);
+            return last != null ? history.moveBeating(last) : history.randomMove(random);
+        }
+
+        @Override
+        public String getName() {
+            return "beat-last";
+        }
+    }
+
+    private enum BeatMostFrequent implements MoveStrategy {
+        INSTANCE;
+
+        @Override
+        public Move nextMove(MatchHistory history, RandomGenerator random) {
+            if (history.getRoundsPlayed() == 0) {
+                return history.randomMove(random);
+            }
+            Move mostFrequent = Move.ROCK;
+            for (int ordinal = 1; ordinal < history.getRuleSet().getMoveCount(); ordinal++) {
+                Move move = Move.fromOrdinal(ordinal);
+                if (history.opponentMoveCount(move) > history.opponentMoveCount(mostFrequent)) {
+                    mostFrequent = move;
+                }
+            }
+            return history.moveBeating(mostFrequent);
+        }
+
+        @Override
+        public String getName() {
+            return "beat-most-frequent";
+        }
+    }
+
+    private enum Cycle implements MoveStrategy {
+        INSTANCE;
+
+        @Override
+        public Move nextMove(MatchHistory history, RandomGenerator random) {
+            Move last = history.ownMove(1);
+            if (last == null) {
+                return history.randomMove(random);
+            }
+            return Move.fromOrdinal((last.ordinal() + 1) % history.getRuleSet().getMoveCount());
+        }
+
+        @Override
+        public String getName() {
+            return "cycle";
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.mourat.rockpaperscissors.application.model;
+
+import com.mourat.rockpaperscissors.domain.model.Move;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Picks the moves of a simulated player, round after round.
+ * <p>
+ * A strategy is asked for a move in every round of every game it plays, from many threads at once, so it
+ * must not allocate and must not keep state of its own. What it needs to remember is kept by the
+ * {@link MatchHistory} of the game, seen from the side of the player using the strategy. Randomness comes
+ * from the generator handed in, so games played from the same seed play out the same way.
+ * <p>
+ * Strategies are registered as Spring beans, next to the {@link MoveStrategies#builtIn built-in} ones.
+ */
+public interface MoveStrategy {
+
+    /**
+     * Returns the name the strategy is reported with.
+     *
+     * @return the name of the strategy
+     */
+    String getName();
+
+    /**
+     * Picks the move of the next round.
+     *
+     * @param history the rounds played so far in the game, from the side of the player using the strategy
+     * @param random generator of the game
+     * @return a move of the rule set of the game; never {@code null}
+     */
+    Move nextMove(MatchHistory history, RandomGenerator random);
+}
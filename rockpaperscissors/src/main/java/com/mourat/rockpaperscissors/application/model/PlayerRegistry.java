@@ -0,0 +1,142 @@
+package com.mourat.rockpaperscissors.application.model;
+
+import com.mourat.rockpaperscissors.domain.model.Player;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * Thread-safe registry of all known {@link Player}s, indexed by their id.
+ * <p>
+ * The registry is split into a fixed number of shards, each one a {@link ConcurrentHashMap}.
+ * Lookups, inserts and removals are O(1) and never block each other across shards, and because
+ * every shard grows independently a table resize only ever rehashes a small fraction of the players.
+ */
+public class PlayerRegistry {
+
+    private static final Logger logger = LoggerFactory.getLogger(PlayerRegistry.class);
+
+    /** Default number of shards, must be a power of two */
+    public static final int DEFAULT_SHARDS = 64;
+
+    /** The shards holding the players */
+    private final ConcurrentHashMap<UUID, Player>[] shards;
+
+    /** Shift applied to the mixed id bits to select a shard from their highest bits */
+    private final int shift;
+
+    /**
+     * Constructs a registry with {@link #DEFAULT_SHARDS} shards.
+     */
+    public PlayerRegistry() {
+        this(DEFAULT_SHARDS);
+    }
+
+    /**
+     * Constructs a registry with the given number of shards.
+     *
+     * @param shardCount number of shards; must be a positive power of two
+     * @throws IllegalArgumentException if {@code shardCount} is not a positive power of two
+     */
+    @SuppressWarnings("unchecked")
+    public PlayerRegistry(int shardCount) {
+        if (shardCount < 1 || Integer.bitCount(shardCount) != 1) {
+            logger.error("Player registry can't be created with {} shards, shard count must be a positive power of two", shardCount);
+            throw new IllegalArgumentException("Shard count must be a positive power of two");
+        }
+
+        this.shards = new ConcurrentHashMap[shardCount];
+        for (int i = 0; i < shardCount; i++) {
+            this.shards[i] = new ConcurrentHashMap<>();
+        }
+        this.shift = Long.SIZE - Integer.numberOfTrailingZeros(shardCount);
+    }
+
+    /**
+     * Adds a player to the registry.
+     *
+     * @param player the player to register
+     * @return {@code true} if the player was added, {@code false} if a player with the same id is already registered
+     * @throws IllegalArgumentException if {@code player} is {@code null}
+     */
+    public boolean register(Player player) {
+        if (player == null) {
+            logger.error("This code should never be executed! A null player can't be registered. On this call, player is never null, check for corruption");
+            throw new IllegalArgumentException("Player must be valid to be registered");
+        }
+
+        return shardFor(player.getId()).putIfAbsent(player.getId(), player) == null;
+    }
+
+    /**
+     * Finds the player with the given id.
+     *
+     * @param id the id of the player
+     * @return the player if registered, otherwise {@code null}
+     */
+    public Player find(UUID id) {
+        if (id == null) {
+            return null;
+        }
+        return shardFor(id).get(id);
+    }
+
+    /**
+     * Removes the player with the given id from the registry.
+     *
+     * @param id the id of the player
+     * @return the removed player, or {@code null} if no such player was registered
+     */
+    public Player remove(UUID id) {
+        if (id == null) {
+            return null;
+        }
+        return shardFor(id).remove(id);
+    }
+
+    /**
+     * Returns the number of registered players.
+     * The value is a snapshot and may be stale while players are being added or removed.
+     *
+     * @return the number of registered players
+     */
+    public long size() {
+        long size = 0;
+        for (ConcurrentHashMap<UUID, Player> shard : shards) {
+            size += shard.mappingCount();
+        }
+        return size;
+    }
+
+    /**
+     * Performs the given action for every registered player, one shard after the other, without blocking
+     * players from being added or removed. Players added or removed during the walk may or may not be visited.
+     *
+     * @param action the action to perform for every player
+     */
+    public void forEach(Consumer<Player> action) {
+        for (ConcurrentHashMap<UUID, Player> shard : shards) {
+            shard.values().forEach(action);
+        }
+    }
+
+    /**
+     * Selects the shard responsible for the given id.
+     * <p>
+     * The shard is taken from the highest bits of a multiplicative hash, so it stays independent
+     * of the low bits each {@link ConcurrentHashMap} uses to place the id inside the shard.
+     *
+     * @param id the id of the player
+     * @return the shard owning the id
+     */
+    private ConcurrentHashMap<UUID, Player> shardFor(UUID id) {
+        if (shards.length == 1) {
+            return shards[0];
+        }
+        long bits = id.getMostSignificantBits() ^ id.getLeastSignificantBits();
+        return shards[(int) ((bits * 0x9E3779B97F4A7C15L) >>> shift)];
+    }
+}
@@ -0,0 +1,34 @@
+package com.mourat.rockpaperscissors.application.model;
+
+/**
+ * Receives the progress of the game sessions it is attached to, e.g. to count the resolved rounds.
+ * <p>
+ * Called on the round hot path by the threads submitting moves, concurrently for different sessions,
+ * so implementations must be thread-safe and must not contend, e.g. by counting with striped adders.
+ */
+public interface SessionMetrics {
+
+    /** Metrics dropping everything */
+    SessionMetrics NONE = new SessionMetrics() {
+        @Override
+        public void roundResolved() {
+        }
+
+        @Override
+        public void barrierWaited(long nanos) {
+        }
+    };
+
+    /**
+     * Receives a resolved round.
+     */
+    void roundResolved();
+
+    /**
+     * Receives the time a player blocked in {@link GameSession#play} waiting for the opponent's move and
+     * the resolution of the round. Moves whose round was already resolved when submitted are not reported.
+     *
+     * @param nanos the time the player waited, in nanoseconds
+     */
+    void barrierWaited(long nanos);
+}
@@ -0,0 +1,276 @@
+package com.mourat.rockpaperscissors.application.services;
+
+import com.mourat.rockpaperscissors.application.model.ArchivedGame;
+import com.mourat.rockpaperscissors.infrastructure.persistence.GameArchiveFile;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tiered archive of finished games.
+ * <p>
+ * The most recently used games are kept in memory up to a configurable capacity. When the
+ * capacity is exceeded the least recently used game is spilled to a {@link GameArchiveFile},
+ * where it can still be looked up by its id. Without a spill file evicted games are dropped.
+ * <p>
+ * Evicted games are written by a background thread, so storing a game never waits for the disk
+ * while holding the archive lock. Until a game is written it is still found in memory. Storing
+ * only waits, without the lock, once {@link #SPILL_BACKLOG} evicted games are waiting.
+ */
+@Service
+public class GameArchive {
+
+    private static final Logger logger = LoggerFactory.getLogger(GameArchive.class);
+
+    /** Most evicted games waiting to be written to the spill file */
+    public static final int SPILL_BACKLOG = 1024;
+
+    /** Maximum number of games kept in memory */
+    private final int hotCapacity;
+
+    /** In-memory games in least recently used order */
+    private final LinkedHashMap<UUID, ArchivedGame> hotGames;
+
+    /** File receiving the evicted games, {@code null} if spilling is disabled */
+    private final GameArchiveFile spillFile;
+
+    /** Evicted games not written to the spill file yet */
+    private final ConcurrentHashMap<UUID, ArchivedGame> spilling;
+
+    /** Free places for evicted games waiting to be written */
+    private final Semaphore spillBacklog;
+
+    /** Thread writing the evicted games to the spill file, {@code null} if spilling is disabled */
+    private final ExecutorService spillWriter;
+
+    /**
+     * Constructs an archive from the application configuration.
+     *
+     * @param hotCapacity maximum number of games kept in memory
+     * @param spillPath location of the spill file; blank to drop evicted games
+     */
+    @Autowired
+    public GameArchive(@Value("${rps.archive.hot-capacity:1000}") int hotCapacity,
+                       @Value("${rps.archive.spill-file:data/archive.bin}") String spillPath) {
+        this(hotCapacity, openSpillFile(spillPath));
+    }
+
+    /**
+     * Constructs an archive with the given capacity and spill file.
+     *
+     * @param hotCapacity maximum number of games kept in memory
+     * @param spillFile file receiving the evicted games; {@code null} to drop them
+     * @throws IllegalArgumentException if {@code hotCapacity} is negative
+     */
+    public GameArchive(int hotCapacity, GameArchiveFile spillFile) {
+        if (hotCapacity < 0) {
+            logger.error("Game archive can't have a negative in-memory capacity of {}", hotCapacity);
+            throw new IllegalArgumentException("Archive capacity can't be negative");
+        }
+
+        this.hotCapacity = hotCapacity;
+        this.spillFile = spillFile;
+        this.hotGames = new LinkedHashMap<>(16, 0.75f, true);
+        this.spilling = new ConcurrentHashMap<>();
+        this.spillBacklog = new Semaphore(SPILL_BACKLOG);
+        this.spillWriter = spillFile == null ? null : Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "game-archive-spill-writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Adds a finished game to the archive.
+     *
+     * @param game the finished game
+     * @throws IllegalArgumentException if {@code game} is {@code null}
+     */
+    public void store(ArchivedGame game) {
+        if (game == null) {
+            logger.error("This code should never be executed! A null game can't be archived. On this call, game is never null, check for corruption");
+            throw new IllegalArgumentException("Archived game must be valid");
+        }
+
+        ArchivedGame evicted = null;
+        synchronized (this) {
+            hotGames.put(game.gameId(), game);
+            if (hotGames.size() > hotCapacity) {
+                Iterator<ArchivedGame> eldest = hotGames.values().iterator();
+                evicted = eldest.next();
+                eldest.remove();
+                if (spillFile != null) {
+                    spilling.put(evicted.gameId(), evicted);
+                }
+            }
+        }
+        logger.debug("Game \"{}\" archived", game.gameId());
+
+        if (evicted != null) {
+            spill(evicted);
+        }
+    }
+
+    /**
+     * Finds an archived game, looking in memory first and in the spill file second.
+     *
+     * @param gameId id of the game
+     * @return the archived game, or {@code null} if the game is not archived
+     */
+    public ArchivedGame find(UUID gameId) {
+        if (gameId == null) {
+            return null;
+        }
+
+        synchronized (this) {
+            ArchivedGame game = hotGames.get(gameId);
+            if (game != null) {
+                return game;
+            }
+        }
+
+        if (spillFile == null) {
+            return null;
+        }
+        // A game leaves the spilling games only once it is found in the file
+        ArchivedGame game = spilling.get(gameId);
+        if (game != null) {
+            return game;
+        }
+        try {
+            return spillFile.find(gameId);
+        } catch (IOException e) {
+            logger.error("Archived game \"{}\" can't be read from the spill file: {}", gameId, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Returns the number of games kept in memory.
+     *
+     * @return the number of in-memory games
+     */
+    public synchronized int hotSize() {
+        return hotGames.size();
+    }
+
+    /**
+     * Returns the games kept in memory, e.g. to save them. Spilled games are not included, the spill file
+     * already keeps them.
+     *
+     * @return a copy of the in-memory games, least recently used first
+     */
+    public synchronized List<ArchivedGame> hotGames() {
+        return new ArrayList<>(hotGames.values());
+    }
+
+    /**
+     * Returns the number of games written to the spill file, without the evicted games still waiting to be written.
+     *
+     * @return the number of spilled games, 0 if spilling is disabled
+     */
+    public int spilledSize() {
+        return spillFile == null ? 0 : spillFile.size();
+    }
+
+    /**
+     * Writes the evicted games still waiting, then flushes and closes the spill file.
+     */
+    @PreDestroy
+    public void close() {
+        if (spillFile == null) {
+            return;
+        }
+        spillWriter.shutdown();
+        try {
+            if (!spillWriter.awaitTermination(10, TimeUnit.SECONDS)) {
+                logger.error("Game archive spill writer didn't finish in time, {} evicted games are lost", spilling.size());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        try {
+            spillFile.close();
+        } catch (IOException e) {
+            logger.error("Game archive spill file can't be closed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Hands an evicted game to the spill writer, waiting while the backlog is full. Called without the archive lock.
+     *
+     * @param game the evicted game
+     */
+    private void spill(ArchivedGame game) {
+        if (spillFile == null) {
+            logger.debug("Game \"{}\" evicted from the archive without a spill file, dropping it", game.gameId());
+            return;
+        }
+        try {
+            spillBacklog.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            spilling.remove(game.gameId());
+            logger.error("Game \"{}\" can't be spilled to the archive file while interrupted and is lost", game.gameId());
+            return;
+        }
+        try {
+            spillWriter.execute(() -> write(game));
+        } catch (RejectedExecutionException e) {
+            spillBacklog.release();
+            spilling.remove(game.gameId());
+            logger.warn("Game \"{}\" evicted after the archive was closed, dropping it", game.gameId());
+        }
+    }
+
+    /**
+     * Writes an evicted game to the spill file. Runs on the spill writer only.
+     *
+     * @param game the evicted game
+     */
+    private void write(ArchivedGame game) {
+        try {
+            spillFile.append(game);
+        } catch (IOException e) {
+            logger.error("Game \"{}\" can't be spilled to the archive file and is lost: {}", game.gameId(), e.getMessage());
+        } finally {
+            spilling.remove(game.gameId());
+            spillBacklog.release();
+        }
+    }
+
+    /**
+     * Opens the configured spill file.
+     *
+     * @param spillPath location of the spill file; blank to disable spilling
+     * @return the opened file, or {@code null} if spilling is disabled or the file can't be opened
+     */
+    private static GameArchiveFile openSpillFile(String spillPath) {
+        if (spillPath == null || spillPath.isBlank()) {
+            return null;
+        }
+        try {
+            return new GameArchiveFile(Path.of(spillPath));
+        } catch (IOException e) {
+            logger.error("Game archive spill file \"{}\" can't be opened, evicted games will be dropped: {}", spillPath, e.getMessage());
+            return null;
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.mourat.rockpaperscissors.application.services;
+
+import com.mourat.rockpaperscissors.application.dto.MoveResult;
+import com.mourat.rockpaperscissors.application.dto.RunnerError;
+import com.mourat.rockpaperscissors.domain.model.Move;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Low-overhead variant of {@link GameRunnerService} for clients driving many games.
+ * <p>
+ * Players and sessions are identified by compact numeric handles handed out at creation time,
+ * and moves are passed as {@link Move} values or their ordinals. Resolving a handle is an array
+ * lookup, so the per-round path does no string parsing, hashing or UUID allocation.
+ * <p>
+ * Rejected requests neither throw nor allocate: calls returning a handle return the negative
+ * {@link RunnerError#code()} of the reason instead, and moves return the {@link RunnerError} itself.
+ * <p>
+ * Handles are only meaningful to the service instance that issued them.
+ */
+public interface GameHandleService {
+
+    /**
+     * Creates a new player with the given name.
+     *
+     * @param name the name of the new player
+     * @return the handle of the new player on success; a negative {@link RunnerError} code otherwise
+     */
+    int createPlayerHandle(String name);
+
+    /**
+     * Creates a new game session with the given number of rounds, initiated by the specified player.
+     *
+     * @param playerHandle the handle of the player creating the game
+     * @param rounds the number of rounds the game will run
+     * @return the handle of the new session on success; a negative {@link RunnerError} code otherwise
+     */
+    int createGame(int playerHandle, int rounds);
+
+    /**
+     * Creates a new game session like {@link #createGame(int, int)}, played with the first {@code moveCount} moves.
+     *
+     * @param playerHandle the handle of the player creating the game
+     * @param rounds the number of rounds the game will run
+     * @param moveCount the number of moves of the game's rule set, an odd number
+     * @return the handle of the new session on success; a negative {@link RunnerError} code otherwise
+     */
+    int createGame(int playerHandle, int rounds, int moveCount);
+
+    /**
+     * Allows a player to join an existing open game session.
+     *
+     * @param playerHandle the handle of the player attempting to join
+     * @return the handle of the joined session on success; a negative {@link RunnerError} code otherwise
+     */
+    int joinGame(int playerHandle);
+
+    /**
+     * Submits a move for the specified player in their active game session.
+     *
+     * @param playerHandle the handle of the player making the move
+     * @param move the move made by the player
+     * @return the result of the round and current game state, or the {@link RunnerError} rejecting the move
+     */
+    MoveResult makeMove(int playerHandle, Move move);
+
+    /**
+     * Submits a move, given by its ordinal, for the specified player in their active game session.
+     *
+     * @param playerHandle the handle of the player making the move
+     * @param moveOrdinal the ordinal of the {@link Move} made by the player
+     * @return the result of the round and current game state, or the {@link RunnerError} rejecting the move
+     */
+    MoveResult makeMove(int playerHandle, int moveOrdinal);
+
+    /**
+     * Submits a move like {@link #makeMove(int, Move)} without waiting for the opponent.
+     *
+     * @param playerHandle the handle of the player making the move
+     * @param move the move made by the player
+     * @return a future completed with the result of the round once it resolves; already completed if the move is rejected
+     */
+    CompletableFuture<MoveResult> makeMoveAsync(int playerHandle, Move move);
+
+    /**
+     * Submits moves for the next rounds at once, up to the move queue capacity of the session, e.g. a whole game.
+     * The moves are accepted or rejected together.
+     *
+     * @param playerHandle the handle of the player making the moves
+     * @param moves the moves for the next rounds, in order
+     * @return a future completed with the result of the round of the last move; already completed if the moves are rejected
+     */
+    CompletableFuture<MoveResult> makeMovesAsync(int playerHandle, Move... moves);
+
+    /**
+     * Returns the ID of the player behind a handle, for interoperability with {@link GameRunnerService}.
+     *
+     * @param playerHandle the handle of the player
+     * @return the ID of the player, or {@code null} if the handle is not valid
+     */
+    String getPlayerId(int playerHandle);
+
+    /**
+     * Returns the ID of the game behind a session handle, for interoperability with {@link GameRunnerService}.
+     *
+     * @param gameHandle the handle of the session
+     * @return the ID of the game, or {@code null} if the handle is not valid or was released when the game ended
+     */
+    String getGameId(int gameHandle);
+}
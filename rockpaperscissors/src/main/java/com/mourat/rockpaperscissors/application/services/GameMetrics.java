@@ -0,0 +1,144 @@
+package com.mourat.rockpaperscissors.application.services;
+
+import com.mourat.rockpaperscissors.application.dto.RunnerError;
+import com.mourat.rockpaperscissors.application.model.SessionMetrics;
+import org.springframework.stereotype.Service;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Live counters of the game engine: resolved rounds, the time players wait for each other, rejected moves
+ * by reason, and completed and expired sessions.
+ * <p>
+ * Every counter is a {@link LongAdder}, so the threads of different sessions counting the same event update
+ * different cells instead of contending on one value; the sums are only built when the counters are read.
+ * Reads racing with updates see a recent, not necessarily exact, total.
+ */
+@Service
+public class GameMetrics implements SessionMetrics {
+
+    /** Every rejection reason, indexed by ordinal */
+    private static final RunnerError[] REASONS = RunnerError.values();
+
+    private final LongAdder roundsResolved = new LongAdder();
+    private final LongAdder barrierWaits = new LongAdder();
+    private final LongAdder barrierWaitNanos = new LongAdder();
+    private final LongAdder sessionsCompleted = new LongAdder();
+    private final LongAdder sessionsExpired = new LongAdder();
+
+    /** Rejected moves, indexed by the ordinal of the reason */
+    private final LongAdder[] movesRejected = new LongAdder[REASONS.length];
+
+    public GameMetrics() {
+        for (int i = 0; i < movesRejected.length; i++) {
+            movesRejected[i] = new LongAdder();
+        }
+    }
+
+    @Override
+    public void roundResolved() {
+        roundsResolved.increment();
+    }
+
+    @Override
+    public void barrierWaited(long nanos) {
+        barrierWaits.increment();
+        barrierWaitNanos.add(nanos);
+    }
+
+    /**
+     * Counts a rejected move.
+     *
+     * @param reason the reason the move was rejected
+     */
+    public void moveRejected(RunnerError reason) {
+        movesRejected[reason.ordinal()].increment();
+    }
+
+    /**
+     * Counts a session whose game was played to the end.
+     */
+    public void sessionCompleted() {
+        sessionsCompleted.increment();
+    }
+
+    /**
+     * Counts a session expired by the {@link SessionReaper}.
+     */
+    public void sessionExpired() {
+        sessionsExpired.increment();
+    }
+
+    /**
+     * Returns the number of resolved rounds.
+     *
+     * @return the number of resolved rounds
+     */
+    public long roundsResolved() {
+        return roundsResolved.sum();
+    }
+
+    /**
+     * Returns the number of times a player blocked waiting for a round.
+     *
+     * @return the number of reported waits
+     */
+    public long barrierWaits() {
+        return barrierWaits.sum();
+    }
+
+    /**
+     * Returns the total time players blocked waiting for their rounds.
+     *
+     * @return the total wait in nanoseconds
+     */
+    public long barrierWaitNanos() {
+        return barrierWaitNanos.sum();
+    }
+
+    /**
+     * Returns the number of sessions whose game was played to the end.
+     *
+     * @return the number of completed sessions
+     */
+    public long sessionsCompleted() {
+        return sessionsCompleted.sum();
+    }
+
+    /**
+     * Returns the number of sessions expired by the {@link SessionReaper}.
+     *
+     * @return the number of expired sessions
+     */
+    public long sessionsExpired() {
+        return sessionsExpired.sum();
+    }
+
+    /**
+     * Returns the number of moves rejected for a reason.
+     *
+     * @param reason the reason of the rejections
+     * @return the number of moves rejected for the reason
+     */
+    public long movesRejected(RunnerError reason) {
+        return movesRejected[reason.ordinal()].sum();
+    }
+
+    /**
+     * Returns the number of rejected moves by reason, leaving out the reasons no move was rejected for.
+     *
+     * @return the number of rejected moves by reason
+     */
+    public Map<RunnerError, Long> movesRejected() {
+        Map<RunnerError, Long> rejected = new EnumMap<>(RunnerError.class);
+        for (RunnerError reason : REASONS) {
+            long count = movesRejected(reason);
+            if (count > 0) {
+                rejected.put(reason, count);
+            }
+        }
+        return rejected;
+    }
+}
@@ -2,6 +2,8 @@ package com.mourat.rockpaperscissors.application.services;
 
 import com.mourat.rockpaperscissors.application.dto.ResultDto;
 
+import java.util.concurrent.CompletableFuture;
+
 /**
  * Application-layer service responsible for orchestrating all domain-level entities and services.
  * <p>
@@ -22,6 +24,17 @@ public interface GameRunnerService {
      */
     String createGame(String playerId, int rounds);
 
+    /**
+     * Creates a new game session like {@link #createGame(String, int)}, played with the first {@code moveCount} moves,
+     * e.g. 5 for Rock Paper Scissors Spock Lizard.
+     *
+     * @param playerId the ID of the player creating the game
+     * @param rounds the number of rounds the game will run
+     * @param moveCount the number of moves of the game's rule set, an odd number
+     * @return the ID of the newly created game as string on success; an error message otherwise
+     */
+    String createGame(String playerId, int rounds, int moveCount);
+
     /**
      * Creates a new player with the given name.
      *
@@ -46,4 +59,21 @@ public interface GameRunnerService {
      * @return a {@link ResultDto} containing the result of the round and current game state with a status message
      */
     ResultDto makeMove(String playerId, String move);
+
+    /**
+     * Submits a move like {@link #makeMove(String, String)} without waiting for the opponent.
+     *
+     * @param playerId the ID of the player making the move
+     * @param move the move made by the player (e.g., "ROCK", "PAPER", "SCISSORS")
+     * @return a future completed with the {@link ResultDto} of the round once it resolves; already completed if the move is rejected
+     */
+    CompletableFuture<ResultDto> makeMoveAsync(String playerId, String move);
+
+    /**
+     * Looks up the final result of a finished game.
+     *
+     * @param gameId the ID of the finished game
+     * @return a {@link ResultDto} containing the final state of the game with a status message
+     */
+    ResultDto getFinishedGame(String gameId);
 }
@@ -1,12 +1,14 @@
 package com.mourat.rockpaperscissors.application.services;
 
 import com.mourat.rockpaperscissors.application.model.GameSession;
+import com.mourat.rockpaperscissors.application.model.SessionMetrics;
 import com.mourat.rockpaperscissors.domain.model.Game;
 import com.mourat.rockpaperscissors.domain.model.Player;
 import com.mourat.rockpaperscissors.domain.service.GameRulesService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 /**
@@ -22,14 +24,52 @@ public class GameSessionFactory {
 
     private final GameRulesService gameRulesService;
 
+    /** Number of moves a player may submit ahead of the resolved rounds */
+    private final int moveQueueCapacity;
+
+    /** Receives the progress of every created session */
+    private final SessionMetrics metrics;
+
+    /**
+     * Constructs a session factory with a game rules service dependency, creating sessions where
+     * a player can't move again before the current round resolves.
+     *
+     * @param gameRulesService the service used for evaluating game rules
+     */
+    public GameSessionFactory (GameRulesService gameRulesService){
+        this(gameRulesService, 1);
+    }
+
     /**
      * Constructs a session factory with a game rules service dependency.
      *
      * @param gameRulesService the service used for evaluating game rules
+     * @param moveQueueCapacity number of moves a player may submit ahead of the resolved rounds
+     * @throws IllegalArgumentException if {@code moveQueueCapacity} is not positive
+     */
+    public GameSessionFactory (GameRulesService gameRulesService, int moveQueueCapacity){
+        this(gameRulesService, moveQueueCapacity, SessionMetrics.NONE);
+    }
+
+    /**
+     * Constructs a session factory with a game rules service dependency, whose sessions report their progress.
+     *
+     * @param gameRulesService the service used for evaluating game rules
+     * @param moveQueueCapacity number of moves a player may submit ahead of the resolved rounds
+     * @param metrics receives the progress of every created session
+     * @throws IllegalArgumentException if {@code moveQueueCapacity} is not positive
      */
     @Autowired
-    public GameSessionFactory (GameRulesService gameRulesService){
+    public GameSessionFactory (GameRulesService gameRulesService,
+                               @Value("${rps.session.move-queue-capacity:1}") int moveQueueCapacity,
+                               SessionMetrics metrics){
+        if(moveQueueCapacity < 1){
+            logger.error("Session factory can't be created with a move queue capacity of {}, players must be able to submit at least one move", moveQueueCapacity);
+            throw new IllegalArgumentException("Move queue capacity must be positive");
+        }
         this.gameRulesService = gameRulesService;
+        this.moveQueueCapacity = moveQueueCapacity;
+        this.metrics = metrics;
     }
 
     /**
@@ -50,6 +90,26 @@ public class GameSessionFactory {
         }
 
         logger.debug("Session factory creating a new session for the game \"{}\" by player \"{}\":\"{}\"...", game.getId(), owner.getName(), owner.getId());
-        return new GameSession(owner, game, gameRulesService);
+        return new GameSession(owner, game, gameRulesService, moveQueueCapacity, metrics);
+    }
+
+    /**
+     * Creates a running {@link GameSession} for a started game restored after a restart, continuing at
+     * the active round of the game.
+     *
+     * @param game the restored game, with both players
+     * @return a new {@link GameSession} both players of the game are part of
+     * @throws IllegalArgumentException if {@code game} is {@code null} or has no second player
+     */
+    public GameSession resumeSession(Game game){
+        if(game == null || game.getPlayer2() == null){
+            logger.error("This code should never be executed! Only started games can be resumed. On this call, game is always started, check for corruption");
+            throw new IllegalArgumentException("Resumed game must have two players");
+        }
+
+        GameSession session = new GameSession(game.getPlayer1(), game, gameRulesService, moveQueueCapacity, metrics);
+        session.joinGame(game.getPlayer2());
+        logger.debug("Session factory resumed the game \"{}\" at round {}", game.getId(), game.getActiveRound());
+        return session;
     }
 }
@@ -0,0 +1,240 @@
+package com.mourat.rockpaperscissors.application.services;
+
+import com.mourat.rockpaperscissors.application.model.ArchivedGame;
+import com.mourat.rockpaperscissors.application.services.impl.GameRunnerServiceImpl;
+import com.mourat.rockpaperscissors.domain.model.Game;
+import com.mourat.rockpaperscissors.domain.model.Move;
+import com.mourat.rockpaperscissors.domain.model.Player;
+import com.mourat.rockpaperscissors.domain.model.RuleSet;
+import com.mourat.rockpaperscissors.infrastructure.persistence.RoundJournalReader;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Rebuilds the state of the application after a restart by replaying the {@link RoundJournal}.
+ * <p>
+ * Players are recreated with their original ids. Every started game is recreated and its rounds are replayed
+ * into it, restoring the scores, the recent rounds and the active round without streaming the rounds to the
+ * journal again. Games that reach their last round go to the {@link GameArchive}, the others continue in new
+ * sessions of the {@link GameRunnerServiceImpl}. Games nobody joined are not journaled and are not recovered,
+ * neither are abandoned games, e.g. of expired sessions. A player is only put back into the game it started last,
+ * so a journal missing the abandonment of an older game doesn't attach the player to it. Records whose players
+ * can't be restored, e.g. because a name was cut to a blank name in the journal, are skipped.
+ * <p>
+ * Only the games being replayed are held in memory, so recovery memory grows with the players and the running
+ * games, not with the length of the journal.
+ */
+@Service
+public class JournalRecovery {
+
+    private static final Logger logger = LoggerFactory.getLogger(JournalRecovery.class);
+
+    /**
+     * Outcome of a recovery.
+     *
+     * @param players number of recovered players
+     * @param runningGames number of games continuing in new sessions
+     * @param finishedGames number of finished games replayed, including the ones already archived
+     * @param abandonedGames number of started games dropped because they were abandoned, or one of their players
+     *                       started a later game
+     * @param rounds number of replayed rounds
+     * @param skippedRounds number of rounds skipped, because their game is unknown or they are out of order
+     * @param skippedRecords number of player and game records skipped, because a player can't be restored from them
+     */
+    public record Summary(int players, int runningGames, int finishedGames, int abandonedGames,
+                          long rounds, long skippedRounds, long skippedRecords) {
+    }
+
+    /** Directory holding the journal segments, blank if journaling is disabled */
+    private final String directory;
+
+    /** Whether the journal is replayed on startup */
+    private final boolean enabled;
+
+    private final GameRunnerServiceImpl gameRunner;
+    private final GameArchive gameArchive;
+
+    /**
+     * Constructs the recovery from the application configuration.
+     *
+     * @param directory directory holding the journal segments; blank if journaling is disabled
+     * @param enabled whether the journal is replayed on startup
+     * @param gameRunner service taking over the recovered players and running games
+     * @param gameArchive archive receiving the recovered finished games
+     */
+    @Autowired
+    public JournalRecovery(@Value("${rps.journal.directory:}") String directory,
+                           @Value("${rps.journal.recover:false}") boolean enabled,
+                           GameRunnerServiceImpl gameRunner, GameArchive gameArchive) {
+        this.directory = directory;
+        this.enabled = enabled;
+        this.gameRunner = gameRunner;
+        this.gameArchive = gameArchive;
+    }
+
+    /**
+     * Replays the journal on startup if recovery is enabled.
+     *
+     * @throws IOException if the journal can't be read
+     */
+    @PostConstruct
+    public void recoverOnStartup() throws IOException {
+        if (!enabled) {
+            return;
+        }
+        if (directory == null || directory.isBlank()) {
+            logger.warn("Recovery is enabled without a journal directory, nothing to recover");
+            return;
+        }
+        recover(Path.of(directory));
+    }
+
+    /**
+     * Replays a journal, archiving its finished games and handing its players and running games to the runner.
+     *
+     * @param journalDirectory directory holding the journal segments
+     * @return the outcome of the recovery
+     * @throws IOException if the journal can't be read
+     */
+    public Summary recover(Path journalDirectory) throws IOException {
+        long start = System.nanoTime();
+        Replay replay = new Replay();
+        long records = RoundJournalReader.read(journalDirectory, replay);
+
+        gameRunner.restore(replay.players.values(), replay.games.values());
+
+        long nanos = Math.max(1, System.nanoTime() - start);
+        Summary summary = new Summary(replay.players.size(), replay.games.size(), replay.finishedGames,
+                replay.abandonedGames, replay.rounds, replay.skippedRounds, replay.skippedRecords);
+        logger.info("Recovered {} from {} journal records in {} ms, {} rounds/s",
+                summary, records, nanos / 1_000_000, replay.rounds * 1_000_000_000L / nanos);
+        return summary;
+    }
+
+    /**
+     * Rebuilds players and games from the journal records.
+     */
+    private final class Replay implements RoundJournalReader.Listener {
+
+        /** Every player, by id */
+        private final Map<UUID, Player> players = new HashMap<>();
+
+        /** Started games without their last round yet, by id */
+        private final Map<UUID, Game> games = new HashMap<>();
+
+        private int finishedGames;
+        private int abandonedGames;
+        private long rounds;
+        private long skippedRounds;
+        private long skippedRecords;
+
+        @Override
+        public void playerCreated(long timestamp, UUID playerId, String playerName) {
+            if (player(playerId, playerName) == null) {
+                skippedRecords++;
+            }
+        }
+
+        @Override
+        public void gameStarted(long timestamp, UUID gameId, int rounds, int moveCount,
+                                UUID player1Id, String player1Name, UUID player2Id, String player2Name) {
+            Player player1 = player(player1Id, player1Name);
+            Player player2 = player(player2Id, player2Name);
+            if (player1 == null || player2 == null) {
+                logger.warn("Game \"{}\" is not recovered, its players can't be restored", gameId);
+                skippedRecords++;
+                return;
+            }
+            // Only the latest game of a player can still be running
+            drop(player1.getGamePlaying());
+            drop(player2.getGamePlaying());
+            games.put(gameId, Game.restore(gameId, player1, player2, rounds, RuleSet.of(moveCount)));
+        }
+
+        @Override
+        public void roundPlayed(long timestamp, long gameIdMostSigBits, long gameIdLeastSigBits, int round,
+                                int player1Move, int player2Move, int winner) {
+            UUID gameId = new UUID(gameIdMostSigBits, gameIdLeastSigBits);
+            Game game = games.get(gameId);
+            if (game == null || round != game.getActiveRound()) {
+                skippedRounds++;
+                return;
+            }
+
+            rounds++;
+            if (game.replayRound(Move.fromOrdinal(player1Move), Move.fromOrdinal(player2Move), winner) != null) {
+                games.remove(gameId);
+                finishedGames++;
+                // A game archived before the restart may still be in the spill file
+                if (gameArchive.find(gameId) == null) {
+                    gameArchive.store(ArchivedGame.of(game));
+                }
+            }
+        }
+
+        @Override
+        public void gameFinished(long timestamp, UUID gameId, int player1Score, int player2Score, int draws, int winner) {
+            Game game = games.remove(gameId);
+            if (game != null) {
+                logger.warn("Game \"{}\" finished with rounds missing from the journal, it is not recovered. Check for corruption", gameId);
+                game.getPlayer1().detachGame();
+                game.getPlayer2().detachGame();
+            }
+        }
+
+        @Override
+        public void gameAbandoned(long timestamp, UUID gameId, int round) {
+            Game game = games.get(gameId);
+            if (game != null) {
+                drop(game);
+            }
+        }
+
+        /**
+         * Returns a known player, or restores it from a record.
+         *
+         * @param playerId id of the player
+         * @param playerName name of the player in the record
+         * @return the player, or {@code null} if it is unknown and can't be restored from the record
+         */
+        private Player player(UUID playerId, String playerName) {
+            Player player = players.get(playerId);
+            if (player != null) {
+                return player;
+            }
+            try {
+                player = Player.restore(playerId, playerName);
+            } catch (IllegalArgumentException e) {
+                logger.warn("Player \"{}\" named \"{}\" in the journal can't be restored: {}", playerId, playerName, e.getMessage());
+                return null;
+            }
+            players.put(playerId, player);
+            return player;
+        }
+
+        /**
+         * Drops a running game that won't be continued, detaching its players.
+         *
+         * @param game the game, may be {@code null} or already finished
+         */
+        private void drop(Game game) {
+            if (game == null || games.remove(game.getId()) == null) {
+                return;
+            }
+            abandonedGames++;
+            game.getPlayer1().detachGame();
+            game.getPlayer2().detachGame();
+            logger.debug("Abandoned game \"{}\" is not recovered", game.getId());
+        }
+    }
+}
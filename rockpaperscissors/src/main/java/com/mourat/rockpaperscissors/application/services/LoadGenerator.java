@@ -0,0 +1,405 @@
+package com.mourat.rockpaperscissors.application.services;
+
+import com.mourat.rockpaperscissors.application.dto.MoveResult;
+import com.mourat.rockpaperscissors.application.dto.ResultDto;
+import com.mourat.rockpaperscissors.application.dto.RunnerError;
+import com.mourat.rockpaperscissors.application.model.LatencyHistogram;
+import com.mourat.rockpaperscissors.application.model.MoveDistribution;
+import com.mourat.rockpaperscissors.application.services.impl.GameRunnerServiceImpl;
+import com.mourat.rockpaperscissors.domain.model.RuleSet;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Generates load on the {@link GameHandleService} with bots playing against each other, and reports the
+ * throughput and the latency of their moves.
+ * <p>
+ * Every bot pair is a bot creating games and a bot joining games, each on its own platform or virtual thread.
+ * The pairs are started evenly spread over the ramp-up time, then every bot plays its games back to back,
+ * picking its moves from its {@link MoveDistribution}. The latency of a move is the time
+ * {@link GameHandleService#makeMove} takes to return the played round, including the wait for the opponent's
+ * move, as seen by a client of the service.
+ */
+@Service
+public class LoadGenerator {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoadGenerator.class);
+
+    /** Threads the bots run on */
+    public enum ThreadMode {
+        /** One platform (OS) thread per bot */
+        PLATFORM,
+        /** One virtual thread per bot, mounted on a carrier thread only while it runs */
+        VIRTUAL
+    }
+
+    /**
+     * Outcome of a load run.
+     *
+     * @param bots number of bots
+     * @param threadMode threads the bots ran on
+     * @param games games finished by the bots
+     * @param rounds rounds played in the finished games
+     * @param failedBots bots that stopped before playing all of their games
+     * @param nanos duration of the run, from starting the first bot until the last bot finished
+     * @param heapPerBot heap grown per started bot, see {@link #run()}, or -1 if the heap was not measured
+     * @param moves moves that returned a played round
+     * @param p50 median move latency in nanoseconds
+     * @param p99 99th percentile of the move latency in nanoseconds
+     * @param p999 99.9th percentile of the move latency in nanoseconds
+     * @param max highest move latency in nanoseconds
+     */
+    public record Report(int bots, ThreadMode threadMode, long games, long rounds, long failedBots, long nanos,
+                         long heapPerBot, long moves, long p50, long p99, long p999, long max) {
+
+        /**
+         * Returns the finished games per second.
+         *
+         * @return the finished games per second
+         */
+        public double gamesPerSecond() {
+            return games * 1e9 / Math.max(1, nanos);
+        }
+
+        /**
+         * Returns the played rounds per second.
+         *
+         * @return the played rounds per second
+         */
+        public double roundsPerSecond() {
+            return rounds * 1e9 / Math.max(1, nanos);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("Simulation of %d bots on %s threads finished: %d games and %d rounds in %.3f s, "
+                            + "%.1f games/s, %.1f rounds/s, %d failed bots, %s%n"
+                            + "makeMove latency of %d moves: p50 %.1f us, p99 %.1f us, p999 %.1f us, max %.1f us",
+                    bots, threadMode, games, rounds, nanos / 1e9, gamesPerSecond(), roundsPerSecond(), failedBots,
+                    heapPerBot < 0 ? "heap per bot not measured" : "~" + heapPerBot + " bytes of heap per bot", moves, p50 / 1e3, p99 / 1e3, p999 / 1e3, max / 1e3);
+        }
+    }
+
+    /** Pause between two attempts of a bot waiting for a game or an opponent */
+    private static final long RETRY_MILLIS = 100;
+
+    private final GameHandleService gameHandleService;
+
+    /** Number of game creating and game joining bot pairs */
+    private final int botPairs;
+
+    /** Games played by every bot */
+    private final int iterations;
+
+    /** Rounds of every game */
+    private final int rounds;
+
+    /** Most rounds the game service accepts for a game, the subject of a rejected game creation */
+    private final int maxRounds;
+
+    /** Number of moves of every game */
+    private final int moveCount;
+
+    /** Moves of the game creating bots */
+    private final MoveDistribution player1Moves;
+
+    /** Moves of the game joining bots */
+    private final MoveDistribution player2Moves;
+
+    /** Threads the bots run on */
+    private final ThreadMode threadMode;
+
+    /** Time over which the bot pairs are started */
+    private final long rampUpNanos;
+
+    /** Whether the heap per bot is measured, collecting garbage while the bots run */
+    private final boolean measureHeap;
+
+    /** Games finished by the game creating bots */
+    private final LongAdder finishedGames = new LongAdder();
+
+    /** Rounds played in the games of the game creating bots */
+    private final LongAdder playedRounds = new LongAdder();
+
+    /** Bots that stopped before playing all of their games */
+    private final LongAdder failedBots = new LongAdder();
+
+    /** Game creating bots still creating or playing games, joining bots give up once none is left */
+    private final AtomicInteger runningCreators = new AtomicInteger();
+
+    /** Latency of the moves of every bot */
+    private final LatencyHistogram moveLatency = new LatencyHistogram();
+
+    /**
+     * Constructs the load generator from the application configuration.
+     *
+     * @param botPairs number of game creating and game joining bot pairs
+     * @param iterations games played by every bot pair
+     * @param rounds rounds of every game
+     * @param maxRounds most rounds the game service accepts for a game
+     * @param moveCount number of moves of every game
+     * @param player1Moves moves of the game creating bots, see {@link MoveDistribution#parse}
+     * @param player2Moves moves of the game joining bots, see {@link MoveDistribution#parse}
+     * @param threadMode threads the bots run on
+     * @param rampUpMillis time over which the bot pairs are started, 0 to start them all at once
+     * @param measureHeap whether the heap per bot is measured, see {@link #run()}
+     * @param gameHandleService service the bots play on
+     * @throws IllegalArgumentException if a number is out of range or a move distribution is invalid
+     */
+    @Autowired
+    public LoadGenerator(@Value("${rps.simulation.bot-pairs:1}") int botPairs,
+                         @Value("${rps.simulation.iterations:1}") int iterations,
+                         @Value("${rps.simulation.rounds:100}") int rounds,
+                         @Value("${rps.game.max-rounds:" + GameRunnerServiceImpl.DEFAULT_MAX_ROUNDS + "}") int maxRounds,
+                         @Value("${rps.simulation.moves:3}") int moveCount,
+                         @Value("${rps.simulation.player1-moves:PAPER}") String player1Moves,
+                         @Value("${rps.simulation.player2-moves:uniform}") String player2Moves,
+                         @Value("${rps.simulation.thread-mode:platform}") ThreadMode threadMode,
+                         @Value("${rps.simulation.ramp-up-ms:0}") long rampUpMillis,
+                         @Value("${rps.simulation.measure-heap:false}") boolean measureHeap,
+                         GameHandleService gameHandleService) {
+        if (botPairs < 1 || iterations < 0 || rounds < 1 || rampUpMillis < 0) {
+            logger.error("Simulation of {} bot pairs playing {} games of {} rounds with a ramp-up of {}ms is requested", botPairs, iterations, rounds, rampUpMillis);
+            throw new IllegalArgumentException("Simulation needs at least one bot pair, one round per game and no negative game count or ramp-up");
+        }
+
+        this.botPairs = botPairs;
+        this.iterations = iterations;
+        this.rounds = rounds;
+        this.maxRounds = maxRounds;
+        RuleSet ruleSet = RuleSet.of(moveCount);
+        this.moveCount = moveCount;
+        this.player1Moves = MoveDistribution.parse(player1Moves, ruleSet);
+        this.player2Moves = MoveDistribution.parse(player2Moves, ruleSet);
+        this.threadMode = threadMode;
+        this.rampUpNanos = TimeUnit.MILLISECONDS.toNanos(rampUpMillis);
+        this.measureHeap = measureHeap;
+        this.gameHandleService = gameHandleService;
+    }
+
+    /**
+     * Starts the bots, waits for all of them to finish their games and reports the run. Only the first
+     * bot pair logs its progress and prints its results, so large simulations don't flood the output.
+     * <p>
+     * The heap per bot is the live heap grown by starting the bots, while most of them wait for their first
+     * game. It covers virtual thread stacks, which live on the heap, but not platform thread stacks, which are
+     * reserved natively. With a ramp-up, bots started early may already be playing when it is measured.
+     * Measuring it collects garbage twice while the run is timed, so it is only done when asked for.
+     * <p>
+     * A generator is meant to run once, its counters are not reset between runs.
+     *
+     * @return the report of the run
+     * @throws InterruptedException if interrupted while starting or waiting for the bots
+     */
+    public Report run() throws InterruptedException {
+        ThreadFactory factory = threadMode == ThreadMode.VIRTUAL
+                ? Thread.ofVirtual().name("bot-", 0).factory()
+                : Thread.ofPlatform().name("bot-", 0).factory();
+        logger.info("Starting {} bot pairs on {} threads over {}ms, moves of player 1: {}, moves of player 2: {}",
+                botPairs, threadMode, TimeUnit.NANOSECONDS.toMillis(rampUpNanos), player1Moves, player2Moves);
+
+        long heapBefore = measureHeap ? usedHeapAfterGc() : 0;
+        long start = System.nanoTime();
+        runningCreators.set(botPairs);
+
+        List<Thread> bots = new ArrayList<>(botPairs * 2);
+        for (int pair = 0; pair < botPairs; pair++) {
+            LockSupport.parkNanos(start + rampUpNanos * pair / botPairs - System.nanoTime());
+            if (Thread.interrupted()) {
+                throw new InterruptedException("Interrupted while starting the bots");
+            }
+            int botPair = pair;
+            Thread creator = factory.newThread(() -> runBot(botPair, true));
+            Thread joiner = factory.newThread(() -> runBot(botPair, false));
+            creator.start();
+            joiner.start();
+            bots.add(creator);
+            bots.add(joiner);
+        }
+
+        long heapPerBot = measureHeap ? Math.max(0, usedHeapAfterGc() - heapBefore) / bots.size() : -1;
+
+        for (Thread bot : bots) {
+            bot.join();
+        }
+        long nanos = System.nanoTime() - start;
+
+        return new Report(bots.size(), threadMode, finishedGames.sum(), playedRounds.sum(), failedBots.sum(), nanos,
+                heapPerBot, moveLatency.count(), moveLatency.percentile(0.5), moveLatency.percentile(0.99),
+                moveLatency.percentile(0.999), moveLatency.max());
+    }
+
+    /**
+     * Collects garbage and measures the heap still in use. Only called twice per run, if the heap is measured.
+     *
+     * @return bytes of live heap
+     */
+    private static long usedHeapAfterGc() {
+        Runtime runtime = Runtime.getRuntime();
+        System.gc();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    /**
+     * Runs the games of a bot.
+     */
+    private void runBot(int pair, boolean isCreator) {
+        try {
+            playGames(pair, isCreator);
+        } finally {
+            if (isCreator) {
+                runningCreators.decrementAndGet();
+            }
+        }
+    }
+
+    private void playGames(int pair, boolean isCreator) {
+        String botName = (isCreator ? "BOT 1" : "BOT 2") + (pair == 0 ? "" : "." + pair);
+        String playerName = isCreator ? "Player A" : "Player B";
+        MoveDistribution moves = isCreator ? player1Moves : player2Moves;
+        boolean verbose = pair == 0;
+
+        int playerHandle = initializePlayerFor(botName, playerName, verbose);
+        if (playerHandle < 0) {
+            failedBots.increment();
+            return;
+        }
+
+        for (int i = 0; i < iterations; i++) {
+            if (verbose) {
+                logger.info("{}: Iteration: {}", botName, i);
+                logger.info("{}: {} game...", botName, (isCreator ? "Creating new" : "Joining to"));
+            }
+            ResultDto result;
+            try {
+                int gameHandle = createOrJoinGame(isCreator, playerHandle);
+                if (verbose) {
+                    logger.info("{}: Entered game with id: {}", botName, gameHandleService.getGameId(gameHandle));
+                }
+
+                result = playGame(playerHandle, moves, isCreator);
+                if (verbose) {
+                    logger.info("{}: Game ended with message {}", botName, result.getStatusMessage());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                logger.warn("{}: Interrupted while playing, stopping", botName);
+                failedBots.increment();
+                return;
+            } catch (Exception e) {
+                logger.error("{}: Stopped playing", botName, e);
+                failedBots.increment();
+                return;
+            }
+
+            if (isCreator) {
+                finishedGames.increment();
+                if (verbose) {
+                    logger.info("{}: \n{}\n\n", botName, result);
+                    tyntecOutputFormater(result);
+                }
+            }
+        }
+    }
+
+    private int initializePlayerFor(String botName, String playerName, boolean verbose) {
+
+        if (verbose) {
+            logger.info("{}: Initializing...", botName);
+            logger.info("{}: Creating player with name {}", botName, playerName);
+        }
+        int playerHandle = gameHandleService.createPlayerHandle(playerName);
+        RunnerError error = RunnerError.fromCode(playerHandle);
+        if (error != null) {
+            logger.info("{}: Player creation ended with error: {}  - Check error.log for more info!", botName, error.render(playerName));
+            return playerHandle;
+        }
+        if (verbose) {
+            logger.info("{}: Player created successfully!", botName);
+            logger.info("{}: player id: {}", botName, gameHandleService.getPlayerId(playerHandle));
+        }
+
+        return playerHandle;
+    }
+
+    /**
+     * Plays moves until the game of the player is finished, recording the latency of every played round.
+     * Rounds are counted by the game creating bot only, every round is played by both bots.
+     */
+    private ResultDto playGame(int playerHandle, MoveDistribution moves, boolean countRounds) throws Exception {
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long played = 0;
+
+        try {
+            while (true) {
+                long start = System.nanoTime();
+                MoveResult result = gameHandleService.makeMove(playerHandle, moves.next(random));
+                switch (result) {
+                    case MoveResult.Played round -> {
+                        moveLatency.record(System.nanoTime() - start);
+                        played++;
+                        if (round.gameFinished()) {
+                            return round.toResultDto();
+                        }
+                    }
+                    case RunnerError.SESSION_EXPIRED, RunnerError.NOT_IN_SESSION, RunnerError.ROUND_FAILED ->
+                            throw new Exception("Game ended without a result: " + ((RunnerError) result).render(gameHandleService.getPlayerId(playerHandle)));
+                    case RunnerError error -> sleepABit();
+                }
+            }
+        } finally {
+            if (countRounds) {
+                playedRounds.add(played);
+            }
+        }
+    }
+
+    private int createOrJoinGame(boolean isCreator, int playerHandle) throws Exception {
+        int gameHandle;
+
+        if (isCreator) {
+            gameHandle = gameHandleService.createGame(playerHandle, rounds, moveCount);
+            RunnerError error = RunnerError.fromCode(gameHandle);
+            if (error != null) {
+                throw new Exception("Game creation ended with error: " + error.render(switch (error) {
+                    case ROUNDS_ABOVE_MAXIMUM -> maxRounds;
+                    case INVALID_MOVE_COUNT -> moveCount;
+                    default -> gameHandleService.getPlayerId(playerHandle);
+                }));
+            }
+        } else {
+            while ((gameHandle = gameHandleService.joinGame(playerHandle)) < 0) {
+                // Creators are done once their games are joined and played, no game can be left to join
+                if (runningCreators.get() == 0) {
+                    throw new Exception("No game is left to join");
+                }
+                sleepABit();
+            }
+        }
+
+        return gameHandle;
+    }
+
+    private void sleepABit() throws InterruptedException {
+        Thread.sleep(RETRY_MILLIS);
+    }
+
+    private void tyntecOutputFormater(ResultDto result) {
+        System.out.println("\"" + result.getPlayer1Name() + " wins " + result.getPlayer1Score() + " of " + result.getTotalRounds() + " games\"");
+        System.out.println("\"" + result.getPlayer2Name() + " wins " + result.getPlayer2Score() + " of " + result.getTotalRounds() + " games\"");
+        System.out.println("\"Tie:  " + result.getTies() + " of " + result.getTotalRounds() + " games\"");
+    }
+}
@@ -0,0 +1,356 @@
+package com.mourat.rockpaperscissors.application.services;
+
+import com.mourat.rockpaperscissors.application.model.MoveDistribution;
+import com.mourat.rockpaperscissors.domain.model.RuleSet;
+import com.mourat.rockpaperscissors.domain.service.GameRulesService;
+import lombok.Getter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.Queue;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Plays games between two {@link MoveDistribution}s without sessions, players or threads waiting for each other,
+ * and reports how the games and rounds were won.
+ * <p>
+ * Rounds are decided by the {@link GameRulesService} and games are scored like a {@link com.mourat.rockpaperscissors.domain.model.Game}:
+ * the player winning more rounds wins the game, equal scores are a tie. The games are split into ranges played by the
+ * workers of a fork/join pool, every range picking its moves from a {@link SplittableRandom} split off its parent's.
+ * The ranges are split the same way on any number of workers, so a seed always simulates the same games.
+ * <p>
+ * Every worker counts the games of all of its ranges in a {@link Tally} of its own, so the score distributions
+ * are allocated once per worker and merged once at the end, not once per range.
+ */
+@Service
+public class MonteCarloSimulator {
+
+    private static final Logger logger = LoggerFactory.getLogger(MonteCarloSimulator.class);
+
+    /** Most rounds of a simulated game, every worker counts the games won with each score up to it */
+    public static final int MAX_ROUNDS = 10_000;
+
+    /** Rounds a range of games is played in without being split further */
+    private static final long ROUNDS_PER_RANGE = 1 << 20;
+
+    /**
+     * Outcome of a simulation.
+     * <p>
+     * The score distributions are indexed by score: {@code player1WinsPerGame[k]} is the number of games in which
+     * player 1 won exactly {@code k} rounds. They are shared, not copied.
+     *
+     * @param ruleSet rule set of the games
+     * @param rounds rounds of every game
+     * @param games simulated games
+     * @param parallelism workers the games were played on
+     * @param nanos duration of the simulation
+     * @param player1Games games won by player 1
+     * @param player2Games games won by player 2
+     * @param tiedGames games nobody won
+     * @param player1Rounds rounds won by player 1
+     * @param player2Rounds rounds won by player 2
+     * @param drawnRounds rounds nobody won
+     * @param player1WinsPerGame games by the number of rounds player 1 won
+     * @param player2WinsPerGame games by the number of rounds player 2 won
+     * @param drawsPerGame games by the number of drawn rounds
+     */
+    public record Report(RuleSet ruleSet, int rounds, long games, int parallelism, long nanos,
+                         long player1Games, long player2Games, long tiedGames,
+                         long player1Rounds, long player2Rounds, long drawnRounds,
+                         long[] player1WinsPerGame, long[] player2WinsPerGame, long[] drawsPerGame) {
+
+        /**
+         * Returns the number of simulated rounds.
+         *
+         * @return the rounds of every game
+         */
+        public long totalRounds() {
+            return games * rounds;
+        }
+
+        /**
+         * Returns the simulated rounds per second.
+         *
+         * @return the simulated rounds per second
+         */
+        public double roundsPerSecond() {
+            return totalRounds() * 1e9 / Math.max(1, nanos);
+        }
+
+        /**
+         * Returns the share of the games won by player 1.
+         *
+         * @return the share of the games won by player 1, between 0 and 1
+         */
+        public double player1WinRate() {
+            return (double) player1Games / games;
+        }
+
+        /**
+         * Returns the share of the games won by player 2.
+         *
+         * @return the share of the games won by player 2, between 0 and 1
+         */
+        public double player2WinRate() {
+            return (double) player2Games / games;
+        }
+
+        /**
+         * Returns the share of the games nobody won.
+         *
+         * @return the share of tied games, between 0 and 1
+         */
+        public double tieRate() {
+            return (double) tiedGames / games;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("Monte Carlo simulation of %d games of %d rounds of %s on %d workers finished in %.3f s, %.1f rounds/s%n"
+                            + "Games: player 1 wins %.2f%%, player 2 wins %.2f%%, ties %.2f%%%n"
+                            + "Rounds: player 1 wins %.2f%%, player 2 wins %.2f%%, draws %.2f%%",
+                    games, rounds, ruleSet, parallelism, nanos / 1e9, roundsPerSecond(),
+                    player1WinRate() * 100, player2WinRate() * 100, tieRate() * 100,
+                    player1Rounds * 100.0 / totalRounds(), player2Rounds * 100.0 / totalRounds(), drawnRounds * 100.0 / totalRounds());
+        }
+    }
+
+    private final GameRulesService gameRulesService;
+
+    /** Workers of a simulation */
+    private final int parallelism;
+
+    /** Games of the configured simulation, 0 to not run it */
+    @Getter
+    private final long games;
+
+    /** Rounds of every game of the configured simulation */
+    private final int rounds;
+
+    /** Rule set of the configured simulation */
+    private final RuleSet ruleSet;
+
+    /** Moves of player 1 in the configured simulation */
+    private final MoveDistribution player1Moves;
+
+    /** Moves of player 2 in the configured simulation */
+    private final MoveDistribution player2Moves;
+
+    /** Seed of the configured simulation, {@code null} for a different simulation every run */
+    private final Long seed;
+
+    /**
+     * Constructs the simulator from the application configuration.
+     *
+     * @param games games of the configured simulation, 0 to not run it
+     * @param parallelism workers of a simulation, 0 for one per processor
+     * @param seed seed of the configured simulation, {@code null} for a different simulation every run
+     * @param rounds rounds of every game of the configured simulation
+     * @param moveCount number of moves of every game of the configured simulation
+     * @param player1Moves moves of player 1, see {@link MoveDistribution#parse}
+     * @param player2Moves moves of player 2, see {@link MoveDistribution#parse}
+     * @param gameRulesService rules deciding the rounds
+     * @throws IllegalArgumentException if the game count or parallelism is negative or a move distribution is invalid
+     */
+    @Autowired
+    public MonteCarloSimulator(@Value("${rps.montecarlo.games:0}") long games,
+                               @Value("${rps.montecarlo.parallelism:0}") int parallelism,
+                               @Value("${rps.montecarlo.seed:#{null}}") Long seed,
+                               @Value("${rps.simulation.rounds:100}") int rounds,
+                               @Value("${rps.simulation.moves:3}") int moveCount,
+                               @Value("${rps.simulation.player1-moves:PAPER}") String player1Moves,
+                               @Value("${rps.simulation.player2-moves:uniform}") String player2Moves,
+                               GameRulesService gameRulesService) {
+        if (games < 0 || parallelism < 0) {
+            logger.error("Monte Carlo simulation of {} games on {} workers is requested", games, parallelism);
+            throw new IllegalArgumentException("Monte Carlo simulation can't have a negative game count or parallelism");
+        }
+
+        this.gameRulesService = gameRulesService;
+        this.parallelism = parallelism == 0 ? Runtime.getRuntime().availableProcessors() : parallelism;
+        this.games = games;
+        this.rounds = rounds;
+        this.ruleSet = RuleSet.of(moveCount);
+        this.player1Moves = MoveDistribution.parse(player1Moves, ruleSet);
+        this.player2Moves = MoveDistribution.parse(player2Moves, ruleSet);
+        this.seed = seed;
+    }
+
+    /**
+     * Runs the configured simulation.
+     *
+     * @return the report of the simulation
+     * @throws IllegalArgumentException if no games are configured, or the configured rounds are out of range
+     */
+    public Report run() {
+        long runSeed = seed != null ? seed : new SplittableRandom().nextLong();
+        logger.info("Simulating {} games of {} rounds with seed {}, moves of player 1: {}, moves of player 2: {}",
+                games, rounds, runSeed, player1Moves, player2Moves);
+        return simulate(ruleSet, player1Moves, player2Moves, rounds, games, runSeed);
+    }
+
+    /**
+     * Simulates games between two move distributions.
+     *
+     * @param ruleSet rule set of the games; every move of the distributions must be part of it
+     * @param player1Moves moves of player 1
+     * @param player2Moves moves of player 2
+     * @param rounds rounds of every game
+     * @param games games to simulate
+     * @param seed seed of the moves, the same seed simulates the same games
+     * @return the report of the simulation
+     * @throws IllegalArgumentException if a move distribution is missing, or the game or round count is out of range
+     */
+    public Report simulate(RuleSet ruleSet, MoveDistribution player1Moves, MoveDistribution player2Moves,
+                           int rounds, long games, long seed) {
+        if (ruleSet == null || player1Moves == null || player2Moves == null) {
+            logger.warn("Monte Carlo simulation is requested without a rule set or move distribution");
+            throw new IllegalArgumentException("Monte Carlo simulation needs a rule set and the moves of both players");
+        }
+        if (games < 1 || rounds < 1 || rounds > MAX_ROUNDS) {
+            logger.warn("Monte Carlo simulation of {} games of {} rounds is requested", games, rounds);
+            throw new IllegalArgumentException("Monte Carlo simulation needs at least one game and between 1 and " + MAX_ROUNDS + " rounds per game");
+        }
+
+        byte[] outcomes = gameRulesService.outcomeTable(ruleSet);
+        long rangeGames = Math.max(1, ROUNDS_PER_RANGE / rounds);
+        long start = System.nanoTime();
+        Queue<Tally> tallies = new ConcurrentLinkedQueue<>();
+        ThreadLocal<Tally> workerTally = ThreadLocal.withInitial(() -> {
+            Tally workerCounts = new Tally(rounds);
+            tallies.add(workerCounts);
+            return workerCounts;
+        });
+        try (ForkJoinPool pool = new ForkJoinPool(parallelism)) {
+            pool.invoke(new GameRange(ruleSet, outcomes, player1Moves, player2Moves, rounds, rangeGames,
+                    0, games, new SplittableRandom(seed), workerTally));
+        }
+        Tally tally = new Tally(rounds);
+        for (Tally workerCounts : tallies) {
+            tally.add(workerCounts);
+        }
+        long nanos = System.nanoTime() - start;
+
+        return new Report(ruleSet, rounds, games, parallelism, nanos,
+                tally.player1Games, tally.player2Games, tally.tiedGames,
+                tally.player1Rounds, tally.player2Rounds, tally.drawnRounds,
+                tally.player1WinsPerGame, tally.player2WinsPerGame, tally.drawsPerGame);
+    }
+
+    /**
+     * Counts of the simulated games of a worker.
+     */
+    private static final class Tally {
+
+        private long player1Games;
+        private long player2Games;
+        private long tiedGames;
+        private long player1Rounds;
+        private long player2Rounds;
+        private long drawnRounds;
+        private final long[] player1WinsPerGame;
+        private final long[] player2WinsPerGame;
+        private final long[] drawsPerGame;
+
+        private Tally(int rounds) {
+            this.player1WinsPerGame = new long[rounds + 1];
+            this.player2WinsPerGame = new long[rounds + 1];
+            this.drawsPerGame = new long[rounds + 1];
+        }
+
+        /**
+         * Adds the counts of another worker to this one.
+         */
+        private void add(Tally other) {
+            player1Games += other.player1Games;
+            player2Games += other.player2Games;
+            tiedGames += other.tiedGames;
+            player1Rounds += other.player1Rounds;
+            player2Rounds += other.player2Rounds;
+            drawnRounds += other.drawnRounds;
+            for (int i = 0; i < player1WinsPerGame.length; i++) {
+                player1WinsPerGame[i] += other.player1WinsPerGame[i];
+                player2WinsPerGame[i] += other.player2WinsPerGame[i];
+                drawsPerGame[i] += other.drawsPerGame[i];
+            }
+        }
+    }
+
+    /**
+     * Plays the games {@code from} (inclusive) to {@code to} (exclusive), splitting them in halves until a range
+     * is short enough to be played by one worker, and counts them in the tally of the worker playing them.
+     */
+    private static final class GameRange extends RecursiveAction {
+
+        private final RuleSet ruleSet;
+        private final byte[] outcomes;
+        private final MoveDistribution player1Moves;
+        private final MoveDistribution player2Moves;
+        private final int rounds;
+        private final long rangeGames;
+        private final long from;
+        private final long to;
+        private final SplittableRandom random;
+        private final ThreadLocal<Tally> workerTally;
+
+        private GameRange(RuleSet ruleSet, byte[] outcomes, MoveDistribution player1Moves, MoveDistribution player2Moves,
+                          int rounds, long rangeGames, long from, long to, SplittableRandom random, ThreadLocal<Tally> workerTally) {
+            this.ruleSet = ruleSet;
+            this.outcomes = outcomes;
+            this.player1Moves = player1Moves;
+            this.player2Moves = player2Moves;
+            this.rounds = rounds;
+            this.rangeGames = rangeGames;
+            this.from = from;
+            this.to = to;
+            this.random = random;
+            this.workerTally = workerTally;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= rangeGames) {
+                play(workerTally.get());
+                return;
+            }
+            long middle = from + (to - from) / 2;
+            GameRange first = new GameRange(ruleSet, outcomes, player1Moves, player2Moves, rounds, rangeGames, from, middle, random.split(), workerTally);
+            GameRange second = new GameRange(ruleSet, outcomes, player1Moves, player2Moves, rounds, rangeGames, middle, to, random, workerTally);
+            first.fork();
+            second.compute();
+            first.join();
+        }
+
+        private void play(Tally tally) {
+            // Rounds of the current game by outcome, counted without branching on the random outcome
+            int[] scores = new int[3];
+            for (long game = from; game < to; game++) {
+                scores[GameRulesService.DRAW] = 0;
+                scores[GameRulesService.PLAYER1_WINS] = 0;
+                scores[GameRulesService.PLAYER2_WINS] = 0;
+                for (int round = 0; round < rounds; round++) {
+                    scores[outcomes[ruleSet.roundIndex(player1Moves.next(random), player2Moves.next(random))]]++;
+                }
+                int player1Score = scores[GameRulesService.PLAYER1_WINS];
+                int player2Score = scores[GameRulesService.PLAYER2_WINS];
+                int draws = scores[GameRulesService.DRAW];
+
+                if (player1Score > player2Score) tally.player1Games++;
+                else if (player1Score < player2Score) tally.player2Games++;
+                else tally.tiedGames++;
+                tally.player1Rounds += player1Score;
+                tally.player2Rounds += player2Score;
+                tally.drawnRounds += draws;
+                tally.player1WinsPerGame[player1Score]++;
+                tally.player2WinsPerGame[player2Score]++;
+                tally.drawsPerGame[draws]++;
+            }
+        }
+    }
+}
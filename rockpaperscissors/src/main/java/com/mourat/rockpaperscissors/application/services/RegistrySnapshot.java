@@ -0,0 +1,338 @@
+package com.mourat.rockpaperscissors.application.services;
+
+import com.mourat.rockpaperscissors.application.model.ArchivedGame;
+import com.mourat.rockpaperscissors.application.model.GameSession;
+import com.mourat.rockpaperscissors.application.model.SessionState;
+import com.mourat.rockpaperscissors.application.services.impl.GameRunnerServiceImpl;
+import com.mourat.rockpaperscissors.domain.model.Game;
+import com.mourat.rockpaperscissors.domain.model.GameState;
+import com.mourat.rockpaperscissors.domain.model.Move;
+import com.mourat.rockpaperscissors.domain.model.Player;
+import com.mourat.rockpaperscissors.domain.model.RoundHistory;
+import com.mourat.rockpaperscissors.domain.model.RuleSet;
+import com.mourat.rockpaperscissors.infrastructure.persistence.RegistrySnapshotFile;
+import com.mourat.rockpaperscissors.infrastructure.persistence.RegistrySnapshotFile.GameRecord;
+import com.mourat.rockpaperscissors.infrastructure.persistence.RegistrySnapshotReader;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static com.mourat.rockpaperscissors.infrastructure.persistence.RegistrySnapshotFile.GameRecord.ROUND_BYTES;
+
+/**
+ * Saves the players, the unfinished games and the recently finished games of the {@link GameRunnerServiceImpl}
+ * into a {@link RegistrySnapshotFile} in the background, and restores them from it on startup.
+ * <p>
+ * Snapshots are fuzzy: players keep moving while a snapshot is written, every game is read between two of its
+ * rounds with {@link GameSession#readGame}, but different games are read at different times. Only the recent
+ * rounds the games hold in memory are saved, so a restored game continues with its scores and active round.
+ * Games finished before the snapshot and already spilled by the {@link GameArchive} are kept by its spill file.
+ * <p>
+ * Restoring reads the snapshot sequentially and is meant for fast restarts of large registries; the
+ * {@link JournalRecovery} rebuilds the latest state instead, and takes precedence when both are enabled.
+ */
+@Service
+public class RegistrySnapshot {
+
+    private static final Logger logger = LoggerFactory.getLogger(RegistrySnapshot.class);
+
+    /**
+     * Contents of a snapshot.
+     *
+     * @param players number of players
+     * @param unfinishedGames number of running games and games waiting for a second player
+     * @param finishedGames number of finished games
+     */
+    public record Summary(long players, int unfinishedGames, int finishedGames) {
+    }
+
+    /** Location of the snapshot, {@code null} if snapshots are disabled */
+    private final Path file;
+
+    /** Whether the snapshot is restored on startup */
+    private final boolean restoreOnStartup;
+
+    /** Whether the round journal is replayed on startup, restoring the same state */
+    private final boolean journalRecovery;
+
+    private final GameRunnerServiceImpl gameRunner;
+    private final GameArchive gameArchive;
+
+    /** Thread writing the snapshots, {@code null} if snapshots are disabled or only written on shutdown */
+    private final ScheduledExecutorService writer;
+
+    /**
+     * Constructs the snapshot service from the application configuration.
+     *
+     * @param file location of the snapshot; blank to disable snapshots
+     * @param intervalMillis time between two snapshots; 0 to write a snapshot only on shutdown
+     * @param restoreOnStartup whether the snapshot is restored on startup
+     * @param journalRecovery whether the round journal is replayed on startup
+     * @param gameRunner service whose players and games are saved and restored
+     * @param gameArchive archive whose in-memory games are saved and restored
+     * @throws IllegalArgumentException if {@code intervalMillis} is negative
+     */
+    @Autowired
+    public RegistrySnapshot(@Value("${rps.snapshot.file:}") String file,
+                            @Value("${rps.snapshot.interval-ms:60000}") long intervalMillis,
+                            @Value("${rps.snapshot.restore:false}") boolean restoreOnStartup,
+                            @Value("${rps.journal.recover:false}") boolean journalRecovery,
+                            GameRunnerServiceImpl gameRunner, GameArchive gameArchive) {
+        if (intervalMillis < 0) {
+            logger.error("Registry snapshots can't be written every {}ms", intervalMillis);
+            throw new IllegalArgumentException("Snapshot interval can't be negative");
+        }
+
+        this.file = file == null || file.isBlank() ? null : Path.of(file);
+        this.restoreOnStartup = restoreOnStartup;
+        this.journalRecovery = journalRecovery;
+        this.gameRunner = gameRunner;
+        this.gameArchive = gameArchive;
+
+        if (this.file == null || intervalMillis == 0) {
+            this.writer = null;
+            return;
+        }
+        this.writer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "registry-snapshot-writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.writer.scheduleWithFixedDelay(this::writeScheduled, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Restores the snapshot on startup if restoring is enabled and a snapshot exists.
+     *
+     * @throws IOException if the snapshot can't be read
+     */
+    @PostConstruct
+    public void restoreOnStartup() throws IOException {
+        if (!restoreOnStartup || file == null) {
+            return;
+        }
+        if (journalRecovery) {
+            logger.warn("Registry snapshot \"{}\" is not restored, the round journal is replayed instead", file);
+            return;
+        }
+        if (!Files.exists(file)) {
+            logger.info("No registry snapshot \"{}\" to restore", file);
+            return;
+        }
+        restore(file);
+    }
+
+    /**
+     * Writes a snapshot of the current state while the players keep playing.
+     *
+     * @param target location of the snapshot, replaced once the snapshot is complete
+     * @return the contents of the snapshot
+     * @throws IOException if the snapshot can't be written
+     */
+    public Summary write(Path target) throws IOException {
+        long start = System.nanoTime();
+
+        // Games first, so every player they refer to was created before the players are walked
+        List<GameRecord> unfinishedGames = new ArrayList<>();
+        Map<UUID, ArchivedGame> finishedGames = new LinkedHashMap<>();
+        gameRunner.forEachSession(session -> {
+            GameRecord game = session.readGame(RegistrySnapshot::toGameRecord);
+            if (game != null) {
+                if (session.getState() != SessionState.TERMINATED) {
+                    unfinishedGames.add(game);
+                }
+            } else if (session.getGame().getResult() != null) {
+                finishedGames.put(session.getGame().getId(), ArchivedGame.of(session.getGame()));
+            }
+        });
+        for (ArchivedGame game : gameArchive.hotGames()) {
+            finishedGames.put(game.gameId(), game);
+        }
+
+        long[] players = new long[1];
+        long size;
+        try (RegistrySnapshotFile snapshot = new RegistrySnapshotFile(target, System.currentTimeMillis())) {
+            try {
+                gameRunner.forEachPlayer(player -> {
+                    try {
+                        snapshot.writePlayer(player.getId(), player.getName());
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                    players[0]++;
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            for (GameRecord game : unfinishedGames) {
+                snapshot.writeGame(game);
+            }
+            for (ArchivedGame game : finishedGames.values()) {
+                snapshot.writeArchivedGame(game);
+            }
+            size = snapshot.commit();
+        }
+
+        Summary summary = new Summary(players[0], unfinishedGames.size(), finishedGames.size());
+        logger.info("Registry snapshot \"{}\" of {} written in {} ms, {} bytes",
+                target, summary, (System.nanoTime() - start) / 1_000_000, size);
+        return summary;
+    }
+
+    /**
+     * Restores a snapshot, handing its players and unfinished games to the runner and its finished games to
+     * the archive.
+     *
+     * @param source location of the snapshot
+     * @return the contents of the snapshot
+     * @throws IOException if the snapshot can't be read
+     */
+    public Summary restore(Path source) throws IOException {
+        long start = System.nanoTime();
+        Restore restore = new Restore();
+        RegistrySnapshotReader.read(source, restore);
+
+        gameRunner.restore(restore.players.values(), restore.games);
+
+        Summary summary = new Summary(restore.players.size(), restore.games.size(), restore.finishedGames);
+        logger.info("Registry snapshot \"{}\" of {} restored in {} ms",
+                source, summary, (System.nanoTime() - start) / 1_000_000);
+        return summary;
+    }
+
+    /**
+     * Stops the background snapshots and writes a last snapshot of the state at shutdown.
+     */
+    @PreDestroy
+    public void close() {
+        if (file == null) {
+            return;
+        }
+        if (writer != null) {
+            writer.shutdown();
+            try {
+                writer.awaitTermination(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        writeScheduled();
+    }
+
+    /**
+     * Writes a snapshot to the configured location, logging instead of throwing so the next one is still written.
+     */
+    private void writeScheduled() {
+        try {
+            write(file);
+        } catch (IOException | RuntimeException e) {
+            logger.error("Registry snapshot \"{}\" can't be written, the previous one is kept: {}", file, e.getMessage());
+        }
+    }
+
+    /**
+     * Reads the state of an unfinished game. Runs between two rounds of the game.
+     *
+     * @param game the game
+     * @return the state of the game, or {@code null} if the game is finished
+     */
+    private static GameRecord toGameRecord(Game game) {
+        if (game.getState() != GameState.IN_PROGRESS) {
+            return null;
+        }
+
+        RoundHistory history = game.getHistory();
+        int oldest = history.getOldestRound();
+        byte[] recentRounds = new byte[(history.getSize() - oldest) * ROUND_BYTES];
+        for (int round = oldest, i = 0; round < history.getSize(); round++, i += ROUND_BYTES) {
+            recentRounds[i] = (byte) history.player1Move(round).ordinal();
+            recentRounds[i + 1] = (byte) history.player2Move(round).ordinal();
+            recentRounds[i + 2] = (byte) history.winner(round);
+        }
+
+        Player player2 = game.getPlayer2();
+        return new GameRecord(game.getId(), game.getPlayer1().getId(), player2 == null ? null : player2.getId(),
+                game.getRounds(), game.getRuleSet().getMoveCount(),
+                game.getPlayer1Score(), game.getPlayer2Score(), game.getDraws(), recentRounds);
+    }
+
+    /**
+     * Rebuilds players and games from the snapshot records.
+     */
+    private final class Restore implements RegistrySnapshotReader.Listener {
+
+        /** Every player, by id */
+        private final Map<UUID, Player> players = new HashMap<>();
+
+        /** Unfinished games */
+        private final List<Game> games = new ArrayList<>();
+
+        private int finishedGames;
+
+        @Override
+        public void playerRestored(UUID playerId, String playerName) {
+            players.put(playerId, Player.restore(playerId, playerName));
+        }
+
+        @Override
+        public void gameRestored(GameRecord record) {
+            Player player1 = players.get(record.player1Id());
+            Player player2 = record.player2Id() == null ? null : players.get(record.player2Id());
+            if (player1 == null || (record.player2Id() != null && player2 == null)) {
+                logger.warn("Game \"{}\" of the snapshot refers to an unknown player, it is not restored. Check for corruption", record.gameId());
+                return;
+            }
+            if (player1.getGamePlaying() != null || (player2 != null && player2.getGamePlaying() != null)) {
+                // The player finished a game and started the next one while the snapshot was written
+                logger.debug("Game \"{}\" of the snapshot has a player of another game, it is not restored", record.gameId());
+                return;
+            }
+
+            RuleSet ruleSet = RuleSet.of(record.moveCount());
+            Game game = player2 == null
+                    ? Game.restore(record.gameId(), player1, record.rounds(), ruleSet)
+                    : Game.restore(record.gameId(), player1, player2, record.rounds(), ruleSet);
+
+            // Rounds that left the history only count in the scores, the recent ones are replayed
+            byte[] recentRounds = record.recentRounds();
+            int[] recentWins = new int[3];
+            for (int i = 2; i < recentRounds.length; i += ROUND_BYTES) {
+                recentWins[recentRounds[i]]++;
+            }
+            game.skipRounds(record.player1Score() - recentWins[RoundHistory.PLAYER1],
+                    record.player2Score() - recentWins[RoundHistory.PLAYER2],
+                    record.draws() - recentWins[RoundHistory.DRAW]);
+            for (int i = 0; i < recentRounds.length; i += ROUND_BYTES) {
+                game.replayRound(Move.fromOrdinal(recentRounds[i]), Move.fromOrdinal(recentRounds[i + 1]), recentRounds[i + 2]);
+            }
+            games.add(game);
+        }
+
+        @Override
+        public void archivedGameRestored(ArchivedGame game) {
+            finishedGames++;
+            // Games of the snapshot may have been spilled or archived again since
+            if (gameArchive.find(game.gameId()) == null) {
+                gameArchive.store(game);
+            }
+        }
+    }
+}
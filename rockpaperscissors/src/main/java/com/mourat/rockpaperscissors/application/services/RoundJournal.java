@@ -0,0 +1,223 @@
+package com.mourat.rockpaperscissors.application.services;
+
+import com.mourat.rockpaperscissors.domain.model.Game;
+import com.mourat.rockpaperscissors.domain.model.GameResult;
+import com.mourat.rockpaperscissors.domain.model.Player;
+import com.mourat.rockpaperscissors.domain.model.RoundHistory;
+import com.mourat.rockpaperscissors.domain.model.RoundResult;
+import com.mourat.rockpaperscissors.domain.model.RoundSink;
+import com.mourat.rockpaperscissors.infrastructure.persistence.RoundJournalFile;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link RoundSink} recording every created player, started game, played round, finished and abandoned game of the application in a
+ * {@link RoundJournalFile}.
+ * <p>
+ * Records are appended to memory-mapped segments by the threads resolving the rounds, and forced to disk in
+ * batches by a daemon thread at a configurable interval, so a round costs a few memory stores. Without a journal
+ * directory nothing is recorded, and records arriving after {@link #close()}, e.g. of rounds resolved during
+ * shutdown, are dropped.
+ */
+@Service
+public class RoundJournal implements RoundSink {
+
+    private static final Logger logger = LoggerFactory.getLogger(RoundJournal.class);
+
+    /** Default size of the journal segments */
+    public static final int DEFAULT_SEGMENT_SIZE = 16 * 1024 * 1024;
+
+    /** Journal the records are appended to, {@code null} if journaling is disabled */
+    private final RoundJournalFile file;
+
+    /** Thread forcing the journal to disk, {@code null} if journaling is disabled */
+    private final ScheduledExecutorService flusher;
+
+    /**
+     * Constructs a journal from the application configuration.
+     *
+     * @param directory directory holding the journal segments; blank to disable journaling
+     * @param segmentSize size of every segment file
+     * @param flushIntervalMillis time between two flushes of the journal to disk
+     * @throws IllegalArgumentException if {@code flushIntervalMillis} is not positive
+     */
+    @Autowired
+    public RoundJournal(@Value("${rps.journal.directory:}") String directory,
+                        @Value("${rps.journal.segment-size:" + DEFAULT_SEGMENT_SIZE + "}") int segmentSize,
+                        @Value("${rps.journal.flush-interval-ms:1000}") long flushIntervalMillis) {
+        this(openJournalFile(directory, segmentSize), flushIntervalMillis);
+    }
+
+    /**
+     * Constructs a journal appending to the given file.
+     *
+     * @param file journal the records are appended to; {@code null} to disable journaling
+     * @param flushIntervalMillis time between two flushes of the journal to disk
+     * @throws IllegalArgumentException if {@code flushIntervalMillis} is not positive
+     */
+    public RoundJournal(RoundJournalFile file, long flushIntervalMillis) {
+        if (flushIntervalMillis < 1) {
+            logger.error("Round journal can't be created with a flush interval of {}ms", flushIntervalMillis);
+            throw new IllegalArgumentException("Journal flush interval must be positive");
+        }
+
+        this.file = file;
+        if (file == null) {
+            this.flusher = null;
+            return;
+        }
+        this.flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "round-journal-flusher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.flusher.scheduleWithFixedDelay(file::flush, flushIntervalMillis, flushIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Returns whether the journal records anything.
+     *
+     * @return {@code true} if a journal directory is configured and could be opened
+     */
+    public boolean isEnabled() {
+        return file != null;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void playerCreated(Player player) {
+        if (file == null) {
+            return;
+        }
+        try {
+            file.appendPlayerCreated(System.currentTimeMillis(), player.getId(), player.getName());
+        } catch (IOException e) {
+            logger.error("Player \"{}\" can't be written to the round journal: {}", player.getId(), e.getMessage());
+        } catch (IllegalStateException e) {
+            logger.warn("Player \"{}\" is dropped, the round journal is closed", player.getId());
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void gameStarted(Game game) {
+        if (file == null) {
+            return;
+        }
+        try {
+            file.appendGameStarted(System.currentTimeMillis(), game.getId(), game.getRounds(),
+                    game.getRuleSet().getMoveCount(),
+                    game.getPlayer1().getId(), game.getPlayer1().getName(),
+                    game.getPlayer2().getId(), game.getPlayer2().getName());
+        } catch (IOException e) {
+            logger.error("Start of game \"{}\" can't be written to the round journal: {}", game.getId(), e.getMessage());
+        } catch (IllegalStateException e) {
+            logger.warn("Start of game \"{}\" is dropped, the round journal is closed", game.getId());
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void roundPlayed(Game game, int round, RoundResult roundResult) {
+        if (file == null) {
+            return;
+        }
+        RoundHistory history = game.getHistory();
+        try {
+            file.appendRoundPlayed(System.currentTimeMillis(), game.getId(), round,
+                    roundResult.player1Move().ordinal(), roundResult.player2Move().ordinal(),
+                    history.winner(history.getSize() - 1));
+        } catch (IOException e) {
+            logger.error("Round {} of game \"{}\" can't be written to the round journal: {}", round, game.getId(), e.getMessage());
+        } catch (IllegalStateException e) {
+            logger.warn("Round {} of game \"{}\" is dropped, the round journal is closed", round, game.getId());
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void gameFinished(Game game, GameResult result) {
+        if (file == null) {
+            return;
+        }
+        int winner;
+        if (result.winner() == null) winner = RoundHistory.DRAW;
+        else if (result.winner().equals(game.getPlayer1())) winner = RoundHistory.PLAYER1;
+        else winner = RoundHistory.PLAYER2;
+
+        try {
+            file.appendGameFinished(System.currentTimeMillis(), game.getId(),
+                    result.nOfPlayer1Wins(), result.nOfPlayer2Wins(), result.nOfDraws(), winner);
+        } catch (IOException e) {
+            logger.error("Result of game \"{}\" can't be written to the round journal: {}", game.getId(), e.getMessage());
+        } catch (IllegalStateException e) {
+            logger.warn("Result of game \"{}\" is dropped, the round journal is closed", game.getId());
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void gameAbandoned(Game game) {
+        if (file == null) {
+            return;
+        }
+        try {
+            file.appendGameAbandoned(System.currentTimeMillis(), game.getId(), game.getActiveRound());
+        } catch (IOException e) {
+            logger.error("Abandonment of game \"{}\" can't be written to the round journal: {}", game.getId(), e.getMessage());
+        } catch (IllegalStateException e) {
+            logger.warn("Abandonment of game \"{}\" is dropped, the round journal is closed", game.getId());
+        }
+    }
+
+    /**
+     * Stops the flushing thread, flushes and closes the journal.
+     */
+    @PreDestroy
+    public void close() {
+        if (file == null) {
+            return;
+        }
+        flusher.shutdownNow();
+        file.close();
+    }
+
+    /**
+     * Opens the configured journal.
+     *
+     * @param directory directory holding the journal segments; blank to disable journaling
+     * @param segmentSize size of every segment file
+     * @return the opened journal, or {@code null} if journaling is disabled or the journal can't be opened
+     */
+    private static RoundJournalFile openJournalFile(String directory, int segmentSize) {
+        if (directory == null || directory.isBlank()) {
+            return null;
+        }
+        try {
+            return new RoundJournalFile(Path.of(directory), segmentSize);
+        } catch (IOException e) {
+            logger.error("Round journal \"{}\" can't be opened, rounds won't be recorded: {}", directory, e.getMessage());
+            return null;
+        }
+    }
+}
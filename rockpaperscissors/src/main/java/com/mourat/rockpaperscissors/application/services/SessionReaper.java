@@ -0,0 +1,235 @@
+package com.mourat.rockpaperscissors.application.services;
+
+import com.mourat.rockpaperscissors.application.model.GameSession;
+import com.mourat.rockpaperscissors.application.model.SessionState;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Background service expiring abandoned and stalled {@link GameSession}s.
+ * <p>
+ * A session expires when nobody joins it within the join timeout, or when no round is resolved
+ * within the move timeout once it is running. Expiring a session releases the threads blocked in
+ * it and detaches its players so they can play again.
+ * <p>
+ * Deadlines are tracked with a hashed timer wheel driven by a single daemon thread: watching a
+ * session only enqueues it, and each tick inspects just the bucket whose time has come. A session
+ * that showed activity since it was scheduled is simply moved to the bucket of its new deadline.
+ */
+@Service
+public class SessionReaper {
+
+    private static final Logger logger = LoggerFactory.getLogger(SessionReaper.class);
+
+    /** Number of buckets in the wheel, must be a power of two */
+    private static final int WHEEL_SIZE = 512;
+
+    /** Time a session may wait for a second player */
+    private final long joinTimeoutNanos;
+
+    /** Time a running session may go without resolving a round */
+    private final long moveTimeoutNanos;
+
+    /** Duration of a single wheel tick */
+    private final long tickNanos;
+
+    /** Wheel buckets, only touched by the reaper thread */
+    private final ArrayDeque<Watch>[] wheel;
+
+    /** Watches handed over by other threads, moved into the wheel on the next tick */
+    private final ConcurrentLinkedQueue<Watch> incoming;
+
+    /** Reference point of the wheel's time */
+    private final long startNanos;
+
+    /** Next tick to process */
+    private long currentTick;
+
+    /** Thread driving the wheel */
+    private final ScheduledExecutorService executor;
+
+    /**
+     * Constructs a reaper from the application configuration and starts its thread.
+     *
+     * @param joinTimeoutMillis time a session may wait for a second player
+     * @param moveTimeoutMillis time a running session may go without resolving a round
+     * @param tickMillis resolution of the timer wheel
+     * @throws IllegalArgumentException if any of the durations is not positive
+     */
+    @Autowired
+    @SuppressWarnings("unchecked")
+    public SessionReaper(@Value("${rps.reaper.join-timeout-ms:300000}") long joinTimeoutMillis,
+                         @Value("${rps.reaper.move-timeout-ms:60000}") long moveTimeoutMillis,
+                         @Value("${rps.reaper.tick-ms:100}") long tickMillis) {
+        if (joinTimeoutMillis < 1 || moveTimeoutMillis < 1 || tickMillis < 1) {
+            logger.error("Session reaper can't be created with non positive durations. Join: {}ms, move: {}ms, tick: {}ms", joinTimeoutMillis, moveTimeoutMillis, tickMillis);
+            throw new IllegalArgumentException("Reaper timeouts and tick must be positive");
+        }
+
+        this.joinTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(joinTimeoutMillis);
+        this.moveTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(moveTimeoutMillis);
+        this.tickNanos = TimeUnit.MILLISECONDS.toNanos(tickMillis);
+
+        this.wheel = new ArrayDeque[WHEEL_SIZE];
+        for (int i = 0; i < WHEEL_SIZE; i++) {
+            this.wheel[i] = new ArrayDeque<>();
+        }
+        this.incoming = new ConcurrentLinkedQueue<>();
+        this.startNanos = System.nanoTime();
+        this.currentTick = 0;
+
+        this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "session-reaper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.executor.scheduleAtFixedRate(this::advance, tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Starts watching a session until it terminates or expires.
+     *
+     * @param session the session to watch
+     * @param onExpired called from the reaper thread after the session has been expired
+     * @throws IllegalArgumentException if any of the arguments is {@code null}
+     */
+    public void watch(GameSession session, Consumer<GameSession> onExpired) {
+        if (session == null || onExpired == null) {
+            logger.error("This code should never be executed! Reaper can't watch a null session or notify a null callback. On this call, arguments are never null, check for corruption");
+            throw new IllegalArgumentException("Session and expiry callback must be valid");
+        }
+
+        incoming.add(new Watch(session, onExpired, deadlineOf(session)));
+    }
+
+    /**
+     * Stops the reaper thread.
+     */
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Processes every tick that elapsed since the last run. Runs on the reaper thread only.
+     */
+    private void advance() {
+        try {
+            long now = System.nanoTime();
+
+            Watch watch;
+            while ((watch = incoming.poll()) != null) {
+                schedule(watch, currentTick);
+            }
+
+            while (startNanos + currentTick * tickNanos <= now) {
+                expireBucket(currentTick, now);
+                currentTick++;
+            }
+        } catch (Exception e) {
+            // An exception would cancel the periodic task and silently stop all expiries
+            logger.error("Session reaper failed to process a tick: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Inspects the watches of a bucket, expiring the due sessions and rescheduling the active ones.
+     *
+     * @param tick the tick being processed
+     * @param now current time
+     */
+    private void expireBucket(long tick, long now) {
+        ArrayDeque<Watch> bucket = wheel[(int) (tick & (WHEEL_SIZE - 1))];
+        ArrayDeque<Watch> rescheduled = null;
+
+        Iterator<Watch> iterator = bucket.iterator();
+        while (iterator.hasNext()) {
+            Watch watch = iterator.next();
+            if (watch.deadlineTick > tick) {
+                // Due in a later rotation of the wheel
+                continue;
+            }
+            iterator.remove();
+
+            GameSession session = watch.session;
+            if (session.getState() == SessionState.TERMINATED) {
+                continue;
+            }
+
+            long deadline = deadlineOf(session);
+            if (deadline - now > 0) {
+                watch.deadlineNanos = deadline;
+                if (rescheduled == null) {
+                    rescheduled = new ArrayDeque<>();
+                }
+                rescheduled.add(watch);
+                continue;
+            }
+
+            SessionState expiredState = session.getState();
+            if (session.expire()) {
+                logger.info("Session of the game \"{}\" expired in state \"{}\"", session.getGame().getId(), expiredState);
+                watch.onExpired.accept(session);
+            }
+        }
+
+        if (rescheduled != null) {
+            for (Watch watch : rescheduled) {
+                schedule(watch, tick + 1);
+            }
+        }
+    }
+
+    /**
+     * Places a watch in the bucket of its deadline. Runs on the reaper thread only.
+     *
+     * @param watch the watch to place
+     * @param earliestTick first tick that is still going to be processed
+     */
+    private void schedule(Watch watch, long earliestTick) {
+        long tick = Math.ceilDiv(watch.deadlineNanos - startNanos, tickNanos);
+        watch.deadlineTick = Math.max(tick, earliestTick);
+        wheel[(int) (watch.deadlineTick & (WHEEL_SIZE - 1))].add(watch);
+    }
+
+    /**
+     * Computes the current deadline of a session from its state and last activity.
+     *
+     * @param session the session
+     * @return the time at which the session expires unless there is further activity
+     */
+    private long deadlineOf(GameSession session) {
+        if (session.getState() == SessionState.WAITING_FOR_JOIN) {
+            return session.getLastActivity() + joinTimeoutNanos;
+        }
+        return session.getLastActivity() + moveTimeoutNanos;
+    }
+
+    /**
+     * A watched session with its position in the wheel.
+     */
+    private static final class Watch {
+        private final GameSession session;
+        private final Consumer<GameSession> onExpired;
+        private long deadlineNanos;
+        private long deadlineTick;
+
+        private Watch(GameSession session, Consumer<GameSession> onExpired, long deadlineNanos) {
+            this.session = session;
+            this.onExpired = onExpired;
+            this.deadlineNanos = deadlineNanos;
+        }
+    }
+}
@@ -0,0 +1,362 @@
+package com.mourat.rockpaperscissors.application.services;
+
+import com.mourat.rockpaperscissors.application.model.MatchHistory;
+import com.mourat.rockpaperscissors.application.model.MoveStrategies;
+import com.mourat.rockpaperscissors.application.model.MoveStrategy;
+import com.mourat.rockpaperscissors.domain.model.Move;
+import com.mourat.rockpaperscissors.domain.model.RuleSet;
+import com.mourat.rockpaperscissors.domain.service.GameRulesService;
+import lombok.Getter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Plays every registered {@link MoveStrategy} against every other one and reports the share of their games each
+ * strategy won against each opponent.
+ * <p>
+ * Games are played without sessions like the {@link MonteCarloSimulator}: rounds are decided by the
+ * {@link GameRulesService} and a game is won by the strategy winning more rounds. Every pairing of two strategies
+ * plays its games on one worker of a fork/join pool, with two {@link MatchHistory}s reused from game to game, so
+ * a round allocates nothing. Every pairing picks its moves from a {@link SplittableRandom} of its own, seeded in
+ * pairing order, so a seed always plays the same tournament.
+ */
+@Service
+public class StrategyTournament {
+
+    private static final Logger logger = LoggerFactory.getLogger(StrategyTournament.class);
+
+    /** Rounds a range of pairings is played in without being split further */
+    private static final long ROUNDS_PER_RANGE = 1 << 20;
+
+    /**
+     * Outcome of a tournament.
+     * <p>
+     * The matrices are indexed by the position of the strategies in {@code strategies}: {@code wins[i][j]} is the
+     * number of games strategy {@code i} won against strategy {@code j}. Strategies don't play themselves. The
+     * matrices are shared, not copied.
+     *
+     * @param strategies names of the strategies
+     * @param ruleSet rule set of the games
+     * @param rounds rounds of every game
+     * @param games games of every pairing
+     * @param parallelism workers the games were played on
+     * @param nanos duration of the tournament
+     * @param wins games won by each strategy against each other one
+     * @param ties games each strategy tied with each other one
+     */
+    public record Report(List<String> strategies, RuleSet ruleSet, int rounds, long games, int parallelism, long nanos,
+                         long[][] wins, long[][] ties) {
+
+        /**
+         * Returns the share of its games against another strategy a strategy won.
+         *
+         * @param strategy position of the strategy
+         * @param opponent position of the opponent
+         * @return the share of the games won, between 0 and 1; {@code NaN} for a strategy against itself
+         */
+        public double winRate(int strategy, int opponent) {
+            if (strategy == opponent) {
+                return Double.NaN;
+            }
+            return (double) wins[strategy][opponent] / games;
+        }
+
+        /**
+         * Returns the share of all of its games a strategy won.
+         *
+         * @param strategy position of the strategy
+         * @return the share of the games won, between 0 and 1
+         */
+        public double overallWinRate(int strategy) {
+            long won = 0;
+            for (long gamesWon : wins[strategy]) {
+                won += gamesWon;
+            }
+            return (double) won / (games * (strategies.size() - 1));
+        }
+
+        /**
+         * Returns the number of played rounds.
+         *
+         * @return the rounds of every game of every pairing
+         */
+        public long totalRounds() {
+            long pairings = (long) strategies.size() * (strategies.size() - 1) / 2;
+            return pairings * games * rounds;
+        }
+
+        /**
+         * Returns the played rounds per second.
+         *
+         * @return the played rounds per second
+         */
+        public double roundsPerSecond() {
+            return totalRounds() * 1e9 / Math.max(1, nanos);
+        }
+
+        /**
+         * Returns the win rate matrix: a row per strategy with its win rate against every strategy of the columns,
+         * followed by its overall win rate.
+         */
+        @Override
+        public String toString() {
+            int width = "strategy".length();
+            for (String strategy : strategies) {
+                width = Math.max(width, strategy.length());
+            }
+
+            StringBuilder report = new StringBuilder(String.format(
+                    "Tournament of %d strategies playing %d games of %d rounds of %s per pairing on %d workers finished in %.3f s, %.1f rounds/s%n",
+                    strategies.size(), games, rounds, ruleSet, parallelism, nanos / 1e9, roundsPerSecond()));
+            report.append(String.format("%-" + width + "s", "strategy"));
+            for (int column = 0; column < strategies.size(); column++) {
+                report.append(String.format(" %6s", "#" + (column + 1)));
+            }
+            report.append("    all").append(System.lineSeparator());
+            for (int row = 0; row < strategies.size(); row++) {
+                report.append(String.format("%-" + width + "s", strategies.get(row)));
+                for (int column = 0; column < strategies.size(); column++) {
+                    report.append(row == column ? "      -" : String.format(" %6.3f", winRate(row, column)));
+                }
+                report.append(String.format(" %6.3f", overallWinRate(row))).append(System.lineSeparator());
+            }
+            return report.toString();
+        }
+    }
+
+    private final GameRulesService gameRulesService;
+
+    /** Workers of a tournament */
+    private final int parallelism;
+
+    /** Games of every pairing of the configured tournament, 0 to not run it */
+    @Getter
+    private final long games;
+
+    /** Rounds of every game of the configured tournament */
+    private final int rounds;
+
+    /** Rule set of the configured tournament */
+    private final RuleSet ruleSet;
+
+    /** Strategies registered next to the built-in ones */
+    private final List<MoveStrategy> registeredStrategies;
+
+    /** Seed of the configured tournament, {@code null} for a different tournament every run */
+    private final Long seed;
+
+    /**
+     * Constructs the tournament from the application configuration.
+     *
+     * @param games games of every pairing of the configured tournament, 0 to not run it
+     * @param parallelism workers of a tournament, 0 for one per processor
+     * @param seed seed of the configured tournament, {@code null} for a different tournament every run
+     * @param rounds rounds of every game of the configured tournament
+     * @param moveCount number of moves of every game of the configured tournament
+     * @param strategies strategy beans playing next to the {@link MoveStrategies#builtIn built-in} ones
+     * @param gameRulesService rules deciding the rounds
+     * @throws IllegalArgumentException if the game count or parallelism is negative or the move count is invalid
+     */
+    @Autowired
+    public StrategyTournament(@Value("${rps.tournament.games:0}") long games,
+                              @Value("${rps.tournament.parallelism:0}") int parallelism,
+                              @Value("${rps.tournament.seed:#{null}}") Long seed,
+                              @Value("${rps.simulation.rounds:100}") int rounds,
+                              @Value("${rps.simulation.moves:3}") int moveCount,
+                              ObjectProvider<MoveStrategy> strategies,
+                              GameRulesService gameRulesService) {
+        this(games, parallelism, seed, rounds, moveCount, strategies.orderedStream().toList(), gameRulesService);
+    }
+
+    /**
+     * Constructs the tournament with the given strategies playing next to the built-in ones.
+     *
+     * @param games games of every pairing of the configured tournament, 0 to not run it
+     * @param parallelism workers of a tournament, 0 for one per processor
+     * @param seed seed of the configured tournament, {@code null} for a different tournament every run
+     * @param rounds rounds of every game of the configured tournament
+     * @param moveCount number of moves of every game of the configured tournament
+     * @param strategies strategies playing next to the {@link MoveStrategies#builtIn built-in} ones
+     * @param gameRulesService rules deciding the rounds
+     * @throws IllegalArgumentException if the game count or parallelism is negative or the move count is invalid
+     */
+    public StrategyTournament(long games, int parallelism, Long seed, int rounds, int moveCount,
+                              List<MoveStrategy> strategies, GameRulesService gameRulesService) {
+        if (games < 0 || parallelism < 0) {
+            logger.error("Tournament of {} games per pairing on {} workers is requested", games, parallelism);
+            throw new IllegalArgumentException("Tournament can't have a negative game count or parallelism");
+        }
+
+        this.gameRulesService = gameRulesService;
+        this.parallelism = parallelism == 0 ? Runtime.getRuntime().availableProcessors() : parallelism;
+        this.games = games;
+        this.rounds = rounds;
+        this.ruleSet = RuleSet.of(moveCount);
+        this.registeredStrategies = List.copyOf(strategies);
+        this.seed = seed;
+    }
+
+    /**
+     * Runs the configured tournament between the built-in and the registered strategies.
+     *
+     * @return the report of the tournament
+     * @throws IllegalArgumentException if no games are configured, or the configured rounds are not positive
+     */
+    public Report run() {
+        List<MoveStrategy> strategies = new ArrayList<>(MoveStrategies.builtIn(ruleSet));
+        strategies.addAll(registeredStrategies);
+        long runSeed = seed != null ? seed : new SplittableRandom().nextLong();
+        logger.info("Playing a tournament of {} strategies, {} games of {} rounds per pairing with seed {}",
+                strategies.size(), games, rounds, runSeed);
+        return play(strategies, ruleSet, rounds, games, runSeed);
+    }
+
+    /**
+     * Plays every strategy against every other one.
+     *
+     * @param strategies the strategies, at least two
+     * @param ruleSet rule set of the games
+     * @param rounds rounds of every game
+     * @param games games of every pairing
+     * @param seed seed of the games, the same seed plays the same tournament
+     * @return the report of the tournament
+     * @throws IllegalArgumentException if fewer than two strategies are given, or the game or round count is not positive
+     * @throws IllegalStateException if a strategy plays no move or a move outside the rule set
+     */
+    public Report play(List<MoveStrategy> strategies, RuleSet ruleSet, int rounds, long games, long seed) {
+        if (strategies == null || strategies.size() < 2 || ruleSet == null) {
+            logger.warn("Tournament is requested without a rule set or with fewer than two strategies");
+            throw new IllegalArgumentException("Tournament needs a rule set and at least two strategies");
+        }
+        if (games < 1 || rounds < 1) {
+            logger.warn("Tournament of {} games of {} rounds per pairing is requested", games, rounds);
+            throw new IllegalArgumentException("Tournament needs at least one game of at least one round per pairing");
+        }
+
+        int count = strategies.size();
+        int pairings = count * (count - 1) / 2;
+        int[] firsts = new int[pairings];
+        int[] seconds = new int[pairings];
+        long[] seeds = new long[pairings];
+        SplittableRandom seeder = new SplittableRandom(seed);
+        int pairing = 0;
+        for (int first = 0; first < count; first++) {
+            for (int second = first + 1; second < count; second++) {
+                firsts[pairing] = first;
+                seconds[pairing] = second;
+                seeds[pairing] = seeder.nextLong();
+                pairing++;
+            }
+        }
+
+        Tournament tournament = new Tournament(strategies.toArray(MoveStrategy[]::new), ruleSet, gameRulesService.outcomeTable(ruleSet),
+                rounds, games, firsts, seconds, seeds, new long[count][count], new long[count][count]);
+        int rangePairings = (int) Math.max(1, ROUNDS_PER_RANGE / ((double) games * rounds));
+        long start = System.nanoTime();
+        try (ForkJoinPool pool = new ForkJoinPool(parallelism)) {
+            pool.invoke(new PairingRange(tournament, rangePairings, 0, pairings));
+        }
+        long nanos = System.nanoTime() - start;
+
+        return new Report(strategies.stream().map(MoveStrategy::getName).toList(), ruleSet, rounds, games, parallelism,
+                nanos, tournament.wins, tournament.ties);
+    }
+
+    /**
+     * Everything the workers of a tournament share. Every pairing writes its own cells of the matrices, which
+     * are read once all workers joined.
+     */
+    private record Tournament(MoveStrategy[] strategies, RuleSet ruleSet, byte[] outcomes, int rounds, long games,
+                              int[] firsts, int[] seconds, long[] seeds, long[][] wins, long[][] ties) {
+    }
+
+    /**
+     * Plays the pairings {@code from} (inclusive) to {@code to} (exclusive), splitting them in halves until a range
+     * is short enough to be played by one worker.
+     */
+    private final class PairingRange extends RecursiveAction {
+
+        private final Tournament tournament;
+        private final int rangePairings;
+        private final int from;
+        private final int to;
+
+        private PairingRange(Tournament tournament, int rangePairings, int from, int to) {
+            this.tournament = tournament;
+            this.rangePairings = rangePairings;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= rangePairings) {
+                play();
+                return;
+            }
+            int middle = from + (to - from) / 2;
+            invokeAll(new PairingRange(tournament, rangePairings, from, middle),
+                    new PairingRange(tournament, rangePairings, middle, to));
+        }
+
+        private void play() {
+            MatchHistory firstHistory = new MatchHistory(tournament.ruleSet(), gameRulesService);
+            MatchHistory secondHistory = new MatchHistory(tournament.ruleSet(), gameRulesService);
+            for (int pairing = from; pairing < to; pairing++) {
+                int first = tournament.firsts()[pairing];
+                int second = tournament.seconds()[pairing];
+                playPairing(first, second, firstHistory, secondHistory, new SplittableRandom(tournament.seeds()[pairing]));
+            }
+        }
+
+        private void playPairing(int first, int second, MatchHistory firstHistory, MatchHistory secondHistory, SplittableRandom random) {
+            MoveStrategy firstStrategy = tournament.strategies()[first];
+            MoveStrategy secondStrategy = tournament.strategies()[second];
+            RuleSet ruleSet = tournament.ruleSet();
+            byte[] outcomes = tournament.outcomes();
+            long firstWins = 0;
+            long secondWins = 0;
+            long ties = 0;
+
+            for (long game = 0; game < tournament.games(); game++) {
+                firstHistory.reset();
+                secondHistory.reset();
+                for (int round = 0; round < tournament.rounds(); round++) {
+                    Move firstMove = checkedMove(firstStrategy, firstStrategy.nextMove(firstHistory, random), ruleSet);
+                    Move secondMove = checkedMove(secondStrategy, secondStrategy.nextMove(secondHistory, random), ruleSet);
+                    int outcome = outcomes[ruleSet.roundIndex(firstMove, secondMove)];
+                    firstHistory.record(firstMove, secondMove, outcome);
+                    // The second strategy sees the round from the other side
+                    secondHistory.record(secondMove, firstMove, outcome == GameRulesService.DRAW ? GameRulesService.DRAW : 3 - outcome);
+                }
+
+                if (firstHistory.getOwnScore() > firstHistory.getOpponentScore()) firstWins++;
+                else if (firstHistory.getOwnScore() < firstHistory.getOpponentScore()) secondWins++;
+                else ties++;
+            }
+
+            tournament.wins()[first][second] = firstWins;
+            tournament.wins()[second][first] = secondWins;
+            tournament.ties()[first][second] = ties;
+            tournament.ties()[second][first] = ties;
+        }
+
+        private Move checkedMove(MoveStrategy strategy, Move move, RuleSet ruleSet) {
+            if (move == null || !ruleSet.contains(move)) {
+                logger.error("Strategy \"{}\" played {} in a game of {} moves", strategy.getName(), move, ruleSet.getMoveCount());
+                throw new IllegalStateException("Strategy \"" + strategy.getName() + "\" played a move outside the rule set: " + move);
+            }
+            return move;
+        }
+    }
+}
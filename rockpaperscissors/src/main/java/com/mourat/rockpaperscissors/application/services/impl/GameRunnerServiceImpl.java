@@ -1,64 +1,162 @@
 package com.mourat.rockpaperscissors.application.services.impl;
 
+import com.mourat.rockpaperscissors.application.dto.MoveResult;
 import com.mourat.rockpaperscissors.application.dto.ResultDto;
+import com.mourat.rockpaperscissors.application.dto.RunnerError;
+import com.mourat.rockpaperscissors.application.mappers.ResultMapper;
+import com.mourat.rockpaperscissors.application.model.ArchivedGame;
 import com.mourat.rockpaperscissors.application.model.GameSession;
+import com.mourat.rockpaperscissors.application.model.HandleTable;
+import com.mourat.rockpaperscissors.application.model.Matchmaker;
+import com.mourat.rockpaperscissors.application.model.MatchmakingClaimEvent;
+import com.mourat.rockpaperscissors.application.model.PlayerRegistry;
+import com.mourat.rockpaperscissors.application.services.GameArchive;
+import com.mourat.rockpaperscissors.application.services.GameHandleService;
+import com.mourat.rockpaperscissors.application.services.GameMetrics;
 import com.mourat.rockpaperscissors.application.services.GameRunnerService;
 import com.mourat.rockpaperscissors.application.services.GameSessionFactory;
+import com.mourat.rockpaperscissors.application.services.SessionReaper;
 import com.mourat.rockpaperscissors.domain.model.Game;
 import com.mourat.rockpaperscissors.domain.model.Move;
 import com.mourat.rockpaperscissors.domain.model.Player;
+import com.mourat.rockpaperscissors.domain.model.RoundSink;
+import com.mourat.rockpaperscissors.domain.model.RuleSet;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Collection;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
 
 @Service
-public class GameRunnerServiceImpl implements GameRunnerService {
+public class GameRunnerServiceImpl implements GameRunnerService, GameHandleService {
 
     private static final Logger logger = LoggerFactory.getLogger(GameRunnerServiceImpl.class);
 
-    private final List<Player> players;
-    private final List<GameSession> activeGames;
-    private final List<GameSession> completeGames;
-    private final List<GameSession> waitingGames;
+    /** Stands in for the player handle in logs of requests made before the player exists */
+    private static final int NO_PLAYER = -1;
+
+    /** Rounds a game can have unless configured otherwise */
+    public static final int DEFAULT_MAX_ROUNDS = 100;
+
+    private final PlayerRegistry players;
+    private final HandleTable<Player> playerHandles;
+    private final HandleTable<GameSession> sessionHandles;
+    private final Set<GameSession> activeGames;
+    private final Matchmaker matchmaker;
 
     private final GameSessionFactory gameSessionFactory;
+    private final GameArchive gameArchive;
+    private final SessionReaper sessionReaper;
+
+    /** Most rounds a client may request for a game */
+    private final int maxRounds;
+
+    /** Receives the rounds of every created game */
+    private final RoundSink roundSink;
+
+    /** Counts rejected moves and completed and expired sessions */
+    private final GameMetrics metrics;
+
+    public GameRunnerServiceImpl(GameSessionFactory sessionFactory, GameArchive gameArchive, SessionReaper sessionReaper){
+        this(sessionFactory, gameArchive, sessionReaper, DEFAULT_MAX_ROUNDS, RoundSink.NONE);
+    }
 
     @Autowired
-    public GameRunnerServiceImpl(GameSessionFactory sessionFactory){
-        this.gameSessionFactory = sessionFactory;
+    public GameRunnerServiceImpl(GameSessionFactory sessionFactory, GameArchive gameArchive, SessionReaper sessionReaper,
+                                 @Value("${rps.game.max-rounds:" + DEFAULT_MAX_ROUNDS + "}") int maxRounds,
+                                 ObjectProvider<RoundSink> roundSink, GameMetrics metrics){
+        this(sessionFactory, gameArchive, sessionReaper, maxRounds, roundSink.getIfAvailable(() -> RoundSink.NONE), metrics);
+    }
 
-        this.players = new ArrayList<>();
-        this.activeGames = new ArrayList<>();
-        this.completeGames = new ArrayList<>();
-        this.waitingGames = new ArrayList<>();
+    /**
+     * Constructs the service, counting into metrics of its own.
+     *
+     * @param sessionFactory factory of the game sessions
+     * @param gameArchive archive of the finished games
+     * @param sessionReaper expires abandoned sessions
+     * @param maxRounds most rounds a client may request for a game, up to {@link Game#MAX_ROUNDS}
+     * @param roundSink receives the rounds of every created game, {@link RoundSink#NONE} to keep only the recent rounds
+     * @throws IllegalArgumentException if {@code maxRounds} is out of range
+     */
+    public GameRunnerServiceImpl(GameSessionFactory sessionFactory, GameArchive gameArchive, SessionReaper sessionReaper,
+                                 int maxRounds, RoundSink roundSink){
+        this(sessionFactory, gameArchive, sessionReaper, maxRounds, roundSink, new GameMetrics());
+    }
+
+    /**
+     * Constructs the service.
+     *
+     * @param sessionFactory factory of the game sessions
+     * @param gameArchive archive of the finished games
+     * @param sessionReaper expires abandoned sessions
+     * @param maxRounds most rounds a client may request for a game, up to {@link Game#MAX_ROUNDS}
+     * @param roundSink receives the rounds of every created game, {@link RoundSink#NONE} to keep only the recent rounds
+     * @param metrics counts rejected moves and completed and expired sessions
+     * @throws IllegalArgumentException if {@code maxRounds} is out of range
+     */
+    public GameRunnerServiceImpl(GameSessionFactory sessionFactory, GameArchive gameArchive, SessionReaper sessionReaper,
+                                 int maxRounds, RoundSink roundSink, GameMetrics metrics){
+        if (maxRounds < 1 || maxRounds > Game.MAX_ROUNDS) {
+            logger.error("Runner service can't be created with a maximum of {} rounds, it must be between 1 and {}", maxRounds, Game.MAX_ROUNDS);
+            throw new IllegalArgumentException("Max rounds must be between 1 and " + Game.MAX_ROUNDS);
+        }
+        this.gameSessionFactory = sessionFactory;
+        this.gameArchive = gameArchive;
+        this.sessionReaper = sessionReaper;
+        this.maxRounds = maxRounds;
+        this.roundSink = roundSink;
+        this.metrics = metrics;
+
+        this.players = new PlayerRegistry();
+        this.playerHandles = new HandleTable<>();
+        this.sessionHandles = new HandleTable<>();
+        this.activeGames = ConcurrentHashMap.newKeySet();
+        this.matchmaker = new Matchmaker();
     }
 
 
     /**
      * {@inheritDoc}
-     * @implNote The game is added to the waiting list immediately after creation.
+     * @implNote The game is published to the matchmaker immediately after creation
+     * and watched by the {@link SessionReaper} until it ends or expires.
      */
     @Override
     public String createGame(String playerId, int rounds) {
+        return createGame(playerId, rounds, RuleSet.CLASSIC.getMoveCount());
+    }
+
+    /**
+     * {@inheritDoc}
+     * @implNote The game is published to the matchmaker immediately after creation
+     * and watched by the {@link SessionReaper} until it ends or expires.
+     */
+    @Override
+    public String createGame(String playerId, int rounds, int moveCount) {
         Player player = this.findPlayerById(playerId);
         if (player == null) {
-            return errorMessageHandler("Player with id \"" + playerId + "\" doesn't exist");
+            return errorMessageHandler(RunnerError.PLAYER_NOT_FOUND, playerId);
         }
 
-        if (rounds < 1) {
-            return errorMessageHandler("Rounds must be a positive number");
+        RunnerError error = checkRounds(rounds);
+        if (error != null) {
+            return errorMessageHandler(error, maxRounds);
+        }
+
+        if (!RuleSet.isValidMoveCount(moveCount)) {
+            return errorMessageHandler(RunnerError.INVALID_MOVE_COUNT, moveCount);
         }
 
-        Game newGame = Game.newGame(player, rounds);
-        GameSession session = gameSessionFactory.createSession(player, newGame);
-        this.waitingGames.add(session);
+        GameSession session = openSession(player, rounds, RuleSet.of(moveCount));
 
-        String gameId = newGame.getId().toString();
+        String gameId = session.getGame().getId().toString();
         logger.info("New game created successfully with id \"{}\" by the player \"{}\": \"{}\"", gameId, player.getName(), playerId);
         return gameId;
 
@@ -70,12 +168,13 @@ public class GameRunnerServiceImpl implements GameRunnerService {
      */
     @Override
     public String createPlayer(String name) {
-        if(name == null || name.trim().length() < 2 || name.trim().length() > 16){
-            return errorMessageHandler("Player name must be between 2 and 16 characters");
+        if(!isValidName(name)){
+            return errorMessageHandler(RunnerError.INVALID_PLAYER_NAME, name);
         }
 
         Player newPlayer = Player.newPlayerWithName(name);
-        this.players.add(newPlayer);
+        this.players.register(newPlayer);
+        this.roundSink.playerCreated(newPlayer);
 
         String playerId = newPlayer.getId().toString();
         logger.info("New player created successfully with name \"{}\" and id \"{}\"", name, playerId);
@@ -89,26 +188,25 @@ public class GameRunnerServiceImpl implements GameRunnerService {
     @Override
     public String joinGame(String playerId) {
         if (playerId == null) {
-            return errorMessageHandler("Player id is null");
+            return errorMessageHandler(RunnerError.PLAYER_ID_NULL, null);
         }
 
         Player player = this.findPlayerById(playerId);
         if (player == null) {
-            return errorMessageHandler("Player with id \"" + playerId + "\" doesn't exist");
+            return errorMessageHandler(RunnerError.PLAYER_NOT_FOUND, playerId);
         }
 
-        if (waitingGames.isEmpty()) {
-            return errorMessageHandler("There are no games to join");
+        if (matchmaker.isEmpty()) {
+            return errorMessageHandler(RunnerError.NO_OPEN_GAMES, null);
         }
 
         if (player.getGameSession() != null) {
-            return errorMessageHandler("Player with id \"" + playerId + "\" is already in a session");
+            return errorMessageHandler(RunnerError.ALREADY_IN_SESSION, playerId);
         }
 
-        GameSession gameSession = this.waitingGames.removeFirst();
-        if(!gameSession.joinGame(player)){
-            logger.error("This code segment is unreachable by any normal flow, must have an internal domain level corruption");
-            throw new IllegalStateException("An internal error occurred");
+        GameSession gameSession = claimGame(player);
+        if (gameSession == null) {
+            return errorMessageHandler(RunnerError.NO_OPEN_GAMES, null);
         }
         this.activeGames.add(gameSession);
 
@@ -123,86 +221,625 @@ public class GameRunnerServiceImpl implements GameRunnerService {
      */
     @Override
     public ResultDto makeMove(String playerId, String moveString) {
-        ResultDto dto = new ResultDto();
-        dto.setSuccess(false);
-
-        if (playerId == null) {
-            dto.setStatusMessage(errorMessageHandler("Player id is null"));
-            return dto;
+        Player player = findPlayerById(playerId);
+        GameSession gameSession = player == null ? null : player.getGameSession();
+        Move move = Move.parse(moveString);
+        RunnerError error = checkMove(playerId, player, move, gameSession);
+        if (error != null) {
+            metrics.moveRejected(error);
+            return failedResult(error, error == RunnerError.INVALID_MOVE ? moveString : playerId);
         }
 
+        return toResultDto(submitMove(gameSession, player, move));
+    }
+
+    /**
+     * {@inheritDoc}
+     * @implNote Validation happens on the calling thread, the returned future is completed
+     * by whichever thread resolves the round.
+     */
+    @Override
+    public CompletableFuture<ResultDto> makeMoveAsync(String playerId, String moveString) {
         Player player = findPlayerById(playerId);
+        GameSession gameSession = player == null ? null : player.getGameSession();
+        Move move = Move.parse(moveString);
+        RunnerError error = checkMove(playerId, player, move, gameSession);
+        if (error != null) {
+            metrics.moveRejected(error);
+            return CompletableFuture.completedFuture(failedResult(error, error == RunnerError.INVALID_MOVE ? moveString : playerId));
+        }
+
+        return submitMoveAsync(gameSession, player, move).thenApply(this::toResultDto);
+    }
+
+    /**
+     * {@inheritDoc}
+     * @implNote Finished games are only kept in the {@link GameArchive}, the sessions themselves are released.
+     */
+    @Override
+    public ResultDto getFinishedGame(String gameId) {
+        UUID id = parseId(gameId);
+        ArchivedGame game = id == null ? null : gameArchive.find(id);
+        if (game == null) {
+            return failedResult(RunnerError.GAME_NOT_FOUND, gameId);
+        }
+
+        return ResultMapper.toFinalResultDto(game);
+    }
+
+    /**
+     * {@inheritDoc}
+     * @implNote The player is also registered by id, so it is reachable from both service variants.
+     */
+    @Override
+    public int createPlayerHandle(String name) {
+        if(!isValidName(name)){
+            return rejected(RunnerError.INVALID_PLAYER_NAME, NO_PLAYER).code();
+        }
+
+        Player newPlayer = Player.newPlayerWithName(name);
+        this.players.register(newPlayer);
+        this.roundSink.playerCreated(newPlayer);
+        int handle = this.playerHandles.register(newPlayer);
+
+        logger.info("New player created successfully with name \"{}\", id \"{}\" and handle {}", name, newPlayer.getId(), handle);
+        return handle;
+    }
+
+    /**
+     * {@inheritDoc}
+     * @implNote The session is published to the matchmaker immediately after creation.
+     */
+    @Override
+    public int createGame(int playerHandle, int rounds) {
+        return createGame(playerHandle, rounds, RuleSet.CLASSIC.getMoveCount());
+    }
+
+    /**
+     * {@inheritDoc}
+     * @implNote The session is published to the matchmaker immediately after creation.
+     */
+    @Override
+    public int createGame(int playerHandle, int rounds, int moveCount) {
+        Player player = this.playerHandles.get(playerHandle);
+        if (player == null) {
+            return rejected(RunnerError.PLAYER_NOT_FOUND, playerHandle).code();
+        }
+
+        RunnerError error = checkRounds(rounds);
+        if (error != null) {
+            return rejected(error, playerHandle).code();
+        }
+
+        if (!RuleSet.isValidMoveCount(moveCount)) {
+            return rejected(RunnerError.INVALID_MOVE_COUNT, playerHandle).code();
+        }
+
+        GameSession session = openSession(player, rounds, RuleSet.of(moveCount));
+        logger.info("New game created successfully with id \"{}\" and handle {} by the player \"{}\": \"{}\"", session.getGame().getId(), session.getHandle(), player.getName(), player.getId());
+        return session.getHandle();
+    }
+
+    /**
+     * {@inheritDoc}
+     * @implNote Players are not allowed to join if already in another session.
+     */
+    @Override
+    public int joinGame(int playerHandle) {
+        Player player = this.playerHandles.get(playerHandle);
+        if (player == null) {
+            return rejected(RunnerError.PLAYER_NOT_FOUND, playerHandle).code();
+        }
+
+        if (player.getGameSession() != null) {
+            return rejected(RunnerError.ALREADY_IN_SESSION, playerHandle).code();
+        }
+
+        GameSession gameSession = claimGame(player);
+        if (gameSession == null) {
+            return rejected(RunnerError.NO_OPEN_GAMES, playerHandle).code();
+        }
+        this.activeGames.add(gameSession);
+
+        logger.info("Player with name \"{}\" and handle {} joined to the game with handle {} successfully", player.getName(), playerHandle, gameSession.getHandle());
+        return gameSession.getHandle();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public MoveResult makeMove(int playerHandle, Move move) {
+        Player player = this.playerHandles.get(playerHandle);
+        if (player == null) {
+            return rejectedMove(RunnerError.PLAYER_NOT_FOUND, playerHandle);
+        }
+
+        if (move == null) {
+            return rejectedMove(RunnerError.INVALID_MOVE, playerHandle);
+        }
+
+        GameSession gameSession = player.getGameSession();
+        if (gameSession == null) {
+            return rejectedMove(RunnerError.NOT_IN_SESSION, playerHandle);
+        }
+
+        MoveResult result = submitMove(gameSession, player, move);
+        if (result instanceof RunnerError error) {
+            return rejected(error, playerHandle);
+        }
+        return result;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public MoveResult makeMove(int playerHandle, int moveOrdinal) {
+        Move move = Move.fromOrdinal(moveOrdinal);
+        if (move == null) {
+            return rejectedMove(RunnerError.INVALID_MOVE, playerHandle);
+        }
+        return makeMove(playerHandle, move);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CompletableFuture<MoveResult> makeMoveAsync(int playerHandle, Move move) {
+        Player player = this.playerHandles.get(playerHandle);
         if (player == null) {
-            dto.setStatusMessage(errorMessageHandler("Player with id \"" + playerId + "\" doesn't exist"));
-            return dto;
+            return CompletableFuture.completedFuture(rejectedMove(RunnerError.PLAYER_NOT_FOUND, playerHandle));
         }
 
-        Move move;
-        try {
-            move = Move.valueOf(moveString);
-        } catch (IllegalArgumentException e) {
-            dto.setStatusMessage(errorMessageHandler("Invalid move: \"" + moveString + "\""));
-            return dto;
+        if (move == null) {
+            return CompletableFuture.completedFuture(rejectedMove(RunnerError.INVALID_MOVE, playerHandle));
         }
 
         GameSession gameSession = player.getGameSession();
         if (gameSession == null) {
-            dto.setStatusMessage(errorMessageHandler("Player with id \"" + playerId + "\" is not joined to any game"));
-            return dto;
+            return CompletableFuture.completedFuture(rejectedMove(RunnerError.NOT_IN_SESSION, playerHandle));
         }
 
-        ResultDto tDto = gameSession.makeMove(player, move);
-        if(tDto.isSuccess()) {
-            if(tDto.isGameFinished()){
-                activeGames.remove(gameSession);
-                completeGames.add(gameSession);
+        return submitMoveAsync(gameSession, player, move);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CompletableFuture<MoveResult> makeMovesAsync(int playerHandle, Move... moves) {
+        Player player = this.playerHandles.get(playerHandle);
+        if (player == null) {
+            return CompletableFuture.completedFuture(rejectedMove(RunnerError.PLAYER_NOT_FOUND, playerHandle));
+        }
+
+        if (!isValidMoves(moves)) {
+            return CompletableFuture.completedFuture(rejectedMove(RunnerError.INVALID_MOVE, playerHandle));
+        }
+
+        GameSession gameSession = player.getGameSession();
+        if (gameSession == null) {
+            return CompletableFuture.completedFuture(rejectedMove(RunnerError.NOT_IN_SESSION, playerHandle));
+        }
+
+        Move lastMove = moves[moves.length - 1];
+        return gameSession.playAllAsync(player, moves).thenApply(result -> afterMove(gameSession, player, lastMove, result));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String getPlayerId(int playerHandle) {
+        Player player = this.playerHandles.get(playerHandle);
+        return player == null ? null : player.getId().toString();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String getGameId(int gameHandle) {
+        GameSession session = this.sessionHandles.get(gameHandle);
+        return session == null ? null : session.getGame().getId().toString();
+    }
+
+    /**
+     * Takes over the players and the running games recovered after a restart, e.g. from the round journal.
+     * Players become reachable by their original ids, running games continue at their active round and
+     * games without a second player are published to the matchmaker again.
+     * Must be called before clients use the service.
+     *
+     * @param recoveredPlayers the recovered players
+     * @param runningGames the recovered games that were not finished
+     */
+    public void restore(Collection<Player> recoveredPlayers, Collection<Game> runningGames) {
+        for (Player player : recoveredPlayers) {
+            this.players.register(player);
+        }
+
+        for (Game game : runningGames) {
+            game.setRoundSink(roundSink);
+            boolean started = game.getPlayer2() != null;
+            GameSession session = started
+                    ? gameSessionFactory.resumeSession(game)
+                    : gameSessionFactory.createSession(game.getPlayer1(), game);
+            session.setHandle(this.sessionHandles.register(session));
+            if (started) {
+                this.activeGames.add(session);
+            } else {
+                this.matchmaker.publish(session);
+            }
+            this.sessionReaper.watch(session, this::onSessionExpired);
+        }
+        logger.info("{} players and {} running games restored", recoveredPlayers.size(), runningGames.size());
+    }
+
+    /**
+     * Performs the given action for every registered player while clients keep using the service,
+     * e.g. to save them. Players created during the walk may or may not be visited.
+     *
+     * @param action the action to perform for every player
+     */
+    public void forEachPlayer(Consumer<Player> action) {
+        this.players.forEach(action);
+    }
+
+    /**
+     * Performs the given action for every running session, then for every session waiting for a second
+     * player, while clients keep using the service. Sessions may change state during the walk, read their
+     * games with {@link GameSession#readGame}.
+     *
+     * @param action the action to perform for every session
+     */
+    public void forEachSession(Consumer<GameSession> action) {
+        this.activeGames.forEach(action);
+        this.matchmaker.forEachOpen(action);
+    }
+
+    /**
+     * Returns the number of registered players.
+     *
+     * @return the number of registered players
+     */
+    public long playerCount() {
+        return this.players.size();
+    }
+
+    /**
+     * Returns the number of sessions waiting for a second player.
+     *
+     * @return the number of open sessions
+     */
+    public long openSessionCount() {
+        return this.matchmaker.size();
+    }
+
+    /**
+     * Returns the number of running sessions.
+     *
+     * @return the number of sessions both players joined that are neither finished nor expired
+     */
+    public int activeSessionCount() {
+        return this.activeGames.size();
+    }
+
+    /**
+     * Returns the metrics the service counts into.
+     *
+     * @return the metrics of the service
+     */
+    public GameMetrics getMetrics() {
+        return this.metrics;
+    }
+
+    /**
+     * Creates a game with its session, gives the session a handle, publishes it to the matchmaker
+     * and starts watching it for expiry.
+     *
+     * @param owner the player creating the game
+     * @param rounds the number of rounds of the game
+     * @param ruleSet the rule set of the game
+     * @return the new session
+     */
+    private GameSession openSession(Player owner, int rounds, RuleSet ruleSet) {
+        Game newGame = Game.newGame(owner, rounds, ruleSet);
+        newGame.setRoundSink(roundSink);
+        GameSession session = gameSessionFactory.createSession(owner, newGame);
+        session.setHandle(this.sessionHandles.register(session));
+
+        this.matchmaker.publish(session);
+        this.sessionReaper.watch(session, this::onSessionExpired);
+        return session;
+    }
+
+    /**
+     * Submits a validated move to the session and archives the game once it is finished.
+     *
+     * @param gameSession the session of the player
+     * @param player the player making the move
+     * @param move the move made by the player
+     * @return the result of the round, or the rejection reported by the session
+     */
+    private MoveResult submitMove(GameSession gameSession, Player player, Move move) {
+        return afterMove(gameSession, player, move, gameSession.play(player, move));
+    }
+
+    /**
+     * Submits a validated move to the session without waiting for the round, archiving the game once it is finished.
+     *
+     * @param gameSession the session of the player
+     * @param player the player making the move
+     * @param move the move made by the player
+     * @return a future completed with the result of the round, or with the rejection reported by the session
+     */
+    private CompletableFuture<MoveResult> submitMoveAsync(GameSession gameSession, Player player, Move move) {
+        return gameSession.playAsync(player, move).thenApply(result -> afterMove(gameSession, player, move, result));
+    }
+
+    /**
+     * Archives the game of a session once a move finished it.
+     *
+     * @param gameSession the session of the player
+     * @param player the player that made the move
+     * @param move the move made by the player
+     * @param result the outcome of the move
+     * @return the given outcome
+     */
+    private MoveResult afterMove(GameSession gameSession, Player player, Move move, MoveResult result) {
+        if(result instanceof MoveResult.Played played) {
+            // Both players see the finished game, only the first one to remove the session archives it
+            if(played.gameFinished() && activeGames.remove(gameSession)){
+                gameArchive.store(ArchivedGame.of(gameSession.getGame()));
+                sessionHandles.release(gameSession.getHandle());
+                metrics.sessionCompleted();
             }
-            logger.debug("Player \"{}\":\"{}\" played \"{}\" successfully...", player.getName(), playerId, move);
-            return tDto;
+            logger.debug("Player \"{}\":\"{}\" played \"{}\" successfully...", player.getName(), player.getId(), move);
         }
         else {
-            logger.debug("Player \"{}\":\"{}\" can't play \"{}\"...", player.getName(), playerId, move);
-            tDto.setStatusMessage(errorMessageHandler(tDto.getStatusMessage()));
-            return tDto;
+            metrics.moveRejected((RunnerError) result);
+            // The session terminated itself, both players see the failure, only the first one to remove the session drops it
+            if(result == RunnerError.ROUND_FAILED && activeGames.remove(gameSession)){
+                sessionHandles.release(gameSession.getHandle());
+                logger.warn("Failed session of the game with id \"{}\" removed", gameSession.getGame().getId());
+            }
+            logger.debug("Player \"{}\":\"{}\" can't play \"{}\"...", player.getName(), player.getId(), move);
+        }
+        return result;
+    }
+
+    /**
+     * Claims the oldest open session for a player, recording the claim to the flight recorder.
+     *
+     * @param player the joining player
+     * @return the joined session, or {@code null} if no session is open
+     */
+    private GameSession claimGame(Player player) {
+        MatchmakingClaimEvent event = new MatchmakingClaimEvent();
+        event.begin();
+        GameSession gameSession = this.matchmaker.claim(player);
+        event.end();
+        if (event.shouldCommit()) {
+            event.playerId = player.getId().toString();
+            event.gameId = gameSession == null ? "" : gameSession.getGame().getId().toString();
+            event.claimed = gameSession != null;
+            event.openGames = this.matchmaker.size();
+            event.commit();
         }
+        return gameSession;
     }
 
     /**
-     * Finds a player object from the list with a matching id.
+     * Drops every reference to a session expired by the {@link SessionReaper}.
+     *
+     * @param session the expired session
+     */
+    private void onSessionExpired(GameSession session) {
+        matchmaker.withdraw(session);
+        activeGames.remove(session);
+        sessionHandles.release(session.getHandle());
+        metrics.sessionExpired();
+        logger.info("Expired session of the game with id \"{}\" removed", session.getGame().getId());
+    }
+
+    /**
+     * Finds a player object from the registry with a matching id.
      *
      * @param playerId string representation of a player id
      * @return the player if found, otherwise null
      */
     private Player findPlayerById(String playerId) {
 
-        UUID id;
+        if (playerId == null) {
+            return null;
+        }
 
-        try {
-            id = UUID.fromString(playerId);
-        } catch (Exception e) {
+        UUID id = parseId(playerId);
+        if (id == null) {
             logger.warn("The \"{}\" is not in a format of UUID", playerId);
             return null;
         }
 
-        for (Player player : players) {
-            if (player.getId().equals(id)) {
-                return player;
+        return players.find(id);
+    }
+
+    /**
+     * Parses the canonical string form of a UUID without throwing on malformed input,
+     * unlike {@link UUID#fromString(String)}.
+     *
+     * @param id the string to parse
+     * @return the parsed id, or {@code null} if the string is not a canonical UUID
+     */
+    static UUID parseId(String id) {
+        if (id == null || id.length() != 36
+                || id.charAt(8) != '-' || id.charAt(13) != '-' || id.charAt(18) != '-' || id.charAt(23) != '-') {
+            return null;
+        }
+
+        long mostSigBits = 0;
+        long leastSigBits = 0;
+        for (int i = 0; i < 36; i++) {
+            if (i == 8 || i == 13 || i == 18 || i == 23) {
+                continue;
+            }
+            char c = id.charAt(i);
+            int digit = c < 128 ? Character.digit(c, 16) : -1;
+            if (digit < 0) {
+                return null;
+            }
+            if (i < 18) {
+                mostSigBits = (mostSigBits << 4) | digit;
+            } else {
+                leastSigBits = (leastSigBits << 4) | digit;
             }
         }
+        return new UUID(mostSigBits, leastSigBits);
+    }
 
+    /**
+     * Validates a move request of the string based API.
+     *
+     * @param playerId the ID given by the client
+     * @param player the player found for the ID, or {@code null}
+     * @param move the parsed move, or {@code null}
+     * @param gameSession the session of the player, or {@code null}
+     * @return the reason the request is rejected, or {@code null} if it can be submitted
+     */
+    private static RunnerError checkMove(String playerId, Player player, Move move, GameSession gameSession) {
+        if (playerId == null) {
+            return RunnerError.PLAYER_ID_NULL;
+        }
+        if (player == null) {
+            return RunnerError.PLAYER_NOT_FOUND;
+        }
+        if (move == null) {
+            return RunnerError.INVALID_MOVE;
+        }
+        if (gameSession == null) {
+            return RunnerError.NOT_IN_SESSION;
+        }
+        if (!gameSession.getGame().getRuleSet().contains(move)) {
+            return RunnerError.INVALID_MOVE;
+        }
         return null;
     }
 
+    /**
+     * Converts the outcome of a move into the result returned by the string based API.
+     *
+     * @param result the outcome of the move
+     * @return the game state of a played move, or a failed result carrying the formatted rejection message
+     */
+    private ResultDto toResultDto(MoveResult result) {
+        if (result instanceof MoveResult.Played played) {
+            return played.toResultDto();
+        }
+        return failedResult((RunnerError) result, null);
+    }
+
+    /**
+     * Validates a batch of moves.
+     *
+     * @param moves the moves given by the client
+     * @return {@code true} if there is at least one move and none of them is {@code null}
+     */
+    private static boolean isValidMoves(Move[] moves) {
+        if (moves == null || moves.length == 0) {
+            return false;
+        }
+        for (Move move : moves) {
+            if (move == null) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Validates the name of a new player.
+     *
+     * @param name the requested name
+     * @return {@code true} if the name can be used
+     */
+    private static boolean isValidName(String name) {
+        if (name == null) {
+            return false;
+        }
+        int length = name.trim().length();
+        return length >= 2 && length <= 16;
+    }
+
+    /**
+     * Validates the number of rounds of a new game.
+     *
+     * @param rounds the requested number of rounds
+     * @return the reason the number is rejected, or {@code null} if it is valid
+     */
+    private RunnerError checkRounds(int rounds) {
+        if (rounds < 1) {
+            return RunnerError.ROUNDS_NOT_POSITIVE;
+        }
+        if (rounds > maxRounds) {
+            return RunnerError.ROUNDS_ABOVE_MAXIMUM;
+        }
+        return null;
+    }
+
+    /**
+     * Logs a rejected handle based request. The rejection path of the handle API is hot when clients
+     * poll, e.g. for open games, so nothing is logged or boxed unless debug logging is enabled.
+     *
+     * @param error reason of the rejection
+     * @param playerHandle handle of the player making the request, or {@link #NO_PLAYER}
+     * @return the given error
+     */
+    private RunnerError rejected(RunnerError error, int playerHandle) {
+        if (logger.isDebugEnabled()) {
+            logger.debug("Request of the player with handle {} rejected: {}", playerHandle, error);
+        }
+        return error;
+    }
+
+    /**
+     * Counts and logs a rejected move of the handle API, like {@link #rejected}.
+     *
+     * @param error reason of the rejection
+     * @param playerHandle handle of the player making the move
+     * @return the given error
+     */
+    private RunnerError rejectedMove(RunnerError error, int playerHandle) {
+        metrics.moveRejected(error);
+        return rejected(error, playerHandle);
+    }
+
+    /**
+     * Logs the error and sends back a failed result carrying the formatted error message
+     *
+     * @param error reason of the failure
+     * @param subject the id or value the error refers to
+     * @return failed result with the formatted error message
+     */
+    private ResultDto failedResult(RunnerError error, Object subject) {
+        ResultDto dto = new ResultDto();
+        dto.setSuccess(false);
+        dto.setStatusMessage(errorMessageHandler(error, subject));
+        return dto;
+    }
+
     /**
      * Logs the error and sends it back formatted
      *
-     * @param error message to be processed
+     * @param error reason of the failure
+     * @param subject the id or value the error refers to
      * @return formatted error message
      */
-    private String errorMessageHandler(String error){
+    private String errorMessageHandler(RunnerError error, Object subject){
 
-        logger.warn(error);
-        return "ERROR: " + error;
+        String message = error.render(subject);
+        logger.warn(message);
+        return "ERROR: " + message;
     }
 
 }
@@ -11,15 +11,21 @@ import java.util.UUID;
  * <p>
  * Each game has a unique ID, a state, two players, and a fixed number of rounds.
  * After the specified rounds are played, the game calculates the final result and determines the winner.
+ * <p>
+ * Scores are kept as running counters and only the most recent {@link #RECENT_ROUNDS} rounds are held in memory,
+ * so a game costs the same memory whatever its length. The full history of longer games can be streamed to a
+ * {@link RoundSink}.
  */
 @Getter
 public class Game {
 
     private static final Logger logger = LoggerFactory.getLogger(Game.class);
-    private static final Logger recordLogger = LoggerFactory.getLogger("recordsLogger");
 
-    /** Maximum allowed rounds in a game. */
-    public static final int MAX_ROUNDS = 100;
+    /** Maximum allowed rounds in a game, within the rounds a session can count. */
+    public static final int MAX_ROUNDS = 1_000_000_000;
+
+    /** Number of most recent rounds held in memory. */
+    public static final int RECENT_ROUNDS = 100;
 
     /** Unique identifier of the game. */
     private final UUID id;
@@ -45,11 +51,20 @@ public class Game {
     /** Total number of rounds in this game. */
     private final int rounds;
 
+    /** Moves the players can choose from. */
+    private final RuleSet ruleSet;
+
     /** Tracks the current active round (1-based). */
     private int activeRound;
 
-    /** Array storing the results of each round. */
-    private final RoundResult[] roundResults;
+    /** Moves and winners of the most recent rounds, packed into a few bits per round. */
+    private final RoundHistory history;
+
+    /** Receives every played round, e.g. to keep the full history of the game. */
+    private RoundSink roundSink = RoundSink.NONE;
+
+    /** Result of the most recently played round, kept so reading it doesn't allocate. */
+    private RoundResult lastRoundResult;
 
     /** The final result of the game after all rounds have been played. */
     private GameResult result;
@@ -59,12 +74,26 @@ public class Game {
      *
      * @param player the owner (player 1) who starts the game
      * @param rounds number of rounds for the game
+     * @param ruleSet moves the players can choose from
      */
-    private Game(Player player, int rounds) {
-        this.id = UUID.randomUUID();
+    private Game(Player player, int rounds, RuleSet ruleSet) {
+        this(IdGenerator.next(), player, rounds, ruleSet);
+    }
+
+    /**
+     * Private constructor of a game with a known id.
+     *
+     * @param id the id of the game
+     * @param player the owner (player 1) who starts the game
+     * @param rounds number of rounds for the game
+     * @param ruleSet moves the players can choose from
+     */
+    private Game(UUID id, Player player, int rounds, RuleSet ruleSet) {
+        this.id = id;
         this.rounds = rounds;
+        this.ruleSet = ruleSet;
         this.activeRound = 1;
-        this.roundResults = new RoundResult[rounds];
+        this.history = new RoundHistory(Math.min(rounds, RECENT_ROUNDS), ruleSet);
         this.player1Score = 0;
         this.player2Score = 0;
         this.draws = 0;
@@ -78,7 +107,7 @@ public class Game {
     }
 
     /**
-     * Static factory method to create a new game instance.
+     * Static factory method to create a new game of classic Rock Paper Scissors.
      *
      * @param owner  the player who owns/starts the game (player 1)
      * @param rounds number of rounds for the game; must be between 1 and {@link #MAX_ROUNDS}
@@ -86,7 +115,24 @@ public class Game {
      * @throws IllegalArgumentException if rounds is less than 1 or greater than {@link #MAX_ROUNDS}
      */
     public static Game newGame(Player owner, int rounds) {
+        return newGame(owner, rounds, RuleSet.CLASSIC);
+    }
+
+    /**
+     * Static factory method to create a new game instance.
+     *
+     * @param owner   the player who owns/starts the game (player 1)
+     * @param rounds  number of rounds for the game; must be between 1 and {@link #MAX_ROUNDS}
+     * @param ruleSet moves the players can choose from
+     * @return new game instance with the given parameters
+     * @throws IllegalArgumentException if rounds is less than 1 or greater than {@link #MAX_ROUNDS}, or the rule set is null
+     */
+    public static Game newGame(Player owner, int rounds, RuleSet ruleSet) {
+        checkGame(owner, rounds, ruleSet);
+        return new Game(owner, rounds, ruleSet);
+    }
 
+    private static void checkGame(Player owner, int rounds, RuleSet ruleSet) {
         if (owner == null) {
             logger.error("This code should never be executed! Null player reached domain layer. New game can't be created by a null player. On this call, player is never null, check for corruption");
             throw new IllegalArgumentException("Game without a given player, can't be created");
@@ -102,7 +148,51 @@ public class Game {
             throw new IllegalArgumentException("The game can have max " + MAX_ROUNDS + " rounds!");
         }
 
-        return new Game(owner, rounds);
+        if (ruleSet == null) {
+            logger.error("This code should never be executed! New game can't be created without a rule set. On this call, rule set is never null, check for corruption");
+            throw new IllegalArgumentException("Game without a rule set, can't be created");
+        }
+    }
+
+    /**
+     * Recreates a game known before a restart, e.g. from a snapshot, with its original id and its owner.
+     * The game waits for its second player like a new game.
+     *
+     * @param id the original id of the game
+     * @param owner player 1 of the game
+     * @param rounds number of rounds for the game
+     * @param ruleSet moves the players can choose from
+     * @return the recreated game, without a second player
+     * @throws IllegalArgumentException if any of the arguments is invalid
+     */
+    public static Game restore(UUID id, Player owner, int rounds, RuleSet ruleSet) {
+        if (id == null) {
+            logger.error("This code should never be executed! A game can't be restored without an id. On this call, id is never null, check for corruption");
+            throw new IllegalArgumentException("Restored game must have an id");
+        }
+        checkGame(owner, rounds, ruleSet);
+        return new Game(id, owner, rounds, ruleSet);
+    }
+
+    /**
+     * Recreates a started game known before a restart, e.g. from a journal, with its original id and both
+     * players. Its rounds are restored with {@link #replayRound(Move, Move, int)}.
+     *
+     * @param id the original id of the game
+     * @param owner player 1 of the game
+     * @param opponent player 2 of the game
+     * @param rounds number of rounds for the game
+     * @param ruleSet moves the players can choose from
+     * @return the recreated game, before its first round
+     * @throws IllegalArgumentException if any of the arguments is invalid
+     */
+    public static Game restore(UUID id, Player owner, Player opponent, int rounds, RuleSet ruleSet) {
+        Game restored = restore(id, owner, rounds, ruleSet);
+        if (!restored.setPlayerTwo(opponent)) {
+            logger.error("Game \"{}\" can't be restored, its players must be two distinct players. Check for corruption", id);
+            throw new IllegalArgumentException("Restored game must have two distinct players");
+        }
+        return restored;
     }
 
     /**
@@ -124,18 +214,24 @@ public class Game {
             throw new IllegalArgumentException("Round can be played only with valid rounds data");
         }
 
-        this.roundResults[activeRound - 1] = roundResult;
-        this.activeRound++;
-
+        int winner;
         if (roundResult.winner() == null) {
+            winner = RoundHistory.DRAW;
             this.draws++;
         } else if (roundResult.winner().equals(player1)) {
+            winner = RoundHistory.PLAYER1;
             this.player1Score++;
         } else {
+            winner = RoundHistory.PLAYER2;
             this.player2Score++;
         }
+
+        this.history.add(roundResult.player1Move(), roundResult.player2Move(), winner);
+        this.lastRoundResult = roundResult;
+        this.roundSink.roundPlayed(this, activeRound, roundResult);
+        RoundResolvedEvent.commit(this, activeRound, roundResult, winner);
+        this.activeRound++;
         logger.debug("Round: P1: {}, P2: {}, Winner: {}", roundResult.player1Move(), roundResult.player2Move(), roundResult.winner() != null ? roundResult.winner().getName() : "No winner");
-        recordLogger.warn("Round: P1: {}, P2: {}, \tWinner: {}", roundResult.player1Move(), roundResult.player2Move(), roundResult.winner() != null ? roundResult.winner().getName() : "No winner");
 
         if (activeRound > rounds) {
             return endGame();
@@ -144,12 +240,100 @@ public class Game {
         return null;
     }
 
+    /**
+     * Replays a round played before a restart, e.g. read from a journal. Updates the scores, the history and
+     * the active round like {@link #playRound(RoundResult)}, without streaming the round to the sink again
+     * and without allocating.
+     *
+     * @param player1Move move of player 1
+     * @param player2Move move of player 2
+     * @param winner winner of the round, {@link RoundHistory#DRAW}, {@link RoundHistory#PLAYER1} or {@link RoundHistory#PLAYER2}
+     * @return {@code null} if the game continues; final {@link GameResult} if the game finishes after this round
+     * @throws IllegalStateException    if the game is not {@code IN_PROGRESS}
+     * @throws IllegalArgumentException if a move is not part of the rule set or the winner is unknown
+     */
+    public GameResult replayRound(Move player1Move, Move player2Move, int winner) {
+        if (state != GameState.IN_PROGRESS) {
+            logger.error("The game is not in progress, can't replay the round");
+            throw new IllegalStateException("The game is not in progress, can't play the round");
+        }
+        if (!ruleSet.contains(player1Move) || !ruleSet.contains(player2Move)) {
+            logger.error("Replayed moves \"{}\" and \"{}\" are not both part of the {} of the game \"{}\". Check for corruption", player1Move, player2Move, ruleSet, id);
+            throw new IllegalArgumentException("Moves must be part of the rule set.");
+        }
+
+        switch (winner) {
+            case RoundHistory.DRAW -> this.draws++;
+            case RoundHistory.PLAYER1 -> this.player1Score++;
+            case RoundHistory.PLAYER2 -> this.player2Score++;
+            default -> {
+                logger.error("Replayed round of the game \"{}\" has an unknown winner {}. Check for corruption", id, winner);
+                throw new IllegalArgumentException("Round winner must be a draw, player 1 or player 2");
+            }
+        }
+
+        this.history.add(player1Move, player2Move, winner);
+        // Rebuilt from the history when asked for
+        this.lastRoundResult = null;
+        this.activeRound++;
+
+        if (activeRound > rounds) {
+            return finish();
+        }
+
+        return null;
+    }
+
+    /**
+     * Restores rounds played before a restart whose moves are no longer known, e.g. the rounds of a snapshot
+     * that had left the history. Only the scores and the active round are updated; the rounds still held
+     * by the history must be replayed with {@link #replayRound(Move, Move, int)} afterwards.
+     *
+     * @param player1Wins skipped rounds won by player 1
+     * @param player2Wins skipped rounds won by player 2
+     * @param drawnRounds skipped rounds that were drawn
+     * @throws IllegalStateException    if the game is not {@code IN_PROGRESS}
+     * @throws IllegalArgumentException if a count is negative or the skipped rounds would finish the game
+     */
+    public void skipRounds(int player1Wins, int player2Wins, int drawnRounds) {
+        if (state != GameState.IN_PROGRESS) {
+            logger.error("The game is not in progress, can't skip rounds");
+            throw new IllegalStateException("The game is not in progress, can't play the round");
+        }
+        long skipped = (long) player1Wins + player2Wins + drawnRounds;
+        if (player1Wins < 0 || player2Wins < 0 || drawnRounds < 0 || activeRound + skipped > rounds) {
+            logger.error("Game \"{}\" can't skip {} rounds won by player 1, {} won by player 2 and {} draws at round {} of {}. Check for corruption", id, player1Wins, player2Wins, drawnRounds, activeRound, rounds);
+            throw new IllegalArgumentException("Skipped rounds must leave the last round of the game to be played");
+        }
+
+        this.player1Score += player1Wins;
+        this.player2Score += player2Wins;
+        this.draws += drawnRounds;
+        this.history.skip((int) skipped);
+        this.lastRoundResult = null;
+        this.activeRound += (int) skipped;
+    }
+
     /**
      * Ends the game by calculating the winner and setting the game state to finished.
      *
      * @return the final {@link GameResult} of the game
      */
     private GameResult endGame() {
+        finish();
+        this.roundSink.gameFinished(this, result);
+        GameFinishedEvent.commit(this, result);
+
+        logger.debug("Game Scores: P1: {}, P2: {}, Winner: {}", result.nOfPlayer1Wins(), result.nOfPlayer2Wins(), result.winner() != null ? result.winner().getName() : "It's a tie");
+        return this.result;
+    }
+
+    /**
+     * Calculates the winner, sets the game state to finished and detaches the players.
+     *
+     * @return the final {@link GameResult} of the game
+     */
+    private GameResult finish() {
         Player winner;
 
         if (player1Score > player2Score) winner = player1;
@@ -159,15 +343,38 @@ public class Game {
         this.result = new GameResult(player1Score, player2Score, draws, winner);
         this.state = GameState.FINISHED;
 
-        logger.debug("Game Scores: P1: {}, P2: {}, Winner: {}", result.nOfPlayer1Wins(), result.nOfPlayer2Wins(), result.winner() != null ? result.winner().getName() : "It's a tie");
-        recordLogger.error("Game Scores: P1: {}, P2: {}, \tWinner: {}", result.nOfPlayer1Wins(), result.nOfPlayer2Wins(), result.winner() != null ? result.winner().getName() : "It's a tie");
-
         this.player1.detachGame();
         this.player2.detachGame();
 
         return this.result;
     }
 
+    /**
+     * Reports a started game that won't be played to its end, e.g. because its session expired, to the round
+     * sink. Games nobody joined and finished games are not reported.
+     */
+    public void abandon() {
+        if (this.player2 == null || this.state == GameState.FINISHED) {
+            return;
+        }
+        this.roundSink.gameAbandoned(this);
+        logger.debug("Game \"{}\" abandoned in round {}", id, activeRound);
+    }
+
+    /**
+     * Streams every round played from now on to the given sink.
+     *
+     * @param roundSink the sink receiving the rounds, {@link RoundSink#NONE} to stop streaming
+     * @throws IllegalArgumentException if {@code roundSink} is null
+     */
+    public void setRoundSink(RoundSink roundSink) {
+        if (roundSink == null) {
+            logger.error("This code should never be executed! Rounds can't be streamed to a null sink. On this call, sink is never null, check for corruption");
+            throw new IllegalArgumentException("Round sink must be valid");
+        }
+        this.roundSink = roundSink;
+    }
+
     /**
      * Adds the second player to the game.
      *
@@ -192,6 +399,7 @@ public class Game {
 
         this.player2 = player;
         player.setGamePlaying(this);
+        this.roundSink.gameStarted(this);
 
         return true;
     }
@@ -206,7 +414,28 @@ public class Game {
             logger.warn("Asked for the last played round before playing any rounds");
             return null;
         }
-        return roundResults[activeRound - 2];
+        if (lastRoundResult == null) {
+            lastRoundResult = getRoundResult(activeRound - 1);
+        }
+        return lastRoundResult;
+    }
+
+    /**
+     * Returns the result of a played round, rebuilt from the round history.
+     * Use {@link #getHistory()} to read rounds without allocating.
+     *
+     * @param round number of the round (1-based)
+     * @return a new {@link RoundResult} of the round
+     * @throws IndexOutOfBoundsException if the round is not played yet, or no longer among the {@link #RECENT_ROUNDS}
+     */
+    public RoundResult getRoundResult(int round) {
+        int index = round - 1;
+        Player winner = switch (history.winner(index)) {
+            case RoundHistory.PLAYER1 -> player1;
+            case RoundHistory.PLAYER2 -> player2;
+            default -> null;
+        };
+        return new RoundResult(history.player1Move(index), history.player2Move(index), winner);
     }
 
 }
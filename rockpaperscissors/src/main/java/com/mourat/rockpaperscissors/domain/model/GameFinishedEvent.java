@@ -0,0 +1,67 @@
+package com.mourat.rockpaperscissors.domain.model;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight recorder event of a game whose last round was played by {@link Game#playRound}. Games finished
+ * by replaying rounds after a restart are not recorded.
+ */
+@Name("com.mourat.rockpaperscissors.GameFinished")
+@Label("Game Finished")
+@Category({"Rock Paper Scissors", "Game"})
+@Description("The last round of a game was played")
+@StackTrace(false)
+class GameFinishedEvent extends Event {
+
+    @Label("Game Id")
+    String gameId;
+
+    @Label("Player 1 Id")
+    String player1Id;
+
+    @Label("Player 2 Id")
+    String player2Id;
+
+    @Label("Rounds")
+    int rounds;
+
+    @Label("Player 1 Wins")
+    int player1Wins;
+
+    @Label("Player 2 Wins")
+    int player2Wins;
+
+    @Label("Draws")
+    int draws;
+
+    @Label("Winner Id")
+    @Description("Id of the player who won the game, empty for a tie")
+    String winnerId;
+
+    /**
+     * Records a finished game if the event is enabled. The event is only filled in when it is recorded.
+     *
+     * @param game the finished game
+     * @param result the final result of the game
+     */
+    static void commit(Game game, GameResult result) {
+        GameFinishedEvent event = new GameFinishedEvent();
+        if (!event.isEnabled()) {
+            return;
+        }
+        event.gameId = game.getId().toString();
+        event.player1Id = game.getPlayer1().getId().toString();
+        event.player2Id = game.getPlayer2().getId().toString();
+        event.rounds = game.getRounds();
+        event.player1Wins = result.nOfPlayer1Wins();
+        event.player2Wins = result.nOfPlayer2Wins();
+        event.draws = result.nOfDraws();
+        event.winnerId = result.winner() == null ? "" : result.winner().getId().toString();
+        event.commit();
+    }
+}
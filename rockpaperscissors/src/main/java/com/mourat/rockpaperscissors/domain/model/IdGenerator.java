@@ -0,0 +1,60 @@
+package com.mourat.rockpaperscissors.domain.model;
+
+import org.slf4j.LoggerFactory;
+
+import java.util.UUID;
+
+/**
+ * Creates the unique ids of players and games.
+ * <p>
+ * Players and games take their id from the generator installed with {@link #use(IdGenerator)}, by default
+ * {@link #RANDOM}. The strategies of {@link IdStrategy} trade the unpredictability of random ids for throughput
+ * when many threads create players and games at once.
+ * <p>
+ * Implementations must be thread-safe and must not return the same id twice within a node.
+ */
+@FunctionalInterface
+public interface IdGenerator {
+
+    /** Random (version 4) UUIDs drawn from the shared {@link java.security.SecureRandom} */
+    IdGenerator RANDOM = UUID::randomUUID;
+
+    /**
+     * Returns a new id.
+     *
+     * @return an id not returned before by this generator
+     */
+    UUID nextId();
+
+    /**
+     * Returns a new id from the installed generator.
+     *
+     * @return a new id
+     */
+    static UUID next() {
+        return InstalledIdGenerator.generator.nextId();
+    }
+
+    /**
+     * Installs the generator creating the ids of players and games from now on.
+     *
+     * @param generator the generator to install
+     * @throws IllegalArgumentException if {@code generator} is {@code null}
+     */
+    static void use(IdGenerator generator) {
+        if (generator == null) {
+            LoggerFactory.getLogger(IdGenerator.class).error("A null id generator can't be installed");
+            throw new IllegalArgumentException("Id generator must be valid");
+        }
+        InstalledIdGenerator.generator = generator;
+    }
+
+    /**
+     * Returns the installed generator.
+     *
+     * @return the generator creating the ids of players and games
+     */
+    static IdGenerator installed() {
+        return InstalledIdGenerator.generator;
+    }
+}
@@ -0,0 +1,188 @@
+package com.mourat.rockpaperscissors.domain.model;
+
+import java.security.SecureRandom;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Ways of generating the ids of players and games.
+ * <p>
+ * {@link UUID#randomUUID()} draws every id from one shared {@link SecureRandom}, which becomes the point all
+ * threads creating players and games wait on. The other strategies draw a single random number per generator
+ * and then create ids with plain arithmetic, so threads only share an atomic counter or nothing at all.
+ * Every strategy creates standard 128-bit UUIDs, so ids are stored, parsed and printed the same way.
+ * <p>
+ * A player id is all a client needs to play as that player, so only {@link #RANDOM} ids can't be guessed from
+ * other ids. The other strategies are meant for load tests and benchmarks.
+ */
+public enum IdStrategy {
+
+    /** Random version 4 UUIDs from {@link UUID#randomUUID()}, unpredictable but the slowest under contention */
+    RANDOM {
+        @Override
+        public IdGenerator newGenerator() {
+            return IdGenerator.RANDOM;
+        }
+    },
+
+    /**
+     * Version 7 UUIDs: the creation time in milliseconds followed by a sequence number and a random node id.
+     * Ids sort by creation time, threads share one atomic counter.
+     */
+    TIME_ORDERED {
+        @Override
+        public IdGenerator newGenerator() {
+            return new TimeOrdered(NODE_SEED.nextLong());
+        }
+    },
+
+    /**
+     * A random node id followed by a sequence number. Every thread takes blocks of
+     * {@link ThreadBlocks#BLOCK_SIZE} sequence numbers and creates ids from its own block without sharing anything.
+     */
+    THREAD_BLOCKS {
+        @Override
+        public IdGenerator newGenerator() {
+            return new ThreadBlocks(NODE_SEED.nextLong());
+        }
+    },
+
+    /**
+     * Random version 4 UUIDs from a {@link SplittableRandom} per thread, split from one seeded root. Like
+     * {@link #RANDOM}, ids are unique only with overwhelming probability, 122 of their bits are random.
+     */
+    SPLITTABLE_RANDOM {
+        @Override
+        public IdGenerator newGenerator() {
+            return new SplittableRandomIds(NODE_SEED.nextLong());
+        }
+    };
+
+    /** Seeds the node ids of new generators, used once per generator */
+    private static final SecureRandom NODE_SEED = new SecureRandom();
+
+    /** Version 4 (random) in the most significant bits of a UUID */
+    private static final long VERSION_4 = 0x4000L;
+
+    /** Version 7 (time-ordered) in the most significant bits of a UUID */
+    private static final long VERSION_7 = 0x7000L;
+
+    /** Version 8 (custom) in the most significant bits of a UUID */
+    private static final long VERSION_8 = 0x8000L;
+
+    /** Version bits in the most significant bits of a UUID */
+    private static final long VERSION_MASK = 0xF000L;
+
+    /** IETF variant in the least significant bits of a UUID */
+    private static final long VARIANT = 0x8000_0000_0000_0000L;
+
+    /** Bits left to the generator in the least significant bits of a UUID, next to the variant */
+    private static final long VARIANT_MASK = 0x3FFF_FFFF_FFFF_FFFFL;
+
+    /**
+     * Creates a new generator of this strategy. Generators are independent, ids are only guaranteed
+     * unique among the ids of one generator.
+     *
+     * @return the generator
+     */
+    public abstract IdGenerator newGenerator();
+
+    /**
+     * Creates version 7 UUIDs: 48 bits of milliseconds, 12 bits of sequence and 62 random bits fixed per generator.
+     * When more than 4096 ids are created within a millisecond the sequence carries into the time, so ids keep
+     * increasing and never repeat, running slightly ahead of the clock until the burst is over.
+     */
+    static final class TimeOrdered implements IdGenerator {
+
+        /** Bits of sequence following the milliseconds */
+        private static final int SEQUENCE_BITS = 12;
+
+        /** Milliseconds and sequence of the last id */
+        private final AtomicLong lastStamp = new AtomicLong();
+
+        /** Least significant bits shared by every id of this generator */
+        private final long leastSigBits;
+
+        TimeOrdered(long node) {
+            this.leastSigBits = VARIANT | (node & VARIANT_MASK);
+        }
+
+        @Override
+        public UUID nextId() {
+            long now = System.currentTimeMillis() << SEQUENCE_BITS;
+            long last;
+            long stamp;
+            do {
+                last = lastStamp.get();
+                stamp = Math.max(now, last + 1);
+            } while (!lastStamp.compareAndSet(last, stamp));
+
+            long millis = stamp >>> SEQUENCE_BITS;
+            long sequence = stamp & ((1L << SEQUENCE_BITS) - 1);
+            return new UUID((millis << 16) | VERSION_7 | sequence, leastSigBits);
+        }
+    }
+
+    /**
+     * Creates version 8 UUIDs: 64 random bits fixed per generator and a 62-bit sequence number.
+     * Threads reserve blocks of sequence numbers from a shared counter and hand them out on their own.
+     */
+    static final class ThreadBlocks implements IdGenerator {
+
+        /** Sequence numbers a thread reserves at once */
+        static final int BLOCK_SIZE = 1024;
+
+        /** Most significant bits shared by every id of this generator */
+        private final long mostSigBits;
+
+        /** First sequence number of the next free block */
+        private final AtomicLong nextBlock = new AtomicLong();
+
+        /** Next and end sequence number of the block of the current thread */
+        private final ThreadLocal<long[]> block = ThreadLocal.withInitial(() -> new long[2]);
+
+        ThreadBlocks(long node) {
+            this.mostSigBits = (node & ~VERSION_MASK) | VERSION_8;
+        }
+
+        @Override
+        public UUID nextId() {
+            long[] range = block.get();
+            if (range[0] == range[1]) {
+                range[0] = nextBlock.getAndAdd(BLOCK_SIZE);
+                range[1] = range[0] + BLOCK_SIZE;
+            }
+            return new UUID(mostSigBits, VARIANT | (range[0]++ & VARIANT_MASK));
+        }
+    }
+
+    /**
+     * Creates version 4 UUIDs from a {@link SplittableRandom} per thread. Splitting the root is not thread-safe,
+     * so it is done under a lock, once per thread.
+     */
+    static final class SplittableRandomIds implements IdGenerator {
+
+        /** Random every thread splits its own from */
+        private final SplittableRandom root;
+
+        /** Random of the current thread */
+        private final ThreadLocal<SplittableRandom> random = ThreadLocal.withInitial(this::split);
+
+        SplittableRandomIds(long seed) {
+            this.root = new SplittableRandom(seed);
+        }
+
+        @Override
+        public UUID nextId() {
+            SplittableRandom threadRandom = random.get();
+            long mostSigBits = (threadRandom.nextLong() & ~VERSION_MASK) | VERSION_4;
+            long leastSigBits = VARIANT | (threadRandom.nextLong() & VARIANT_MASK);
+            return new UUID(mostSigBits, leastSigBits);
+        }
+
+        private synchronized SplittableRandom split() {
+            return root.split();
+        }
+    }
+}
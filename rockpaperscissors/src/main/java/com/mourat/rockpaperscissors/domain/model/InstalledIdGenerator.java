@@ -0,0 +1,12 @@
+package com.mourat.rockpaperscissors.domain.model;
+
+/**
+ * Holds the generator installed with {@link IdGenerator#use(IdGenerator)}, interfaces can't have mutable fields.
+ */
+final class InstalledIdGenerator {
+
+    static volatile IdGenerator generator = IdGenerator.RANDOM;
+
+    private InstalledIdGenerator() {
+    }
+}
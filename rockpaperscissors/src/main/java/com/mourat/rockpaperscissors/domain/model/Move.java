@@ -1,17 +1,117 @@
 package com.mourat.rockpaperscissors.domain.model;
 
+import java.util.HashMap;
+import java.util.Map;
+
 /**
  * Possible moves in the game.
+ * <p>
+ * Moves are shared, preallocated instances identified by their ordinal, so they can be compared by
+ * identity like enum constants. The first moves are named after the classic and the Lizard Spock
+ * variants, larger variants continue with generic names such as {@code MOVE_5}. Which of them a game
+ * accepts is decided by its {@link RuleSet}.
  */
-public enum Move {
+public final class Move {
+
+    /** Number of moves available to rule sets, ordinals fit into a signed byte */
+    public static final int MAX_COUNT = 127;
+
+    /** Every move, indexed by ordinal */
+    private static final Move[] VALUES = createValues();
+
+    /** Every move, by name */
+    private static final Map<String, Move> BY_NAME = indexByName();
 
     /** Rock move. */
-    ROCK,
+    public static final Move ROCK = VALUES[0];
 
     /** Paper move. */
-    PAPER,
+    public static final Move PAPER = VALUES[1];
 
     /** Scissors move. */
-    SCISSORS;
+    public static final Move SCISSORS = VALUES[2];
+
+    /** Spock move, only accepted by rule sets with at least 5 moves. */
+    public static final Move SPOCK = VALUES[3];
+
+    /** Lizard move, only accepted by rule sets with at least 5 moves. */
+    public static final Move LIZARD = VALUES[4];
+
+    /** Position of the move */
+    private final int ordinal;
+
+    /** Name of the move */
+    private final String name;
+
+    private Move(int ordinal, String name) {
+        this.ordinal = ordinal;
+        this.name = name;
+    }
+
+    /**
+     * Returns the position of the move, rule sets decide the winner of a round from the ordinals.
+     *
+     * @return the ordinal of the move
+     */
+    public int ordinal() {
+        return ordinal;
+    }
+
+    /**
+     * Returns the name of the move.
+     *
+     * @return the name of the move
+     */
+    public String name() {
+        return name;
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+
+    /**
+     * Returns the move with the given ordinal.
+     *
+     * @param ordinal the ordinal of the move
+     * @return the move, or {@code null} if there is no move with that ordinal
+     */
+    public static Move fromOrdinal(int ordinal) {
+        if (ordinal < 0 || ordinal >= VALUES.length) {
+            return null;
+        }
+        return VALUES[ordinal];
+    }
+
+    /**
+     * Returns the move with the given name. An unknown name is reported by returning {@code null}
+     * rather than by throwing.
+     *
+     * @param name the name of the move
+     * @return the move, or {@code null} if there is no move with that name
+     */
+    public static Move parse(String name) {
+        if (name == null) {
+            return null;
+        }
+        return BY_NAME.get(name);
+    }
+
+    private static Move[] createValues() {
+        String[] names = {"ROCK", "PAPER", "SCISSORS", "SPOCK", "LIZARD"};
+        Move[] values = new Move[MAX_COUNT];
+        for (int ordinal = 0; ordinal < MAX_COUNT; ordinal++) {
+            values[ordinal] = new Move(ordinal, ordinal < names.length ? names[ordinal] : "MOVE_" + ordinal);
+        }
+        return values;
+    }
 
+    private static Map<String, Move> indexByName() {
+        Map<String, Move> byName = new HashMap<>();
+        for (Move move : VALUES) {
+            byName.put(move.name, move);
+        }
+        return byName;
+    }
 }
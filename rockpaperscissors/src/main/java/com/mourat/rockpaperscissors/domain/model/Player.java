@@ -38,7 +38,17 @@ public class Player {
      * @param name player's name
      */
     private Player(String name) {
-        this.id = UUID.randomUUID();
+        this(IdGenerator.next(), name);
+    }
+
+    /**
+     * Constructs a player with the given id and name.
+     *
+     * @param id player's id
+     * @param name player's name
+     */
+    private Player(UUID id, String name) {
+        this.id = id;
         this.name = name;
         logger.debug("A player with name {} and id {} is created", name, id);
     }
@@ -51,11 +61,32 @@ public class Player {
      * @throws IllegalArgumentException if name is invalid
      */
     public static Player newPlayerWithName(String name) {
+        checkName(name);
+        return new Player(name);
+    }
+
+    /**
+     * Recreates a player known before a restart, e.g. from a journal, with its original id.
+     *
+     * @param id the player's original id
+     * @param name player's name (2–16 characters)
+     * @return the recreated {@code Player} instance
+     * @throws IllegalArgumentException if the id or the name is invalid
+     */
+    public static Player restore(UUID id, String name) {
+        if (id == null) {
+            logger.error("This code should never be executed! A player can't be restored without an id. On this call, id is never null, check for corruption");
+            throw new IllegalArgumentException("Restored player must have an id");
+        }
+        checkName(name);
+        return new Player(id, name);
+    }
+
+    private static void checkName(String name) {
         if (name == null || name.trim().length() < 2 || name.trim().length() > 16) {
             logger.error("The name of the player must be between 2 and 16 characters.");
             throw new IllegalArgumentException("Name must be between 2 and 16 characters");
         }
-        return new Player(name);
     }
 
     /**
@@ -64,7 +95,7 @@ public class Player {
      * Sets both {@code gameSession} and {@code gamePlaying} to {@code null}.
      */
     public void detachGame(){
-        logger.debug("Player {} detached from game {}", id, gamePlaying.getId());
+        logger.debug("Player {} detached from game {}", id, gamePlaying != null ? gamePlaying.getId() : null);
         this.gameSession = null;
         this.gamePlaying = null;
     }
@@ -0,0 +1,164 @@
+package com.mourat.rockpaperscissors.domain.model;
+
+import lombok.Getter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Compact record of the most recent rounds played in a game.
+ * <p>
+ * Every round is packed into a few bits of a {@code long[]}: the ordinals of both moves and the winner of the
+ * round. A move takes as many bits as the largest ordinal of the rule set needs, so a round of classic
+ * Rock Paper Scissors takes 6 bits and ten rounds share a single {@code long}. Rounds never straddle two
+ * words, so reading round {@code k} is a division, a load and a shift.
+ * <p>
+ * The history is a ring: once it holds {@link #getCapacity()} rounds, every new round replaces the oldest one,
+ * so the memory of a game stays the same however many rounds it runs.
+ * <p>
+ * Not thread-safe, written by the thread resolving the rounds of the game.
+ */
+public final class RoundHistory {
+
+    private static final Logger logger = LoggerFactory.getLogger(RoundHistory.class);
+
+    /** Winner index of a drawn round */
+    public static final int DRAW = 0;
+
+    /** Winner index of a round won by player 1 */
+    public static final int PLAYER1 = 1;
+
+    /** Winner index of a round won by player 2 */
+    public static final int PLAYER2 = 2;
+
+    /** Bits holding the winner index of a round */
+    private static final int WINNER_BITS = 2;
+
+    /** Packed rounds */
+    private final long[] words;
+
+    /** Bits per move */
+    private final int moveBits;
+
+    /** Bits per round, two moves and the winner */
+    private final int roundBits;
+
+    /** Rounds packed into one word */
+    private final int roundsPerWord;
+
+    /** Number of recent rounds the history holds. */
+    @Getter
+    private final int capacity;
+
+    /** Number of rounds recorded so far, including the ones replaced by newer rounds. */
+    @Getter
+    private int size;
+
+    /**
+     * Constructs an empty history.
+     *
+     * @param capacity number of recent rounds the history holds
+     * @param ruleSet the rule set the moves are taken from
+     * @throws IllegalArgumentException if {@code capacity} is not positive
+     */
+    public RoundHistory(int capacity, RuleSet ruleSet) {
+        if (capacity < 1) {
+            logger.error("Round history can't be created with a capacity of {}, it must hold at least one round", capacity);
+            throw new IllegalArgumentException("Round history capacity must be positive");
+        }
+        this.capacity = capacity;
+        this.moveBits = Integer.SIZE - Integer.numberOfLeadingZeros(ruleSet.getMoveCount() - 1);
+        this.roundBits = 2 * moveBits + WINNER_BITS;
+        this.roundsPerWord = Long.SIZE / roundBits;
+        this.words = new long[(capacity + roundsPerWord - 1) / roundsPerWord];
+    }
+
+    /**
+     * Records the next round, replacing the oldest round if the history is full.
+     *
+     * @param player1Move move of player 1
+     * @param player2Move move of player 2
+     * @param winner {@link #DRAW}, {@link #PLAYER1} or {@link #PLAYER2}
+     */
+    public void add(Move player1Move, Move player2Move, int winner) {
+        long round = ((long) winner << (2 * moveBits)) | ((long) player2Move.ordinal() << moveBits) | player1Move.ordinal();
+        int slot = size % capacity;
+        int shift = (slot % roundsPerWord) * roundBits;
+        int word = slot / roundsPerWord;
+        words[word] = (words[word] & ~(roundMask() << shift)) | (round << shift);
+        size++;
+    }
+
+    /**
+     * Counts rounds whose moves are not known, e.g. the rounds of a restored game that were no longer held
+     * when it was saved. Skipped rounds hold no moves, so they must be followed by the rounds that were
+     * still held before the history is read.
+     *
+     * @param rounds number of rounds to skip
+     * @throws IllegalArgumentException if {@code rounds} is negative
+     */
+    public void skip(int rounds) {
+        if (rounds < 0) {
+            logger.error("This code should never be executed! Round history can't skip {} rounds. On this call, rounds are never negative, check for corruption", rounds);
+            throw new IllegalArgumentException("Skipped rounds can't be negative");
+        }
+        size += rounds;
+    }
+
+    /**
+     * Returns the oldest round still held by the history.
+     *
+     * @return index of the oldest readable round, 0-based
+     */
+    public int getOldestRound() {
+        return Math.max(0, size - capacity);
+    }
+
+    /**
+     * Returns the move of player 1 in a recorded round.
+     *
+     * @param round index of the round, 0-based
+     * @return the move
+     * @throws IndexOutOfBoundsException if the round is not recorded or already replaced
+     */
+    public Move player1Move(int round) {
+        return Move.fromOrdinal((int) (packed(round) & moveMask()));
+    }
+
+    /**
+     * Returns the move of player 2 in a recorded round.
+     *
+     * @param round index of the round, 0-based
+     * @return the move
+     * @throws IndexOutOfBoundsException if the round is not recorded or already replaced
+     */
+    public Move player2Move(int round) {
+        return Move.fromOrdinal((int) ((packed(round) >>> moveBits) & moveMask()));
+    }
+
+    /**
+     * Returns the winner of a recorded round.
+     *
+     * @param round index of the round, 0-based
+     * @return {@link #DRAW}, {@link #PLAYER1} or {@link #PLAYER2}
+     * @throws IndexOutOfBoundsException if the round is not recorded or already replaced
+     */
+    public int winner(int round) {
+        return (int) (packed(round) >>> (2 * moveBits));
+    }
+
+    private long packed(int round) {
+        if (round < getOldestRound() || round >= size) {
+            throw new IndexOutOfBoundsException("Round " + round + " is not held, rounds " + getOldestRound() + " to " + (size - 1) + " are");
+        }
+        int slot = round % capacity;
+        return (words[slot / roundsPerWord] >>> ((slot % roundsPerWord) * roundBits)) & roundMask();
+    }
+
+    private long roundMask() {
+        return (1L << roundBits) - 1;
+    }
+
+    private long moveMask() {
+        return (1L << moveBits) - 1;
+    }
+}
@@ -0,0 +1,63 @@
+package com.mourat.rockpaperscissors.domain.model;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight recorder event of a round played by {@link Game#playRound}, committed by the thread resolving the round.
+ * <p>
+ * Disabled by default, a recording of a busy engine would hold millions of rounds per second. Enable it
+ * explicitly, e.g. with {@code -XX:StartFlightRecording:+com.mourat.rockpaperscissors.RoundResolved#enabled=true}.
+ * Rounds replayed after a restart are not recorded.
+ */
+@Name("com.mourat.rockpaperscissors.RoundResolved")
+@Label("Round Resolved")
+@Category({"Rock Paper Scissors", "Game"})
+@Description("A round of a game was played")
+@Enabled(false)
+@StackTrace(false)
+class RoundResolvedEvent extends Event {
+
+    @Label("Game Id")
+    String gameId;
+
+    @Label("Round")
+    @Description("Number of the round, starting at 1")
+    int round;
+
+    @Label("Player 1 Move")
+    String player1Move;
+
+    @Label("Player 2 Move")
+    String player2Move;
+
+    @Label("Winner")
+    @Description("Winner of the round: 0 for a draw, 1 for player 1, 2 for player 2")
+    int winner;
+
+    /**
+     * Records a played round if the event is enabled. The event is only filled in when it is recorded.
+     *
+     * @param game the game of the round
+     * @param round number of the round
+     * @param roundResult the result of the round
+     * @param winner winner of the round, {@link RoundHistory#DRAW}, {@link RoundHistory#PLAYER1} or {@link RoundHistory#PLAYER2}
+     */
+    static void commit(Game game, int round, RoundResult roundResult, int winner) {
+        RoundResolvedEvent event = new RoundResolvedEvent();
+        if (!event.isEnabled()) {
+            return;
+        }
+        event.gameId = game.getId().toString();
+        event.round = round;
+        event.player1Move = roundResult.player1Move().name();
+        event.player2Move = roundResult.player2Move().name();
+        event.winner = winner;
+        event.commit();
+    }
+}
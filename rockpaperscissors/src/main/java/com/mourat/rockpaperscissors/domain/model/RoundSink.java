@@ -0,0 +1,57 @@
+package com.mourat.rockpaperscissors.domain.model;
+
+/**
+ * Receives every round of the games it is attached to, e.g. to keep the full history of games longer
+ * than the recent rounds a {@link Game} holds in memory, along with the players and the start and end of the games.
+ * <p>
+ * Called by the thread resolving the rounds of a game, in round order, so implementations should return quickly.
+ */
+@FunctionalInterface
+public interface RoundSink {
+
+    /** Sink dropping every round */
+    RoundSink NONE = (game, round, roundResult) -> { };
+
+    /**
+     * Receives a newly created player, before any of its games.
+     *
+     * @param player the created player
+     */
+    default void playerCreated(Player player) {
+    }
+
+    /**
+     * Receives a game whose second player joined, before its first round.
+     *
+     * @param game the started game
+     */
+    default void gameStarted(Game game) {
+    }
+
+    /**
+     * Receives a played round.
+     *
+     * @param game the game the round belongs to
+     * @param round number of the round (1-based)
+     * @param roundResult the result of the round
+     */
+    void roundPlayed(Game game, int round, RoundResult roundResult);
+
+    /**
+     * Receives the result of a finished game, after its last round.
+     *
+     * @param game the finished game
+     * @param result the final result of the game
+     */
+    default void gameFinished(Game game, GameResult result) {
+    }
+
+    /**
+     * Receives a started game that won't be played to its end, e.g. because its session expired. No rounds of
+     * the game follow, though a round being resolved at that moment may still be received.
+     *
+     * @param game the abandoned game
+     */
+    default void gameAbandoned(Game game) {
+    }
+}
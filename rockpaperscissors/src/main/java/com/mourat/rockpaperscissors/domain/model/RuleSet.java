@@ -0,0 +1,121 @@
+package com.mourat.rockpaperscissors.domain.model;
+
+import lombok.Getter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The move alphabet a game is played with: the first {@code moveCount} {@link Move}s.
+ * <p>
+ * The move count is odd, so every move beats exactly half of the other moves and the game stays balanced.
+ * With 3 moves it is classic Rock Paper Scissors, with 5 moves Rock Paper Scissors Spock Lizard.
+ * Rule sets are preallocated and shared, one per move count.
+ */
+@Getter
+public final class RuleSet {
+
+    private static final Logger logger = LoggerFactory.getLogger(RuleSet.class);
+
+    /** Minimum number of moves in a rule set. */
+    public static final int MIN_MOVE_COUNT = 3;
+
+    /** Maximum number of moves in a rule set. */
+    public static final int MAX_MOVE_COUNT = Move.MAX_COUNT;
+
+    /** Every rule set, indexed by move count, even counts are left empty */
+    private static final RuleSet[] RULE_SETS = createRuleSets();
+
+    /** Rock Paper Scissors. */
+    public static final RuleSet CLASSIC = RULE_SETS[3];
+
+    /** Rock Paper Scissors Spock Lizard. */
+    public static final RuleSet LIZARD_SPOCK = RULE_SETS[5];
+
+    /** Number of moves in the rule set. */
+    private final int moveCount;
+
+    private RuleSet(int moveCount) {
+        this.moveCount = moveCount;
+    }
+
+    /**
+     * Returns the rule set with the given number of moves.
+     *
+     * @param moveCount number of moves; must be odd and between {@link #MIN_MOVE_COUNT} and {@link #MAX_MOVE_COUNT}
+     * @return the rule set
+     * @throws IllegalArgumentException if the move count is not valid
+     */
+    public static RuleSet of(int moveCount) {
+        if (!isValidMoveCount(moveCount)) {
+            logger.warn("A rule set with invalid move count {} is requested", moveCount);
+            throw new IllegalArgumentException("Move count must be an odd number between " + MIN_MOVE_COUNT + " and " + MAX_MOVE_COUNT);
+        }
+        return RULE_SETS[moveCount];
+    }
+
+    /**
+     * Checks whether a rule set can have the given number of moves.
+     *
+     * @param moveCount number of moves
+     * @return {@code true} if the move count is odd and between {@link #MIN_MOVE_COUNT} and {@link #MAX_MOVE_COUNT}
+     */
+    public static boolean isValidMoveCount(int moveCount) {
+        return moveCount >= MIN_MOVE_COUNT && moveCount <= MAX_MOVE_COUNT && (moveCount & 1) == 1;
+    }
+
+    /**
+     * Checks whether a move is part of the rule set.
+     *
+     * @param move the move to check
+     * @return {@code true} if the move can be played in games of this rule set
+     */
+    public boolean contains(Move move) {
+        return move != null && move.ordinal() < moveCount;
+    }
+
+    /**
+     * Returns the moves of the rule set. Allocates a new array on every call.
+     *
+     * @return the moves, in ordinal order
+     */
+    public Move[] moves() {
+        Move[] moves = new Move[moveCount];
+        for (int ordinal = 0; ordinal < moveCount; ordinal++) {
+            moves[ordinal] = Move.fromOrdinal(ordinal);
+        }
+        return moves;
+    }
+
+    /**
+     * Returns the number of move combinations of a round.
+     *
+     * @return the square of the move count
+     */
+    public int combinations() {
+        return moveCount * moveCount;
+    }
+
+    /**
+     * Returns the position of a move combination in tables covering every combination of the rule set.
+     *
+     * @param player1Move move of the first player; must be part of the rule set
+     * @param player2Move move of the second player; must be part of the rule set
+     * @return the index of the combination, below {@link #combinations()}
+     */
+    public int roundIndex(Move player1Move, Move player2Move) {
+        return player1Move.ordinal() * moveCount + player2Move.ordinal();
+    }
+
+    @Override
+    public String toString() {
+        return "RuleSet[" + moveCount + " moves]";
+    }
+
+    private static RuleSet[] createRuleSets() {
+        RuleSet[] ruleSets = new RuleSet[MAX_MOVE_COUNT + 1];
+        for (int moveCount = MIN_MOVE_COUNT; moveCount <= MAX_MOVE_COUNT; moveCount += 2) {
+            ruleSets[moveCount] = new RuleSet(moveCount);
+        }
+        return ruleSets;
+    }
+}
@@ -3,15 +3,27 @@ package com.mourat.rockpaperscissors.domain.service;
 import com.mourat.rockpaperscissors.domain.model.Move;
 import com.mourat.rockpaperscissors.domain.model.Player;
 import com.mourat.rockpaperscissors.domain.model.RoundResult;
+import com.mourat.rockpaperscissors.domain.model.RuleSet;
 
 /**
  * Defines the game rules for determining the round winner.
  * Intended to be used by the application layer.
+ * <p>
+ * Every game is played with its own {@link RuleSet}, which decides the moves the players can choose from.
  */
 public interface GameRulesService {
 
+    /** Outcome of a round nobody won */
+    int DRAW = 0;
+
+    /** Outcome of a round won by the first player */
+    int PLAYER1_WINS = 1;
+
+    /** Outcome of a round won by the second player */
+    int PLAYER2_WINS = 2;
+
     /**
-     * Determines the winner of a round.
+     * Determines the winner of a round of classic Rock Paper Scissors.
      * Assumes all inputs are already validated.
      * <p>
      * Logic:
@@ -27,5 +39,61 @@ public interface GameRulesService {
      * @param player2Move move of the second player
      * @return {@link RoundResult} representing the outcome
      */
-    RoundResult checkRoundWinner(Player player1, Move player1Move, Player player2, Move player2Move);
+    default RoundResult checkRoundWinner(Player player1, Move player1Move, Player player2, Move player2Move) {
+        return checkRoundWinner(RuleSet.CLASSIC, player1, player1Move, player2, player2Move);
+    }
+
+    /**
+     * Determines the winner of a round played with the given rule set.
+     *
+     * @param ruleSet     the rule set of the game
+     * @param player1     the first player
+     * @param player1Move move of the first player
+     * @param player2     the second player
+     * @param player2Move move of the second player
+     * @return {@link RoundResult} representing the outcome
+     */
+    RoundResult checkRoundWinner(RuleSet ruleSet, Player player1, Move player1Move, Player player2, Move player2Move);
+
+    /**
+     * Determines the outcome of a round without allocating.
+     * Assumes both moves are part of the rule set.
+     *
+     * @param ruleSet     the rule set of the game
+     * @param player1Move move of the first player
+     * @param player2Move move of the second player
+     * @return {@link #DRAW}, {@link #PLAYER1_WINS} or {@link #PLAYER2_WINS}
+     */
+    int outcomeOf(RuleSet ruleSet, Move player1Move, Move player2Move);
+
+    /**
+     * Determines the outcome of every possible round once, so the outcome of a round can be looked up
+     * instead of determined. The outcome of the moves {@code a} and {@code b} is at index
+     * {@link RuleSet#roundIndex(Move, Move) ruleSet.roundIndex(a, b)}.
+     *
+     * @param ruleSet the rule set of the game
+     * @return the {@link #outcomeOf outcomes} of all move combinations
+     */
+    default byte[] outcomeTable(RuleSet ruleSet) {
+        Move[] moves = ruleSet.moves();
+        byte[] outcomes = new byte[ruleSet.combinations()];
+        for (Move player1Move : moves) {
+            for (Move player2Move : moves) {
+                outcomes[ruleSet.roundIndex(player1Move, player2Move)] = (byte) outcomeOf(ruleSet, player1Move, player2Move);
+            }
+        }
+        return outcomes;
+    }
+
+    /**
+     * Builds every possible {@link RoundResult} between two players, so the result of a round can
+     * be looked up instead of created. The result of the moves {@code a} and {@code b} is at index
+     * {@link RuleSet#roundIndex(Move, Move) ruleSet.roundIndex(a, b)}.
+     *
+     * @param ruleSet the rule set of the game
+     * @param player1 the first player
+     * @param player2 the second player
+     * @return the results of all move combinations
+     */
+    RoundResult[] roundResultTable(RuleSet ruleSet, Player player1, Player player2);
 }
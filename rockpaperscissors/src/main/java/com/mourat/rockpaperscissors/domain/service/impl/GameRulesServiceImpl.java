@@ -3,6 +3,7 @@ package com.mourat.rockpaperscissors.domain.service.impl;
 import com.mourat.rockpaperscissors.domain.model.Move;
 import com.mourat.rockpaperscissors.domain.model.Player;
 import com.mourat.rockpaperscissors.domain.model.RoundResult;
+import com.mourat.rockpaperscissors.domain.model.RuleSet;
 import com.mourat.rockpaperscissors.domain.service.GameRulesService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -11,16 +12,28 @@ import org.springframework.stereotype.Service;
 /**
  * Implements {@link GameRulesService} to apply round-based rules.
  * Validates and determines the winner of each round.
+ * <p>
+ * The moves of a rule set are arranged in a circle by ordinal. A move beats the moves an odd
+ * number of steps behind it and loses to the ones an even number of steps behind it, so the
+ * winner is found with modular arithmetic for any number of moves. For the first five moves this
+ * gives the usual rules of Rock Paper Scissors Spock Lizard, e.g. SPOCK, three steps ahead of ROCK,
+ * vaporizes it.
  */
 @Service
 public class GameRulesServiceImpl implements GameRulesService {
 
     private static Logger logger = LoggerFactory.getLogger(GameRulesServiceImpl.class);
+
     /**
      * {@inheritDoc}
      */
     @Override
-    public RoundResult checkRoundWinner(Player player1, Move player1Move, Player player2, Move player2Move) {
+    public RoundResult checkRoundWinner(RuleSet ruleSet, Player player1, Move player1Move, Player player2, Move player2Move) {
+        if (ruleSet == null) {
+            logger.error("Rule set can't be null on record creation. Check for corruption");
+            throw new IllegalArgumentException("Rule set can't be null.");
+        }
+
         if (player1 == null || player2 == null) {
             logger.error("Players can't be null on record creation. Check for corruption");
             throw new IllegalArgumentException("Players can't be null.");
@@ -31,14 +44,60 @@ public class GameRulesServiceImpl implements GameRulesService {
             throw new IllegalArgumentException("Moves can't be null.");
         }
 
-        if (player1Move == player2Move) {
-            return new RoundResult(player1Move, player2Move, null);
+        if (!ruleSet.contains(player1Move) || !ruleSet.contains(player2Move)) {
+            logger.error("Moves \"{}\" and \"{}\" are not both part of the {}. Check for corruption", player1Move, player2Move, ruleSet);
+            throw new IllegalArgumentException("Moves must be part of the rule set.");
+        }
+
+        return newRoundResult(ruleSet, player1, player1Move, player2, player2Move);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int outcomeOf(RuleSet ruleSet, Move player1Move, Move player2Move) {
+        int distance = player1Move.ordinal() - player2Move.ordinal();
+        if (distance == 0) {
+            return DRAW;
         }
+        if (distance < 0) {
+            distance += ruleSet.getMoveCount();
+        }
+        // Odd distances are wins of the first player, even ones wins of the second
+        return 2 - (distance & 1);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public RoundResult[] roundResultTable(RuleSet ruleSet, Player player1, Player player2) {
+        if (ruleSet == null) {
+            logger.error("Rule set can't be null on record creation. Check for corruption");
+            throw new IllegalArgumentException("Rule set can't be null.");
+        }
+
+        if (player1 == null || player2 == null) {
+            logger.error("Players can't be null on record creation. Check for corruption");
+            throw new IllegalArgumentException("Players can't be null.");
+        }
+
+        Move[] moves = ruleSet.moves();
+        RoundResult[] table = new RoundResult[ruleSet.combinations()];
+        for (Move player1Move : moves) {
+            for (Move player2Move : moves) {
+                table[ruleSet.roundIndex(player1Move, player2Move)] = newRoundResult(ruleSet, player1, player1Move, player2, player2Move);
+            }
+        }
+        return table;
+    }
 
-        return ((player1Move == Move.ROCK && player2Move == Move.SCISSORS) ||
-                (player1Move == Move.PAPER && player2Move == Move.ROCK) ||
-                (player1Move == Move.SCISSORS && player2Move == Move.PAPER))
-                ? new RoundResult(player1Move, player2Move, player1)
-                : new RoundResult(player1Move, player2Move, player2);
+    private RoundResult newRoundResult(RuleSet ruleSet, Player player1, Move player1Move, Player player2, Move player2Move) {
+        return switch (outcomeOf(ruleSet, player1Move, player2Move)) {
+            case PLAYER1_WINS -> new RoundResult(player1Move, player2Move, player1);
+            case PLAYER2_WINS -> new RoundResult(player1Move, player2Move, player2);
+            default -> new RoundResult(player1Move, player2Move, null);
+        };
     }
 }
@@ -0,0 +1,73 @@
+package com.mourat.rockpaperscissors.infrastructure.management;
+
+import java.util.Map;
+
+/**
+ * Live view of the game engine over JMX, e.g. to watch a soak run with jconsole. Counters grow from the
+ * start of the application, gauges show the current state.
+ */
+public interface GameEngineMXBean {
+
+    /** Name the engine is registered under */
+    String OBJECT_NAME = "com.mourat.rockpaperscissors:type=GameEngine";
+
+    /**
+     * @return the number of registered players
+     */
+    long getRegisteredPlayers();
+
+    /**
+     * @return the number of sessions waiting for a second player
+     */
+    long getWaitingSessions();
+
+    /**
+     * @return the number of running sessions
+     */
+    long getActiveSessions();
+
+    /**
+     * @return the number of sessions whose game was played to the end
+     */
+    long getCompletedSessions();
+
+    /**
+     * @return the number of sessions expired because nobody joined or moved in time
+     */
+    long getExpiredSessions();
+
+    /**
+     * @return the number of resolved rounds
+     */
+    long getRoundsResolved();
+
+    /**
+     * @return the rounds resolved per second since the previous read of this rate, at least a second ago
+     */
+    double getRoundsResolvedPerSecond();
+
+    /**
+     * @return the number of rejected moves
+     */
+    long getRejectedMoves();
+
+    /**
+     * @return the number of rejected moves by reason
+     */
+    Map<String, Long> getRejectedMovesByReason();
+
+    /**
+     * @return the number of moves whose player blocked waiting for the opponent
+     */
+    long getBarrierWaits();
+
+    /**
+     * @return the total time players blocked waiting for their opponents, in milliseconds
+     */
+    double getBarrierWaitTotalMillis();
+
+    /**
+     * @return the mean time a player blocked waiting for the opponent, in microseconds
+     */
+    double getBarrierWaitMeanMicros();
+}
@@ -0,0 +1,177 @@
+package com.mourat.rockpaperscissors.infrastructure.management;
+
+import com.mourat.rockpaperscissors.application.dto.RunnerError;
+import com.mourat.rockpaperscissors.application.services.GameMetrics;
+import com.mourat.rockpaperscissors.application.services.impl.GameRunnerServiceImpl;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.InstanceNotFoundException;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Publishes the {@link GameMetrics} and the state of the {@link GameRunnerServiceImpl} as a {@link GameEngineMXBean}
+ * on the platform MBean server.
+ * <p>
+ * Nothing is counted here: gauges are read from the runner and counters are summed from the metrics when a
+ * JMX client reads them, so the engine pays nothing for an unobserved monitor.
+ */
+@Component
+public class GameEngineMonitor implements GameEngineMXBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(GameEngineMonitor.class);
+
+    /** Shortest period the round rate is measured over */
+    private static final long MIN_RATE_PERIOD_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final GameRunnerServiceImpl gameRunner;
+    private final GameMetrics metrics;
+
+    /** Name the monitor is registered under, {@code null} while it is not registered */
+    private ObjectName registeredName;
+
+    /** Resolved rounds at the previous measurement of the round rate */
+    private long rateRounds;
+
+    /** Time of the previous measurement of the round rate, from {@link System#nanoTime()} */
+    private long rateTime;
+
+    /** Round rate of the previous measurement */
+    private double roundsPerSecond;
+
+    public GameEngineMonitor(GameRunnerServiceImpl gameRunner, GameMetrics metrics) {
+        this.gameRunner = gameRunner;
+        this.metrics = metrics;
+        this.rateRounds = metrics.roundsResolved();
+        this.rateTime = System.nanoTime();
+    }
+
+    /**
+     * Registers the monitor on the platform MBean server. A monitor already registered, e.g. by another
+     * application context in the same JVM, is kept and this one is left unregistered.
+     *
+     * @throws JMException if the monitor can't be registered
+     */
+    @PostConstruct
+    public void register() throws JMException {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName name = new ObjectName(OBJECT_NAME);
+        try {
+            server.registerMBean(this, name);
+            registeredName = name;
+            logger.info("Game engine metrics are published over JMX as \"{}\"", OBJECT_NAME);
+        } catch (InstanceAlreadyExistsException e) {
+            logger.warn("Game engine metrics are already published over JMX as \"{}\", this engine is not published", OBJECT_NAME);
+        }
+    }
+
+    /**
+     * Removes the monitor from the platform MBean server if it was registered.
+     */
+    @PreDestroy
+    public void unregister() {
+        if (registeredName == null) {
+            return;
+        }
+        try {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(registeredName);
+        } catch (InstanceNotFoundException e) {
+            logger.warn("Game engine metrics \"{}\" were already removed from JMX", registeredName);
+        } catch (JMException e) {
+            logger.warn("Game engine metrics \"{}\" can't be removed from JMX: {}", registeredName, e.getMessage());
+        }
+        registeredName = null;
+    }
+
+    @Override
+    public long getRegisteredPlayers() {
+        return gameRunner.playerCount();
+    }
+
+    @Override
+    public long getWaitingSessions() {
+        return gameRunner.openSessionCount();
+    }
+
+    @Override
+    public long getActiveSessions() {
+        return gameRunner.activeSessionCount();
+    }
+
+    @Override
+    public long getCompletedSessions() {
+        return metrics.sessionsCompleted();
+    }
+
+    @Override
+    public long getExpiredSessions() {
+        return metrics.sessionsExpired();
+    }
+
+    @Override
+    public long getRoundsResolved() {
+        return metrics.roundsResolved();
+    }
+
+    /**
+     * {@inheritDoc}
+     * @implNote Reads within a second of the previous measurement return the previous rate, so clients polling
+     * quickly don't see the noise of tiny periods.
+     */
+    @Override
+    public synchronized double getRoundsResolvedPerSecond() {
+        long now = System.nanoTime();
+        long period = now - rateTime;
+        if (period >= MIN_RATE_PERIOD_NANOS) {
+            long rounds = metrics.roundsResolved();
+            roundsPerSecond = (rounds - rateRounds) * 1e9 / period;
+            rateRounds = rounds;
+            rateTime = now;
+        }
+        return roundsPerSecond;
+    }
+
+    @Override
+    public long getRejectedMoves() {
+        long rejected = 0;
+        for (long count : metrics.movesRejected().values()) {
+            rejected += count;
+        }
+        return rejected;
+    }
+
+    @Override
+    public Map<String, Long> getRejectedMovesByReason() {
+        Map<String, Long> byReason = new LinkedHashMap<>();
+        for (Map.Entry<RunnerError, Long> entry : metrics.movesRejected().entrySet()) {
+            byReason.put(entry.getKey().name(), entry.getValue());
+        }
+        return byReason;
+    }
+
+    @Override
+    public long getBarrierWaits() {
+        return metrics.barrierWaits();
+    }
+
+    @Override
+    public double getBarrierWaitTotalMillis() {
+        return metrics.barrierWaitNanos() / 1e6;
+    }
+
+    @Override
+    public double getBarrierWaitMeanMicros() {
+        long waits = metrics.barrierWaits();
+        return waits == 0 ? 0 : metrics.barrierWaitNanos() / 1e3 / waits;
+    }
+}
@@ -0,0 +1,359 @@
+package com.mourat.rockpaperscissors.infrastructure.persistence;
+
+import com.mourat.rockpaperscissors.application.model.ArchivedGame;
+import com.mourat.rockpaperscissors.domain.model.Move;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Append-only binary file holding archived games that were evicted from memory.
+ * <p>
+ * Every record is length prefixed and self-contained. Only an index from game id to file offset is
+ * kept in memory; it is rebuilt with a sequential scan when an existing file is opened, and a torn
+ * record left at the end of the file by a crash is cut off.
+ * <p>
+ * The index is an open addressing table of primitive slots, each holding the hash of a game id and the
+ * offset of its record: 16 bytes per slot, without a key or value object per game. A matching hash is
+ * confirmed by the game id in the record itself.
+ * <p>
+ * Appends must be serialized by the caller, lookups may run concurrently with appends. Every game is
+ * expected to be appended once.
+ */
+public class GameArchiveFile implements Closeable {
+
+    private static final Logger logger = LoggerFactory.getLogger(GameArchiveFile.class);
+
+    /** Size of the record body without the two player names */
+    private static final int FIXED_BODY_SIZE = 6 * Long.BYTES + 4 * Integer.BYTES + 4 + 2 * Short.BYTES;
+
+    /** Upper bound for a single record, protects the reader from a corrupted length prefix */
+    private static final int MAX_RECORD_SIZE = 4096;
+
+    /** Bytes a player name may take, so that every appended record stays within {@link #MAX_RECORD_SIZE} */
+    private static final int MAX_NAME_SIZE = (MAX_RECORD_SIZE - FIXED_BODY_SIZE) / 2;
+
+    /** Slots of the index when a file is opened, a power of two */
+    private static final int INITIAL_INDEX_SLOTS = 1024;
+
+    /** Most games a file can index, so the slots fit into an array */
+    private static final int MAX_GAMES = 1 << 28;
+
+    /** Channel to the archive file */
+    private final FileChannel channel;
+
+    /**
+     * Index of the games stored in the file: the hash of the game id, never 0, followed by the file offset of
+     * its record, for every slot. A slot with a 0 hash is empty. A grown index replaces the whole array.
+     */
+    private volatile AtomicLongArray index;
+
+    /** Number of games in the index, only changed by the appending thread */
+    private volatile int size;
+
+    /** Offset where the next record is appended */
+    private long end;
+
+    /**
+     * Opens the archive file, creating it if it doesn't exist.
+     *
+     * @param path location of the archive file
+     * @throws IOException if the file can't be opened or read
+     */
+    public GameArchiveFile(Path path) throws IOException {
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        this.index = new AtomicLongArray(2 * INITIAL_INDEX_SLOTS);
+        this.end = rebuildIndex();
+        logger.info("Game archive file \"{}\" opened with {} archived games", path, size);
+    }
+
+    /**
+     * Appends a game to the file. Player names longer than {@link #MAX_NAME_SIZE} bytes are stored stripped and
+     * cut to fit, so the record can be read back.
+     *
+     * @param game the game to append
+     * @throws IOException if the record can't be written, or the file holds the most games it can index
+     */
+    public void append(ArchivedGame game) throws IOException {
+        if (size >= MAX_GAMES) {
+            throw new IOException("Game archive file can't index more than " + MAX_GAMES + " games");
+        }
+        byte[] name1 = encodeName(game.player1Name());
+        byte[] name2 = encodeName(game.player2Name());
+        int bodySize = FIXED_BODY_SIZE + name1.length + name2.length;
+
+        ByteBuffer buffer = ByteBuffer.allocate(Integer.BYTES + bodySize);
+        buffer.putInt(bodySize);
+        putUuid(buffer, game.gameId());
+        putUuid(buffer, game.player1Id());
+        putUuid(buffer, game.player2Id());
+        buffer.putInt(game.rounds());
+        buffer.putInt(game.player1Score());
+        buffer.putInt(game.player2Score());
+        buffer.putInt(game.draws());
+        buffer.put((byte) game.winner());
+        buffer.put((byte) game.player1LastMove().ordinal());
+        buffer.put((byte) game.player2LastMove().ordinal());
+        buffer.put((byte) game.lastRoundWinner());
+        buffer.putShort((short) name1.length);
+        buffer.put(name1);
+        buffer.putShort((short) name2.length);
+        buffer.put(name2);
+        buffer.flip();
+
+        long offset = end;
+        while (buffer.hasRemaining()) {
+            channel.write(buffer, end + buffer.position());
+        }
+        end += buffer.limit();
+        indexRecord(game.gameId(), offset);
+    }
+
+    /**
+     * Reads a game from the file.
+     *
+     * @param gameId id of the game
+     * @return the archived game, or {@code null} if the game is not in the file
+     * @throws IOException if the record can't be read
+     */
+    public ArchivedGame find(UUID gameId) throws IOException {
+        long hash = hash(gameId);
+        AtomicLongArray slots = index;
+        int mask = slots.length() / 2 - 1;
+
+        for (int slot = (int) hash & mask; ; slot = (slot + 1) & mask) {
+            long slotHash = slots.get(2 * slot);
+            if (slotHash == 0) {
+                return null;
+            }
+            if (slotHash != hash) {
+                continue;
+            }
+
+            ByteBuffer body = readRecord(slots.get(2 * slot + 1));
+            if (body == null) {
+                logger.error("Archived game \"{}\" is indexed but its record can't be read. Check for corruption", gameId);
+                return null;
+            }
+            if (body.getLong(0) == gameId.getMostSignificantBits() && body.getLong(Long.BYTES) == gameId.getLeastSignificantBits()) {
+                return decode(body);
+            }
+        }
+    }
+
+    /**
+     * Returns the number of games stored in the file.
+     *
+     * @return the number of archived games in the file
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void close() throws IOException {
+        channel.force(true);
+        channel.close();
+    }
+
+    /**
+     * Scans the whole file, indexing every complete record and cutting off a torn tail.
+     *
+     * @return offset right after the last complete record
+     * @throws IOException if the file can't be read
+     */
+    private long rebuildIndex() throws IOException {
+        long position = 0;
+        ByteBuffer body;
+
+        while ((body = readRecord(position)) != null) {
+            indexRecord(new UUID(body.getLong(0), body.getLong(Long.BYTES)), position);
+            position += Integer.BYTES + body.capacity();
+        }
+
+        if (position < channel.size()) {
+            logger.warn("Game archive file has {} bytes of incomplete data at its end, truncating", channel.size() - position);
+            channel.truncate(position);
+        }
+        return position;
+    }
+
+    /**
+     * Adds a record to the index, growing it to keep at least a quarter of its slots empty.
+     *
+     * @param gameId id of the game in the record
+     * @param offset file offset of the record
+     */
+    private void indexRecord(UUID gameId, long offset) {
+        AtomicLongArray slots = index;
+        if (size + 1 > slots.length() / 2 * 3 / 4) {
+            AtomicLongArray grown = new AtomicLongArray(2 * slots.length());
+            for (int slot = 0; slot < slots.length() / 2; slot++) {
+                long hash = slots.get(2 * slot);
+                if (hash != 0) {
+                    putSlot(grown, hash, slots.get(2 * slot + 1));
+                }
+            }
+            slots = grown;
+            index = grown;
+        }
+        putSlot(slots, hash(gameId), offset);
+        size++;
+    }
+
+    /**
+     * Puts an offset into the first empty slot from the position of its hash. The offset is written before the
+     * hash, so a reader seeing the hash sees the offset.
+     *
+     * @param slots the index to put the offset into
+     * @param hash hash of the game id
+     * @param offset file offset of the record
+     */
+    private static void putSlot(AtomicLongArray slots, long hash, long offset) {
+        int mask = slots.length() / 2 - 1;
+        int slot = (int) hash & mask;
+        while (slots.get(2 * slot) != 0) {
+            slot = (slot + 1) & mask;
+        }
+        slots.set(2 * slot + 1, offset);
+        slots.set(2 * slot, hash);
+    }
+
+    /**
+     * Spreads the bits of a game id into the hash the index is keyed by.
+     *
+     * @param gameId id of the game
+     * @return the hash, never 0
+     */
+    private static long hash(UUID gameId) {
+        long hash = gameId.getMostSignificantBits() * 0x9E3779B97F4A7C15L ^ gameId.getLeastSignificantBits();
+        hash ^= hash >>> 33;
+        hash *= 0xFF51AFD7ED558CCDL;
+        hash ^= hash >>> 33;
+        return hash == 0 ? 1 : hash;
+    }
+
+    /**
+     * Reads the body of the record starting at the given offset.
+     *
+     * @param offset file offset of the record
+     * @return the record body, or {@code null} if there is no complete record at the offset
+     * @throws IOException if the file can't be read
+     */
+    private ByteBuffer readRecord(long offset) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(Integer.BYTES);
+        if (!readFully(header, offset)) {
+            return null;
+        }
+
+        int bodySize = header.getInt(0);
+        if (bodySize < FIXED_BODY_SIZE || bodySize > MAX_RECORD_SIZE) {
+            return null;
+        }
+
+        ByteBuffer body = ByteBuffer.allocate(bodySize);
+        if (!readFully(body, offset + Integer.BYTES)) {
+            return null;
+        }
+        return body.flip();
+    }
+
+    /**
+     * Fills the buffer from the given offset.
+     *
+     * @param buffer buffer to fill
+     * @param offset file offset to read from
+     * @return {@code false} if the end of the file was reached before the buffer was filled
+     * @throws IOException if the file can't be read
+     */
+    private boolean readFully(ByteBuffer buffer, long offset) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, offset + buffer.position()) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Decodes a record body into an archived game.
+     *
+     * @param body the record body
+     * @return the decoded game
+     */
+    private static ArchivedGame decode(ByteBuffer body) {
+        UUID gameId = getUuid(body);
+        UUID player1Id = getUuid(body);
+        UUID player2Id = getUuid(body);
+        int rounds = body.getInt();
+        int player1Score = body.getInt();
+        int player2Score = body.getInt();
+        int draws = body.getInt();
+        int winner = body.get();
+        Move player1LastMove = Move.fromOrdinal(body.get());
+        Move player2LastMove = Move.fromOrdinal(body.get());
+        int lastRoundWinner = body.get();
+        String player1Name = getString(body);
+        String player2Name = getString(body);
+
+        return new ArchivedGame(gameId, player1Id, player1Name, player2Id, player2Name,
+                rounds, player1Score, player2Score, draws, winner,
+                player1LastMove, player2LastMove, lastRoundWinner);
+    }
+
+    /**
+     * Encodes a player name, stripping and cutting it if it takes more than {@link #MAX_NAME_SIZE} bytes.
+     *
+     * @param name the player name
+     * @return the UTF-8 encoded name, at most {@link #MAX_NAME_SIZE} bytes long
+     */
+    private static byte[] encodeName(String name) {
+        byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length <= MAX_NAME_SIZE) {
+            return bytes;
+        }
+        bytes = name.strip().getBytes(StandardCharsets.UTF_8);
+        if (bytes.length <= MAX_NAME_SIZE) {
+            return bytes;
+        }
+        int length = MAX_NAME_SIZE;
+        // Don't cut a multi-byte character in half
+        while (length > 0 && (bytes[length] & 0xC0) == 0x80) {
+            length--;
+        }
+        logger.warn("Player name of {} bytes cut to {} bytes in the game archive file", bytes.length, length);
+        return Arrays.copyOf(bytes, length);
+    }
+
+    private static void putUuid(ByteBuffer buffer, UUID id) {
+        buffer.putLong(id.getMostSignificantBits());
+        buffer.putLong(id.getLeastSignificantBits());
+    }
+
+    private static UUID getUuid(ByteBuffer buffer) {
+        return new UUID(buffer.getLong(), buffer.getLong());
+    }
+
+    private static String getString(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.getShort()];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
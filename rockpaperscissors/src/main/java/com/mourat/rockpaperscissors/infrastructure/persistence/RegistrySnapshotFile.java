@@ -0,0 +1,244 @@
+package com.mourat.rockpaperscissors.infrastructure.persistence;
+
+import com.mourat.rockpaperscissors.application.model.ArchivedGame;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.UUID;
+
+/**
+ * Binary snapshot of the players, the unfinished games and the recently finished games of the application.
+ * <p>
+ * Records are a type byte followed by the fields of the type, written sequentially through a large buffer, so
+ * a snapshot of a million players is a few dozen large writes. The snapshot is written to a temporary file
+ * next to its target and replaces the previous snapshot atomically on {@link #commit()}, so a crash while
+ * writing leaves the previous snapshot intact. The last record holds the number of records, a snapshot
+ * without it is incomplete.
+ * <p>
+ * Not thread-safe, a snapshot is written by a single thread.
+ */
+public class RegistrySnapshotFile implements Closeable {
+
+    private static final Logger logger = LoggerFactory.getLogger(RegistrySnapshotFile.class);
+
+    /** First bytes of every snapshot, "RPSS" */
+    static final int MAGIC = 0x52505353;
+
+    /** Version of the snapshot layout */
+    static final int VERSION = 1;
+
+    /** Type of the last record, holding the number of records before it */
+    static final byte END = 0;
+
+    /** Type of the record of a player */
+    static final byte PLAYER = 1;
+
+    /** Type of the record of an unfinished game */
+    static final byte GAME = 2;
+
+    /** Type of the record of a finished game */
+    static final byte ARCHIVED_GAME = 3;
+
+    /** Size of the write buffer */
+    private static final int BUFFER_SIZE = 1024 * 1024;
+
+    /**
+     * State of an unfinished game, read without stopping its players.
+     *
+     * @param gameId id of the game
+     * @param player1Id id of player 1
+     * @param player2Id id of player 2, {@code null} if the game waits for its second player
+     * @param rounds total rounds of the game
+     * @param moveCount number of moves of the rule set of the game
+     * @param player1Score rounds won by player 1
+     * @param player2Score rounds won by player 2
+     * @param draws drawn rounds
+     * @param recentRounds rounds still held by the game, oldest first, three bytes per round: the ordinals of
+     *                     both moves and the winner index
+     */
+    public record GameRecord(UUID gameId, UUID player1Id, UUID player2Id, int rounds, int moveCount,
+                             int player1Score, int player2Score, int draws, byte[] recentRounds) {
+
+        /** Bytes per round in {@link #recentRounds()} */
+        public static final int ROUND_BYTES = 3;
+    }
+
+    /** Location of the snapshot once committed */
+    private final Path target;
+
+    /** Location the snapshot is written to */
+    private final Path temporary;
+
+    /** Channel to the temporary file */
+    private final FileChannel channel;
+
+    /** Records waiting to be written */
+    private final ByteBuffer buffer;
+
+    /** Number of records written so far */
+    private long records;
+
+    /** Whether the snapshot replaced the previous one */
+    private boolean committed;
+
+    /**
+     * Starts a snapshot, replacing the snapshot at the given location once committed.
+     *
+     * @param target location of the snapshot
+     * @param timestamp time of the snapshot in milliseconds since the epoch
+     * @throws IOException if the temporary file can't be created
+     */
+    public RegistrySnapshotFile(Path target, long timestamp) throws IOException {
+        Path parent = target.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        this.target = target;
+        this.temporary = parent.resolve(target.getFileName() + ".tmp");
+        this.channel = FileChannel.open(temporary, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        this.buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+
+        buffer.putInt(MAGIC);
+        buffer.putInt(VERSION);
+        buffer.putLong(timestamp);
+    }
+
+    /**
+     * Writes the record of a player.
+     *
+     * @param playerId id of the player
+     * @param playerName name of the player
+     * @throws IOException if the buffer can't be written
+     */
+    public void writePlayer(UUID playerId, String playerName) throws IOException {
+        byte[] name = playerName.getBytes(StandardCharsets.UTF_8);
+        reserve(1 + 2 * Long.BYTES + Short.BYTES + name.length);
+        buffer.put(PLAYER);
+        putUuid(playerId);
+        putString(name);
+        records++;
+    }
+
+    /**
+     * Writes the record of an unfinished game. Its players must be written as well.
+     *
+     * @param game the state of the game
+     * @throws IOException if the buffer can't be written
+     */
+    public void writeGame(GameRecord game) throws IOException {
+        reserve(3 + 7 * Integer.BYTES + 6 * Long.BYTES + game.recentRounds().length);
+        buffer.put(GAME);
+        buffer.put((byte) game.moveCount());
+        buffer.put((byte) (game.player2Id() == null ? 0 : 1));
+        buffer.putInt(game.rounds());
+        putUuid(game.gameId());
+        putUuid(game.player1Id());
+        if (game.player2Id() != null) {
+            putUuid(game.player2Id());
+        }
+        buffer.putInt(game.player1Score());
+        buffer.putInt(game.player2Score());
+        buffer.putInt(game.draws());
+        buffer.putInt(game.recentRounds().length);
+        buffer.put(game.recentRounds());
+        records++;
+    }
+
+    /**
+     * Writes the record of a finished game.
+     *
+     * @param game the finished game
+     * @throws IOException if the buffer can't be written
+     */
+    public void writeArchivedGame(ArchivedGame game) throws IOException {
+        byte[] name1 = game.player1Name().getBytes(StandardCharsets.UTF_8);
+        byte[] name2 = game.player2Name().getBytes(StandardCharsets.UTF_8);
+        reserve(1 + 6 * Long.BYTES + 4 * Integer.BYTES + 4 + 2 * Short.BYTES + name1.length + name2.length);
+        buffer.put(ARCHIVED_GAME);
+        putUuid(game.gameId());
+        putUuid(game.player1Id());
+        putUuid(game.player2Id());
+        buffer.putInt(game.rounds());
+        buffer.putInt(game.player1Score());
+        buffer.putInt(game.player2Score());
+        buffer.putInt(game.draws());
+        buffer.put((byte) game.winner());
+        buffer.put((byte) game.player1LastMove().ordinal());
+        buffer.put((byte) game.player2LastMove().ordinal());
+        buffer.put((byte) game.lastRoundWinner());
+        putString(name1);
+        putString(name2);
+        records++;
+    }
+
+    /**
+     * Completes the snapshot, forces it to disk and replaces the previous snapshot with it.
+     *
+     * @return the size of the snapshot in bytes
+     * @throws IOException if the snapshot can't be written or moved to its location
+     */
+    public long commit() throws IOException {
+        reserve(1 + Long.BYTES);
+        buffer.put(END);
+        buffer.putLong(records);
+        drain();
+        long size = channel.size();
+        channel.force(true);
+        channel.close();
+
+        Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        committed = true;
+        logger.debug("Registry snapshot \"{}\" written with {} records", target, records);
+        return size;
+    }
+
+    /**
+     * Discards the snapshot unless it was committed, the previous snapshot stays in place.
+     */
+    @Override
+    public void close() {
+        if (committed) {
+            return;
+        }
+        try {
+            channel.close();
+            Files.deleteIfExists(temporary);
+        } catch (IOException e) {
+            logger.warn("Incomplete registry snapshot \"{}\" can't be removed: {}", temporary, e.getMessage());
+        }
+    }
+
+    /**
+     * Makes room for a record in the buffer, writing out the buffered records if needed.
+     */
+    private void reserve(int size) throws IOException {
+        if (buffer.remaining() < size) {
+            drain();
+        }
+    }
+
+    private void drain() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    private void putUuid(UUID id) {
+        buffer.putLong(id.getMostSignificantBits());
+        buffer.putLong(id.getLeastSignificantBits());
+    }
+
+    private void putString(byte[] bytes) {
+        buffer.putShort((short) bytes.length);
+        buffer.put(bytes);
+    }
+}
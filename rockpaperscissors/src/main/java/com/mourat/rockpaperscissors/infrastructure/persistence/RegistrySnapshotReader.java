@@ -0,0 +1,150 @@
+package com.mourat.rockpaperscissors.infrastructure.persistence;
+
+import com.mourat.rockpaperscissors.application.model.ArchivedGame;
+import com.mourat.rockpaperscissors.domain.model.Move;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.UUID;
+
+import static com.mourat.rockpaperscissors.infrastructure.persistence.RegistrySnapshotFile.*;
+
+/**
+ * Reads a {@link RegistrySnapshotFile} with a single sequential pass over the mapped file.
+ * <p>
+ * Records are handed to a {@link Listener} in the order they were written: every player before the games
+ * referring to it. A snapshot that doesn't end with its record count is rejected.
+ */
+public final class RegistrySnapshotReader {
+
+    private static final Logger logger = LoggerFactory.getLogger(RegistrySnapshotReader.class);
+
+    /**
+     * Receives the records of a snapshot.
+     */
+    public interface Listener {
+
+        /**
+         * Receives the record of a player.
+         *
+         * @param playerId id of the player
+         * @param playerName name of the player
+         */
+        void playerRestored(UUID playerId, String playerName);
+
+        /**
+         * Receives the record of an unfinished game.
+         *
+         * @param game the state of the game
+         */
+        void gameRestored(GameRecord game);
+
+        /**
+         * Receives the record of a finished game.
+         *
+         * @param game the finished game
+         */
+        void archivedGameRestored(ArchivedGame game);
+    }
+
+    private RegistrySnapshotReader() {
+    }
+
+    /**
+     * Reads every record of a snapshot.
+     *
+     * @param file location of the snapshot
+     * @param listener receives the records
+     * @return the number of records read
+     * @throws IOException if the snapshot can't be read, is not a snapshot or is incomplete
+     */
+    public static long read(Path file, Listener listener) throws IOException {
+        MappedByteBuffer snapshot;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("Registry snapshot \"" + file + "\" is larger than 2 GiB");
+            }
+            snapshot = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+
+        try {
+            if (snapshot.getInt() != MAGIC || snapshot.getInt() != VERSION) {
+                throw new IOException("\"" + file + "\" is not a registry snapshot of version " + VERSION);
+            }
+            logger.info("Reading registry snapshot \"{}\" taken at {}", file, Instant.ofEpochMilli(snapshot.getLong()));
+
+            long records = 0;
+            while (true) {
+                byte type = snapshot.get();
+                switch (type) {
+                    case PLAYER -> listener.playerRestored(getUuid(snapshot), getString(snapshot));
+                    case GAME -> listener.gameRestored(getGame(snapshot));
+                    case ARCHIVED_GAME -> listener.archivedGameRestored(getArchivedGame(snapshot));
+                    case END -> {
+                        if (snapshot.getLong() != records) {
+                            throw new IOException("Registry snapshot \"" + file + "\" ends after " + records + " records, it has a different number of records");
+                        }
+                        return records;
+                    }
+                    default -> throw new IOException("Registry snapshot \"" + file + "\" has an unknown record of type " + type + " at offset " + (snapshot.position() - 1));
+                }
+                records++;
+            }
+        } catch (BufferUnderflowException e) {
+            throw new IOException("Registry snapshot \"" + file + "\" is incomplete", e);
+        }
+    }
+
+    private static GameRecord getGame(MappedByteBuffer snapshot) {
+        int moveCount = snapshot.get();
+        boolean started = snapshot.get() != 0;
+        int rounds = snapshot.getInt();
+        UUID gameId = getUuid(snapshot);
+        UUID player1Id = getUuid(snapshot);
+        UUID player2Id = started ? getUuid(snapshot) : null;
+        int player1Score = snapshot.getInt();
+        int player2Score = snapshot.getInt();
+        int draws = snapshot.getInt();
+        byte[] recentRounds = new byte[snapshot.getInt()];
+        snapshot.get(recentRounds);
+        return new GameRecord(gameId, player1Id, player2Id, rounds, moveCount, player1Score, player2Score, draws, recentRounds);
+    }
+
+    private static ArchivedGame getArchivedGame(MappedByteBuffer snapshot) {
+        UUID gameId = getUuid(snapshot);
+        UUID player1Id = getUuid(snapshot);
+        UUID player2Id = getUuid(snapshot);
+        int rounds = snapshot.getInt();
+        int player1Score = snapshot.getInt();
+        int player2Score = snapshot.getInt();
+        int draws = snapshot.getInt();
+        int winner = snapshot.get();
+        Move player1LastMove = Move.fromOrdinal(snapshot.get());
+        Move player2LastMove = Move.fromOrdinal(snapshot.get());
+        int lastRoundWinner = snapshot.get();
+        String player1Name = getString(snapshot);
+        String player2Name = getString(snapshot);
+
+        return new ArchivedGame(gameId, player1Id, player1Name, player2Id, player2Name,
+                rounds, player1Score, player2Score, draws, winner,
+                player1LastMove, player2LastMove, lastRoundWinner);
+    }
+
+    private static UUID getUuid(MappedByteBuffer snapshot) {
+        return new UUID(snapshot.getLong(), snapshot.getLong());
+    }
+
+    private static String getString(MappedByteBuffer snapshot) {
+        byte[] bytes = new byte[snapshot.getShort()];
+        snapshot.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
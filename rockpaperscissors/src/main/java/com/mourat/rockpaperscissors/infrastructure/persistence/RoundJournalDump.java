@@ -0,0 +1,118 @@
+package com.mourat.rockpaperscissors.infrastructure.persistence;
+
+import com.mourat.rockpaperscissors.domain.model.Move;
+import com.mourat.rockpaperscissors.domain.model.RoundHistory;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Command line tool printing a {@link RoundJournalFile} in the text format of the former record logs,
+ * {@code logs/rounds.log} and {@code logs/games.log}:
+ * <pre>
+ * java -cp target/classes:&lt;dependencies&gt; \
+ *     com.mourat.rockpaperscissors.infrastructure.persistence.RoundJournalDump data/journal [rounds|games]
+ * </pre>
+ * {@code rounds} prints every round and game line, {@code games} only the game lines.
+ */
+public final class RoundJournalDump implements RoundJournalReader.Listener {
+
+    /** Timestamp format of the record logs */
+    private static final DateTimeFormatter TIMESTAMP = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss.SSS")
+            .withZone(ZoneId.systemDefault());
+
+    /** Receives the text lines */
+    private final Writer out;
+
+    /** Whether round lines are printed, or only game lines */
+    private final boolean rounds;
+
+    /** Player names of the games started and not finished yet */
+    private final Map<UUID, String[]> playerNames = new HashMap<>();
+
+    /**
+     * Constructs a dump writing to the given writer.
+     *
+     * @param out receives the text lines
+     * @param rounds {@code true} to print round and game lines, {@code false} to print game lines only
+     */
+    public RoundJournalDump(Writer out, boolean rounds) {
+        this.out = out;
+        this.rounds = rounds;
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1 || args.length > 2 || (args.length == 2 && !args[1].equals("rounds") && !args[1].equals("games"))) {
+            System.err.println("Usage: RoundJournalDump <journal directory> [rounds|games]");
+            System.exit(2);
+        }
+
+        Writer out = new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8), 1 << 16);
+        RoundJournalReader.read(Path.of(args[0]), new RoundJournalDump(out, args.length == 1 || args[1].equals("rounds")));
+        out.flush();
+    }
+
+    @Override
+    public void gameStarted(long timestamp, UUID gameId, int rounds, int moveCount,
+                            UUID player1Id, String player1Name, UUID player2Id, String player2Name) {
+        playerNames.put(gameId, new String[]{player1Name, player2Name});
+    }
+
+    @Override
+    public void roundPlayed(long timestamp, long gameIdMostSigBits, long gameIdLeastSigBits, int round,
+                            int player1Move, int player2Move, int winner) {
+        if (!rounds) {
+            return;
+        }
+        String winnerName = winner == RoundHistory.DRAW
+                ? "No winner"
+                : nameOf(new UUID(gameIdMostSigBits, gameIdLeastSigBits), winner);
+        write(timestamp, "Round: P1: " + Move.fromOrdinal(player1Move) + ", P2: " + Move.fromOrdinal(player2Move)
+                + ", \tWinner: " + winnerName);
+    }
+
+    @Override
+    public void gameFinished(long timestamp, UUID gameId, int player1Score, int player2Score, int draws, int winner) {
+        String winnerName = winner == RoundHistory.DRAW ? "It's a tie" : nameOf(gameId, winner);
+        playerNames.remove(gameId);
+        write(timestamp, "Game Scores: P1: " + player1Score + ", P2: " + player2Score + ", \tWinner: " + winnerName);
+    }
+
+    @Override
+    public void gameAbandoned(long timestamp, UUID gameId, int round) {
+        playerNames.remove(gameId);
+        write(timestamp, "Game abandoned in round: " + round);
+    }
+
+    /**
+     * Returns the name of a player of a game, or the player's position if the start of the game is not
+     * part of the journal.
+     */
+    private String nameOf(UUID gameId, int player) {
+        String[] names = playerNames.get(gameId);
+        return names != null ? names[player - 1] : "Player " + player;
+    }
+
+    private void write(long timestamp, String line) {
+        try {
+            out.write('[');
+            out.write(TIMESTAMP.format(Instant.ofEpochMilli(timestamp)));
+            out.write("] ");
+            out.write(line);
+            out.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,475 @@
+package com.mourat.rockpaperscissors.infrastructure.persistence;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.lang.invoke.VarHandle;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+/**
+ * Append-only binary journal of created players, started games, played rounds, finished and abandoned games.
+ * <p>
+ * Records have a fixed size per type and are written into memory-mapped segment files of a fixed size, so an
+ * append is a few stores into the page cache without a system call. A record never spans two segments: when
+ * it doesn't fit into the current segment, a new one is mapped. Segments are forced to disk by
+ * {@link #flush()}, which the owner calls in batches instead of after every record.
+ * <p>
+ * The type byte leads every record and is written last, so a record with a zero type byte was torn by a crash.
+ * The size byte following it is written first, when the record is reserved, so a reader steps over a torn
+ * record. A slot with a zero size byte is all zeros, like the unused tail of a segment: records are aligned to
+ * {@link #RECORD_ALIGNMENT} bytes, and a reader skips zeros in steps of it up to the next record. Every start of
+ * the journal opens a new segment.
+ * <p>
+ * Appends may come from any thread without taking a lock. A record is reserved by adding its size to the write
+ * position of the segment, then copied into its own bytes; only mapping the next segment is serialized. The
+ * records of a segment are in the order they were reserved. A record reserved but not yet written when the
+ * process crashes is skipped by a reader, like a torn record. A segment counts the writers still
+ * copying records into it, and a replaced or closed segment is forced once the last of them is done.
+ */
+public class RoundJournalFile implements Closeable {
+
+    private static final Logger logger = LoggerFactory.getLogger(RoundJournalFile.class);
+
+    /** Type of the record written when the second player joins a game */
+    public static final byte GAME_STARTED = 1;
+
+    /** Type of the record written for every played round */
+    public static final byte ROUND_PLAYED = 2;
+
+    /** Type of the record written after the last round of a game */
+    public static final byte GAME_FINISHED = 3;
+
+    /** Type of the record written when a player is created */
+    public static final byte PLAYER_CREATED = 4;
+
+    /** Type of the record written when a started game won't be played to its end */
+    public static final byte GAME_ABANDONED = 5;
+
+    /** Size of a {@link #PLAYER_CREATED} record */
+    public static final int PLAYER_CREATED_SIZE = 64;
+
+    /** Size of a {@link #GAME_STARTED} record */
+    public static final int GAME_STARTED_SIZE = 128;
+
+    /** Size of a {@link #ROUND_PLAYED} record */
+    public static final int ROUND_PLAYED_SIZE = 32;
+
+    /** Size of a {@link #GAME_FINISHED} record */
+    public static final int GAME_FINISHED_SIZE = 48;
+
+    /** Size of a {@link #GAME_ABANDONED} record */
+    public static final int GAME_ABANDONED_SIZE = 32;
+
+    /** Every record size is a multiple of this, so records start at multiples of it */
+    static final int RECORD_ALIGNMENT = 16;
+
+    /** Bits of the round number in the round field of a {@link #ROUND_PLAYED} record, the winner takes the ones above */
+    static final int ROUND_BITS = 30;
+
+    /** Bytes of a player name field, a length byte followed by the UTF-8 encoded name */
+    static final int NAME_FIELD_SIZE = 32;
+
+    /** Smallest segment size, every record type must fit into a segment */
+    public static final int MIN_SEGMENT_SIZE = GAME_STARTED_SIZE;
+
+    /** File name prefix of the segments, followed by the segment number */
+    static final String SEGMENT_PREFIX = "journal-";
+
+    /** File name suffix of the segments */
+    static final String SEGMENT_SUFFIX = ".bin";
+
+    /** Directory holding the segments */
+    private final Path directory;
+
+    /** Size of every segment file */
+    private final int segmentSize;
+
+    /** Mapped segment the records are appended to, {@code null} once closed */
+    private volatile Segment mapped;
+
+    /** Number of the last mapped segment */
+    private long segmentNumber;
+
+    /**
+     * Opens the journal in the given directory, creating it if it doesn't exist. Records are appended to a new
+     * segment following the existing ones.
+     *
+     * @param directory directory holding the segments
+     * @param segmentSize size of every segment file, at least {@link #MIN_SEGMENT_SIZE}
+     * @throws IOException if the directory or the first segment can't be created
+     * @throws IllegalArgumentException if {@code segmentSize} is too small
+     */
+    public RoundJournalFile(Path directory, int segmentSize) throws IOException {
+        if (segmentSize < MIN_SEGMENT_SIZE) {
+            logger.error("Round journal can't be created with segments of {} bytes, the largest record takes {}", segmentSize, MIN_SEGMENT_SIZE);
+            throw new IllegalArgumentException("Journal segments must hold at least " + MIN_SEGMENT_SIZE + " bytes");
+        }
+        Files.createDirectories(directory);
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+
+        List<Path> segments = segments(directory);
+        this.segmentNumber = segments.isEmpty() ? 0 : segmentNumber(segments.getLast());
+        this.mapped = nextSegment();
+        logger.info("Round journal \"{}\" opened at segment {}", directory, segmentNumber);
+    }
+
+    /**
+     * Appends the record of a created player.
+     *
+     * @param timestamp time of the event in milliseconds since the epoch
+     * @param playerId id of the player
+     * @param playerName name of the player, cut to fit {@link #NAME_FIELD_SIZE} bytes
+     * @throws IOException if a new segment is needed and can't be created
+     * @throws IllegalStateException if the journal is closed
+     */
+    public void appendPlayerCreated(long timestamp, UUID playerId, String playerName) throws IOException {
+        Segment reserved = current();
+        int offset;
+        while ((offset = reserved.reserve(PLAYER_CREATED_SIZE, segmentSize)) < 0) {
+            reserved = rollOver(reserved);
+        }
+        try {
+            MappedByteBuffer segment = reserved.buffer;
+            putUuid(segment, offset + 8, playerId);
+            segment.putLong(offset + 24, timestamp);
+            putName(segment, offset + 32, playerName);
+            commit(segment, offset, PLAYER_CREATED);
+        } finally {
+            reserved.release();
+        }
+    }
+
+    /**
+     * Appends the record of a game whose second player joined.
+     *
+     * @param timestamp time of the event in milliseconds since the epoch
+     * @param gameId id of the game
+     * @param rounds total rounds of the game
+     * @param moveCount number of moves of the rule set of the game
+     * @param player1Id id of player 1
+     * @param player1Name name of player 1, cut to fit {@link #NAME_FIELD_SIZE} bytes
+     * @param player2Id id of player 2
+     * @param player2Name name of player 2, cut to fit {@link #NAME_FIELD_SIZE} bytes
+     * @throws IOException if a new segment is needed and can't be created
+     * @throws IllegalStateException if the journal is closed
+     */
+    public void appendGameStarted(long timestamp, UUID gameId, int rounds, int moveCount,
+                                               UUID player1Id, String player1Name,
+                                               UUID player2Id, String player2Name) throws IOException {
+        Segment reserved = current();
+        int offset;
+        while ((offset = reserved.reserve(GAME_STARTED_SIZE, segmentSize)) < 0) {
+            reserved = rollOver(reserved);
+        }
+        try {
+            MappedByteBuffer segment = reserved.buffer;
+            segment.put(offset + 2, (byte) moveCount);
+            segment.putInt(offset + 4, rounds);
+            putUuid(segment, offset + 8, gameId);
+            putUuid(segment, offset + 24, player1Id);
+            putUuid(segment, offset + 40, player2Id);
+            segment.putLong(offset + 56, timestamp);
+            putName(segment, offset + 64, player1Name);
+            putName(segment, offset + 64 + NAME_FIELD_SIZE, player2Name);
+            commit(segment, offset, GAME_STARTED);
+        } finally {
+            reserved.release();
+        }
+    }
+
+    /**
+     * Appends the record of a played round.
+     *
+     * @param timestamp time of the event in milliseconds since the epoch
+     * @param gameId id of the game
+     * @param round number of the round (1-based)
+     * @param player1Move ordinal of the move of player 1
+     * @param player2Move ordinal of the move of player 2
+     * @param winner winner index of the round, as in {@link com.mourat.rockpaperscissors.domain.model.RoundHistory}
+     * @throws IOException if a new segment is needed and can't be created
+     * @throws IllegalStateException if the journal is closed
+     */
+    public void appendRoundPlayed(long timestamp, UUID gameId, int round,
+                                               int player1Move, int player2Move, int winner) throws IOException {
+        Segment reserved = current();
+        int offset;
+        while ((offset = reserved.reserve(ROUND_PLAYED_SIZE, segmentSize)) < 0) {
+            reserved = rollOver(reserved);
+        }
+        try {
+            MappedByteBuffer segment = reserved.buffer;
+            segment.put(offset + 2, (byte) player1Move);
+            segment.put(offset + 3, (byte) player2Move);
+            segment.putInt(offset + 4, winner << ROUND_BITS | round);
+            putUuid(segment, offset + 8, gameId);
+            segment.putLong(offset + 24, timestamp);
+            commit(segment, offset, ROUND_PLAYED);
+        } finally {
+            reserved.release();
+        }
+    }
+
+    /**
+     * Appends the record of a finished game.
+     *
+     * @param timestamp time of the event in milliseconds since the epoch
+     * @param gameId id of the game
+     * @param player1Score rounds won by player 1
+     * @param player2Score rounds won by player 2
+     * @param draws drawn rounds
+     * @param winner winner index of the game, as in {@link com.mourat.rockpaperscissors.domain.model.RoundHistory}
+     * @throws IOException if a new segment is needed and can't be created
+     * @throws IllegalStateException if the journal is closed
+     */
+    public void appendGameFinished(long timestamp, UUID gameId,
+                                                int player1Score, int player2Score, int draws, int winner) throws IOException {
+        Segment reserved = current();
+        int offset;
+        while ((offset = reserved.reserve(GAME_FINISHED_SIZE, segmentSize)) < 0) {
+            reserved = rollOver(reserved);
+        }
+        try {
+            MappedByteBuffer segment = reserved.buffer;
+            segment.put(offset + 2, (byte) winner);
+            segment.putInt(offset + 4, player1Score);
+            segment.putInt(offset + 8, player2Score);
+            segment.putInt(offset + 12, draws);
+            putUuid(segment, offset + 16, gameId);
+            segment.putLong(offset + 32, timestamp);
+            commit(segment, offset, GAME_FINISHED);
+        } finally {
+            reserved.release();
+        }
+    }
+
+    /**
+     * Appends the record of a started game that won't be played to its end.
+     *
+     * @param timestamp time of the event in milliseconds since the epoch
+     * @param gameId id of the game
+     * @param round the active round of the game when it was abandoned
+     * @throws IOException if a new segment is needed and can't be created
+     * @throws IllegalStateException if the journal is closed
+     */
+    public void appendGameAbandoned(long timestamp, UUID gameId, int round) throws IOException {
+        Segment reserved = current();
+        int offset;
+        while ((offset = reserved.reserve(GAME_ABANDONED_SIZE, segmentSize)) < 0) {
+            reserved = rollOver(reserved);
+        }
+        try {
+            MappedByteBuffer segment = reserved.buffer;
+            segment.putInt(offset + 4, round);
+            putUuid(segment, offset + 8, gameId);
+            segment.putLong(offset + 24, timestamp);
+            commit(segment, offset, GAME_ABANDONED);
+        } finally {
+            reserved.release();
+        }
+    }
+
+    /**
+     * Forces the records appended so far to disk. Records of earlier segments were forced when the last of
+     * their writers finished.
+     */
+    public void flush() {
+        Segment current = mapped;
+        if (current != null) {
+            current.buffer.force();
+        }
+    }
+
+    /**
+     * Stops appending and forces the records to disk, once the appends in progress are written. The mapping is
+     * released by the garbage collector.
+     */
+    @Override
+    public synchronized void close() {
+        Segment current = mapped;
+        if (current == null) {
+            return;
+        }
+        mapped = null;
+        current.seal(segmentSize);
+        current.release();
+        logger.info("Round journal \"{}\" closed at segment {}", directory, segmentNumber);
+    }
+
+    /**
+     * Lists the segment files of a journal in the order they were written.
+     *
+     * @param directory directory holding the segments
+     * @return the segment files, empty if the directory doesn't exist
+     * @throws IOException if the directory can't be listed
+     */
+    public static List<Path> segments(Path directory) throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            List<Path> segments = new ArrayList<>(files
+                    .filter(file -> segmentNumber(file) >= 0)
+                    .toList());
+            segments.sort((a, b) -> Long.compare(segmentNumber(a), segmentNumber(b)));
+            return segments;
+        }
+    }
+
+    /**
+     * Returns the segment records are appended to.
+     *
+     * @return the mapped segment
+     * @throws IllegalStateException if the journal is closed
+     */
+    private Segment current() {
+        Segment current = mapped;
+        if (current == null) {
+            logger.debug("A record was appended to the closed round journal \"{}\"", directory);
+            throw new IllegalStateException("Round journal is closed");
+        }
+        return current;
+    }
+
+    /**
+     * Replaces a full segment with the next one, unless another thread already did. Every reservation in a
+     * full segment fails, so the threads failing on it wait here for the first one to map the next segment.
+     * The full segment is forced by whoever finishes the last record written into it.
+     *
+     * @param full the segment a record didn't fit into
+     * @return the segment records are appended to now
+     * @throws IOException if the next segment can't be created
+     * @throws IllegalStateException if the journal is closed
+     */
+    private synchronized Segment rollOver(Segment full) throws IOException {
+        if (mapped == full) {
+            mapped = nextSegment();
+            full.release();
+        }
+        return current();
+    }
+
+    private Segment nextSegment() throws IOException {
+        segmentNumber++;
+        Path path = directory.resolve(String.format("%s%012d%s", SEGMENT_PREFIX, segmentNumber, SEGMENT_SUFFIX));
+        MappedByteBuffer buffer;
+        try (RandomAccessFile file = new RandomAccessFile(path.toFile(), "rw")) {
+            file.setLength(segmentSize);
+            buffer = file.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+        }
+        logger.debug("Round journal segment \"{}\" mapped", path);
+        return new Segment(buffer);
+    }
+
+    /**
+     * Writes the type byte of a record once the rest of it is written, making it valid for a reader.
+     */
+    private static void commit(MappedByteBuffer segment, int offset, byte type) {
+        VarHandle.storeStoreFence();
+        segment.put(offset, type);
+    }
+
+    private static void putUuid(MappedByteBuffer segment, int offset, UUID id) {
+        segment.putLong(offset, id.getMostSignificantBits());
+        segment.putLong(offset + Long.BYTES, id.getLeastSignificantBits());
+    }
+
+    private static void putName(MappedByteBuffer segment, int offset, String name) {
+        byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+        int length = Math.min(bytes.length, NAME_FIELD_SIZE - 1);
+        // Don't cut a multi-byte character in half
+        while (length < bytes.length && length > 0 && (bytes[length] & 0xC0) == 0x80) {
+            length--;
+        }
+        segment.put(offset, (byte) length);
+        segment.put(offset + 1, bytes, 0, length);
+    }
+
+    /**
+     * A mapped segment, the offset of its next record and the writers still writing into it.
+     */
+    private static final class Segment {
+
+        /** The mapped segment file */
+        private final MappedByteBuffer buffer;
+
+        /** Offset of the next record, beyond the segment once a record didn't fit or the journal is closed */
+        private final AtomicInteger position = new AtomicInteger();
+
+        /** Writers between reserving and finishing a record, plus one while the segment is the current one */
+        private final AtomicInteger pending = new AtomicInteger(1);
+
+        private Segment(MappedByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        /**
+         * Reserves the bytes of a record. A successful reservation must be {@link #release() released} once the
+         * record is written.
+         *
+         * @param size size of the record
+         * @param segmentSize size of the segment
+         * @return offset of the record, or -1 if it doesn't fit into the segment
+         */
+        private int reserve(int size, int segmentSize) {
+            pending.incrementAndGet();
+            int offset = position.getAndAdd(size);
+            if (offset > segmentSize - size) {
+                release();
+                return -1;
+            }
+            buffer.put(offset + 1, (byte) size);
+            VarHandle.storeStoreFence();
+            return offset;
+        }
+
+        /**
+         * Makes every following reservation fail, as if the segment was full.
+         *
+         * @param segmentSize size of the segment
+         */
+        private void seal(int segmentSize) {
+            position.accumulateAndGet(segmentSize, Math::max);
+        }
+
+        /**
+         * Ends the write of a record, or the time the segment is the current one. Whoever ends the last of them
+         * forces the segment, so no record reserved in a replaced segment is left unforced.
+         */
+        private void release() {
+            if (pending.decrementAndGet() == 0) {
+                buffer.force();
+            }
+        }
+    }
+
+    /**
+     * Returns the number of a segment file.
+     *
+     * @param file the file
+     * @return the segment number, or -1 if the file is not a segment
+     */
+    static long segmentNumber(Path file) {
+        String name = file.getFileName().toString();
+        if (!name.startsWith(SEGMENT_PREFIX) || !name.endsWith(SEGMENT_SUFFIX)) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,182 @@
+package com.mourat.rockpaperscissors.infrastructure.persistence;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.UUID;
+
+import static com.mourat.rockpaperscissors.infrastructure.persistence.RoundJournalFile.*;
+
+/**
+ * Reads the records of a {@link RoundJournalFile} in the order they were written.
+ * <p>
+ * Segments are mapped read-only and every record is handed to a {@link Listener} as primitive values, so
+ * reading allocates nothing per round. Torn records and slots reserved but never written are skipped, a
+ * segment ends at the first record that is neither valid nor torn.
+ */
+public final class RoundJournalReader {
+
+    private static final Logger logger = LoggerFactory.getLogger(RoundJournalReader.class);
+
+    /**
+     * Receives the records of a journal.
+     */
+    public interface Listener {
+
+        /**
+         * Receives the record of a created player.
+         *
+         * @param timestamp time of the event in milliseconds since the epoch
+         * @param playerId id of the player
+         * @param playerName name of the player
+         */
+        default void playerCreated(long timestamp, UUID playerId, String playerName) {
+        }
+
+        /**
+         * Receives the record of a game whose second player joined.
+         *
+         * @param timestamp time of the event in milliseconds since the epoch
+         * @param gameId id of the game
+         * @param rounds total rounds of the game
+         * @param moveCount number of moves of the rule set of the game
+         * @param player1Id id of player 1
+         * @param player1Name name of player 1
+         * @param player2Id id of player 2
+         * @param player2Name name of player 2
+         */
+        void gameStarted(long timestamp, UUID gameId, int rounds, int moveCount,
+                         UUID player1Id, String player1Name, UUID player2Id, String player2Name);
+
+        /**
+         * Receives the record of a played round.
+         *
+         * @param timestamp time of the event in milliseconds since the epoch
+         * @param gameIdMostSigBits most significant bits of the game id
+         * @param gameIdLeastSigBits least significant bits of the game id
+         * @param round number of the round (1-based)
+         * @param player1Move ordinal of the move of player 1
+         * @param player2Move ordinal of the move of player 2
+         * @param winner winner index of the round
+         */
+        void roundPlayed(long timestamp, long gameIdMostSigBits, long gameIdLeastSigBits, int round,
+                         int player1Move, int player2Move, int winner);
+
+        /**
+         * Receives the record of a finished game.
+         *
+         * @param timestamp time of the event in milliseconds since the epoch
+         * @param gameId id of the game
+         * @param player1Score rounds won by player 1
+         * @param player2Score rounds won by player 2
+         * @param draws drawn rounds
+         * @param winner winner index of the game
+         */
+        void gameFinished(long timestamp, UUID gameId, int player1Score, int player2Score, int draws, int winner);
+
+        /**
+         * Receives the record of a started game that won't be played to its end.
+         *
+         * @param timestamp time of the event in milliseconds since the epoch
+         * @param gameId id of the game
+         * @param round the active round of the game when it was abandoned
+         */
+        default void gameAbandoned(long timestamp, UUID gameId, int round) {
+        }
+    }
+
+    /** Bits of the round number in the round field of a round record */
+    private static final int ROUND_MASK = (1 << ROUND_BITS) - 1;
+
+    private RoundJournalReader() {
+    }
+
+    /**
+     * Reads every record of a journal.
+     *
+     * @param directory directory holding the segments
+     * @param listener receives the records
+     * @return the number of records read
+     * @throws IOException if a segment can't be read
+     */
+    public static long read(Path directory, Listener listener) throws IOException {
+        long records = 0;
+        for (Path segment : RoundJournalFile.segments(directory)) {
+            records += readSegment(segment, listener);
+        }
+        return records;
+    }
+
+    private static long readSegment(Path path, Listener listener) throws IOException {
+        MappedByteBuffer segment;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            segment = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+
+        long records = 0;
+        int offset = 0;
+        int limit = segment.limit();
+        while (offset <= limit - RECORD_ALIGNMENT) {
+            byte type = segment.get(offset);
+            int size = segment.get(offset + 1) & 0xFF;
+            if (size == 0) {
+                // Nothing of a record was written here: the unused tail of the segment, or a slot reserved by a crashed process
+                offset += RECORD_ALIGNMENT;
+                continue;
+            }
+            if (type == 0 && size % RECORD_ALIGNMENT == 0 && offset + size <= limit) {
+                logger.warn("Round journal segment \"{}\" has a torn record at offset {}, it is skipped", path, offset);
+                offset += size;
+                continue;
+            }
+            int typeSize = switch (type) {
+                case GAME_STARTED -> GAME_STARTED_SIZE;
+                case ROUND_PLAYED -> ROUND_PLAYED_SIZE;
+                case GAME_FINISHED -> GAME_FINISHED_SIZE;
+                case PLAYER_CREATED -> PLAYER_CREATED_SIZE;
+                case GAME_ABANDONED -> GAME_ABANDONED_SIZE;
+                default -> 0;
+            };
+            if (typeSize == 0 || size != typeSize || offset + size > limit) {
+                logger.warn("Round journal segment \"{}\" has an unknown record of type {} and size {} at offset {}, the rest of the segment is skipped", path, type, size, offset);
+                break;
+            }
+
+            switch (type) {
+                case GAME_STARTED -> listener.gameStarted(segment.getLong(offset + 56), getUuid(segment, offset + 8),
+                        segment.getInt(offset + 4), segment.get(offset + 2),
+                        getUuid(segment, offset + 24), getName(segment, offset + 64),
+                        getUuid(segment, offset + 40), getName(segment, offset + 64 + NAME_FIELD_SIZE));
+                case ROUND_PLAYED -> listener.roundPlayed(segment.getLong(offset + 24),
+                        segment.getLong(offset + 8), segment.getLong(offset + 16), segment.getInt(offset + 4) & ROUND_MASK,
+                        segment.get(offset + 2), segment.get(offset + 3), segment.getInt(offset + 4) >>> ROUND_BITS);
+                case GAME_FINISHED -> listener.gameFinished(segment.getLong(offset + 32), getUuid(segment, offset + 16),
+                        segment.getInt(offset + 4), segment.getInt(offset + 8), segment.getInt(offset + 12),
+                        segment.get(offset + 2));
+                case GAME_ABANDONED -> listener.gameAbandoned(segment.getLong(offset + 24), getUuid(segment, offset + 8),
+                        segment.getInt(offset + 4));
+                default -> listener.playerCreated(segment.getLong(offset + 24), getUuid(segment, offset + 8),
+                        getName(segment, offset + 32));
+            }
+            offset += size;
+            records++;
+        }
+        return records;
+    }
+
+    private static UUID getUuid(MappedByteBuffer segment, int offset) {
+        return new UUID(segment.getLong(offset), segment.getLong(offset + Long.BYTES));
+    }
+
+    private static String getName(MappedByteBuffer segment, int offset) {
+        byte[] bytes = new byte[segment.get(offset) & 0xFF];
+        segment.get(offset + 1, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,29 @@
+package com.mourat.rockpaperscissors.application.dto;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RunnerErrorTest {
+
+    @Test
+    void code_everyError_isNegativeAndDecodesBack() {
+        for (RunnerError error : RunnerError.values()) {
+            assertTrue(error.code() < 0);
+            assertSame(error, RunnerError.fromCode(error.code()));
+        }
+    }
+
+    @Test
+    void fromCode_handleOrUnknownCode_returnsNull() {
+        assertNull(RunnerError.fromCode(0));
+        assertNull(RunnerError.fromCode(42));
+        assertNull(RunnerError.fromCode(-RunnerError.values().length - 1));
+    }
+
+    @Test
+    void render_withAndWithoutSubject_formatsMessage() {
+        assertEquals("Player with id \"abc\" doesn't exist", RunnerError.PLAYER_NOT_FOUND.render("abc"));
+        assertSame(RunnerError.NO_OPEN_GAMES.getMessage(), RunnerError.NO_OPEN_GAMES.render("ignored"));
+    }
+}
@@ -1,5 +1,7 @@
 package com.mourat.rockpaperscissors.application.mappers;
 
+import com.mourat.rockpaperscissors.application.dto.GameHeader;
+import com.mourat.rockpaperscissors.application.dto.MoveResult;
 import com.mourat.rockpaperscissors.application.dto.ResultDto;
 import com.mourat.rockpaperscissors.domain.model.Game;
 import com.mourat.rockpaperscissors.domain.model.Move;
@@ -154,6 +156,40 @@ class ResultMapperTest {
     }
 
 
+    @Test
+    void renderResultDto_playedRounds_matchesResultDtoOfGame() {
+        Game game = createUnfinishedTestGame();
+        GameHeader header = ResultMapper.toGameHeader(game);
+        RoundResult[] rounds = {
+                new RoundResult(Move.SCISSORS, Move.PAPER, game.getPlayer1()),
+                new RoundResult(Move.PAPER, Move.PAPER, null),
+                new RoundResult(Move.ROCK, Move.PAPER, game.getPlayer2())
+        };
+
+        for (RoundResult round : rounds) {
+            game.playRound(round);
+            MoveResult.Played played = ResultMapper.toPlayed(game, header);
+
+            assertEquals(ResultMapper.toResultDto(game), played.toResultDto());
+            assertSame(header, played.game());
+        }
+    }
+
+    @Test
+    void toPlayed_finishedGameWithGameWinner_capturesPrimitiveFields() {
+        Game game = createFinishedGameWithRoundWinner();
+
+        MoveResult.Played played = ResultMapper.toPlayed(game, ResultMapper.toGameHeader(game));
+
+        assertTrue(played.gameFinished());
+        assertEquals(MoveResult.PLAYER1, played.gameWinner());
+        assertEquals(game.getPlayer1Score(), played.player1Score());
+        assertEquals(game.getDraws(), played.ties());
+        assertEquals(game.getActiveRound(), played.currentRound());
+        assertEquals(game.getId().toString(), played.game().gameId());
+        assertEquals("Player B", played.game().player2Name());
+    }
+
     @Test
     void toResultDto_nullArgument_throwsIllegalArgumentException() {
         ResultMapper mapper = new ResultMapper(); // not necessary, just for JaCoCo completeness
@@ -1,18 +1,37 @@
 package com.mourat.rockpaperscissors.application.model;
 
+import com.mourat.rockpaperscissors.application.dto.MoveResult;
 import com.mourat.rockpaperscissors.application.dto.ResultDto;
+import com.mourat.rockpaperscissors.application.dto.RunnerError;
 import com.mourat.rockpaperscissors.application.services.GameSessionFactory;
 import com.mourat.rockpaperscissors.domain.model.Game;
+import com.mourat.rockpaperscissors.domain.model.GameState;
 import com.mourat.rockpaperscissors.domain.model.Move;
 import com.mourat.rockpaperscissors.domain.model.Player;
+import com.mourat.rockpaperscissors.domain.model.RoundResult;
+import com.mourat.rockpaperscissors.domain.model.RoundSink;
+import com.mourat.rockpaperscissors.domain.model.RuleSet;
+import com.mourat.rockpaperscissors.domain.service.GameRulesService;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -21,6 +40,8 @@ class GameSessionTest {
 
     @Autowired
     GameSessionFactory sessionFactory;
+    @Autowired
+    GameRulesService gameRulesService;
     GameSession session;
 
     @BeforeEach
@@ -167,6 +188,353 @@ class GameSessionTest {
         assertFalse(result1.isSuccess());
     }
 
+    @Test
+    void makeMoveAsync_bothPlayersOnOneThread_completesWhenRoundResolves() {
+        makeTwoPlayerSession();
+
+        CompletableFuture<ResultDto> future1 = session.makeMoveAsync(session.getPlayer1(), Move.PAPER);
+        assertFalse(future1.isDone());
+
+        CompletableFuture<ResultDto> future2 = session.makeMoveAsync(session.getPlayer2(), Move.ROCK);
+
+        assertTrue(future1.isDone());
+        assertTrue(future2.isDone());
+        assertEquals(future1.join(), future2.join());
+        assertTrue(future1.join().isGameFinished());
+        assertEquals(session.getPlayer1().getId().toString(), future1.join().getGameWinnerPlayerId());
+    }
+
+    @Test
+    void makeMoveAsync_duplicateMove_completesWithFailure() {
+        makeTwoPlayerSession();
+
+        CompletableFuture<ResultDto> future1 = session.makeMoveAsync(session.getPlayer1(), Move.PAPER);
+        CompletableFuture<ResultDto> future2 = session.makeMoveAsync(session.getPlayer1(), Move.ROCK);
+
+        assertFalse(future1.isDone());
+        assertFalse(future2.join().isSuccess());
+        assertEquals("Invalid player or multiple moves from same player", future2.join().getStatusMessage());
+    }
+
+    @Test
+    void makeMoveAsync_moveOutsideRuleSet_rendersMoveIntoStatusMessage() {
+        makeTwoPlayerSession();
+
+        ResultDto result = session.makeMoveAsync(session.getPlayer1(), Move.SPOCK).join();
+
+        assertFalse(result.isSuccess());
+        assertEquals("Invalid move: \"SPOCK\"", result.getStatusMessage());
+    }
+
+    @Test
+    void expire_pendingAsyncMove_completesWithSessionExpired() {
+        makeTwoPlayerSession();
+
+        CompletableFuture<MoveResult> future = session.playAsync(session.getPlayer1(), Move.PAPER);
+
+        assertTrue(session.expire());
+        assertSame(RunnerError.SESSION_EXPIRED, future.join());
+    }
+
+    @Test
+    void expire_joinedSession_reportsAbandonedGame() {
+        makeTwoPlayerSession();
+        List<Game> abandoned = new ArrayList<>();
+        session.getGame().setRoundSink(new RoundSink() {
+            @Override
+            public void gameAbandoned(Game game) {
+                abandoned.add(game);
+            }
+
+            @Override
+            public void roundPlayed(Game game, int round, RoundResult roundResult) {
+            }
+        });
+
+        assertTrue(session.expire());
+        assertFalse(session.expire());
+        assertEquals(List.of(session.getGame()), abandoned);
+    }
+
+    @Test
+    void playAsync_throwingRoundSink_failsRoundAndTerminatesSession() {
+        GameSession failing = makePipelinedSession(3, 3);
+        failing.getGame().setRoundSink((game, round, roundResult) -> {
+            throw new IllegalStateException("sink failed");
+        });
+        Player player1 = failing.getPlayer1();
+        Player player2 = failing.getPlayer2();
+
+        CompletableFuture<MoveResult> first = failing.playAsync(player1, Move.ROCK);
+        CompletableFuture<MoveResult> queued = failing.playAsync(player1, Move.PAPER);
+        CompletableFuture<MoveResult> resolving = failing.playAsync(player2, Move.SCISSORS);
+
+        assertSame(RunnerError.ROUND_FAILED, first.join());
+        assertSame(RunnerError.ROUND_FAILED, resolving.join());
+        assertSame(RunnerError.SESSION_EXPIRED, queued.join());
+        assertEquals(SessionState.TERMINATED, failing.getState());
+        assertNull(player1.getGameSession());
+        assertNull(player2.getGameSession());
+        assertSame(RunnerError.MOVE_NOT_ACCEPTED, failing.playAsync(player2, Move.ROCK).join());
+        assertFalse(failing.expire());
+    }
+
+    @Test
+    void playAllAsync_wholeGameAhead_resolvesRoundsAsOpponentMoves() {
+        GameSession pipelined = makePipelinedSession(3, 3);
+        Move[] moves = {Move.PAPER, Move.PAPER, Move.PAPER};
+
+        CompletableFuture<MoveResult> whole = pipelined.playAllAsync(pipelined.getPlayer1(), moves);
+        CompletableFuture<MoveResult> first = pipelined.playAsync(pipelined.getPlayer2(), Move.ROCK);
+        CompletableFuture<MoveResult> second = pipelined.playAsync(pipelined.getPlayer2(), Move.PAPER);
+
+        assertFalse(whole.isDone());
+        assertEquals(1, ((MoveResult.Played) first.join()).player1Score());
+        assertEquals(1, ((MoveResult.Played) second.join()).ties());
+
+        CompletableFuture<MoveResult> third = pipelined.playAsync(pipelined.getPlayer2(), Move.SCISSORS);
+
+        MoveResult played = whole.join();
+        assertSame(played, third.join());
+        ResultDto result = ((MoveResult.Played) played).toResultDto();
+        assertTrue(result.isGameFinished());
+        assertEquals("1", result.getPlayer2Score());
+        assertEquals(SessionState.TERMINATED, pipelined.getState());
+    }
+
+    @Test
+    void playAllAsync_repeatedMoveCombination_reusesCachedRoundResult() {
+        GameSession pipelined = makePipelinedSession(2, 2);
+
+        pipelined.playAllAsync(pipelined.getPlayer1(), new Move[]{Move.ROCK, Move.ROCK});
+        pipelined.playAsync(pipelined.getPlayer2(), Move.PAPER);
+        RoundResult first = pipelined.getGame().getLastRoundResult();
+        pipelined.playAsync(pipelined.getPlayer2(), Move.PAPER).join();
+
+        assertSame(first, pipelined.getGame().getLastRoundResult());
+        assertEquals(pipelined.getPlayer2(), first.winner());
+    }
+
+    @Test
+    void playAllAsync_movesAboveCapacityOrRounds_rejectsAllMoves() {
+        GameSession pipelined = makePipelinedSession(3, 2);
+
+        assertSame(RunnerError.DUPLICATE_MOVE, pipelined.playAllAsync(pipelined.getPlayer1(), new Move[]{Move.ROCK, Move.ROCK, Move.ROCK}).join());
+        assertFalse(pipelined.playAllAsync(pipelined.getPlayer1(), new Move[]{Move.ROCK, Move.ROCK}).isDone());
+        assertSame(RunnerError.DUPLICATE_MOVE, pipelined.playAsync(pipelined.getPlayer1(), Move.ROCK).join());
+
+        GameSession shortGame = makePipelinedSession(2, 5);
+        shortGame.playAsync(shortGame.getPlayer1(), Move.ROCK);
+        shortGame.playAsync(shortGame.getPlayer2(), Move.ROCK);
+        assertSame(RunnerError.MOVES_EXCEED_ROUNDS, shortGame.playAllAsync(shortGame.getPlayer2(), new Move[]{Move.ROCK, Move.ROCK}).join());
+    }
+
+    @Test
+    void expire_queuedMoves_completesEveryWaitingMoveWithSessionExpired() {
+        GameSession pipelined = makePipelinedSession(3, 3);
+
+        CompletableFuture<MoveResult> first = pipelined.playAsync(pipelined.getPlayer1(), Move.ROCK);
+        CompletableFuture<MoveResult> second = pipelined.playAsync(pipelined.getPlayer1(), Move.ROCK);
+
+        assertTrue(pipelined.expire());
+        assertSame(RunnerError.SESSION_EXPIRED, first.join());
+        assertSame(RunnerError.SESSION_EXPIRED, second.join());
+    }
+
+    @Test
+    void playAsync_concurrentSubmitters_resolvesEveryRoundExactlyOnce() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+
+        for (int game = 0; game < 50; game++) {
+            GameSession pipelined = makePipelinedSession(100, 4);
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<List<CompletableFuture<MoveResult>>>> submitters = new ArrayList<>();
+            for (Player player : List.of(pipelined.getPlayer1(), pipelined.getPlayer2())) {
+                // Two threads per player race for the same queue
+                for (int thread = 0; thread < 2; thread++) {
+                    submitters.add(executor.submit(() -> submitUntilGameEnds(pipelined, player, start)));
+                }
+            }
+            start.countDown();
+
+            int played = 0;
+            for (Future<List<CompletableFuture<MoveResult>>> submitter : submitters) {
+                for (CompletableFuture<MoveResult> future : submitter.get(10, TimeUnit.SECONDS)) {
+                    assertInstanceOf(MoveResult.Played.class, future.get(10, TimeUnit.SECONDS));
+                    played++;
+                }
+            }
+
+            assertEquals(200, played);
+            assertEquals(GameState.FINISHED, pipelined.getGame().getState());
+            assertEquals(101, pipelined.getGame().getActiveRound());
+            assertEquals(SessionState.TERMINATED, pipelined.getState());
+        }
+        executor.shutdown();
+    }
+
+    @Test
+    void expire_concurrentSubmitters_completesEveryAcceptedMove() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+
+        for (int game = 0; game < 50; game++) {
+            GameSession pipelined = makePipelinedSession(100, 8);
+            CountDownLatch start = new CountDownLatch(1);
+            Future<List<CompletableFuture<MoveResult>>> submitter1 = executor.submit(() -> submitUntilGameEnds(pipelined, pipelined.getPlayer1(), start));
+            Future<List<CompletableFuture<MoveResult>>> submitter2 = executor.submit(() -> submitUntilGameEnds(pipelined, pipelined.getPlayer2(), start));
+            start.countDown();
+            pipelined.expire();
+
+            for (Future<List<CompletableFuture<MoveResult>>> submitter : List.of(submitter1, submitter2)) {
+                for (CompletableFuture<MoveResult> future : submitter.get(10, TimeUnit.SECONDS)) {
+                    MoveResult result = future.get(10, TimeUnit.SECONDS);
+                    assertTrue(result instanceof MoveResult.Played || result == RunnerError.SESSION_EXPIRED);
+                }
+            }
+        }
+        executor.shutdown();
+    }
+
+    /**
+     * Submits moves for a player until the session stops accepting them.
+     *
+     * @return the futures of the accepted moves
+     */
+    List<CompletableFuture<MoveResult>> submitUntilGameEnds(GameSession pipelined, Player player, CountDownLatch start) throws InterruptedException {
+        List<CompletableFuture<MoveResult>> accepted = new ArrayList<>();
+        start.await();
+        while (true) {
+            CompletableFuture<MoveResult> future = pipelined.playAsync(player, Move.ROCK);
+            MoveResult result = future.getNow(null);
+            if (result == RunnerError.MOVE_NOT_ACCEPTED || result == RunnerError.MOVES_EXCEED_ROUNDS) {
+                return accepted;
+            }
+            if (result == RunnerError.DUPLICATE_MOVE) {
+                Thread.yield();
+                continue;
+            }
+            accepted.add(future);
+        }
+    }
+
+    @Test
+    void playAsync_moveOutsideRuleSet_rejectsMove() {
+        makeTwoPlayerSession();
+
+        assertSame(RunnerError.INVALID_MOVE, session.playAsync(session.getPlayer1(), Move.LIZARD).join());
+        assertSame(RunnerError.INVALID_MOVE, session.playAllAsync(session.getPlayer2(), new Move[]{Move.ROCK, Move.SPOCK}).join());
+    }
+
+    @Test
+    void playAsync_ruleSetAboveCachedSize_resolvesRoundsWithoutCache() {
+        Player owner = Player.newPlayerWithName("testPlayer1");
+        RuleSet ruleSet = RuleSet.of(101);
+        GameSession large = new GameSession(owner, Game.newGame(owner, 1, ruleSet), gameRulesService);
+        large.joinGame(Player.newPlayerWithName("testPlayer2"));
+
+        CompletableFuture<MoveResult> result = large.playAsync(large.getPlayer1(), Move.fromOrdinal(100));
+        large.playAsync(large.getPlayer2(), Move.fromOrdinal(1));
+
+        assertInstanceOf(MoveResult.Played.class, result.join());
+        assertEquals(large.getPlayer1(), large.getGame().getLastRoundResult().winner());
+    }
+
+    @Test
+    void readGame_concurrentRounds_seesGameBetweenTwoRounds() throws Exception {
+        GameSession pipelined = makePipelinedSession(Game.MAX_ROUNDS, 8);
+        Game game = pipelined.getGame();
+        AtomicBoolean playing = new AtomicBoolean(true);
+        Thread players = new Thread(() -> {
+            while (playing.get()) {
+                pipelined.playAsync(pipelined.getPlayer1(), Move.PAPER);
+                pipelined.playAsync(pipelined.getPlayer2(), Move.ROCK);
+            }
+        });
+        players.start();
+
+        try {
+            for (int read = 0; read < 10_000; read++) {
+                // Every resolved round is counted in the score and the active round together
+                int[] state = pipelined.readGame(g -> new int[]{g.getPlayer1Score(), g.getActiveRound(), g.getHistory().getSize()});
+                assertEquals(state[0] + 1, state[1]);
+                assertEquals(state[0], state[2]);
+            }
+        } finally {
+            playing.set(false);
+            players.join();
+        }
+        assertTrue(game.getPlayer1Score() > 0);
+    }
+
+    @Test
+    void play_waitingPlayer_reportsRoundsAndBarrierWait() throws Exception {
+        List<Long> waits = new ArrayList<>();
+        List<Long> rounds = new ArrayList<>();
+        SessionMetrics metrics = new SessionMetrics() {
+            @Override
+            public synchronized void roundResolved() {
+                rounds.add(System.nanoTime());
+            }
+
+            @Override
+            public synchronized void barrierWaited(long nanos) {
+                waits.add(nanos);
+            }
+        };
+        Player owner = Player.newPlayerWithName("testPlayer1");
+        GameSession measured = new GameSession(owner, Game.newGame(owner, 2), gameRulesService, 1, metrics);
+        measured.joinGame(Player.newPlayerWithName("testPlayer2"));
+
+        Thread waiting = Thread.ofPlatform().start(() -> measured.play(measured.getPlayer1(), Move.ROCK));
+        while (waiting.getState() != Thread.State.WAITING) {
+            Thread.onSpinWait();
+        }
+        measured.play(measured.getPlayer2(), Move.PAPER);
+        waiting.join();
+        // The second round is resolved by the player moving last, who doesn't wait
+        measured.playAsync(measured.getPlayer2(), Move.PAPER);
+        measured.play(measured.getPlayer1(), Move.ROCK);
+
+        assertEquals(2, rounds.size());
+        assertEquals(1, waits.size());
+        assertTrue(waits.getFirst() > 0);
+    }
+
+    @Test
+    void play_flightRecording_recordsBarrierWaitOfWaitingPlayer(@TempDir Path directory) throws Exception {
+        makeTwoPlayerSession();
+        String gameId = session.getGame().getId().toString();
+
+        Path file = directory.resolve("session.jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(BarrierWaitEvent.class).withThreshold(Duration.ZERO);
+            recording.start();
+            Thread waiting = Thread.ofPlatform().start(() -> session.play(session.getPlayer1(), Move.ROCK));
+            while (waiting.getState() != Thread.State.WAITING) {
+                Thread.onSpinWait();
+            }
+            session.play(session.getPlayer2(), Move.PAPER);
+            waiting.join();
+            recording.stop();
+            recording.dump(file);
+        }
+
+        List<RecordedEvent> waits = RecordingFile.readAllEvents(file).stream()
+                .filter(event -> event.getEventType().getName().equals("com.mourat.rockpaperscissors.BarrierWait"))
+                .filter(event -> gameId.equals(event.getString("gameId")))
+                .toList();
+        assertEquals(1, waits.size());
+        assertEquals(session.getPlayer1().getId().toString(), waits.getFirst().getString("playerId"));
+        assertTrue(waits.getFirst().getDuration().toNanos() > 0);
+    }
+
+    GameSession makePipelinedSession(int rounds, int moveQueueCapacity){
+        Player owner = Player.newPlayerWithName("testPlayer1");
+        GameSession pipelined = new GameSession(owner, Game.newGame(owner, rounds), gameRulesService, moveQueueCapacity);
+        pipelined.joinGame(Player.newPlayerWithName("testPlayer2"));
+        return pipelined;
+    }
+
     void makeTwoPlayerSession(){
         Player player = Player.newPlayerWithName("testPlayer2");
         session.joinGame(player);
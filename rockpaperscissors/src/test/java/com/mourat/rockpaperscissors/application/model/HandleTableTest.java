@@ -0,0 +1,113 @@
+package com.mourat.rockpaperscissors.application.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HandleTableTest {
+
+    @Test
+    void register_nullValue_throwsIllegalArgumentException() {
+        HandleTable<String> table = new HandleTable<>();
+
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> table.register(null));
+
+        assertEquals("Value must be valid to get a handle", exception.getMessage());
+    }
+
+    @Test
+    void get_registeredValues_returnsValues() {
+        HandleTable<String> table = new HandleTable<>();
+
+        int first = table.register("first");
+        int second = table.register("second");
+
+        assertTrue(first >= 0);
+        assertNotEquals(first, second);
+        assertEquals("first", table.get(first));
+        assertEquals("second", table.get(second));
+    }
+
+    @Test
+    void get_invalidHandles_returnsNull() {
+        HandleTable<String> table = new HandleTable<>();
+        table.register("first");
+
+        assertNull(table.get(-1));
+        assertNull(table.get(1));
+        assertNull(table.get(1 << 20));
+    }
+
+    @Test
+    void release_reusedSlot_staleHandleResolvesToNull() {
+        HandleTable<String> table = new HandleTable<>();
+        int stale = table.register("first");
+
+        assertEquals("first", table.release(stale));
+        int fresh = table.register("second");
+
+        assertNotEquals(stale, fresh);
+        assertNull(table.get(stale));
+        assertNull(table.release(stale));
+        assertEquals("second", table.get(fresh));
+    }
+
+    @Test
+    void release_slotReusedUpToGenerationLimit_staleHandleResolvesToNull() {
+        HandleTable<String> table = new HandleTable<>();
+        int stale = table.register("first");
+        table.release(stale);
+
+        for (int reuse = 1; reuse < 1 << HandleTable.GENERATION_BITS; reuse++) {
+            int handle = table.register("reuse");
+            assertNull(table.get(stale));
+            table.release(handle);
+        }
+    }
+
+    @Test
+    void releaseAndRegister_concurrentThreads_neverShareASlot() throws Exception {
+        HandleTable<Integer> table = new HandleTable<>();
+        int threads = 4;
+        List<Thread> workers = new ArrayList<>();
+        List<Throwable> failures = new CopyOnWriteArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            int id = t;
+            workers.add(Thread.ofPlatform().start(() -> {
+                try {
+                    for (int i = 0; i < 20_000; i++) {
+                        int handle = table.register(id);
+                        assertEquals(id, table.get(handle));
+                        assertEquals(id, table.release(handle));
+                    }
+                } catch (Throwable e) {
+                    failures.add(e);
+                }
+            }));
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+
+        assertEquals(List.of(), failures);
+    }
+
+    @Test
+    void register_beyondFirstChunk_allValuesResolvable() {
+        HandleTable<Integer> table = new HandleTable<>();
+        int[] handles = new int[10_000];
+
+        for (int i = 0; i < handles.length; i++) {
+            handles[i] = table.register(i);
+        }
+
+        for (int i = 0; i < handles.length; i++) {
+            assertEquals(i, table.get(handles[i]));
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.mourat.rockpaperscissors.application.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LatencyHistogramTest {
+
+    @Test
+    void percentile_emptyHistogram_returnsZero() {
+        LatencyHistogram histogram = new LatencyHistogram();
+
+        assertEquals(0, histogram.count());
+        assertEquals(0, histogram.percentile(0.99));
+        assertEquals(0, histogram.max());
+    }
+
+    @Test
+    void percentile_invalidQuantile_throwsIllegalArgumentException() {
+        LatencyHistogram histogram = new LatencyHistogram();
+
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> histogram.percentile(1.5));
+
+        assertEquals("Quantile must be between 0 and 1", exception.getMessage());
+        assertThrows(IllegalArgumentException.class, () -> histogram.percentile(Double.NaN));
+    }
+
+    @Test
+    void percentile_smallLatencies_returnsExactLatencies() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int latency = 1; latency <= 100; latency++) {
+            histogram.record(latency);
+        }
+
+        assertEquals(100, histogram.count());
+        assertEquals(50, histogram.percentile(0.5));
+        assertEquals(99, histogram.percentile(0.99));
+        assertEquals(100, histogram.percentile(1));
+        assertEquals(1, histogram.percentile(0));
+    }
+
+    @Test
+    void percentile_largeLatencies_returnsLatenciesWithinPrecision() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 1; i <= 1000; i++) {
+            histogram.record(i * 1_000_000L);
+        }
+
+        assertEquals(500_000_000L, histogram.percentile(0.5), 500_000_000L * 0.016);
+        assertEquals(990_000_000L, histogram.percentile(0.99), 990_000_000L * 0.016);
+        assertEquals(999_000_000L, histogram.percentile(0.999), 999_000_000L * 0.016);
+        assertEquals(1_000_000_000L, histogram.max());
+        assertTrue(histogram.percentile(1) <= histogram.max());
+    }
+
+    @Test
+    void record_latencyAboveTrackableRange_keepsExactMax() {
+        LatencyHistogram histogram = new LatencyHistogram();
+
+        histogram.record(-5);
+        histogram.record(Long.MAX_VALUE);
+
+        assertEquals(2, histogram.count());
+        assertEquals(0, histogram.percentile(0.5));
+        assertEquals(Long.MAX_VALUE, histogram.max());
+        assertTrue(histogram.percentile(1) >= LatencyHistogram.MAX_TRACKABLE);
+    }
+
+    @Test
+    void bucketOf_everyBucket_containsItsHighestValue() {
+        for (int bucket = 0; bucket <= LatencyHistogram.bucketOf(LatencyHistogram.MAX_TRACKABLE); bucket++) {
+            long highest = LatencyHistogram.highestValueOf(bucket);
+
+            assertEquals(bucket, LatencyHistogram.bucketOf(highest));
+            assertEquals(bucket + 1, LatencyHistogram.bucketOf(highest + 1));
+        }
+    }
+
+    @Test
+    void record_concurrentThreads_countsEveryLatency() throws InterruptedException {
+        LatencyHistogram histogram = new LatencyHistogram();
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            threads.add(Thread.ofVirtual().start(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    histogram.record(i);
+                }
+            }));
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(80_000, histogram.count());
+        assertEquals(9_999, histogram.max());
+    }
+}
@@ -0,0 +1,94 @@
+package com.mourat.rockpaperscissors.application.model;
+
+import com.mourat.rockpaperscissors.domain.model.Move;
+import com.mourat.rockpaperscissors.domain.model.RuleSet;
+import com.mourat.rockpaperscissors.domain.service.GameRulesService;
+import com.mourat.rockpaperscissors.domain.service.impl.GameRulesServiceImpl;
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MatchHistoryTest {
+
+    private final MatchHistory history = new MatchHistory(RuleSet.CLASSIC, new GameRulesServiceImpl());
+
+    @Test
+    void constructor_nullRuleSet_throwsIllegalArgumentException() {
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> new MatchHistory(null, new GameRulesServiceImpl()));
+
+        assertEquals("Match history needs a rule set and rules", exception.getMessage());
+    }
+
+    @Test
+    void ownMove_freshHistory_returnsNull() {
+        assertNull(history.ownMove(1));
+        assertNull(history.opponentMove(1));
+        assertEquals(0, history.getRoundsPlayed());
+    }
+
+    @Test
+    void record_playedRounds_keepsMovesCountsAndScores() {
+        history.record(Move.PAPER, Move.ROCK, GameRulesService.PLAYER1_WINS);
+        history.record(Move.ROCK, Move.PAPER, GameRulesService.PLAYER2_WINS);
+        history.record(Move.SCISSORS, Move.ROCK, GameRulesService.PLAYER2_WINS);
+        history.record(Move.ROCK, Move.ROCK, GameRulesService.DRAW);
+
+        assertEquals(4, history.getRoundsPlayed());
+        assertEquals(1, history.getOwnScore());
+        assertEquals(2, history.getOpponentScore());
+        assertEquals(1, history.getDraws());
+        assertEquals(Move.ROCK, history.ownMove(1));
+        assertEquals(Move.SCISSORS, history.ownMove(2));
+        assertEquals(Move.PAPER, history.opponentMove(3));
+        assertNull(history.opponentMove(5));
+        assertEquals(3, history.opponentMoveCount(Move.ROCK));
+        assertEquals(0, history.opponentMoveCount(Move.SCISSORS));
+    }
+
+    @Test
+    void opponentMove_moreRoundsThanKept_returnsOnlyRecentMoves() {
+        for (int round = 0; round < MatchHistory.RECENT_ROUNDS + 10; round++) {
+            history.record(Move.ROCK, Move.fromOrdinal(round % 3), GameRulesService.DRAW);
+        }
+
+        assertEquals(Move.fromOrdinal((MatchHistory.RECENT_ROUNDS + 9) % 3), history.opponentMove(1));
+        assertEquals(Move.fromOrdinal(10 % 3), history.opponentMove(MatchHistory.RECENT_ROUNDS));
+        assertNull(history.opponentMove(MatchHistory.RECENT_ROUNDS + 1));
+        assertEquals(MatchHistory.RECENT_ROUNDS + 10, history.getRoundsPlayed());
+    }
+
+    @Test
+    void reset_playedRounds_emptiesHistory() {
+        history.record(Move.PAPER, Move.ROCK, GameRulesService.PLAYER1_WINS);
+
+        history.reset();
+
+        assertEquals(0, history.getRoundsPlayed());
+        assertEquals(0, history.getOwnScore());
+        assertEquals(0, history.opponentMoveCount(Move.ROCK));
+        assertNull(history.ownMove(1));
+    }
+
+    @Test
+    void moveBeating_everyMove_returnsWinningMove() {
+        GameRulesService rules = new GameRulesServiceImpl();
+        MatchHistory lizardSpock = new MatchHistory(RuleSet.LIZARD_SPOCK, rules);
+
+        for (Move move : RuleSet.LIZARD_SPOCK.moves()) {
+            assertEquals(GameRulesService.PLAYER1_WINS, rules.outcomeOf(RuleSet.LIZARD_SPOCK, lizardSpock.moveBeating(move), move));
+        }
+        assertEquals(Move.PAPER, history.moveBeating(Move.ROCK));
+    }
+
+    @Test
+    void randomMove_manyPicks_staysInRuleSet() {
+        SplittableRandom random = new SplittableRandom(1);
+
+        for (int i = 0; i < 1000; i++) {
+            assertTrue(RuleSet.CLASSIC.contains(history.randomMove(random)));
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package com.mourat.rockpaperscissors.application.model;
+
+import com.mourat.rockpaperscissors.application.services.GameSessionFactory;
+import com.mourat.rockpaperscissors.domain.model.Game;
+import com.mourat.rockpaperscissors.domain.model.Player;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class MatchmakerTest {
+
+    @Autowired
+    GameSessionFactory sessionFactory;
+    Matchmaker matchmaker;
+
+    @BeforeEach
+    void setUp() {
+        matchmaker = new Matchmaker();
+    }
+
+    @Test
+    void publish_nullSession_throwsIllegalArgumentException() {
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> matchmaker.publish(null));
+
+        assertEquals("Session must be valid to be published", exception.getMessage());
+    }
+
+    @Test
+    void claim_noOpenSessions_returnsNull() {
+        GameSession session = matchmaker.claim(Player.newPlayerWithName("testPlayer"));
+
+        assertNull(session);
+        assertTrue(matchmaker.isEmpty());
+    }
+
+    @Test
+    void claim_openSessions_joinsOldestFirst() {
+        GameSession first = newOpenSession();
+        GameSession second = newOpenSession();
+        matchmaker.publish(first);
+        matchmaker.publish(second);
+
+        Player player = Player.newPlayerWithName("testPlayer");
+        GameSession claimed = matchmaker.claim(player);
+
+        assertSame(first, claimed);
+        assertSame(player, claimed.getPlayer2());
+        assertEquals(1, matchmaker.size());
+    }
+
+    @Test
+    void claim_sessionNoLongerJoinable_skipsToNextSession() {
+        GameSession full = newOpenSession();
+        full.joinGame(Player.newPlayerWithName("testPlayer2"));
+        GameSession open = newOpenSession();
+        matchmaker.publish(full);
+        matchmaker.publish(open);
+
+        GameSession claimed = matchmaker.claim(Player.newPlayerWithName("testPlayer3"));
+
+        assertSame(open, claimed);
+        assertTrue(matchmaker.isEmpty());
+        assertEquals(0, matchmaker.size());
+    }
+
+    @Test
+    void forEachOpen_openSessions_visitsUnclaimedSessionsOldestFirst() {
+        GameSession claimed = newOpenSession();
+        GameSession second = newOpenSession();
+        GameSession third = newOpenSession();
+        matchmaker.publish(claimed);
+        matchmaker.publish(second);
+        matchmaker.publish(third);
+        matchmaker.claim(Player.newPlayerWithName("testPlayer"));
+
+        List<GameSession> visited = new ArrayList<>();
+        matchmaker.forEachOpen(visited::add);
+
+        assertEquals(List.of(second, third), visited);
+    }
+
+    @Test
+    void withdraw_expiredSession_isSkippedAndCountedOnce() {
+        GameSession expired = newOpenSession();
+        GameSession open = newOpenSession();
+        matchmaker.publish(expired);
+        matchmaker.publish(open);
+        expired.expire();
+
+        assertTrue(matchmaker.withdraw(expired));
+        assertFalse(matchmaker.withdraw(expired));
+        assertEquals(1, matchmaker.size());
+        List<GameSession> visited = new ArrayList<>();
+        matchmaker.forEachOpen(visited::add);
+        assertEquals(List.of(open), visited);
+
+        GameSession claimed = matchmaker.claim(Player.newPlayerWithName("testPlayer"));
+
+        assertSame(open, claimed);
+        assertEquals(0, matchmaker.size());
+        assertTrue(matchmaker.isEmpty());
+        assertFalse(matchmaker.withdraw(open));
+        assertEquals(0, matchmaker.size());
+    }
+
+    @Test
+    void claim_concurrentJoiners_eachSessionClaimedOnce() throws Exception {
+        int sessions = 200;
+        for (int i = 0; i < sessions; i++) {
+            matchmaker.publish(newOpenSession());
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        Set<GameSession> claimed = ConcurrentHashMap.newKeySet();
+        List<Future<Integer>> futures = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            futures.add(executor.submit(() -> {
+                int count = 0;
+                GameSession session;
+                while ((session = matchmaker.claim(Player.newPlayerWithName("joiner"))) != null) {
+                    assertTrue(claimed.add(session));
+                    count++;
+                }
+                return count;
+            }));
+        }
+
+        int total = 0;
+        for (Future<Integer> future : futures) {
+            total += future.get();
+        }
+        executor.shutdown();
+
+        assertEquals(sessions, total);
+        assertEquals(sessions, claimed.size());
+        assertTrue(matchmaker.isEmpty());
+    }
+
+    private GameSession newOpenSession() {
+        Player owner = Player.newPlayerWithName("testPlayer1");
+        return sessionFactory.createSession(owner, Game.newGame(owner, 1));
+    }
+}
@@ -0,0 +1,66 @@
+package com.mourat.rockpaperscissors.application.model;
+
+import com.mourat.rockpaperscissors.domain.model.Move;
+import com.mourat.rockpaperscissors.domain.model.RuleSet;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MoveDistributionTest {
+
+    @Test
+    void next_singleMove_alwaysReturnsMove() {
+        MoveDistribution distribution = MoveDistribution.parse("PAPER", RuleSet.CLASSIC);
+        SplittableRandom random = new SplittableRandom(1);
+
+        for (int i = 0; i < 100; i++) {
+            assertSame(Move.PAPER, distribution.next(random));
+        }
+    }
+
+    @Test
+    void next_uniform_returnsEveryMoveOfRuleSet() {
+        MoveDistribution distribution = MoveDistribution.parse("uniform", RuleSet.LIZARD_SPOCK);
+        Map<Move, Integer> picks = pick(distribution, 50_000);
+
+        assertEquals(5, picks.size());
+        picks.values().forEach(count -> assertEquals(10_000, count, 500));
+    }
+
+    @Test
+    void next_weightedMoves_returnsMovesByWeight() {
+        MoveDistribution distribution = MoveDistribution.parse(" rock:5, PAPER:3 ,SCISSORS ", RuleSet.CLASSIC);
+        Map<Move, Integer> picks = pick(distribution, 90_000);
+
+        assertEquals(50_000, picks.get(Move.ROCK), 1_000);
+        assertEquals(30_000, picks.get(Move.PAPER), 1_000);
+        assertEquals(10_000, picks.get(Move.SCISSORS), 1_000);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"SPOCK", "PAPER,FIRE", "ROCK:0", "ROCK:-1", "ROCK:many", "ROCK,PAPER,ROCK", " "})
+    void parse_invalidDistribution_throwsIllegalArgumentException(String description) {
+        assertThrows(IllegalArgumentException.class, () -> MoveDistribution.parse(description, RuleSet.CLASSIC));
+    }
+
+    @Test
+    void toString_parsedDistribution_returnsDescription() {
+        assertEquals("ROCK:2,PAPER", MoveDistribution.parse(" ROCK:2,PAPER ", RuleSet.CLASSIC).toString());
+        assertEquals("uniform", MoveDistribution.parse("UNIFORM", RuleSet.CLASSIC).toString());
+    }
+
+    private static Map<Move, Integer> pick(MoveDistribution distribution, int picks) {
+        SplittableRandom random = new SplittableRandom(42);
+        Map<Move, Integer> counts = new HashMap<>();
+        for (int i = 0; i < picks; i++) {
+            counts.merge(distribution.next(random), 1, Integer::sum);
+        }
+        return counts;
+    }
+}
@@ -0,0 +1,70 @@
+package com.mourat.rockpaperscissors.application.model;
+
+import com.mourat.rockpaperscissors.domain.model.Move;
+import com.mourat.rockpaperscissors.domain.model.RuleSet;
+import com.mourat.rockpaperscissors.domain.service.GameRulesService;
+import com.mourat.rockpaperscissors.domain.service.impl.GameRulesServiceImpl;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MoveStrategiesTest {
+
+    private final MatchHistory history = new MatchHistory(RuleSet.CLASSIC, new GameRulesServiceImpl());
+    private final SplittableRandom random = new SplittableRandom(3);
+
+    @Test
+    void builtIn_classicRules_namesEveryStrategy() {
+        List<String> names = MoveStrategies.builtIn(RuleSet.CLASSIC).stream().map(MoveStrategy::getName).toList();
+
+        assertEquals(List.of("uniform", "ROCK", "copy-opponent", "beat-last", "beat-most-frequent", "cycle"), names);
+    }
+
+    @Test
+    void nextMove_firstRound_everyBuiltInPlaysMoveOfRuleSet() {
+        for (MoveStrategy strategy : MoveStrategies.builtIn(RuleSet.CLASSIC)) {
+            assertTrue(RuleSet.CLASSIC.contains(strategy.nextMove(history, random)), strategy.getName());
+        }
+    }
+
+    @Test
+    void copyOpponent_playedRound_playsOpponentsLastMove() {
+        history.record(Move.ROCK, Move.SCISSORS, GameRulesService.PLAYER1_WINS);
+
+        assertEquals(Move.SCISSORS, MoveStrategies.copyOpponent().nextMove(history, random));
+    }
+
+    @Test
+    void beatLastMove_playedRound_beatsOpponentsLastMove() {
+        history.record(Move.ROCK, Move.SCISSORS, GameRulesService.PLAYER1_WINS);
+
+        assertEquals(Move.ROCK, MoveStrategies.beatLastMove().nextMove(history, random));
+    }
+
+    @Test
+    void beatMostFrequent_playedRounds_beatsOpponentsFavouriteMove() {
+        history.record(Move.ROCK, Move.PAPER, GameRulesService.PLAYER2_WINS);
+        history.record(Move.ROCK, Move.SCISSORS, GameRulesService.PLAYER1_WINS);
+        history.record(Move.ROCK, Move.PAPER, GameRulesService.PLAYER2_WINS);
+
+        assertEquals(Move.SCISSORS, MoveStrategies.beatMostFrequent().nextMove(history, random));
+    }
+
+    @Test
+    void cycle_playedRound_playsNextMove() {
+        history.record(Move.SCISSORS, Move.ROCK, GameRulesService.PLAYER2_WINS);
+
+        assertEquals(Move.ROCK, MoveStrategies.cycle().nextMove(history, random));
+    }
+
+    @Test
+    void fromDistribution_weightedMoves_picksFromDistribution() {
+        MoveStrategy strategy = MoveStrategies.fromDistribution(MoveDistribution.parse("PAPER", RuleSet.CLASSIC));
+
+        assertEquals("PAPER", strategy.getName());
+        assertEquals(Move.PAPER, strategy.nextMove(history, random));
+    }
+}
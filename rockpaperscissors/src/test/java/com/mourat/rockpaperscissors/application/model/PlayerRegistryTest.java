@@ -0,0 +1,121 @@
+package com.mourat.rockpaperscissors.application.model;
+
+import com.mourat.rockpaperscissors.domain.model.Player;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PlayerRegistryTest {
+
+    @Test
+    void constructor_invalidShardCount_throwsIllegalArgumentException() {
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> new PlayerRegistry(3));
+
+        assertEquals("Shard count must be a positive power of two", exception.getMessage());
+    }
+
+    @Test
+    void register_nullPlayer_throwsIllegalArgumentException() {
+        PlayerRegistry registry = new PlayerRegistry();
+
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> registry.register(null));
+
+        assertEquals("Player must be valid to be registered", exception.getMessage());
+    }
+
+    @Test
+    void register_samePlayerTwice_failsWithFalse() {
+        PlayerRegistry registry = new PlayerRegistry();
+        Player player = Player.newPlayerWithName("testPlayer");
+
+        assertTrue(registry.register(player));
+        assertFalse(registry.register(player));
+        assertEquals(1, registry.size());
+    }
+
+    @Test
+    void find_registeredPlayer_returnsPlayer() {
+        PlayerRegistry registry = new PlayerRegistry(1);
+        Player player = Player.newPlayerWithName("testPlayer");
+        registry.register(player);
+
+        assertSame(player, registry.find(player.getId()));
+    }
+
+    @Test
+    void find_unknownOrNullId_returnsNull() {
+        PlayerRegistry registry = new PlayerRegistry();
+        registry.register(Player.newPlayerWithName("testPlayer"));
+
+        assertNull(registry.find(UUID.randomUUID()));
+        assertNull(registry.find(null));
+    }
+
+    @Test
+    void remove_registeredPlayer_removesPlayer() {
+        PlayerRegistry registry = new PlayerRegistry();
+        Player player = Player.newPlayerWithName("testPlayer");
+        registry.register(player);
+
+        assertSame(player, registry.remove(player.getId()));
+        assertNull(registry.find(player.getId()));
+        assertNull(registry.remove(null));
+        assertEquals(0, registry.size());
+    }
+
+    @Test
+    void forEach_playersInEveryShard_visitsEachPlayerOnce() {
+        PlayerRegistry registry = new PlayerRegistry(8);
+        Set<Player> registered = new HashSet<>();
+        for (int i = 0; i < 100; i++) {
+            Player player = Player.newPlayerWithName("testPlayer");
+            registry.register(player);
+            registered.add(player);
+        }
+
+        List<Player> visited = new ArrayList<>();
+        registry.forEach(visited::add);
+
+        assertEquals(100, visited.size());
+        assertEquals(registered, new HashSet<>(visited));
+    }
+
+    @Test
+    void register_concurrentPlayers_allPlayersFound() throws Exception {
+        PlayerRegistry registry = new PlayerRegistry();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        List<Future<List<Player>>> futures = new ArrayList<>();
+
+        for (int t = 0; t < 4; t++) {
+            futures.add(executor.submit(() -> {
+                List<Player> created = new ArrayList<>();
+                for (int i = 0; i < 1000; i++) {
+                    Player player = Player.newPlayerWithName("testPlayer");
+                    registry.register(player);
+                    created.add(player);
+                }
+                return created;
+            }));
+        }
+
+        for (Future<List<Player>> future : futures) {
+            for (Player player : future.get()) {
+                assertSame(player, registry.find(player.getId()));
+            }
+        }
+        executor.shutdown();
+
+        assertEquals(4000, registry.size());
+    }
+}
@@ -0,0 +1,156 @@
+package com.mourat.rockpaperscissors.application.services;
+
+import com.mourat.rockpaperscissors.application.model.ArchivedGame;
+import com.mourat.rockpaperscissors.domain.model.Move;
+import com.mourat.rockpaperscissors.infrastructure.persistence.GameArchiveFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameArchiveTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void constructor_negativeCapacity_throwsIllegalArgumentException() {
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> new GameArchive(-1, (GameArchiveFile) null));
+
+        assertEquals("Archive capacity can't be negative", exception.getMessage());
+    }
+
+    @Test
+    void store_nullGame_throwsIllegalArgumentException() {
+        GameArchive archive = new GameArchive(1, (GameArchiveFile) null);
+
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> archive.store(null));
+
+        assertEquals("Archived game must be valid", exception.getMessage());
+    }
+
+    @Test
+    void store_beyondCapacityWithoutSpillFile_dropsLeastRecentlyUsed() {
+        GameArchive archive = new GameArchive(2, (GameArchiveFile) null);
+        ArchivedGame first = newArchivedGame();
+        ArchivedGame second = newArchivedGame();
+        ArchivedGame third = newArchivedGame();
+
+        archive.store(first);
+        archive.store(second);
+        archive.find(first.gameId());
+        archive.store(third);
+
+        assertEquals(first, archive.find(first.gameId()));
+        assertNull(archive.find(second.gameId()));
+        assertEquals(third, archive.find(third.gameId()));
+        assertEquals(2, archive.hotSize());
+    }
+
+    @Test
+    void store_beyondCapacityWithSpillFile_spilledGamesStillFound() throws Exception {
+        GameArchive archive = new GameArchive(1, new GameArchiveFile(tempDir.resolve("archive.bin")));
+        ArchivedGame first = newArchivedGame();
+        ArchivedGame second = newArchivedGame();
+
+        archive.store(first);
+        archive.store(second);
+
+        assertEquals(1, archive.hotSize());
+        assertEquals(first, archive.find(first.gameId()));
+        assertEquals(second, archive.find(second.gameId()));
+        assertNull(archive.find(UUID.randomUUID()));
+        assertNull(archive.find(null));
+        archive.close();
+        assertEquals(1, archive.spilledSize());
+    }
+
+    @Test
+    void store_afterClose_dropsEvictedGames() throws Exception {
+        GameArchive archive = new GameArchive(0, new GameArchiveFile(tempDir.resolve("archive.bin")));
+        archive.close();
+        ArchivedGame game = newArchivedGame();
+
+        archive.store(game);
+
+        assertEquals(0, archive.spilledSize());
+        assertNull(archive.find(game.gameId()));
+    }
+
+    @Test
+    void spillFile_manyGames_findsEveryGameBeforeAndAfterReopening() throws Exception {
+        Path path = tempDir.resolve("archive.bin");
+        List<ArchivedGame> games = new ArrayList<>();
+        GameArchiveFile file = new GameArchiveFile(path);
+        for (int i = 0; i < 5000; i++) {
+            ArchivedGame game = newArchivedGame();
+            file.append(game);
+            games.add(game);
+        }
+        for (ArchivedGame game : games) {
+            assertEquals(game, file.find(game.gameId()));
+        }
+        file.close();
+
+        GameArchiveFile reopened = new GameArchiveFile(path);
+
+        assertEquals(5000, reopened.size());
+        for (ArchivedGame game : games) {
+            assertEquals(game, reopened.find(game.gameId()));
+        }
+        assertNull(reopened.find(UUID.randomUUID()));
+        reopened.close();
+    }
+
+    @Test
+    void spillFile_reopened_rebuildsIndexAndDropsTornRecord() throws Exception {
+        Path path = tempDir.resolve("archive.bin");
+        ArchivedGame game = newArchivedGame();
+        GameArchiveFile file = new GameArchiveFile(path);
+        file.append(game);
+        file.close();
+        Files.write(path, new byte[]{0, 0, 0, 100, 1, 2}, StandardOpenOption.APPEND);
+
+        GameArchiveFile reopened = new GameArchiveFile(path);
+
+        assertEquals(1, reopened.size());
+        assertEquals(game, reopened.find(game.gameId()));
+        reopened.close();
+    }
+
+    @Test
+    void spillFile_oversizeName_storesRecordsThatSurviveReopening() throws Exception {
+        Path path = tempDir.resolve("archive.bin");
+        ArchivedGame padded = new ArchivedGame(UUID.randomUUID(),
+                UUID.randomUUID(), " ".repeat(5000) + "AB", UUID.randomUUID(), "Ä".repeat(3000),
+                3, 2, 1, 0, 1, Move.ROCK, Move.SCISSORS, 1);
+        ArchivedGame next = newArchivedGame();
+        GameArchiveFile file = new GameArchiveFile(path);
+        file.append(padded);
+        file.append(next);
+        file.close();
+
+        GameArchiveFile reopened = new GameArchiveFile(path);
+
+        assertEquals(2, reopened.size());
+        assertEquals("AB", reopened.find(padded.gameId()).player1Name());
+        assertTrue(reopened.find(padded.gameId()).player2Name().matches("Ä+"));
+        assertEquals(next, reopened.find(next.gameId()));
+        reopened.close();
+    }
+
+    private static ArchivedGame newArchivedGame() {
+        return new ArchivedGame(UUID.randomUUID(),
+                UUID.randomUUID(), "Player A", UUID.randomUUID(), "Player B",
+                3, 2, 1, 0, 1, Move.ROCK, Move.SCISSORS, 1);
+    }
+}
@@ -2,12 +2,20 @@ package com.mourat.rockpaperscissors.application.services;
 
 import com.mourat.rockpaperscissors.application.model.GameSession;
 import com.mourat.rockpaperscissors.application.model.SessionState;
+import com.mourat.rockpaperscissors.application.dto.MoveResult;
 import com.mourat.rockpaperscissors.domain.model.Game;
+import com.mourat.rockpaperscissors.domain.model.Move;
 import com.mourat.rockpaperscissors.domain.model.Player;
+import com.mourat.rockpaperscissors.domain.model.RoundHistory;
+import com.mourat.rockpaperscissors.domain.model.RuleSet;
+import com.mourat.rockpaperscissors.domain.service.GameRulesService;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 @SpringBootTest
@@ -16,6 +24,26 @@ class GameSessionFactoryTest {
     @Autowired
     GameSessionFactory sessionFactory;
 
+    @Autowired
+    GameRulesService gameRulesService;
+
+    @Test
+    void constructor_nonPositiveMoveQueueCapacity_throwsIllegalArgumentException() {
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> new GameSessionFactory(gameRulesService, 0));
+
+        assertEquals("Move queue capacity must be positive", exception.getMessage());
+    }
+
+    @Test
+    void createSession_moveQueueCapacityAboveRounds_capsCapacityToRounds() {
+        Player player = Player.newPlayerWithName("test");
+
+        GameSession session = new GameSessionFactory(gameRulesService, 50).createSession(player, Game.newGame(player, 3));
+
+        assertEquals(3, session.getMoveQueueCapacity());
+    }
+
     @Test
     void createSession_nullOwner_throwsIllegalArgumentException() {
         IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
@@ -45,4 +73,31 @@ class GameSessionFactoryTest {
 
         assertEquals(SessionState.WAITING_FOR_JOIN, session.getState());
     }
-}
\ No newline at end of file
+
+    @Test
+    void resumeSession_restoredGame_continuesAtItsActiveRound() {
+        Player player1 = Player.newPlayerWithName("test");
+        Player player2 = Player.newPlayerWithName("test2");
+        Game game = Game.restore(UUID.randomUUID(), player1, player2, 3, RuleSet.CLASSIC);
+        game.replayRound(Move.PAPER, Move.ROCK, RoundHistory.PLAYER1);
+        game.replayRound(Move.PAPER, Move.ROCK, RoundHistory.PLAYER1);
+
+        GameSession session = sessionFactory.resumeSession(game);
+        assertSame(session, player2.getGameSession());
+        CompletableFuture<MoveResult> result = session.playAsync(player1, Move.ROCK);
+        session.playAsync(player2, Move.PAPER);
+
+        MoveResult.Played played = assertInstanceOf(MoveResult.Played.class, result.join());
+        assertEquals(2, played.player1Score());
+        assertEquals(1, played.player2Score());
+        assertTrue(played.gameFinished());
+    }
+
+    @Test
+    void resumeSession_gameWithoutSecondPlayer_throwsIllegalArgumentException() {
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> sessionFactory.resumeSession(Game.newGame(Player.newPlayerWithName("test"), 2)));
+
+        assertEquals("Resumed game must have two players", exception.getMessage());
+    }
+}
@@ -0,0 +1,206 @@
+package com.mourat.rockpaperscissors.application.services;
+
+import com.mourat.rockpaperscissors.application.dto.ResultDto;
+import com.mourat.rockpaperscissors.application.model.ArchivedGame;
+import com.mourat.rockpaperscissors.application.services.impl.GameRunnerServiceImpl;
+import com.mourat.rockpaperscissors.domain.model.Move;
+import com.mourat.rockpaperscissors.domain.model.RoundHistory;
+import com.mourat.rockpaperscissors.domain.model.RoundSink;
+import com.mourat.rockpaperscissors.domain.service.impl.GameRulesServiceImpl;
+import com.mourat.rockpaperscissors.infrastructure.persistence.GameArchiveFile;
+import com.mourat.rockpaperscissors.infrastructure.persistence.RoundJournalFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JournalRecoveryTest {
+
+    @TempDir
+    Path tempDir;
+
+    private final List<SessionReaper> reapers = new ArrayList<>();
+
+    @AfterEach
+    void stopReapers() {
+        reapers.forEach(SessionReaper::shutdown);
+    }
+
+    @Test
+    void recover_playersAndGamesOfPreviousRun_restoresThem() throws Exception {
+        RoundJournal journal = new RoundJournal(new RoundJournalFile(tempDir, 4096), 1000);
+        GameRunnerServiceImpl before = newRunner(new GameArchive(10, (GameArchiveFile) null), journal);
+        String idle = before.createPlayer("Idle");
+        String player1 = before.createPlayer("Player A");
+        String player2 = before.createPlayer("Player B");
+        String finishedGame = before.createGame(player1, 2);
+        before.joinGame(player2);
+        play(before, player1, "PAPER", player2, "ROCK");
+        play(before, player1, "ROCK", player2, "ROCK");
+        String runningGame = before.createGame(player1, 5, 5);
+        before.joinGame(player2);
+        play(before, player1, "PAPER", player2, "ROCK");
+        play(before, player1, "SCISSORS", player2, "ROCK");
+        journal.close();
+
+        GameArchive archive = new GameArchive(10, (GameArchiveFile) null);
+        GameRunnerServiceImpl after = newRunner(archive, RoundSink.NONE);
+        JournalRecovery.Summary summary = new JournalRecovery(tempDir.toString(), true, after, archive).recover(tempDir);
+
+        assertEquals(new JournalRecovery.Summary(3, 1, 1, 0, 4, 0, 0), summary);
+        assertNotNull(archive.find(UUID.fromString(finishedGame)));
+        assertEquals("Player A", after.getFinishedGame(finishedGame).getGameWinnerPlayerName());
+        assertFalse(after.createGame(idle, 1).startsWith("ERROR"));
+
+        ResultDto third = play(after, player1, "LIZARD", player2, "ROCK");
+        assertEquals(runningGame, third.getGameId());
+        assertEquals("4", third.getCurrentRound());
+        assertEquals("1", third.getPlayer1Score());
+        assertEquals("2", third.getPlayer2Score());
+        assertFalse(third.isGameFinished());
+    }
+
+    @Test
+    void recover_journalWrittenAfterRecovery_continuesTheGame() throws Exception {
+        RoundJournal journal = new RoundJournal(new RoundJournalFile(tempDir, 4096), 1000);
+        GameRunnerServiceImpl first = newRunner(new GameArchive(10, (GameArchiveFile) null), journal);
+        String player1 = first.createPlayer("Player A");
+        String player2 = first.createPlayer("Player B");
+        String gameId = first.createGame(player1, 3);
+        first.joinGame(player2);
+        play(first, player1, "PAPER", player2, "ROCK");
+        journal.close();
+
+        RoundJournal secondJournal = new RoundJournal(new RoundJournalFile(tempDir, 4096), 1000);
+        GameRunnerServiceImpl second = newRunner(new GameArchive(10, (GameArchiveFile) null), secondJournal);
+        new JournalRecovery(tempDir.toString(), true, second, new GameArchive(10, (GameArchiveFile) null)).recover(tempDir);
+        play(second, player1, "PAPER", player2, "ROCK");
+        secondJournal.close();
+
+        GameArchive archive = new GameArchive(10, (GameArchiveFile) null);
+        GameRunnerServiceImpl third = newRunner(archive, RoundSink.NONE);
+        new JournalRecovery(tempDir.toString(), true, third, archive).recover(tempDir);
+        ResultDto last = play(third, player1, "ROCK", player2, "PAPER");
+
+        assertEquals(gameId, last.getGameId());
+        assertTrue(last.isGameFinished());
+        assertEquals("2", last.getPlayer1Score());
+        assertEquals("1", last.getPlayer2Score());
+    }
+
+    @Test
+    void recover_finishedGameAlreadyArchived_isNotArchivedTwice() throws Exception {
+        RoundJournal journal = new RoundJournal(new RoundJournalFile(tempDir.resolve("journal"), 4096), 1000);
+        GameRunnerServiceImpl before = newRunner(new GameArchive(10, (GameArchiveFile) null), journal);
+        String player1 = before.createPlayer("Player A");
+        String player2 = before.createPlayer("Player B");
+        String gameId = before.createGame(player1, 1);
+        before.joinGame(player2);
+        play(before, player1, "PAPER", player2, "ROCK");
+        journal.close();
+
+        GameArchive archive = new GameArchive(0, new GameArchiveFile(tempDir.resolve("archive.bin")));
+        archive.store(new ArchivedGame(UUID.fromString(gameId), UUID.randomUUID(), "Player A", UUID.randomUUID(), "Player B",
+                1, 1, 0, 0, 1, Move.PAPER, Move.ROCK, 1));
+        new JournalRecovery(tempDir.toString(), true, newRunner(archive, RoundSink.NONE), archive).recover(tempDir.resolve("journal"));
+
+        archive.close();
+        assertEquals(1, archive.spilledSize());
+    }
+
+    @Test
+    void recover_abandonedGame_isNotRestored() throws Exception {
+        UUID player1 = UUID.randomUUID();
+        UUID player2 = UUID.randomUUID();
+        UUID gameId = UUID.randomUUID();
+        RoundJournalFile file = new RoundJournalFile(tempDir, 4096);
+        file.appendGameStarted(1, gameId, 3, 3, player1, "Player A", player2, "Player B");
+        file.appendRoundPlayed(2, gameId, 1, Move.PAPER.ordinal(), Move.ROCK.ordinal(), RoundHistory.PLAYER1);
+        file.appendGameAbandoned(3, gameId, 2);
+        file.close();
+
+        GameRunnerServiceImpl after = newRunner(new GameArchive(10, (GameArchiveFile) null), RoundSink.NONE);
+        JournalRecovery.Summary summary = new JournalRecovery(tempDir.toString(), true, after,
+                new GameArchive(10, (GameArchiveFile) null)).recover(tempDir);
+
+        assertEquals(new JournalRecovery.Summary(2, 0, 0, 1, 1, 0, 0), summary);
+        assertFalse(after.createGame(player1.toString(), 1).startsWith("ERROR"));
+        assertFalse(after.joinGame(player2.toString()).startsWith("ERROR"));
+    }
+
+    @Test
+    void recover_laterGameOfSamePlayer_restoresOnlyTheLatestGame() throws Exception {
+        UUID player1 = UUID.randomUUID();
+        UUID player2 = UUID.randomUUID();
+        UUID player3 = UUID.randomUUID();
+        UUID staleGame = UUID.randomUUID();
+        UUID latestGame = UUID.randomUUID();
+        RoundJournalFile file = new RoundJournalFile(tempDir, 4096);
+        file.appendGameStarted(1, staleGame, 3, 3, player1, "Player A", player2, "Player B");
+        file.appendGameStarted(2, latestGame, 3, 3, player1, "Player A", player3, "Player C");
+        file.appendRoundPlayed(3, staleGame, 1, Move.PAPER.ordinal(), Move.ROCK.ordinal(), RoundHistory.PLAYER1);
+        file.close();
+
+        GameRunnerServiceImpl after = newRunner(new GameArchive(10, (GameArchiveFile) null), RoundSink.NONE);
+        JournalRecovery.Summary summary = new JournalRecovery(tempDir.toString(), true, after,
+                new GameArchive(10, (GameArchiveFile) null)).recover(tempDir);
+
+        assertEquals(new JournalRecovery.Summary(3, 1, 0, 1, 0, 1, 0), summary);
+        assertFalse(after.createGame(player2.toString(), 1).startsWith("ERROR"));
+        ResultDto first = play(after, player1.toString(), "PAPER", player3.toString(), "ROCK");
+        assertEquals(latestGame.toString(), first.getGameId());
+    }
+
+    @Test
+    void recover_nameCutToBlank_skipsRecordsOfThePlayer() throws Exception {
+        RoundJournal journal = new RoundJournal(new RoundJournalFile(tempDir, 4096), 1000);
+        GameRunnerServiceImpl before = newRunner(new GameArchive(10, (GameArchiveFile) null), journal);
+        String padded = before.createPlayer(" ".repeat(40) + "AB");
+        String player1 = before.createPlayer("Player A");
+        before.createGame(padded, 3);
+        before.joinGame(player1);
+        before.makeMoveAsync(padded, "PAPER");
+        before.makeMoveAsync(player1, "ROCK").join();
+        journal.close();
+
+        GameRunnerServiceImpl after = newRunner(new GameArchive(10, (GameArchiveFile) null), RoundSink.NONE);
+        JournalRecovery.Summary summary = new JournalRecovery(tempDir.toString(), true, after,
+                new GameArchive(10, (GameArchiveFile) null)).recover(tempDir);
+
+        assertEquals(new JournalRecovery.Summary(1, 0, 0, 0, 0, 1, 2), summary);
+        assertTrue(after.createGame(padded, 1).startsWith("ERROR"));
+        assertFalse(after.createGame(player1, 1).startsWith("ERROR"));
+    }
+
+    @Test
+    void recoverOnStartup_disabled_restoresNothing() throws Exception {
+        RoundJournal journal = new RoundJournal(new RoundJournalFile(tempDir, 4096), 1000);
+        GameRunnerServiceImpl before = newRunner(new GameArchive(10, (GameArchiveFile) null), journal);
+        String player = before.createPlayer("Player A");
+        journal.close();
+
+        GameRunnerServiceImpl after = newRunner(new GameArchive(10, (GameArchiveFile) null), RoundSink.NONE);
+        new JournalRecovery(tempDir.toString(), false, after, new GameArchive(10, (GameArchiveFile) null)).recoverOnStartup();
+
+        assertTrue(after.createGame(player, 1).startsWith("ERROR"));
+    }
+
+    private GameRunnerServiceImpl newRunner(GameArchive archive, RoundSink roundSink) {
+        SessionReaper reaper = new SessionReaper(60_000, 60_000, 100);
+        reapers.add(reaper);
+        return new GameRunnerServiceImpl(new GameSessionFactory(new GameRulesServiceImpl()), archive, reaper, 100, roundSink);
+    }
+
+    private static ResultDto play(GameRunnerServiceImpl runner, String player1, String move1, String player2, String move2) {
+        CompletableFuture<ResultDto> result = runner.makeMoveAsync(player1, move1);
+        runner.makeMoveAsync(player2, move2);
+        return result.join();
+    }
+}
@@ -0,0 +1,72 @@
+package com.mourat.rockpaperscissors.application.services;
+
+import com.mourat.rockpaperscissors.application.services.impl.GameRunnerServiceImpl;
+import com.mourat.rockpaperscissors.domain.model.RoundSink;
+import com.mourat.rockpaperscissors.domain.service.impl.GameRulesServiceImpl;
+import com.mourat.rockpaperscissors.infrastructure.persistence.GameArchiveFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LoadGeneratorTest {
+
+    private final SessionReaper sessionReaper = new SessionReaper(60_000, 60_000, 100);
+
+    private final GameRunnerServiceImpl gameRunner = new GameRunnerServiceImpl(
+            new GameSessionFactory(new GameRulesServiceImpl()), new GameArchive(10, (GameArchiveFile) null), sessionReaper);
+
+    @AfterEach
+    void stopReaper() {
+        sessionReaper.shutdown();
+    }
+
+    @Test
+    void constructor_noBotPairs_throwsIllegalArgumentException() {
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> new LoadGenerator(0, 1, 10, 100, 3, "PAPER", "uniform", LoadGenerator.ThreadMode.PLATFORM, 0, false, gameRunner));
+
+        assertEquals("Simulation needs at least one bot pair, one round per game and no negative game count or ramp-up", exception.getMessage());
+    }
+
+    @Test
+    void constructor_moveOutsideRuleSet_throwsIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new LoadGenerator(1, 1, 10, 100, 3, "SPOCK", "uniform", LoadGenerator.ThreadMode.PLATFORM, 0, false, gameRunner));
+    }
+
+    @Test
+    void run_botPairs_reportsEveryGameRoundAndMove() throws InterruptedException {
+        LoadGenerator loadGenerator = new LoadGenerator(3, 2, 20, 100, 5, "ROCK:3,SPOCK", "uniform",
+                LoadGenerator.ThreadMode.VIRTUAL, 30, true, gameRunner);
+
+        LoadGenerator.Report report = loadGenerator.run();
+
+        assertEquals(6, report.bots());
+        assertEquals(6, report.games());
+        assertEquals(120, report.rounds());
+        assertEquals(240, report.moves());
+        assertEquals(0, report.failedBots());
+        assertTrue(report.nanos() >= 20_000_000L);
+        assertTrue(report.heapPerBot() >= 0);
+        assertTrue(report.p50() <= report.p99() && report.p99() <= report.p999() && report.p999() <= report.max());
+        assertTrue(report.roundsPerSecond() > report.gamesPerSecond());
+        assertTrue(report.toString().contains("120 rounds"));
+    }
+
+    @Test
+    void run_gamesLongerThanAllowed_reportsFailedBots() throws InterruptedException {
+        GameRunnerServiceImpl shortGames = new GameRunnerServiceImpl(new GameSessionFactory(new GameRulesServiceImpl()),
+                new GameArchive(10, (GameArchiveFile) null), sessionReaper, 10, RoundSink.NONE);
+        LoadGenerator loadGenerator = new LoadGenerator(2, 1, 20, 10, 3, "PAPER", "uniform",
+                LoadGenerator.ThreadMode.PLATFORM, 0, false, shortGames);
+
+        LoadGenerator.Report report = loadGenerator.run();
+
+        assertEquals(0, report.games());
+        assertEquals(0, report.moves());
+        assertEquals(4, report.failedBots());
+        assertEquals(-1, report.heapPerBot());
+        assertTrue(report.toString().contains("heap per bot not measured"));
+    }
+}
@@ -0,0 +1,104 @@
+package com.mourat.rockpaperscissors.application.services;
+
+import com.mourat.rockpaperscissors.application.model.MoveDistribution;
+import com.mourat.rockpaperscissors.domain.model.RuleSet;
+import com.mourat.rockpaperscissors.domain.service.impl.GameRulesServiceImpl;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MonteCarloSimulatorTest {
+
+    @Test
+    void constructor_negativeGames_throwsIllegalArgumentException() {
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> new MonteCarloSimulator(-1, 0, null, 10, 3, "PAPER", "uniform", new GameRulesServiceImpl()));
+
+        assertEquals("Monte Carlo simulation can't have a negative game count or parallelism", exception.getMessage());
+    }
+
+    @Test
+    void constructor_moveOutsideRuleSet_throwsIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new MonteCarloSimulator(1, 0, null, 10, 3, "SPOCK", "uniform", new GameRulesServiceImpl()));
+    }
+
+    @Test
+    void simulate_tooManyRounds_throwsIllegalArgumentException() {
+        MonteCarloSimulator simulator = newSimulator(1);
+        MoveDistribution uniform = MoveDistribution.parse("uniform", RuleSet.CLASSIC);
+
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> simulator.simulate(RuleSet.CLASSIC, uniform, uniform, MonteCarloSimulator.MAX_ROUNDS + 1, 10, 1));
+        assertEquals("Monte Carlo simulation needs at least one game and between 1 and 10000 rounds per game", exception.getMessage());
+    }
+
+    @Test
+    void simulate_alwaysWinningMove_player1WinsEveryRoundAndGame() {
+        MonteCarloSimulator.Report report = newSimulator(2).simulate(RuleSet.CLASSIC,
+                MoveDistribution.parse("PAPER", RuleSet.CLASSIC), MoveDistribution.parse("ROCK", RuleSet.CLASSIC), 7, 1000, 42);
+
+        assertEquals(1000, report.player1Games());
+        assertEquals(0, report.player2Games());
+        assertEquals(0, report.tiedGames());
+        assertEquals(7000, report.player1Rounds());
+        assertEquals(1000, report.player1WinsPerGame()[7]);
+        assertEquals(1000, report.player2WinsPerGame()[0]);
+        assertEquals(1000, report.drawsPerGame()[0]);
+        assertEquals(1.0, report.player1WinRate());
+    }
+
+    @Test
+    void simulate_uniformMoves_countsEveryGameAndRoundOnce() {
+        MoveDistribution uniform = MoveDistribution.parse("uniform", RuleSet.LIZARD_SPOCK);
+
+        MonteCarloSimulator.Report report = newSimulator(4).simulate(RuleSet.LIZARD_SPOCK, uniform, uniform, 100, 50_000, 7);
+
+        assertEquals(50_000, report.player1Games() + report.player2Games() + report.tiedGames());
+        assertEquals(5_000_000, report.player1Rounds() + report.player2Rounds() + report.drawnRounds());
+        assertEquals(50_000, Arrays.stream(report.player1WinsPerGame()).sum());
+        assertEquals(50_000, Arrays.stream(report.drawsPerGame()).sum());
+        long weightedWins = 0;
+        for (int wins = 0; wins < report.player1WinsPerGame().length; wins++) {
+            weightedWins += wins * report.player1WinsPerGame()[wins];
+        }
+        assertEquals(report.player1Rounds(), weightedWins);
+        // Every move draws a fifth and wins two fifths of the rounds
+        assertEquals(0.2, (double) report.drawnRounds() / report.totalRounds(), 0.01);
+        assertEquals(0.4, (double) report.player1Rounds() / report.totalRounds(), 0.01);
+        assertEquals(report.player1WinRate(), report.player2WinRate(), 0.02);
+    }
+
+    @Test
+    void simulate_sameSeedOnDifferentWorkers_simulatesSameGames() {
+        MoveDistribution player1Moves = MoveDistribution.parse("ROCK:5,PAPER:3,SCISSORS:2", RuleSet.CLASSIC);
+        MoveDistribution player2Moves = MoveDistribution.parse("uniform", RuleSet.CLASSIC);
+
+        MonteCarloSimulator.Report sequential = newSimulator(1).simulate(RuleSet.CLASSIC, player1Moves, player2Moves, 1000, 5000, 99);
+        MonteCarloSimulator.Report parallel = newSimulator(4).simulate(RuleSet.CLASSIC, player1Moves, player2Moves, 1000, 5000, 99);
+
+        assertEquals(sequential.player1Games(), parallel.player1Games());
+        assertEquals(sequential.player2Games(), parallel.player2Games());
+        assertEquals(sequential.player1Rounds(), parallel.player1Rounds());
+        assertArrayEquals(sequential.player1WinsPerGame(), parallel.player1WinsPerGame());
+        assertArrayEquals(sequential.drawsPerGame(), parallel.drawsPerGame());
+    }
+
+    @Test
+    void run_configuredSimulation_reportsConfiguredGames() {
+        MonteCarloSimulator simulator = new MonteCarloSimulator(300, 2, 5L, 20, 3, "PAPER", "uniform", new GameRulesServiceImpl());
+
+        MonteCarloSimulator.Report report = simulator.run();
+
+        assertEquals(300, report.games());
+        assertEquals(20, report.rounds());
+        assertEquals(2, report.parallelism());
+        assertTrue(report.toString().contains("300 games of 20 rounds"));
+    }
+
+    private MonteCarloSimulator newSimulator(int parallelism) {
+        return new MonteCarloSimulator(0, parallelism, null, 100, 3, "uniform", "uniform", new GameRulesServiceImpl());
+    }
+}
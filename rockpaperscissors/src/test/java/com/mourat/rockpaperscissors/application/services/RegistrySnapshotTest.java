@@ -0,0 +1,203 @@
+package com.mourat.rockpaperscissors.application.services;
+
+import com.mourat.rockpaperscissors.application.dto.ResultDto;
+import com.mourat.rockpaperscissors.application.model.ArchivedGame;
+import com.mourat.rockpaperscissors.application.services.impl.GameRunnerServiceImpl;
+import com.mourat.rockpaperscissors.domain.model.Game;
+import com.mourat.rockpaperscissors.domain.model.RoundSink;
+import com.mourat.rockpaperscissors.domain.service.impl.GameRulesServiceImpl;
+import com.mourat.rockpaperscissors.infrastructure.persistence.GameArchiveFile;
+import com.mourat.rockpaperscissors.infrastructure.persistence.RegistrySnapshotFile.GameRecord;
+import com.mourat.rockpaperscissors.infrastructure.persistence.RegistrySnapshotReader;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RegistrySnapshotTest {
+
+    @TempDir
+    Path tempDir;
+
+    private final List<SessionReaper> reapers = new ArrayList<>();
+
+    @AfterEach
+    void stopReapers() {
+        reapers.forEach(SessionReaper::shutdown);
+    }
+
+    @Test
+    void constructor_negativeInterval_throwsIllegalArgumentException() {
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> newSnapshot(newRunner(newArchive()), newArchive(), -1));
+
+        assertEquals("Snapshot interval can't be negative", exception.getMessage());
+    }
+
+    @Test
+    void restore_writtenSnapshot_restoresPlayersGamesAndResults() throws Exception {
+        GameArchive archive = newArchive();
+        GameRunnerServiceImpl before = newRunner(archive);
+        String idle = before.createPlayer("Idle");
+        String player1 = before.createPlayer("Player A");
+        String player2 = before.createPlayer("Player B");
+        String waitingOwner = before.createPlayer("Player C");
+        String finishedGame = before.createGame(player1, 1);
+        before.joinGame(player2);
+        play(before, player1, "PAPER", player2, "ROCK");
+        String runningGame = before.createGame(player1, 3);
+        before.joinGame(player2);
+        play(before, player1, "ROCK", player2, "PAPER");
+        String waitingGame = before.createGame(waitingOwner, 2);
+        Path file = tempDir.resolve("snapshot.bin");
+
+        assertEquals(new RegistrySnapshot.Summary(4, 2, 1), newSnapshot(before, archive, 0).write(file));
+
+        GameArchive restoredArchive = newArchive();
+        GameRunnerServiceImpl after = newRunner(restoredArchive);
+        assertEquals(new RegistrySnapshot.Summary(4, 2, 1), newSnapshot(after, restoredArchive, 0).restore(file));
+
+        assertEquals("Player A", after.getFinishedGame(finishedGame).getGameWinnerPlayerName());
+        assertFalse(after.createGame(idle, 1).startsWith("ERROR"));
+        ResultDto second = play(after, player1, "ROCK", player2, "ROCK");
+        assertEquals(runningGame, second.getGameId());
+        assertEquals("3", second.getCurrentRound());
+        assertEquals("0", second.getPlayer1Score());
+        assertEquals("1", second.getPlayer2Score());
+        String joiner = after.createPlayer("Player D");
+        assertEquals(waitingGame, after.joinGame(joiner));
+    }
+
+    @Test
+    void restore_gameLongerThanItsHistory_continuesWithItsScores() throws Exception {
+        GameArchive archive = newArchive();
+        GameRunnerServiceImpl before = newRunner(archive);
+        String player1 = before.createPlayer("Player A");
+        String player2 = before.createPlayer("Player B");
+        before.createGame(player1, Game.RECENT_ROUNDS + 50, 5);
+        before.joinGame(player2);
+        for (int round = 0; round < Game.RECENT_ROUNDS + 20; round++) {
+            play(before, player1, round % 3 == 0 ? "SPOCK" : "ROCK", player2, "SCISSORS");
+        }
+        Path file = tempDir.resolve("snapshot.bin");
+        newSnapshot(before, archive, 0).write(file);
+
+        GameArchive restoredArchive = newArchive();
+        GameRunnerServiceImpl after = newRunner(restoredArchive);
+        newSnapshot(after, restoredArchive, 0).restore(file);
+        ResultDto next = play(after, player1, "ROCK", player2, "PAPER");
+
+        assertEquals(String.valueOf(Game.RECENT_ROUNDS + 22), next.getCurrentRound());
+        assertEquals(String.valueOf(Game.RECENT_ROUNDS + 20), next.getPlayer1Score());
+        assertEquals("1", next.getPlayer2Score());
+    }
+
+    @Test
+    void write_whilePlaying_savesEveryGameBetweenTwoRounds() throws Exception {
+        GameArchive archive = newArchive();
+        GameRunnerServiceImpl runner = newRunner(archive);
+        String player1 = runner.createPlayer("Player A");
+        String player2 = runner.createPlayer("Player B");
+        runner.createGame(player1, Game.MAX_ROUNDS);
+        runner.joinGame(player2);
+        AtomicBoolean playing = new AtomicBoolean(true);
+        Thread players = new Thread(() -> {
+            while (playing.get()) {
+                play(runner, player1, "PAPER", player2, "ROCK");
+            }
+        });
+        players.start();
+
+        RegistrySnapshot snapshot = newSnapshot(runner, archive, 0);
+        Path file = tempDir.resolve("snapshot.bin");
+        try {
+            for (int i = 0; i < 50; i++) {
+                snapshot.write(file);
+                RegistrySnapshotReader.read(file, new RegistrySnapshotReader.Listener() {
+                    @Override
+                    public void playerRestored(UUID playerId, String playerName) {
+                    }
+
+                    @Override
+                    public void gameRestored(GameRecord game) {
+                        int played = game.player1Score() + game.player2Score() + game.draws();
+                        assertEquals(0, game.player2Score());
+                        assertEquals(Math.min(played, Game.RECENT_ROUNDS) * GameRecord.ROUND_BYTES, game.recentRounds().length);
+                    }
+
+                    @Override
+                    public void archivedGameRestored(ArchivedGame game) {
+                        fail("No game was finished");
+                    }
+                });
+            }
+        } finally {
+            playing.set(false);
+            players.join();
+        }
+    }
+
+    @Test
+    void restore_incompleteSnapshot_throwsIOException() throws Exception {
+        GameArchive archive = newArchive();
+        GameRunnerServiceImpl runner = newRunner(archive);
+        runner.createPlayer("Player A");
+        Path file = tempDir.resolve("snapshot.bin");
+        newSnapshot(runner, archive, 0).write(file);
+        try (RandomAccessFile raf = new RandomAccessFile(file.toFile(), "rw")) {
+            raf.setLength(raf.length() - 1);
+        }
+
+        GameArchive restoredArchive = newArchive();
+        IOException exception = assertThrows(IOException.class,
+                () -> newSnapshot(newRunner(restoredArchive), restoredArchive, 0).restore(file));
+        assertTrue(exception.getMessage().endsWith("is incomplete"));
+    }
+
+    @Test
+    void restoreOnStartup_journalRecoveryEnabled_restoresNothing() throws Exception {
+        GameArchive archive = newArchive();
+        GameRunnerServiceImpl before = newRunner(archive);
+        String player = before.createPlayer("Player A");
+        Path file = tempDir.resolve("snapshot.bin");
+        newSnapshot(before, archive, 0).write(file);
+
+        GameArchive restoredArchive = newArchive();
+        GameRunnerServiceImpl after = newRunner(restoredArchive);
+        new RegistrySnapshot(file.toString(), 0, true, true, after, restoredArchive).restoreOnStartup();
+
+        assertTrue(after.createGame(player, 1).startsWith("ERROR"));
+        assertTrue(Files.exists(file));
+    }
+
+    private RegistrySnapshot newSnapshot(GameRunnerServiceImpl runner, GameArchive archive, long intervalMillis) {
+        return new RegistrySnapshot(tempDir.resolve("snapshot.bin").toString(), intervalMillis, false, false, runner, archive);
+    }
+
+    private static GameArchive newArchive() {
+        return new GameArchive(10, (GameArchiveFile) null);
+    }
+
+    private GameRunnerServiceImpl newRunner(GameArchive archive) {
+        SessionReaper reaper = new SessionReaper(60_000, 60_000, 100);
+        reapers.add(reaper);
+        return new GameRunnerServiceImpl(new GameSessionFactory(new GameRulesServiceImpl()), archive, reaper, Game.MAX_ROUNDS, RoundSink.NONE);
+    }
+
+    private static ResultDto play(GameRunnerServiceImpl runner, String player1, String move1, String player2, String move2) {
+        CompletableFuture<ResultDto> result = runner.makeMoveAsync(player1, move1);
+        runner.makeMoveAsync(player2, move2);
+        return result.join();
+    }
+}
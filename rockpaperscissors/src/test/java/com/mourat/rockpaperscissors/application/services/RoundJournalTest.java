@@ -0,0 +1,281 @@
+package com.mourat.rockpaperscissors.application.services;
+
+import com.mourat.rockpaperscissors.domain.model.Game;
+import com.mourat.rockpaperscissors.domain.model.Move;
+import com.mourat.rockpaperscissors.domain.model.Player;
+import com.mourat.rockpaperscissors.domain.model.RoundResult;
+import com.mourat.rockpaperscissors.infrastructure.persistence.RoundJournalDump;
+import com.mourat.rockpaperscissors.infrastructure.persistence.RoundJournalFile;
+import com.mourat.rockpaperscissors.infrastructure.persistence.RoundJournalReader;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.RandomAccessFile;
+import java.io.StringWriter;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RoundJournalTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void constructor_nonPositiveFlushInterval_throwsIllegalArgumentException() {
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> new RoundJournal(null, 0));
+
+        assertEquals("Journal flush interval must be positive", exception.getMessage());
+    }
+
+    @Test
+    void constructor_tooSmallSegments_throwsIllegalArgumentException() {
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> new RoundJournalFile(tempDir, RoundJournalFile.MIN_SEGMENT_SIZE - 1));
+
+        assertEquals("Journal segments must hold at least " + RoundJournalFile.MIN_SEGMENT_SIZE + " bytes", exception.getMessage());
+    }
+
+    @Test
+    void constructor_blankDirectory_disablesJournal() {
+        RoundJournal journal = new RoundJournal(" ", RoundJournal.DEFAULT_SEGMENT_SIZE, 1000);
+        Game game = playedGame(journal, 2);
+
+        assertFalse(journal.isEnabled());
+        assertEquals(3, game.getActiveRound());
+        journal.close();
+    }
+
+    @Test
+    void playedGame_readBack_returnsEveryRecordInOrder() throws Exception {
+        RoundJournal journal = new RoundJournal(new RoundJournalFile(tempDir, 4096), 1000);
+        Game game = playedGame(journal, 3);
+        journal.close();
+
+        List<String> records = new ArrayList<>();
+        long count = RoundJournalReader.read(tempDir, new RoundJournalReader.Listener() {
+            @Override
+            public void gameStarted(long timestamp, UUID gameId, int rounds, int moveCount,
+                                    UUID player1Id, String player1Name, UUID player2Id, String player2Name) {
+                assertEquals(game.getId(), gameId);
+                assertEquals(game.getPlayer1().getId(), player1Id);
+                assertEquals(game.getPlayer2().getId(), player2Id);
+                records.add("start " + rounds + " " + moveCount + " " + player1Name + " " + player2Name);
+            }
+
+            @Override
+            public void roundPlayed(long timestamp, long gameIdMostSigBits, long gameIdLeastSigBits, int round,
+                                    int player1Move, int player2Move, int winner) {
+                assertEquals(game.getId(), new UUID(gameIdMostSigBits, gameIdLeastSigBits));
+                records.add("round " + round + " " + player1Move + " " + player2Move + " " + winner);
+            }
+
+            @Override
+            public void gameFinished(long timestamp, UUID gameId, int player1Score, int player2Score, int draws, int winner) {
+                assertEquals(game.getId(), gameId);
+                records.add("finish " + player1Score + " " + player2Score + " " + draws + " " + winner);
+            }
+        });
+
+        assertEquals(5, count);
+        assertEquals(List.of("start 3 3 Player A Player B",
+                "round 1 1 0 1",
+                "round 2 0 0 0",
+                "round 3 1 0 1",
+                "finish 2 0 1 1"), records);
+    }
+
+    @Test
+    void playedGame_smallSegments_rollsOverToNewSegments() throws Exception {
+        RoundJournal journal = new RoundJournal(new RoundJournalFile(tempDir, RoundJournalFile.MIN_SEGMENT_SIZE), 1000);
+        playedGame(journal, 10);
+        journal.close();
+
+        assertTrue(RoundJournalFile.segments(tempDir).size() > 1);
+        assertEquals(12, RoundJournalReader.read(tempDir, new CountingListener()));
+    }
+
+    @Test
+    void appendRoundPlayed_concurrentThreads_keepsEveryRecordInOrderPerGame() throws Exception {
+        RoundJournalFile file = new RoundJournalFile(tempDir, 1024);
+        int threads = 4;
+        int rounds = 500;
+        List<Thread> appenders = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            UUID gameId = new UUID(0, t);
+            appenders.add(Thread.ofPlatform().start(() -> {
+                try {
+                    for (int round = 1; round <= rounds; round++) {
+                        file.appendRoundPlayed(round, gameId, round, 0, 1, 2);
+                    }
+                } catch (Exception e) {
+                    throw new RuntimeException(e);
+                }
+            }));
+        }
+        for (Thread appender : appenders) {
+            appender.join();
+        }
+        file.close();
+
+        int[] lastRounds = new int[threads];
+        long records = RoundJournalReader.read(tempDir, new CountingListener() {
+            @Override
+            public void roundPlayed(long timestamp, long gameIdMostSigBits, long gameIdLeastSigBits, int round,
+                                    int player1Move, int player2Move, int winner) {
+                assertEquals(lastRounds[(int) gameIdLeastSigBits] + 1, round);
+                lastRounds[(int) gameIdLeastSigBits] = round;
+            }
+        });
+
+        assertEquals((long) threads * rounds, records);
+    }
+
+    @Test
+    void appendRoundPlayed_closedJournal_throwsIllegalStateException() throws Exception {
+        RoundJournalFile file = new RoundJournalFile(tempDir, 4096);
+        file.close();
+
+        assertThrows(IllegalStateException.class, () -> file.appendRoundPlayed(1, UUID.randomUUID(), 1, 0, 1, 2));
+    }
+
+    @Test
+    void roundPlayed_afterClose_dropsRecordsWithoutThrowing() throws Exception {
+        RoundJournal journal = new RoundJournal(new RoundJournalFile(tempDir, 4096), 1000);
+        journal.close();
+
+        Game game = assertDoesNotThrow(() -> playedGame(journal, 2));
+        assertDoesNotThrow(game::abandon);
+        assertDoesNotThrow(() -> journal.playerCreated(game.getPlayer1()));
+
+        assertEquals(0, RoundJournalReader.read(tempDir, new CountingListener()));
+    }
+
+    @Test
+    void constructor_existingJournal_appendsToNewSegment() throws Exception {
+        RoundJournal first = new RoundJournal(new RoundJournalFile(tempDir, 4096), 1000);
+        playedGame(first, 1);
+        first.close();
+
+        RoundJournal second = new RoundJournal(new RoundJournalFile(tempDir, 4096), 1000);
+        playedGame(second, 1);
+        second.close();
+
+        assertEquals(2, RoundJournalFile.segments(tempDir).size());
+        assertEquals(6, RoundJournalReader.read(tempDir, new CountingListener()));
+    }
+
+    @Test
+    void read_tornRecord_skipsIt() throws Exception {
+        RoundJournal journal = new RoundJournal(new RoundJournalFile(tempDir, 4096), 1000);
+        playedGame(journal, 2);
+        journal.close();
+
+        // Clear the type byte of the last round, as if the process died while writing it
+        int lastRound = RoundJournalFile.GAME_STARTED_SIZE + RoundJournalFile.ROUND_PLAYED_SIZE;
+        try (RandomAccessFile file = new RandomAccessFile(RoundJournalFile.segments(tempDir).getFirst().toFile(), "rw")) {
+            file.seek(lastRound);
+            file.write(0);
+        }
+
+        List<Integer> rounds = new ArrayList<>();
+        long records = RoundJournalReader.read(tempDir, new CountingListener() {
+            @Override
+            public void roundPlayed(long timestamp, long gameIdMostSigBits, long gameIdLeastSigBits, int round,
+                                    int player1Move, int player2Move, int winner) {
+                rounds.add(round);
+            }
+        });
+
+        assertEquals(3, records);
+        assertEquals(List.of(1), rounds);
+    }
+
+    @Test
+    void read_reservedSlotNeverWritten_readsTheRecordsAfterIt() throws Exception {
+        RoundJournal journal = new RoundJournal(new RoundJournalFile(tempDir, 4096), 1000);
+        playedGame(journal, 3);
+        journal.close();
+
+        // Zero the whole first round, as if the process died right after reserving it
+        try (RandomAccessFile file = new RandomAccessFile(RoundJournalFile.segments(tempDir).getFirst().toFile(), "rw")) {
+            file.seek(RoundJournalFile.GAME_STARTED_SIZE);
+            file.write(new byte[RoundJournalFile.ROUND_PLAYED_SIZE]);
+        }
+
+        List<String> records = new ArrayList<>();
+        long count = RoundJournalReader.read(tempDir, new CountingListener() {
+            @Override
+            public void roundPlayed(long timestamp, long gameIdMostSigBits, long gameIdLeastSigBits, int round,
+                                    int player1Move, int player2Move, int winner) {
+                records.add("round " + round + " " + winner);
+            }
+
+            @Override
+            public void gameFinished(long timestamp, UUID gameId, int player1Score, int player2Score, int draws, int winner) {
+                records.add("finish " + player1Score + " " + draws);
+            }
+        });
+
+        assertEquals(4, count);
+        assertEquals(List.of("round 2 0", "round 3 1", "finish 2 1"), records);
+    }
+
+    @Test
+    void dump_playedGame_printsFormerRecordLogLines() throws Exception {
+        RoundJournal journal = new RoundJournal(new RoundJournalFile(tempDir, 4096), 1000);
+        playedGame(journal, 3);
+        journal.close();
+
+        StringWriter rounds = new StringWriter();
+        RoundJournalReader.read(tempDir, new RoundJournalDump(rounds, true));
+        StringWriter games = new StringWriter();
+        RoundJournalReader.read(tempDir, new RoundJournalDump(games, false));
+
+        String[] lines = rounds.toString().split("\n");
+        assertEquals(4, lines.length);
+        assertTrue(lines[0].matches("\\[\\d{4}-\\d\\d-\\d\\d \\d\\d:\\d\\d:\\d\\d\\.\\d{3}] Round: P1: PAPER, P2: ROCK, \tWinner: Player A"));
+        assertTrue(lines[1].endsWith("] Round: P1: ROCK, P2: ROCK, \tWinner: No winner"));
+        assertTrue(lines[3].endsWith("] Game Scores: P1: 2, P2: 0, \tWinner: Player A"));
+        assertEquals(lines[3] + "\n", games.toString());
+    }
+
+    /**
+     * Plays a game where player 1 wins every round but the even ones, which are draws.
+     */
+    private static Game playedGame(RoundJournal journal, int rounds) {
+        Player player1 = Player.newPlayerWithName("Player A");
+        Player player2 = Player.newPlayerWithName("Player B");
+        Game game = Game.newGame(player1, rounds);
+        game.setRoundSink(journal);
+        game.setPlayerTwo(player2);
+
+        for (int round = 1; round <= rounds; round++) {
+            game.playRound(round % 2 == 0
+                    ? new RoundResult(Move.ROCK, Move.ROCK, null)
+                    : new RoundResult(Move.PAPER, Move.ROCK, player1));
+        }
+        return game;
+    }
+
+    private static class CountingListener implements RoundJournalReader.Listener {
+
+        @Override
+        public void gameStarted(long timestamp, UUID gameId, int rounds, int moveCount,
+                                UUID player1Id, String player1Name, UUID player2Id, String player2Name) {
+        }
+
+        @Override
+        public void roundPlayed(long timestamp, long gameIdMostSigBits, long gameIdLeastSigBits, int round,
+                                int player1Move, int player2Move, int winner) {
+        }
+
+        @Override
+        public void gameFinished(long timestamp, UUID gameId, int player1Score, int player2Score, int draws, int winner) {
+        }
+    }
+}
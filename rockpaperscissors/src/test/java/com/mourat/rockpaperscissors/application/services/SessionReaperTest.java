@@ -0,0 +1,108 @@
+package com.mourat.rockpaperscissors.application.services;
+
+import com.mourat.rockpaperscissors.application.dto.ResultDto;
+import com.mourat.rockpaperscissors.application.model.GameSession;
+import com.mourat.rockpaperscissors.application.model.SessionState;
+import com.mourat.rockpaperscissors.domain.model.Game;
+import com.mourat.rockpaperscissors.domain.model.Move;
+import com.mourat.rockpaperscissors.domain.model.Player;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class SessionReaperTest {
+
+    @Autowired
+    GameSessionFactory sessionFactory;
+    SessionReaper reaper;
+
+    @AfterEach
+    void tearDown() {
+        if (reaper != null) {
+            reaper.shutdown();
+        }
+    }
+
+    @Test
+    void constructor_nonPositiveTimeout_throwsIllegalArgumentException() {
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> new SessionReaper(0, 100, 10));
+
+        assertEquals("Reaper timeouts and tick must be positive", exception.getMessage());
+    }
+
+    @Test
+    void watch_nullSession_throwsIllegalArgumentException() {
+        reaper = new SessionReaper(100, 100, 10);
+
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> reaper.watch(null, session -> {}));
+
+        assertEquals("Session and expiry callback must be valid", exception.getMessage());
+    }
+
+    @Test
+    void watch_sessionNeverJoined_expiresAndReleasesOwner() throws Exception {
+        reaper = new SessionReaper(50, 10_000, 10);
+        GameSession session = newSession();
+        CountDownLatch expired = new CountDownLatch(1);
+
+        reaper.watch(session, s -> expired.countDown());
+
+        assertTrue(expired.await(2, TimeUnit.SECONDS));
+        assertEquals(SessionState.TERMINATED, session.getState());
+        assertNull(session.getPlayer1().getGameSession());
+        assertNull(session.getPlayer1().getGamePlaying());
+    }
+
+    @Test
+    void watch_playerStalledMidRound_releasesWaitingPlayer() throws Exception {
+        reaper = new SessionReaper(10_000, 50, 10);
+        GameSession session = newSession();
+        Player player2 = Player.newPlayerWithName("testPlayer2");
+        session.joinGame(player2);
+        CountDownLatch expired = new CountDownLatch(1);
+        reaper.watch(session, s -> expired.countDown());
+
+        ResultDto result = CompletableFuture.supplyAsync(() -> session.makeMove(session.getPlayer1(), Move.ROCK))
+                .get(2, TimeUnit.SECONDS);
+
+        assertTrue(expired.await(2, TimeUnit.SECONDS));
+        assertFalse(result.isSuccess());
+        assertEquals("Session expired before the round was completed", result.getStatusMessage());
+        assertNull(player2.getGameSession());
+    }
+
+    @Test
+    void watch_activeSession_isNotExpired() throws Exception {
+        reaper = new SessionReaper(10_000, 10_000, 10);
+        GameSession session = newSession();
+        CountDownLatch expired = new CountDownLatch(1);
+
+        reaper.watch(session, s -> expired.countDown());
+
+        assertFalse(expired.await(200, TimeUnit.MILLISECONDS));
+        assertEquals(SessionState.WAITING_FOR_JOIN, session.getState());
+    }
+
+    @Test
+    void expire_terminatedSession_returnsFalse() {
+        GameSession session = newSession();
+
+        assertTrue(session.expire());
+        assertFalse(session.expire());
+    }
+
+    private GameSession newSession() {
+        Player owner = Player.newPlayerWithName("testPlayer1");
+        return sessionFactory.createSession(owner, Game.newGame(owner, 3));
+    }
+}
@@ -0,0 +1,108 @@
+package com.mourat.rockpaperscissors.application.services;
+
+import com.mourat.rockpaperscissors.application.model.MatchHistory;
+import com.mourat.rockpaperscissors.application.model.MoveDistribution;
+import com.mourat.rockpaperscissors.application.model.MoveStrategies;
+import com.mourat.rockpaperscissors.application.model.MoveStrategy;
+import com.mourat.rockpaperscissors.domain.model.Move;
+import com.mourat.rockpaperscissors.domain.model.RuleSet;
+import com.mourat.rockpaperscissors.domain.service.impl.GameRulesServiceImpl;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.random.RandomGenerator;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StrategyTournamentTest {
+
+    private static final MoveStrategy ALWAYS_PAPER = MoveStrategies.fromDistribution(MoveDistribution.parse("PAPER", RuleSet.CLASSIC));
+    private static final MoveStrategy ALWAYS_ROCK = MoveStrategies.fromDistribution(MoveDistribution.parse("ROCK", RuleSet.CLASSIC));
+
+    @Test
+    void constructor_negativeGames_throwsIllegalArgumentException() {
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> new StrategyTournament(-1, 0, null, 10, 3, List.of(), new GameRulesServiceImpl()));
+
+        assertEquals("Tournament can't have a negative game count or parallelism", exception.getMessage());
+    }
+
+    @Test
+    void play_singleStrategy_throwsIllegalArgumentException() {
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> newTournament(1).play(List.of(ALWAYS_PAPER), RuleSet.CLASSIC, 10, 10, 1));
+
+        assertEquals("Tournament needs a rule set and at least two strategies", exception.getMessage());
+    }
+
+    @Test
+    void play_strategyOutsideRuleSet_throwsIllegalStateException() {
+        MoveStrategy spock = new MoveStrategy() {
+            @Override
+            public String getName() {
+                return "spock";
+            }
+
+            @Override
+            public Move nextMove(MatchHistory history, RandomGenerator random) {
+                return Move.SPOCK;
+            }
+        };
+
+        assertThrows(IllegalStateException.class, () -> newTournament(1).play(List.of(ALWAYS_PAPER, spock), RuleSet.CLASSIC, 10, 10, 1));
+    }
+
+    @Test
+    void play_dominatedStrategies_fillsWinRateMatrix() {
+        StrategyTournament.Report report = newTournament(2).play(
+                List.of(ALWAYS_PAPER, ALWAYS_ROCK, MoveStrategies.beatLastMove()), RuleSet.CLASSIC, 10, 50, 11);
+
+        assertEquals(List.of("PAPER", "ROCK", "beat-last"), report.strategies());
+        assertEquals(1.0, report.winRate(0, 1));
+        assertEquals(0.0, report.winRate(1, 0));
+        assertTrue(Double.isNaN(report.winRate(1, 1)));
+        // Beating the last move wins every round but the first against a fixed move
+        assertEquals(1.0, report.winRate(2, 0));
+        assertEquals(1.0, report.winRate(2, 1));
+        assertEquals(0.0, report.ties()[0][2]);
+        assertEquals(1.0, report.overallWinRate(2));
+        assertEquals(3L * 50 * 10, report.totalRounds());
+        assertTrue(report.toString().contains("beat-last"));
+    }
+
+    @Test
+    void play_sameSeedOnDifferentWorkers_playsSameTournament() {
+        List<MoveStrategy> strategies = MoveStrategies.builtIn(RuleSet.LIZARD_SPOCK);
+
+        StrategyTournament.Report sequential = newTournament(1).play(strategies, RuleSet.LIZARD_SPOCK, 50, 200, 5);
+        StrategyTournament.Report parallel = newTournament(4).play(strategies, RuleSet.LIZARD_SPOCK, 50, 200, 5);
+
+        assertArrayEquals(sequential.wins(), parallel.wins());
+        assertArrayEquals(sequential.ties(), parallel.ties());
+        for (int strategy = 0; strategy < strategies.size(); strategy++) {
+            for (int opponent = 0; opponent < strategies.size(); opponent++) {
+                if (strategy != opponent) {
+                    assertEquals(200, sequential.wins()[strategy][opponent] + sequential.wins()[opponent][strategy]
+                            + sequential.ties()[strategy][opponent]);
+                }
+            }
+        }
+    }
+
+    @Test
+    void run_registeredStrategy_playsNextToBuiltInStrategies() {
+        StrategyTournament tournament = new StrategyTournament(20, 2, 3L, 10, 3, List.of(ALWAYS_PAPER), new GameRulesServiceImpl());
+
+        StrategyTournament.Report report = tournament.run();
+
+        assertEquals(MoveStrategies.builtIn(RuleSet.CLASSIC).size() + 1, report.strategies().size());
+        assertEquals("PAPER", report.strategies().getLast());
+        assertEquals(20, report.games());
+        // Always ROCK loses every game to always PAPER
+        assertEquals(1.0, report.winRate(report.strategies().size() - 1, report.strategies().indexOf("ROCK")));
+    }
+
+    private StrategyTournament newTournament(int parallelism) {
+        return new StrategyTournament(0, parallelism, null, 10, 3, List.of(), new GameRulesServiceImpl());
+    }
+}
@@ -1,13 +1,34 @@
 package com.mourat.rockpaperscissors.application.services.impl;
 
+import com.mourat.rockpaperscissors.application.dto.MoveResult;
 import com.mourat.rockpaperscissors.application.dto.ResultDto;
+import com.mourat.rockpaperscissors.application.dto.RunnerError;
+import com.mourat.rockpaperscissors.application.model.MatchmakingClaimEvent;
+import com.mourat.rockpaperscissors.application.services.GameArchive;
+import com.mourat.rockpaperscissors.application.services.GameHandleService;
+import com.mourat.rockpaperscissors.application.services.GameMetrics;
 import com.mourat.rockpaperscissors.application.services.GameRunnerService;
 import com.mourat.rockpaperscissors.application.services.GameSessionFactory;
+import com.mourat.rockpaperscissors.application.services.SessionReaper;
+import com.mourat.rockpaperscissors.domain.model.Game;
+import com.mourat.rockpaperscissors.domain.model.Move;
+import com.mourat.rockpaperscissors.domain.model.RoundSink;
+import com.mourat.rockpaperscissors.domain.model.RuleSet;
+import com.mourat.rockpaperscissors.domain.service.GameRulesService;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
@@ -20,11 +41,20 @@ class GameRunnerServiceImplTest {
 
     @Autowired
     GameSessionFactory sessionFactory;
+    @Autowired
+    GameArchive gameArchive;
+    @Autowired
+    SessionReaper sessionReaper;
+    @Autowired
+    GameRulesService gameRulesService;
     GameRunnerService service;
+    GameHandleService handleService;
 
     @BeforeEach
     void setUp(){
-        service = new GameRunnerServiceImpl(sessionFactory);
+        GameRunnerServiceImpl serviceImpl = new GameRunnerServiceImpl(sessionFactory, gameArchive, sessionReaper);
+        service = serviceImpl;
+        handleService = serviceImpl;
     }
 
     @Test
@@ -150,6 +180,38 @@ class GameRunnerServiceImplTest {
         assertEquals(joiningGameId, createdGameId);
     }
 
+    @Test
+    void joinGame_flightRecording_recordsFailedAndSuccessfulClaims(@TempDir Path directory) throws Exception {
+        int waitingHandle = handleService.createPlayerHandle("player A");
+        String ownerId = service.createPlayer("player B");
+        String joinerId = service.createPlayer("player C");
+
+        Path file = directory.resolve("matchmaking.jfr");
+        String gameId;
+        try (Recording recording = new Recording()) {
+            recording.enable(MatchmakingClaimEvent.class);
+            recording.start();
+            assertEquals(RunnerError.NO_OPEN_GAMES.code(), handleService.joinGame(waitingHandle));
+            service.createGame(ownerId, 10);
+            gameId = service.joinGame(joinerId);
+            recording.stop();
+            recording.dump(file);
+        }
+
+        long testThread = Thread.currentThread().threadId();
+        List<RecordedEvent> claims = RecordingFile.readAllEvents(file).stream()
+                .filter(event -> event.getEventType().getName().equals("com.mourat.rockpaperscissors.MatchmakingClaim"))
+                .filter(event -> event.getThread().getJavaThreadId() == testThread)
+                .toList();
+        assertEquals(2, claims.size());
+        assertFalse(claims.get(0).getBoolean("claimed"));
+        assertEquals("", claims.get(0).getString("gameId"));
+        assertTrue(claims.get(1).getBoolean("claimed"));
+        assertEquals(joinerId, claims.get(1).getString("playerId"));
+        assertEquals(gameId, claims.get(1).getString("gameId"));
+        assertEquals(0, claims.get(1).getLong("openGames"));
+    }
+
     @Test
     void makeMove_nullPlayerId_returnsDtoWithErrorMessage() {
         ResultDto errorDto = service.makeMove(null, "PAPER");
@@ -222,4 +284,283 @@ class GameRunnerServiceImplTest {
         assertTrue(dto.isSuccess());
         assertEquals("Success", dto.getStatusMessage());
     }
-}
\ No newline at end of file
+
+    @Test
+    void getFinishedGame_invalidId_returnsDtoWithErrorMessage() {
+        ResultDto errorDto = service.getFinishedGame("Random string as id");
+
+        assertFalse(errorDto.isSuccess());
+        assertEquals("ERROR: Finished game with id \"Random string as id\" doesn't exist", errorDto.getStatusMessage());
+    }
+
+    @Test
+    void getFinishedGame_unfinishedGame_returnsDtoWithErrorMessage() {
+        String playerId = service.createPlayer("testPlayer");
+        String gameId = service.createGame(playerId, 10);
+        ResultDto errorDto = service.getFinishedGame(gameId);
+
+        assertFalse(errorDto.isSuccess());
+        assertEquals("ERROR: Finished game with id \"" + gameId + "\" doesn't exist", errorDto.getStatusMessage());
+    }
+
+    @Test
+    void getFinishedGame_finishedGame_returnsArchivedResult() throws Exception {
+        ExecutorService executorService = Executors.newFixedThreadPool(2);
+
+        String playerId = service.createPlayer("testPlayer");
+        String gameId = service.createGame(playerId, 1);
+        String player2Id = service.createPlayer("testPlayer2");
+        service.joinGame(player2Id);
+        Future<ResultDto> future1 = executorService.submit(() -> service.makeMove(playerId, "PAPER"));
+        Future<ResultDto> future2 = executorService.submit(() -> service.makeMove(player2Id, "ROCK"));
+        future1.get();
+        future2.get();
+
+        ResultDto dto = service.getFinishedGame(gameId);
+
+        assertTrue(dto.isSuccess());
+        assertTrue(dto.isGameFinished());
+        assertEquals(gameId, dto.getGameId());
+        assertEquals("1", dto.getPlayer1Score());
+        assertEquals("testPlayer", dto.getGameWinnerPlayerName());
+        assertEquals("PAPER", dto.getPlayer1LastMove());
+    }
+
+    @Test
+    void createGame_roundsAboveMaximum_returnsErrorMessage() {
+        String playerId = service.createPlayer("testPlayer");
+
+        assertEquals("ERROR: The game can have max 100 rounds!", service.createGame(playerId, GameRunnerServiceImpl.DEFAULT_MAX_ROUNDS + 1));
+    }
+
+    @Test
+    void makeMovesAsync_configuredEnduranceGame_streamsRoundsBeyondRecentRounds() {
+        List<Integer> streamed = new ArrayList<>();
+        GameRunnerServiceImpl endurance = new GameRunnerServiceImpl(sessionFactory, gameArchive, sessionReaper, 1_000,
+                (game, round, roundResult) -> streamed.add(round));
+        int player1 = endurance.createPlayerHandle("testPlayer");
+        int player2 = endurance.createPlayerHandle("testPlayer2");
+
+        assertEquals(RunnerError.ROUNDS_ABOVE_MAXIMUM.code(), endurance.createGame(player1, 1_001));
+        endurance.createGame(player1, 1_000);
+        endurance.joinGame(player2);
+        MoveResult result = null;
+        for (int round = 0; round < 1_000; round++) {
+            CompletableFuture<MoveResult> future = endurance.makeMoveAsync(player1, Move.ROCK);
+            endurance.makeMoveAsync(player2, Move.SCISSORS);
+            result = future.join();
+        }
+
+        ResultDto dto = assertInstanceOf(MoveResult.Played.class, result).toResultDto();
+        assertTrue(dto.isGameFinished());
+        assertEquals("1000", dto.getPlayer1Score());
+        assertEquals(1_000, streamed.size());
+    }
+
+    @Test
+    void new_maxRoundsOutOfRange_throwsIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new GameRunnerServiceImpl(sessionFactory, gameArchive, sessionReaper, 0, RoundSink.NONE));
+    }
+
+    @Test
+    void parseId_canonicalAndMalformedIds_parsesWithoutThrowing() {
+        UUID id = UUID.randomUUID();
+
+        assertEquals(id, GameRunnerServiceImpl.parseId(id.toString()));
+        assertEquals(id, GameRunnerServiceImpl.parseId(id.toString().toUpperCase()));
+        assertNull(GameRunnerServiceImpl.parseId(null));
+        assertNull(GameRunnerServiceImpl.parseId("randomText or empty string as ID"));
+        assertNull(GameRunnerServiceImpl.parseId(id.toString().replace('-', 'x')));
+        assertNull(GameRunnerServiceImpl.parseId(id.toString().substring(0, 35) + "g"));
+    }
+
+    @Test
+    void makeMoveAsync_invalidMove_returnsCompletedFailure() {
+        String playerId = service.createPlayer("testPlayer");
+
+        CompletableFuture<ResultDto> future = service.makeMoveAsync(playerId, "BANANA");
+
+        assertTrue(future.isDone());
+        assertEquals("ERROR: Invalid move: \"BANANA\"", future.join().getStatusMessage());
+    }
+
+    @Test
+    void makeMoveAsync_bothPlayersOnOneThread_playsGameToTheEndAndArchivesIt() {
+        String player1 = service.createPlayer("testPlayer");
+        String gameId = service.createGame(player1, 2);
+        String player2 = service.createPlayer("testPlayer2");
+        service.joinGame(player2);
+
+        ResultDto dto = null;
+        for (int i = 0; i < 2; i++) {
+            CompletableFuture<ResultDto> future1 = service.makeMoveAsync(player1, "PAPER");
+            CompletableFuture<ResultDto> future2 = service.makeMoveAsync(player2, "ROCK");
+            dto = future1.join();
+            assertTrue(future2.join().isSuccess());
+        }
+
+        assertTrue(dto.isSuccess());
+        assertTrue(dto.isGameFinished());
+        assertEquals("2", dto.getPlayer1Score());
+        assertTrue(service.getFinishedGame(gameId).isSuccess());
+    }
+
+    @Test
+    void makeMovesAsync_wholeGamePerPlayer_finishesWithOneCallEach() {
+        GameRunnerServiceImpl pipelined = new GameRunnerServiceImpl(new GameSessionFactory(gameRulesService, 3), gameArchive, sessionReaper);
+        int player1 = pipelined.createPlayerHandle("testPlayer");
+        pipelined.createGame(player1, 3);
+        int player2 = pipelined.createPlayerHandle("testPlayer2");
+        pipelined.joinGame(player2);
+
+        CompletableFuture<MoveResult> future1 = pipelined.makeMovesAsync(player1, Move.PAPER, Move.PAPER, Move.PAPER);
+        CompletableFuture<MoveResult> future2 = pipelined.makeMovesAsync(player2, Move.ROCK, Move.ROCK, Move.ROCK);
+
+        ResultDto dto = assertInstanceOf(MoveResult.Played.class, future1.join()).toResultDto();
+        assertTrue(future2.isDone());
+        assertTrue(dto.isGameFinished());
+        assertEquals("3", dto.getPlayer1Score());
+        assertTrue(pipelined.getFinishedGame(dto.getGameId()).isSuccess());
+    }
+
+    @Test
+    void makeMovesAsync_invalidMoves_returnsRunnerError() {
+        int playerHandle = handleService.createPlayerHandle("testPlayer");
+
+        assertSame(RunnerError.INVALID_MOVE, handleService.makeMovesAsync(playerHandle).join());
+        assertSame(RunnerError.INVALID_MOVE, handleService.makeMovesAsync(playerHandle, Move.ROCK, null).join());
+        assertSame(RunnerError.NOT_IN_SESSION, handleService.makeMovesAsync(playerHandle, Move.ROCK).join());
+    }
+
+    @Test
+    void createPlayerHandle_invalidName_returnsErrorCode() {
+        assertEquals(RunnerError.INVALID_PLAYER_NAME.code(), handleService.createPlayerHandle(" a "));
+    }
+
+    @Test
+    void createGameByHandle_invalidArguments_returnsErrorCode() {
+        int playerHandle = handleService.createPlayerHandle("testPlayer");
+
+        assertEquals(RunnerError.PLAYER_NOT_FOUND.code(), handleService.createGame(12345, 10));
+        assertEquals(RunnerError.ROUNDS_NOT_POSITIVE.code(), handleService.createGame(playerHandle, 0));
+        assertEquals(RunnerError.ROUNDS_ABOVE_MAXIMUM.code(), handleService.createGame(playerHandle, GameRunnerServiceImpl.DEFAULT_MAX_ROUNDS + 1));
+        assertEquals(RunnerError.INVALID_MOVE_COUNT.code(), handleService.createGame(playerHandle, 10, 4));
+        assertEquals(RunnerError.INVALID_MOVE_COUNT.code(), handleService.createGame(playerHandle, 10, RuleSet.MAX_MOVE_COUNT + 2));
+    }
+
+    @Test
+    void createGame_invalidMoveCount_returnsErrorMessage() {
+        String playerId = service.createPlayer("testPlayer");
+
+        String result = service.createGame(playerId, 10, 1);
+
+        assertEquals("ERROR: Move count must be an odd number between 3 and 127", result);
+    }
+
+    @Test
+    void makeMove_moveOutsideRuleSetOfGame_returnsDtoWithErrorMessage() {
+        String player1 = service.createPlayer("testPlayer");
+        service.createGame(player1, 1);
+        String player2 = service.createPlayer("testPlayer2");
+        service.joinGame(player2);
+
+        ResultDto result = service.makeMove(player1, "SPOCK");
+
+        assertFalse(result.isSuccess());
+        assertEquals("ERROR: Invalid move: \"SPOCK\"", result.getStatusMessage());
+    }
+
+    @Test
+    void makeMoveByHandle_lizardSpockGame_playsExtendedMovesAndRejectsOthers() {
+        int player1 = handleService.createPlayerHandle("testPlayer");
+        handleService.createGame(player1, 1, 5);
+        int player2 = handleService.createPlayerHandle("testPlayer2");
+        handleService.joinGame(player2);
+
+        assertSame(RunnerError.INVALID_MOVE, handleService.makeMoveAsync(player2, Move.fromOrdinal(5)).join());
+        CompletableFuture<MoveResult> result = handleService.makeMoveAsync(player1, Move.SPOCK);
+        handleService.makeMoveAsync(player2, Move.LIZARD);
+
+        ResultDto dto = assertInstanceOf(MoveResult.Played.class, result.join()).toResultDto();
+        assertTrue(dto.isGameFinished());
+        assertEquals("LIZARD", dto.getPlayer2LastMove());
+        assertEquals(handleService.getPlayerId(player2), dto.getGameWinnerPlayerId());
+    }
+
+    @Test
+    void joinGameByHandle_noGamesOrAlreadyJoined_returnsErrorCode() {
+        int playerHandle = handleService.createPlayerHandle("testPlayer");
+
+        assertEquals(RunnerError.NO_OPEN_GAMES.code(), handleService.joinGame(playerHandle));
+        handleService.createGame(playerHandle, 10);
+        assertEquals(RunnerError.ALREADY_IN_SESSION.code(), handleService.joinGame(playerHandle));
+        assertEquals(RunnerError.PLAYER_NOT_FOUND.code(), handleService.joinGame(-5));
+    }
+
+    @Test
+    void makeMoveByHandle_invalidArguments_returnsRunnerError() {
+        int playerHandle = handleService.createPlayerHandle("testPlayer");
+
+        assertSame(RunnerError.PLAYER_NOT_FOUND, handleService.makeMove(777, Move.ROCK));
+        assertSame(RunnerError.INVALID_MOVE, handleService.makeMove(playerHandle, Move.MAX_COUNT));
+        assertSame(RunnerError.NOT_IN_SESSION, handleService.makeMove(playerHandle, Move.ROCK));
+    }
+
+    @Test
+    void makeMoveByHandle_validArguments_playsGameToTheEnd() throws Exception {
+        ExecutorService executorService = Executors.newFixedThreadPool(2);
+
+        int player1 = handleService.createPlayerHandle("testPlayer");
+        int sessionHandle = handleService.createGame(player1, 1);
+        int player2 = handleService.createPlayerHandle("testPlayer2");
+        int joinedHandle = handleService.joinGame(player2);
+        String gameId = handleService.getGameId(sessionHandle);
+        Future<MoveResult> future1 = executorService.submit(() -> handleService.makeMove(player1, Move.PAPER));
+        Future<MoveResult> future2 = executorService.submit(() -> handleService.makeMove(player2, Move.ROCK.ordinal()));
+
+        MoveResult result = future1.get();
+        future2.get();
+
+        assertEquals(sessionHandle, joinedHandle);
+        ResultDto dto = assertInstanceOf(MoveResult.Played.class, result).toResultDto();
+        assertTrue(dto.isSuccess());
+        assertTrue(dto.isGameFinished());
+        assertEquals(handleService.getPlayerId(player1), dto.getGameWinnerPlayerId());
+        assertTrue(service.getFinishedGame(dto.getGameId()).isSuccess());
+        assertNull(handleService.getPlayerId(-1));
+        assertEquals(gameId, dto.getGameId());
+        assertNull(handleService.getGameId(sessionHandle));
+        assertNull(handleService.getGameId(-1));
+    }
+
+    @Test
+    void makeMove_rejectedAndPlayedMoves_countsRejectionsAndCompletedSession() throws Exception {
+        GameRunnerServiceImpl serviceImpl = (GameRunnerServiceImpl) service;
+        GameMetrics metrics = serviceImpl.getMetrics();
+        int player1 = handleService.createPlayerHandle("testPlayer");
+        int player2 = handleService.createPlayerHandle("testPlayer2");
+        String playerId = service.createPlayer("testPlayer3");
+
+        handleService.makeMove(777, Move.ROCK);
+        handleService.makeMove(player1, Move.ROCK);
+        service.makeMove(playerId, "ROCK");
+        service.makeMove(playerId, "FIRE");
+        handleService.createGame(player1, 1);
+        handleService.joinGame(player2);
+        CompletableFuture<MoveResult> first = handleService.makeMoveAsync(player1, Move.PAPER);
+        handleService.makeMoveAsync(player1, Move.PAPER);
+        handleService.makeMoveAsync(player2, Move.ROCK).get();
+        first.get();
+
+        assertEquals(1, metrics.movesRejected(RunnerError.PLAYER_NOT_FOUND));
+        assertEquals(2, metrics.movesRejected(RunnerError.NOT_IN_SESSION));
+        assertEquals(1, metrics.movesRejected(RunnerError.INVALID_MOVE));
+        assertEquals(1, metrics.movesRejected(RunnerError.DUPLICATE_MOVE));
+        assertEquals(4, metrics.movesRejected().size());
+        assertEquals(1, metrics.sessionsCompleted());
+        assertEquals(0, serviceImpl.activeSessionCount());
+        assertEquals(0, serviceImpl.openSessionCount());
+        assertEquals(3, serviceImpl.playerCount());
+    }
+}
@@ -1,6 +1,16 @@
 package com.mourat.rockpaperscissors.domain.model;
 
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -26,8 +36,20 @@ class GameTest {
 
     @Test
     void newGame_excessRounds_throwsIllegalArgumentException() {
-        Exception exception = assertThrows(IllegalArgumentException.class, () -> Game.newGame(Player.newPlayerWithName("test"), 101));
-        assertEquals("The game can have max 100 rounds!", exception.getMessage());
+        Exception exception = assertThrows(IllegalArgumentException.class, () -> Game.newGame(Player.newPlayerWithName("test"), Game.MAX_ROUNDS + 1));
+        assertEquals("The game can have max 1000000000 rounds!", exception.getMessage());
+    }
+
+    @Test
+    void newGame_nullRuleSet_throwsIllegalArgumentException() {
+        Exception exception = assertThrows(IllegalArgumentException.class, () -> Game.newGame(Player.newPlayerWithName("test"), 10, null));
+        assertEquals("Game without a rule set, can't be created", exception.getMessage());
+    }
+
+    @Test
+    void newGame_withoutRuleSet_playsClassicRules() {
+        assertSame(RuleSet.CLASSIC, Game.newGame(Player.newPlayerWithName("test"), 10).getRuleSet());
+        assertSame(RuleSet.LIZARD_SPOCK, Game.newGame(Player.newPlayerWithName("test"), 10, RuleSet.LIZARD_SPOCK).getRuleSet());
     }
 
     @Test
@@ -36,8 +58,8 @@ class GameTest {
 
         assertNotNull(game.getId());
         assertEquals(10, game.getRounds());
-        assertNotNull(game.getRoundResults());
-        assertEquals(10, game.getRoundResults().length);
+        assertNotNull(game.getHistory());
+        assertEquals(10, game.getHistory().getCapacity());
         assertEquals(1, game.getActiveRound());
         assertEquals(0, game.getPlayer1Score());
         assertEquals(0, game.getPlayer2Score());
@@ -59,7 +81,7 @@ class GameTest {
         IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
                 () -> game.playRound(null));
         assertEquals("Round can be played only with valid rounds data", exception.getMessage());
-        assertNull(game.getRoundResults()[0]);
+        assertEquals(0, game.getHistory().getSize());
     }
 
     @Test
@@ -70,7 +92,7 @@ class GameTest {
         IllegalStateException exception = assertThrows(IllegalStateException.class,
                 () -> game.playRound(new RoundResult(Move.ROCK, Move.PAPER,game.getPlayer2())));
         assertEquals("The game is not in progress, can't play the round", exception.getMessage());
-        assertEquals(1, game.getRoundResults().length);
+        assertEquals(1, game.getHistory().getSize());
     }
 
     @Test
@@ -79,7 +101,7 @@ class GameTest {
         GameResult result = game.playRound(new RoundResult(Move.ROCK, Move.PAPER,game.getPlayer2()));
 
         assertNotNull(result);
-        assertNotNull(game.getRoundResults()[0]);
+        assertEquals(1, game.getHistory().getSize());
         assertEquals(2, game.getActiveRound());
 
         assertEquals(0, game.getPlayer1Score());
@@ -93,7 +115,7 @@ class GameTest {
         GameResult result = game.playRound(new RoundResult(Move.SCISSORS, Move.PAPER,game.getPlayer1()));
 
         assertNotNull(result);
-        assertNotNull(game.getRoundResults()[0]);
+        assertEquals(1, game.getHistory().getSize());
         assertEquals(2, game.getActiveRound());
 
         assertEquals(1, game.getPlayer1Score());
@@ -107,7 +129,7 @@ class GameTest {
         GameResult result = game.playRound(new RoundResult(Move.PAPER, Move.PAPER, null));
 
         assertNotNull(result);
-        assertNotNull(game.getRoundResults()[0]);
+        assertEquals(1, game.getHistory().getSize());
         assertEquals(2, game.getActiveRound());
 
         assertEquals(0, game.getPlayer1Score());
@@ -121,7 +143,7 @@ class GameTest {
         GameResult result = game.playRound(new RoundResult(Move.PAPER, Move.PAPER, null));
 
         assertNull(result);
-        assertNotNull(game.getRoundResults()[0]);
+        assertEquals(1, game.getHistory().getSize());
         assertEquals(2, game.getActiveRound());
 
         assertEquals(0, game.getPlayer1Score());
@@ -185,6 +207,250 @@ class GameTest {
         assertEquals(game.getPlayer1(), result.winner());
     }
 
+    @Test
+    void getRoundResult_playedRounds_rebuildsResultsFromHistory() {
+        Game game = getGameWithTwoPlayers(3);
+        game.playRound(new RoundResult(Move.PAPER, Move.ROCK, game.getPlayer1()));
+        game.playRound(new RoundResult(Move.ROCK, Move.ROCK, null));
+        game.playRound(new RoundResult(Move.ROCK, Move.PAPER, game.getPlayer2()));
+
+        assertEquals(new RoundResult(Move.PAPER, Move.ROCK, game.getPlayer1()), game.getRoundResult(1));
+        assertEquals(new RoundResult(Move.ROCK, Move.ROCK, null), game.getRoundResult(2));
+        assertEquals(new RoundResult(Move.ROCK, Move.PAPER, game.getPlayer2()), game.getRoundResult(3));
+        assertThrows(IndexOutOfBoundsException.class, () -> game.getRoundResult(4));
+    }
+
+    @Test
+    void playRound_gameLongerThanRecentRounds_keepsCountersAndStreamsEveryRound() {
+        Game game = getGameWithTwoPlayers(1_000);
+        List<Integer> streamed = new ArrayList<>();
+        List<GameResult> finished = new ArrayList<>();
+        game.setRoundSink(new RoundSink() {
+            @Override
+            public void roundPlayed(Game game, int round, RoundResult roundResult) {
+                streamed.add(round);
+            }
+
+            @Override
+            public void gameFinished(Game game, GameResult result) {
+                finished.add(result);
+            }
+        });
+        RoundResult player1Wins = new RoundResult(Move.PAPER, Move.ROCK, game.getPlayer1());
+        RoundResult draw = new RoundResult(Move.ROCK, Move.ROCK, null);
+
+        GameResult result = null;
+        for (int round = 1; round <= 1_000; round++) {
+            result = game.playRound(round % 4 == 0 ? draw : player1Wins);
+        }
+
+        assertNotNull(result);
+        assertEquals(750, result.nOfPlayer1Wins());
+        assertEquals(250, result.nOfDraws());
+        assertEquals(Game.RECENT_ROUNDS, game.getHistory().getCapacity());
+        assertEquals(draw, game.getRoundResult(1_000));
+        assertThrows(IndexOutOfBoundsException.class, () -> game.getRoundResult(1_000 - Game.RECENT_ROUNDS));
+        assertEquals(1_000, streamed.size());
+        assertEquals(1_000, streamed.getLast());
+        assertEquals(List.of(result), finished);
+    }
+
+    @Test
+    void setPlayerTwo_withRoundSink_reportsStartedGame() {
+        Game game = Game.newGame(Player.newPlayerWithName("test"), 1);
+        List<Game> started = new ArrayList<>();
+        game.setRoundSink(new RoundSink() {
+            @Override
+            public void gameStarted(Game game) {
+                started.add(game);
+            }
+
+            @Override
+            public void roundPlayed(Game game, int round, RoundResult roundResult) {
+            }
+        });
+
+        game.setPlayerTwo(Player.newPlayerWithName("test2"));
+
+        assertEquals(List.of(game), started);
+    }
+
+    @Test
+    void abandon_runningGame_reportsOnlyStartedUnfinishedGames() {
+        Game waiting = Game.newGame(Player.newPlayerWithName("test"), 1);
+        Game running = getGameWithTwoPlayers(1);
+        List<Game> abandoned = new ArrayList<>();
+        RoundSink sink = new RoundSink() {
+            @Override
+            public void gameAbandoned(Game game) {
+                abandoned.add(game);
+            }
+
+            @Override
+            public void roundPlayed(Game game, int round, RoundResult roundResult) {
+            }
+        };
+        waiting.setRoundSink(sink);
+        running.setRoundSink(sink);
+
+        waiting.abandon();
+        running.abandon();
+        running.playRound(new RoundResult(Move.PAPER, Move.ROCK, running.getPlayer1()));
+        running.abandon();
+
+        assertEquals(List.of(running), abandoned);
+    }
+
+    @Test
+    void restore_knownIdAndPlayers_startsGameWithBothPlayers() {
+        UUID id = UUID.randomUUID();
+        Player player1 = Player.newPlayerWithName("test");
+        Player player2 = Player.newPlayerWithName("test2");
+
+        Game game = Game.restore(id, player1, player2, 3, RuleSet.LIZARD_SPOCK);
+
+        assertEquals(id, game.getId());
+        assertSame(player2, game.getPlayer2());
+        assertSame(game, player2.getGamePlaying());
+        assertEquals(RuleSet.LIZARD_SPOCK, game.getRuleSet());
+        assertEquals(1, game.getActiveRound());
+    }
+
+    @Test
+    void restore_samePlayerTwice_throwsIllegalArgumentException() {
+        Player player = Player.newPlayerWithName("test");
+
+        Exception exception = assertThrows(IllegalArgumentException.class,
+                () -> Game.restore(UUID.randomUUID(), player, player, 3, RuleSet.CLASSIC));
+        assertEquals("Restored game must have two distinct players", exception.getMessage());
+    }
+
+    @Test
+    void restore_withoutOpponent_waitsForSecondPlayer() {
+        UUID id = UUID.randomUUID();
+        Player player1 = Player.newPlayerWithName("test");
+
+        Game game = Game.restore(id, player1, 3, RuleSet.CLASSIC);
+
+        assertEquals(id, game.getId());
+        assertNull(game.getPlayer2());
+        assertSame(game, player1.getGamePlaying());
+        assertTrue(game.setPlayerTwo(Player.newPlayerWithName("test2")));
+    }
+
+    @Test
+    void playRound_flightRecording_recordsRoundsAndFinishedGame(@TempDir Path directory) throws IOException {
+        Game game = getGameWithTwoPlayers(2);
+        String gameId = game.getId().toString();
+
+        Path file = directory.resolve("game.jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(RoundResolvedEvent.class);
+            recording.enable(GameFinishedEvent.class);
+            recording.start();
+            game.playRound(new RoundResult(Move.ROCK, Move.SCISSORS, game.getPlayer1()));
+            game.playRound(new RoundResult(Move.PAPER, Move.PAPER, null));
+            recording.stop();
+            recording.dump(file);
+        }
+
+        List<RecordedEvent> rounds = new ArrayList<>();
+        List<RecordedEvent> finished = new ArrayList<>();
+        for (RecordedEvent event : RecordingFile.readAllEvents(file)) {
+            if (!event.hasField("gameId") || !gameId.equals(event.getString("gameId"))) continue;
+            if (event.getEventType().getName().equals("com.mourat.rockpaperscissors.RoundResolved")) rounds.add(event);
+            if (event.getEventType().getName().equals("com.mourat.rockpaperscissors.GameFinished")) finished.add(event);
+        }
+
+        assertEquals(2, rounds.size());
+        assertEquals(1, rounds.get(0).getInt("round"));
+        assertEquals("ROCK", rounds.get(0).getString("player1Move"));
+        assertEquals("SCISSORS", rounds.get(0).getString("player2Move"));
+        assertEquals(RoundHistory.PLAYER1, rounds.get(0).getInt("winner"));
+        assertEquals(2, rounds.get(1).getInt("round"));
+        assertEquals(RoundHistory.DRAW, rounds.get(1).getInt("winner"));
+
+        assertEquals(1, finished.size());
+        assertEquals(2, finished.get(0).getInt("rounds"));
+        assertEquals(1, finished.get(0).getInt("player1Wins"));
+        assertEquals(0, finished.get(0).getInt("player2Wins"));
+        assertEquals(1, finished.get(0).getInt("draws"));
+        assertEquals(game.getPlayer1().getId().toString(), finished.get(0).getString("winnerId"));
+    }
+
+    @Test
+    void replayRound_recordedRounds_restoresScoresWithoutStreaming() {
+        Game game = getGameWithTwoPlayers(3);
+        List<Integer> streamed = new ArrayList<>();
+        game.setRoundSink((g, round, roundResult) -> streamed.add(round));
+
+        assertNull(game.replayRound(Move.PAPER, Move.ROCK, RoundHistory.PLAYER1));
+        assertNull(game.replayRound(Move.ROCK, Move.ROCK, RoundHistory.DRAW));
+        GameResult result = game.replayRound(Move.ROCK, Move.PAPER, RoundHistory.PLAYER2);
+
+        assertNotNull(result);
+        assertEquals(GameState.FINISHED, game.getState());
+        assertEquals(1, result.nOfPlayer1Wins());
+        assertEquals(1, result.nOfPlayer2Wins());
+        assertEquals(1, result.nOfDraws());
+        assertNull(result.winner());
+        assertEquals(new RoundResult(Move.ROCK, Move.PAPER, game.getPlayer2()), game.getLastRoundResult());
+        assertNull(game.getPlayer1().getGamePlaying());
+        assertTrue(streamed.isEmpty());
+    }
+
+    @Test
+    void replayRound_moveOutsideRuleSet_throwsIllegalArgumentException() {
+        Game game = getGameWithTwoPlayers(3);
+
+        Exception exception = assertThrows(IllegalArgumentException.class,
+                () -> game.replayRound(Move.SPOCK, Move.ROCK, RoundHistory.PLAYER1));
+        assertEquals("Moves must be part of the rule set.", exception.getMessage());
+    }
+
+    @Test
+    void replayRound_unknownWinner_throwsIllegalArgumentException() {
+        Game game = getGameWithTwoPlayers(3);
+
+        Exception exception = assertThrows(IllegalArgumentException.class,
+                () -> game.replayRound(Move.ROCK, Move.ROCK, 3));
+        assertEquals("Round winner must be a draw, player 1 or player 2", exception.getMessage());
+    }
+
+    @Test
+    void skipRounds_roundsBeyondTheHistory_restoresScoresAndActiveRound() {
+        Game game = getGameWithTwoPlayers(Game.RECENT_ROUNDS + 20);
+
+        game.skipRounds(7, 5, 3);
+        for (int round = 0; round < Game.RECENT_ROUNDS; round++) {
+            game.replayRound(Move.PAPER, Move.ROCK, RoundHistory.PLAYER1);
+        }
+
+        assertEquals(Game.RECENT_ROUNDS + 16, game.getActiveRound());
+        assertEquals(Game.RECENT_ROUNDS + 7, game.getPlayer1Score());
+        assertEquals(5, game.getPlayer2Score());
+        assertEquals(3, game.getDraws());
+        assertEquals(new RoundResult(Move.PAPER, Move.ROCK, game.getPlayer1()), game.getLastRoundResult());
+        assertEquals(GameState.IN_PROGRESS, game.getState());
+    }
+
+    @Test
+    void skipRounds_pastLastRound_throwsIllegalArgumentException() {
+        Game game = getGameWithTwoPlayers(3);
+
+        Exception exception = assertThrows(IllegalArgumentException.class, () -> game.skipRounds(1, 1, 1));
+        assertEquals("Skipped rounds must leave the last round of the game to be played", exception.getMessage());
+        assertEquals(1, game.getActiveRound());
+    }
+
+    @Test
+    void setRoundSink_nullSink_throwsIllegalArgumentException() {
+        Game game = getGameWithTwoPlayers(1);
+
+        Exception exception = assertThrows(IllegalArgumentException.class, () -> game.setRoundSink(null));
+        assertEquals("Round sink must be valid", exception.getMessage());
+    }
+
     private static Game getGameWithTwoPlayers(int rounds) {
         Game game = Game.newGame(Player.newPlayerWithName("test"), rounds);
         game.setPlayerTwo(Player.newPlayerWithName("test2"));
@@ -0,0 +1,111 @@
+package com.mourat.rockpaperscissors.domain.model;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IdStrategyTest {
+
+    @AfterEach
+    void restoreGenerator() {
+        IdGenerator.use(IdGenerator.RANDOM);
+    }
+
+    @ParameterizedTest
+    @EnumSource(IdStrategy.class)
+    void newGenerator_concurrentThreads_createsUniqueIds(IdStrategy strategy) throws InterruptedException {
+        IdGenerator generator = strategy.newGenerator();
+        Set<UUID> ids = ConcurrentHashMap.newKeySet();
+        int threads = 8;
+        int idsPerThread = 5_000;
+
+        List<Thread> workers = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            workers.add(Thread.ofPlatform().start(() -> {
+                for (int id = 0; id < idsPerThread; id++) {
+                    ids.add(generator.nextId());
+                }
+            }));
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+
+        assertEquals(threads * idsPerThread, ids.size());
+    }
+
+    @ParameterizedTest
+    @EnumSource(IdStrategy.class)
+    void newGenerator_anyStrategy_createsIetfVariantUuids(IdStrategy strategy) {
+        UUID id = strategy.newGenerator().nextId();
+
+        assertEquals(2, id.variant());
+        assertEquals(id, UUID.fromString(id.toString()));
+    }
+
+    @Test
+    void timeOrdered_successiveIds_increaseAndCarryTheCreationTime() {
+        IdGenerator generator = IdStrategy.TIME_ORDERED.newGenerator();
+        long before = System.currentTimeMillis();
+
+        UUID previous = generator.nextId();
+        for (int i = 0; i < 10_000; i++) {
+            UUID next = generator.nextId();
+            assertTrue(Long.compareUnsigned(next.getMostSignificantBits(), previous.getMostSignificantBits()) > 0);
+            previous = next;
+        }
+
+        assertEquals(7, previous.version());
+        assertTrue((previous.getMostSignificantBits() >>> 16) >= before);
+    }
+
+    @Test
+    void threadBlocks_manyBlocksOnTwoThreads_keepsIdsUnique() throws InterruptedException {
+        IdGenerator generator = IdStrategy.THREAD_BLOCKS.newGenerator();
+        Set<UUID> ids = new HashSet<>();
+
+        for (int i = 0; i < IdStrategy.ThreadBlocks.BLOCK_SIZE * 3; i++) {
+            ids.add(generator.nextId());
+        }
+        UUID[] otherThreadId = new UUID[1];
+        Thread.ofPlatform().start(() -> otherThreadId[0] = generator.nextId()).join();
+        ids.add(otherThreadId[0]);
+
+        assertEquals(IdStrategy.ThreadBlocks.BLOCK_SIZE * 3 + 1, ids.size());
+        assertEquals(8, ids.iterator().next().version());
+    }
+
+    @Test
+    void use_installedGenerator_createsIdsOfPlayersAndGames() {
+        UUID playerId = new UUID(1, 1);
+        UUID gameId = new UUID(2, 2);
+        UUID[] ids = {playerId, gameId};
+        int[] next = {0};
+        IdGenerator.use(() -> ids[next[0]++]);
+
+        Player player = Player.newPlayerWithName("Player A");
+        Game game = Game.newGame(player, 3);
+
+        assertEquals(playerId, player.getId());
+        assertEquals(gameId, game.getId());
+    }
+
+    @Test
+    void use_nullGenerator_throwsIllegalArgumentException() {
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> IdGenerator.use(null));
+
+        assertEquals("Id generator must be valid", exception.getMessage());
+        assertSame(IdGenerator.RANDOM, IdGenerator.installed());
+    }
+}
@@ -2,6 +2,8 @@ package com.mourat.rockpaperscissors.domain.model;
 
 import org.junit.jupiter.api.Test;
 
+import java.util.UUID;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 class PlayerTest {
@@ -57,4 +59,22 @@ class PlayerTest {
         assertNull(player.getGamePlaying());
         assertNull(player.getGameSession());
     }
-}
\ No newline at end of file
+
+    @Test
+    void restore_knownIdAndName_keepsTheId() {
+        UUID id = UUID.randomUUID();
+
+        Player player = Player.restore(id, "test");
+
+        assertEquals(id, player.getId());
+        assertEquals("test", player.getName());
+    }
+
+    @Test
+    void restore_nullId_throwsIllegalArgumentException() {
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> Player.restore(null, "test"));
+
+        assertEquals("Restored player must have an id", exception.getMessage());
+    }
+}
@@ -0,0 +1,77 @@
+package com.mourat.rockpaperscissors.domain.model;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RoundHistoryTest {
+
+    @ParameterizedTest
+    @ValueSource(ints = {3, 5, 7, 101, RuleSet.MAX_MOVE_COUNT})
+    void add_fullGame_readsBackEveryRound(int moveCount) {
+        RoundHistory history = new RoundHistory(Game.RECENT_ROUNDS, RuleSet.of(moveCount));
+
+        for (int round = 0; round < Game.RECENT_ROUNDS; round++) {
+            history.add(Move.fromOrdinal(round % moveCount), Move.fromOrdinal((round * 7) % moveCount), round % 3);
+        }
+
+        assertEquals(Game.RECENT_ROUNDS, history.getSize());
+        for (int round = 0; round < Game.RECENT_ROUNDS; round++) {
+            assertSame(Move.fromOrdinal(round % moveCount), history.player1Move(round));
+            assertSame(Move.fromOrdinal((round * 7) % moveCount), history.player2Move(round));
+            assertEquals(round % 3, history.winner(round));
+        }
+    }
+
+    @Test
+    void add_fullHistory_replacesOldestRounds() {
+        RoundHistory history = new RoundHistory(15, RuleSet.LIZARD_SPOCK);
+
+        for (int round = 0; round < 1000; round++) {
+            history.add(Move.fromOrdinal(round % 5), Move.fromOrdinal((round + 1) % 5), round % 3);
+        }
+
+        assertEquals(1000, history.getSize());
+        assertEquals(985, history.getOldestRound());
+        for (int round = 985; round < 1000; round++) {
+            assertSame(Move.fromOrdinal(round % 5), history.player1Move(round));
+            assertSame(Move.fromOrdinal((round + 1) % 5), history.player2Move(round));
+            assertEquals(round % 3, history.winner(round));
+        }
+        assertThrows(IndexOutOfBoundsException.class, () -> history.winner(984));
+    }
+
+    @Test
+    void skip_followedByRecentRounds_readsRecentRounds() {
+        RoundHistory history = new RoundHistory(10, RuleSet.CLASSIC);
+
+        history.skip(25);
+        for (int round = 25; round < 35; round++) {
+            history.add(Move.fromOrdinal(round % 3), Move.ROCK, RoundHistory.PLAYER2);
+        }
+
+        assertEquals(35, history.getSize());
+        assertEquals(25, history.getOldestRound());
+        for (int round = 25; round < 35; round++) {
+            assertSame(Move.fromOrdinal(round % 3), history.player1Move(round));
+        }
+        assertThrows(IllegalArgumentException.class, () -> history.skip(-1));
+    }
+
+    @Test
+    void new_zeroCapacity_throwsIllegalArgumentException() {
+        Exception exception = assertThrows(IllegalArgumentException.class, () -> new RoundHistory(0, RuleSet.CLASSIC));
+        assertEquals("Round history capacity must be positive", exception.getMessage());
+    }
+
+    @Test
+    void winner_roundNotRecorded_throwsIndexOutOfBoundsException() {
+        RoundHistory history = new RoundHistory(10, RuleSet.CLASSIC);
+        history.add(Move.SCISSORS, Move.SCISSORS, RoundHistory.DRAW);
+
+        assertThrows(IndexOutOfBoundsException.class, () -> history.winner(1));
+        assertThrows(IndexOutOfBoundsException.class, () -> history.player1Move(-1));
+    }
+}
@@ -0,0 +1,60 @@
+package com.mourat.rockpaperscissors.domain.model;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RuleSetTest {
+
+    @ParameterizedTest
+    @ValueSource(ints = {-1, 0, 1, 2, 4, 100, 129})
+    void of_invalidMoveCount_throwsIllegalArgumentException(int moveCount) {
+        Exception exception = assertThrows(IllegalArgumentException.class, () -> RuleSet.of(moveCount));
+        assertEquals("Move count must be an odd number between 3 and 127", exception.getMessage());
+    }
+
+    @Test
+    void of_validMoveCount_returnsSharedInstance() {
+        assertSame(RuleSet.CLASSIC, RuleSet.of(3));
+        assertSame(RuleSet.LIZARD_SPOCK, RuleSet.of(5));
+        assertSame(RuleSet.of(101), RuleSet.of(101));
+        assertEquals(101, RuleSet.of(101).getMoveCount());
+    }
+
+    @Test
+    void contains_movesInsideAndOutsideRuleSet_checksOrdinal() {
+        assertTrue(RuleSet.CLASSIC.contains(Move.SCISSORS));
+        assertFalse(RuleSet.CLASSIC.contains(Move.SPOCK));
+        assertFalse(RuleSet.CLASSIC.contains(null));
+        assertTrue(RuleSet.LIZARD_SPOCK.contains(Move.LIZARD));
+    }
+
+    @Test
+    void moves_lizardSpock_returnsMovesInOrdinalOrder() {
+        assertArrayEquals(new Move[]{Move.ROCK, Move.PAPER, Move.SCISSORS, Move.SPOCK, Move.LIZARD}, RuleSet.LIZARD_SPOCK.moves());
+    }
+
+    @Test
+    void roundIndex_everyCombination_isUniqueAndBelowCombinations() {
+        RuleSet ruleSet = RuleSet.of(7);
+        boolean[] seen = new boolean[ruleSet.combinations()];
+
+        for (Move player1Move : ruleSet.moves()) {
+            for (Move player2Move : ruleSet.moves()) {
+                int index = ruleSet.roundIndex(player1Move, player2Move);
+                assertFalse(seen[index]);
+                seen[index] = true;
+            }
+        }
+    }
+
+    @Test
+    void parse_namedAndGenericMoves_resolvesSharedInstances() {
+        assertSame(Move.SPOCK, Move.parse("SPOCK"));
+        assertSame(Move.fromOrdinal(42), Move.parse("MOVE_42"));
+        assertNull(Move.parse("rock"));
+        assertNull(Move.fromOrdinal(Move.MAX_COUNT));
+    }
+}
@@ -3,10 +3,12 @@ package com.mourat.rockpaperscissors.domain.service.impl;
 import com.mourat.rockpaperscissors.domain.model.Move;
 import com.mourat.rockpaperscissors.domain.model.Player;
 import com.mourat.rockpaperscissors.domain.model.RoundResult;
+import com.mourat.rockpaperscissors.domain.model.RuleSet;
 import com.mourat.rockpaperscissors.domain.service.GameRulesService;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.ValueSource;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 
@@ -45,6 +47,110 @@ class GameRulesServiceImplTest {
         }
     }
 
+    @ParameterizedTest
+    @CsvSource({
+            "ROCK, SCISSORS, 1",
+            "ROCK, PAPER, 2",
+            "ROCK, ROCK, 0",
+            "PAPER, ROCK, 1",
+            "PAPER, SCISSORS, 2",
+            "PAPER, PAPER, 0",
+            "SCISSORS, ROCK, 2",
+            "SCISSORS, PAPER, 1",
+            "SCISSORS, SCISSORS, 0"
+    })
+    void outcomeOf_allLegalCombinations(Move player1Move, Move player2Move, int expectedOutcome) {
+        assertEquals(expectedOutcome, service.outcomeOf(RuleSet.CLASSIC, player1Move, player2Move));
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+            "SCISSORS, PAPER, 1",
+            "PAPER, ROCK, 1",
+            "ROCK, LIZARD, 1",
+            "LIZARD, SPOCK, 1",
+            "SPOCK, SCISSORS, 1",
+            "SCISSORS, LIZARD, 1",
+            "LIZARD, PAPER, 1",
+            "PAPER, SPOCK, 1",
+            "SPOCK, ROCK, 1",
+            "ROCK, SCISSORS, 1",
+            "LIZARD, ROCK, 2",
+            "SPOCK, SPOCK, 0"
+    })
+    void outcomeOf_lizardSpock_followsTheUsualRules(Move player1Move, Move player2Move, int expectedOutcome) {
+        assertEquals(expectedOutcome, service.outcomeOf(RuleSet.LIZARD_SPOCK, player1Move, player2Move));
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {3, 5, 7, 15, 101, RuleSet.MAX_MOVE_COUNT})
+    void outcomeOf_anyRuleSet_everyMoveBeatsHalfOfTheOthers(int moveCount) {
+        RuleSet ruleSet = RuleSet.of(moveCount);
+
+        for (Move player1Move : ruleSet.moves()) {
+            int wins = 0;
+            for (Move player2Move : ruleSet.moves()) {
+                int outcome = service.outcomeOf(ruleSet, player1Move, player2Move);
+                int reversed = service.outcomeOf(ruleSet, player2Move, player1Move);
+                if (outcome == GameRulesService.PLAYER1_WINS) {
+                    wins++;
+                    assertEquals(GameRulesService.PLAYER2_WINS, reversed);
+                } else {
+                    assertEquals(outcome == GameRulesService.DRAW, player1Move == player2Move);
+                }
+            }
+            assertEquals((moveCount - 1) / 2, wins);
+        }
+    }
+
+    @Test
+    void checkRoundWinner_moveOutsideRuleSet_throwsIllegalArgumentException() {
+        Player player1 = Player.newPlayerWithName("test");
+        Player player2 = Player.newPlayerWithName("test2");
+
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> service.checkRoundWinner(RuleSet.CLASSIC, player1, Move.SPOCK, player2, Move.ROCK));
+
+        assertEquals("Moves must be part of the rule set.", exception.getMessage());
+    }
+
+    @Test
+    void roundResultTable_allCombinations_matchCheckRoundWinner() {
+        Player player1 = Player.newPlayerWithName("test");
+        Player player2 = Player.newPlayerWithName("test2");
+
+        RoundResult[] table = service.roundResultTable(RuleSet.LIZARD_SPOCK, player1, player2);
+
+        assertEquals(25, table.length);
+        for (Move player1Move : RuleSet.LIZARD_SPOCK.moves()) {
+            for (Move player2Move : RuleSet.LIZARD_SPOCK.moves()) {
+                assertEquals(service.checkRoundWinner(RuleSet.LIZARD_SPOCK, player1, player1Move, player2, player2Move),
+                        table[RuleSet.LIZARD_SPOCK.roundIndex(player1Move, player2Move)]);
+            }
+        }
+    }
+
+    @Test
+    void outcomeTable_allCombinations_matchOutcomeOf() {
+        byte[] table = service.outcomeTable(RuleSet.LIZARD_SPOCK);
+
+        assertEquals(25, table.length);
+        for (Move player1Move : RuleSet.LIZARD_SPOCK.moves()) {
+            for (Move player2Move : RuleSet.LIZARD_SPOCK.moves()) {
+                assertEquals(service.outcomeOf(RuleSet.LIZARD_SPOCK, player1Move, player2Move),
+                        table[RuleSet.LIZARD_SPOCK.roundIndex(player1Move, player2Move)]);
+            }
+        }
+    }
+
+    @Test
+    void roundResultTable_nullPlayer_throwsIllegalArgumentException() {
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> service.roundResultTable(RuleSet.CLASSIC, Player.newPlayerWithName("test"), null));
+
+        assertEquals("Players can't be null.", exception.getMessage());
+    }
+
     @Test
     void checkRoundWinner_nullPlayer1_throwsIllegalArgumentException() {
         Player player = Player.newPlayerWithName("test");
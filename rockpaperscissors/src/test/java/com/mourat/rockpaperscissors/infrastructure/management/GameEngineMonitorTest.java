@@ -0,0 +1,107 @@
+package com.mourat.rockpaperscissors.infrastructure.management;
+
+import com.mourat.rockpaperscissors.application.dto.MoveResult;
+import com.mourat.rockpaperscissors.application.dto.RunnerError;
+import com.mourat.rockpaperscissors.application.services.GameArchive;
+import com.mourat.rockpaperscissors.application.services.GameMetrics;
+import com.mourat.rockpaperscissors.application.services.GameSessionFactory;
+import com.mourat.rockpaperscissors.application.services.SessionReaper;
+import com.mourat.rockpaperscissors.application.services.impl.GameRunnerServiceImpl;
+import com.mourat.rockpaperscissors.domain.model.Game;
+import com.mourat.rockpaperscissors.domain.model.Move;
+import com.mourat.rockpaperscissors.domain.model.RoundSink;
+import com.mourat.rockpaperscissors.domain.service.impl.GameRulesServiceImpl;
+import com.mourat.rockpaperscissors.infrastructure.persistence.GameArchiveFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.openmbean.TabularData;
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameEngineMonitorTest {
+
+    private final SessionReaper sessionReaper = new SessionReaper(60_000, 60_000, 100);
+    private final GameMetrics metrics = new GameMetrics();
+    private final GameRunnerServiceImpl gameRunner = new GameRunnerServiceImpl(
+            new GameSessionFactory(new GameRulesServiceImpl(), 1, metrics), new GameArchive(10, (GameArchiveFile) null),
+            sessionReaper, Game.MAX_ROUNDS, RoundSink.NONE, metrics);
+    private final GameEngineMonitor monitor = new GameEngineMonitor(gameRunner, metrics);
+
+    @AfterEach
+    void tearDown() {
+        monitor.unregister();
+        sessionReaper.shutdown();
+    }
+
+    @Test
+    void getters_playedAndRejectedMoves_reportEngineState() {
+        int player1 = gameRunner.createPlayerHandle("Player A");
+        int player2 = gameRunner.createPlayerHandle("Player B");
+        int waiting = gameRunner.createPlayerHandle("Player C");
+        gameRunner.makeMove(player1, Move.ROCK);
+        gameRunner.createGame(player1, 3);
+        gameRunner.joinGame(player2);
+        gameRunner.createGame(waiting, 3);
+        play(player1, player2);
+        play(player1, player2);
+
+        assertEquals(3, monitor.getRegisteredPlayers());
+        assertEquals(1, monitor.getWaitingSessions());
+        assertEquals(1, monitor.getActiveSessions());
+        assertEquals(0, monitor.getCompletedSessions());
+        assertEquals(2, monitor.getRoundsResolved());
+        assertEquals(1, monitor.getRejectedMoves());
+        assertEquals(Map.of(RunnerError.NOT_IN_SESSION.name(), 1L), monitor.getRejectedMovesByReason());
+
+        play(player1, player2);
+
+        assertEquals(0, monitor.getActiveSessions());
+        assertEquals(1, monitor.getCompletedSessions());
+    }
+
+    @Test
+    void getBarrierWaitMeanMicros_reportedWaits_returnsMeanWait() {
+        assertEquals(0, monitor.getBarrierWaitMeanMicros());
+
+        metrics.barrierWaited(1_000);
+        metrics.barrierWaited(3_000);
+
+        assertEquals(2, monitor.getBarrierWaits());
+        assertEquals(2.0, monitor.getBarrierWaitMeanMicros(), 1e-9);
+        assertEquals(0.004, monitor.getBarrierWaitTotalMillis(), 1e-9);
+    }
+
+    @Test
+    void getRoundsResolvedPerSecond_readsWithinASecond_keepsPreviousRate() {
+        double first = monitor.getRoundsResolvedPerSecond();
+        metrics.roundResolved();
+
+        assertEquals(first, monitor.getRoundsResolvedPerSecond());
+    }
+
+    @Test
+    void register_platformServer_publishesReadableAttributes() throws Exception {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName name = new ObjectName(GameEngineMXBean.OBJECT_NAME);
+        metrics.moveRejected(RunnerError.INVALID_MOVE);
+
+        monitor.register();
+
+        // Another engine of the same JVM, e.g. of a Spring test context, may hold the name already
+        assertTrue(server.isRegistered(name));
+        assertInstanceOf(Long.class, server.getAttribute(name, "RoundsResolved"));
+        assertInstanceOf(TabularData.class, server.getAttribute(name, "RejectedMovesByReason"));
+    }
+
+    private void play(int player1, int player2) {
+        CompletableFuture<MoveResult> first = gameRunner.makeMoveAsync(player1, Move.PAPER);
+        gameRunner.makeMoveAsync(player2, Move.ROCK).join();
+        first.join();
+    }
+}